@@ -0,0 +1,54 @@
+package com.axonivy.utils.axonivypdf.benchmark;
+
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.primefaces.model.file.UploadedFile;
+
+import com.axonivy.utils.axonivypdf.benchmark.Fixtures.ContentType;
+import com.axonivy.utils.axonivypdf.enums.FileExtension;
+import com.axonivy.utils.axonivypdf.service.PdfService;
+
+/**
+ * Conversion of PDF into Office documents and HTML. These are the slowest operations, so page counts stay small.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConversionBenchmark {
+  @Param({"1", "10"})
+  public int pageCount;
+
+  @Param({"TEXT", "IMAGES"})
+  public ContentType contentType;
+
+  @Param({"DOC", "DOCX", "XLSX", "PPTX", "HTML"})
+  public FileExtension target;
+
+  private final PdfService pdfService = PdfService.getInstance();
+  private UploadedFile uploadedFile;
+
+  @Setup
+  public void setUp() {
+    uploadedFile = Uploads.file("benchmark.pdf", Fixtures.pdf(pageCount, contentType));
+  }
+
+  @Benchmark
+  public void convertPdfToOtherDocumentType() {
+    pdfService.convertPdfToOtherDocumentTypes(uploadedFile, target, OutputStream.nullOutputStream());
+  }
+}
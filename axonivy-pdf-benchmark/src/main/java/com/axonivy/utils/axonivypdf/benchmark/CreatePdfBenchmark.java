@@ -0,0 +1,93 @@
+package com.axonivy.utils.axonivypdf.benchmark;
+
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.primefaces.model.file.UploadedFile;
+import org.primefaces.model.file.UploadedFiles;
+
+import com.axonivy.utils.axonivypdf.dto.ImageOptions;
+import com.axonivy.utils.axonivypdf.service.PdfService;
+
+/**
+ * Creating PDFs from images and from HTML. Images are embedded unchanged and downscaled to at most 1024 pixels.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CreatePdfBenchmark {
+  private static final int DOWNSCALED_DIMENSION = 1024;
+
+  private final PdfService pdfService = PdfService.getInstance();
+
+  @State(Scope.Benchmark)
+  public static class ImageInput {
+    @Param({"1", "10", "50"})
+    public int imageCount;
+
+    @Param({"png", "jpg"})
+    public String imageFormat;
+
+    @Param({"1024", "3000"})
+    public int imageWidth;
+
+    private UploadedFiles images;
+
+    @Setup
+    public void setUp() {
+      int imageHeight = imageWidth * 3 / 4;
+      byte[] image = "png".equals(imageFormat) ? Fixtures.png(imageWidth, imageHeight)
+          : Fixtures.jpeg(imageWidth, imageHeight);
+      List<UploadedFile> files = new ArrayList<>();
+      for (int i = 1; i <= imageCount; i++) {
+        files.add(Uploads.file("image_" + i + "." + imageFormat, image));
+      }
+      images = Uploads.files(files);
+    }
+  }
+
+  @State(Scope.Benchmark)
+  public static class HtmlInput {
+    @Param({"10", "100", "1000"})
+    public int paragraphCount;
+
+    private UploadedFile html;
+
+    @Setup
+    public void setUp() {
+      html = Uploads.file("benchmark.html", Fixtures.html(paragraphCount));
+    }
+  }
+
+  @Benchmark
+  public void convertImagesToSinglePdf(ImageInput input) {
+    pdfService.convertImagesToSinglePdf(input.images, OutputStream.nullOutputStream());
+  }
+
+  @Benchmark
+  public void convertImagesToSinglePdfDownscaled(ImageInput input) {
+    pdfService.convertImagesToSinglePdf(input.images, ImageOptions.maxPixelDimension(DOWNSCALED_DIMENSION),
+        OutputStream.nullOutputStream());
+  }
+
+  @Benchmark
+  public void convertHtmlToPdf(HtmlInput input) {
+    pdfService.convertHtmlToPdf(input.html, OutputStream.nullOutputStream());
+  }
+}
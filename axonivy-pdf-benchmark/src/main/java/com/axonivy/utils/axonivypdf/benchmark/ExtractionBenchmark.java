@@ -0,0 +1,121 @@
+package com.axonivy.utils.axonivypdf.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.primefaces.model.DefaultStreamedContent;
+import org.primefaces.model.file.UploadedFile;
+
+import com.axonivy.utils.axonivypdf.benchmark.Fixtures.ContentType;
+import com.axonivy.utils.axonivypdf.dto.ImageExtractOptions;
+import com.axonivy.utils.axonivypdf.dto.TextExtractOptions;
+import com.axonivy.utils.axonivypdf.dto.TextSearchMatch;
+import com.axonivy.utils.axonivypdf.dto.TextSearchOptions;
+import com.axonivy.utils.axonivypdf.enums.TextExtractType;
+import com.axonivy.utils.axonivypdf.service.PdfService;
+
+/**
+ * Text, highlighted text, highlight record and image extraction and text search. Page by page text extraction is
+ * measured sequentially and on all processors.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ExtractionBenchmark {
+  @Param({"1", "10", "100"})
+  public int pageCount;
+
+  @Param({"TEXT", "IMAGES", "HIGHLIGHTED"})
+  public ContentType contentType;
+
+  private final PdfService pdfService = PdfService.getInstance();
+  private byte[] content;
+  private UploadedFile uploadedFile;
+
+  @Setup
+  public void setUp() {
+    content = Fixtures.pdf(pageCount, contentType);
+    uploadedFile = Uploads.file("benchmark.pdf", content);
+  }
+
+  @Benchmark
+  public DefaultStreamedContent extractAllText() {
+    ByteArrayOutputStream textStream = new ByteArrayOutputStream();
+    OutputStreamWriter writer = new OutputStreamWriter(textStream, StandardCharsets.UTF_8);
+    return pdfService.extractAllText("benchmark.pdf", new ByteArrayInputStream(content), textStream, writer,
+        TextExtractType.ALL);
+  }
+
+  @Benchmark
+  public void extractTextByPage() {
+    pdfService.extractText(uploadedFile, new TextExtractOptions(), OutputStream.nullOutputStream());
+  }
+
+  @Benchmark
+  public void extractTextByPageParallel() {
+    TextExtractOptions options = new TextExtractOptions();
+    options.setParallelism(0);
+    pdfService.extractText(uploadedFile, options, OutputStream.nullOutputStream());
+  }
+
+  @Benchmark
+  public DefaultStreamedContent extractHighlightedText() {
+    ByteArrayOutputStream textStream = new ByteArrayOutputStream();
+    OutputStreamWriter writer = new OutputStreamWriter(textStream, StandardCharsets.UTF_8);
+    return pdfService.extractHighlightedText("benchmark.pdf", new ByteArrayInputStream(content), textStream, writer,
+        TextExtractType.HIGHLIGHTED);
+  }
+
+  /**
+   * Answers whether the document contains a text occurring on the first page, the counterpart of extracting all
+   * text and searching it afterwards.
+   */
+  @Benchmark
+  public boolean containsText() {
+    return pdfService.containsText(uploadedFile, "consectetur");
+  }
+
+  @Benchmark
+  public List<TextSearchMatch> searchAllMatches() {
+    return pdfService.searchText(uploadedFile, TextSearchOptions.regex(Pattern.compile("dolor\\w*")));
+  }
+
+  @Benchmark
+  public void extractHighlights() {
+    pdfService.extractHighlights(uploadedFile, new TextExtractOptions(), OutputStream.nullOutputStream());
+  }
+
+  @Benchmark
+  public void extractImages() {
+    pdfService.extractImagesFromPdf(uploadedFile, OutputStream.nullOutputStream());
+  }
+
+  /**
+   * Extracts every distinct image once in its embedded format, the counterpart of {@link #extractImages()} writing a
+   * PNG per placement.
+   */
+  @Benchmark
+  public void extractDistinctImages() {
+    pdfService.extractImagesFromPdf(uploadedFile, new ImageExtractOptions(), OutputStream.nullOutputStream());
+  }
+}
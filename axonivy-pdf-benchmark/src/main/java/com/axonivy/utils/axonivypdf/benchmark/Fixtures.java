@@ -0,0 +1,193 @@
+package com.axonivy.utils.axonivypdf.benchmark;
+
+import java.awt.Color;
+import java.awt.GradientPaint;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+import javax.imageio.ImageIO;
+
+import com.aspose.pdf.Document;
+import com.aspose.pdf.FontRepository;
+import com.aspose.pdf.HighlightAnnotation;
+import com.aspose.pdf.Image;
+import com.aspose.pdf.Page;
+import com.aspose.pdf.Position;
+import com.aspose.pdf.TextFragment;
+import com.aspose.pdf.TextFragmentAbsorber;
+
+/**
+ * Generates benchmark inputs, so the benchmarks run offline without checked in sample files.
+ */
+final class Fixtures {
+  private static final String TIMES_NEW_ROMAN_FONT = "TimesRoman";
+  private static final String HIGHLIGHTED_TEXT = "Highlighted benchmark sentence";
+  private static final String PARAGRAPH = "Lorem ipsum dolor sit amet, consectetur adipiscing elit, sed do eiusmod "
+      + "tempor incididunt ut labore et dolore magna aliqua. Ut enim ad minim veniam, quis nostrud exercitation ullamco. ";
+  private static final int PARAGRAPHS_PER_PAGE = 12;
+  private static final int IMAGE_WIDTH = 1200;
+  private static final int IMAGE_HEIGHT = 800;
+  private static final int IMAGE_BOX_WIDTH = 400;
+  private static final int IMAGE_BOX_HEIGHT = 266;
+  private static final int LOGO_WIDTH = 160;
+  private static final int LOGO_HEIGHT = 60;
+  private static final int PHOTO_WIDTH = 600;
+  private static final int PHOTO_HEIGHT = 400;
+  private static final int PHOTO_BOX_WIDTH = 240;
+  private static final int PHOTO_BOX_HEIGHT = 160;
+
+  /**
+   * What the generated pages contain.
+   */
+  enum ContentType {
+    /** Plain text paragraphs. */
+    TEXT,
+    /** Text with one embedded raster image per page. */
+    IMAGES,
+    /** Text with one highlight annotation per page. */
+    HIGHLIGHTED
+  }
+
+  private Fixtures() {}
+
+  static byte[] pdf(int pageCount, ContentType contentType) {
+    byte[] image = contentType == ContentType.IMAGES ? png(IMAGE_WIDTH, IMAGE_HEIGHT) : null;
+    byte[] content;
+    try (Document pdf = new Document()) {
+      for (int i = 1; i <= pageCount; i++) {
+        Page page = pdf.getPages().add();
+        if (contentType == ContentType.HIGHLIGHTED) {
+          TextFragment highlighted = textFragment(HIGHLIGHTED_TEXT + " " + i);
+          highlighted.setPosition(new Position(100, 750));
+          page.getParagraphs().add(highlighted);
+        }
+        for (int p = 0; p < PARAGRAPHS_PER_PAGE; p++) {
+          page.getParagraphs().add(textFragment(PARAGRAPH));
+        }
+        if (image != null) {
+          Image pdfImage = new Image();
+          pdfImage.setImageStream(new ByteArrayInputStream(image));
+          pdfImage.setFixWidth(IMAGE_BOX_WIDTH);
+          pdfImage.setFixHeight(IMAGE_BOX_HEIGHT);
+          page.getParagraphs().add(pdfImage);
+        }
+      }
+      content = save(pdf);
+    }
+    return contentType == ContentType.HIGHLIGHTED ? highlight(content) : content;
+  }
+
+  /**
+   * A text PDF starting with a line naming the document number, so generated documents have distinct content.
+   */
+  static byte[] numberedPdf(int pageCount, int number) {
+    try (Document pdf = new Document()) {
+      for (int i = 1; i <= pageCount; i++) {
+        Page page = pdf.getPages().add();
+        page.getParagraphs().add(textFragment("Benchmark document " + number + " page " + i));
+        for (int p = 0; p < PARAGRAPHS_PER_PAGE; p++) {
+          page.getParagraphs().add(textFragment(PARAGRAPH));
+        }
+      }
+      return save(pdf);
+    }
+  }
+
+  /**
+   * An image-heavy product catalog: every page shows the same logo and a number of photos which differ from page to
+   * page, the photos as JPEG, the logo as PNG.
+   */
+  static byte[] catalogPdf(int pageCount, int photosPerPage) {
+    byte[] logo = png(LOGO_WIDTH, LOGO_HEIGHT);
+    try (Document pdf = new Document()) {
+      for (int i = 1; i <= pageCount; i++) {
+        Page page = pdf.getPages().add();
+        page.getParagraphs().add(catalogImage(logo, LOGO_WIDTH, LOGO_HEIGHT));
+        page.getParagraphs().add(textFragment("Catalog page " + i));
+        for (int p = 0; p < photosPerPage; p++) {
+          Color color = Color.getHSBColor((float) (i * photosPerPage + p) / (pageCount * photosPerPage), 0.8f, 0.9f);
+          byte[] photo = image(PHOTO_WIDTH, PHOTO_HEIGHT, "jpg", color);
+          page.getParagraphs().add(catalogImage(photo, PHOTO_BOX_WIDTH, PHOTO_BOX_HEIGHT));
+        }
+      }
+      return save(pdf);
+    }
+  }
+
+  static byte[] png(int width, int height) {
+    return image(width, height, "png");
+  }
+
+  static byte[] jpeg(int width, int height) {
+    return image(width, height, "jpg");
+  }
+
+  static byte[] html(int paragraphCount) {
+    StringBuilder html = new StringBuilder("<html><body><h1>Benchmark</h1>");
+    for (int i = 0; i < paragraphCount; i++) {
+      html.append("<p>").append(PARAGRAPH).append("</p>");
+    }
+    return html.append("</body></html>").toString().getBytes(StandardCharsets.UTF_8);
+  }
+
+  private static byte[] highlight(byte[] content) {
+    try (Document pdf = new Document(new ByteArrayInputStream(content))) {
+      for (Page page : pdf.getPages()) {
+        TextFragmentAbsorber absorber = new TextFragmentAbsorber(HIGHLIGHTED_TEXT);
+        page.accept(absorber);
+        if (absorber.getTextFragments().size() > 0) {
+          HighlightAnnotation annotation =
+              new HighlightAnnotation(page, absorber.getTextFragments().get_Item(1).getRectangle());
+          annotation.setColor(com.aspose.pdf.Color.getYellow());
+          page.getAnnotations().add(annotation);
+        }
+      }
+      return save(pdf);
+    }
+  }
+
+  private static TextFragment textFragment(String text) {
+    TextFragment fragment = new TextFragment(text);
+    fragment.getTextState().setFont(FontRepository.findFont(TIMES_NEW_ROMAN_FONT));
+    fragment.getTextState().setFontSize(11);
+    return fragment;
+  }
+
+  private static Image catalogImage(byte[] content, int boxWidth, int boxHeight) {
+    Image image = new Image();
+    image.setImageStream(new ByteArrayInputStream(content));
+    image.setFixWidth(boxWidth);
+    image.setFixHeight(boxHeight);
+    return image;
+  }
+
+  private static byte[] image(int width, int height, String format) {
+    return image(width, height, format, Color.ORANGE);
+  }
+
+  private static byte[] image(int width, int height, String format, Color color) {
+    BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+    Graphics2D graphics = image.createGraphics();
+    graphics.setPaint(new GradientPaint(0, 0, Color.BLUE, width, height, color));
+    graphics.fillRect(0, 0, width, height);
+    graphics.dispose();
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try {
+      ImageIO.write(image, format, out);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return out.toByteArray();
+  }
+
+  private static byte[] save(Document pdf) {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    pdf.save(out);
+    return out.toByteArray();
+  }
+}
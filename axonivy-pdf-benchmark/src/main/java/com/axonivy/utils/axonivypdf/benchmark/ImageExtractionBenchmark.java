@@ -0,0 +1,66 @@
+package com.axonivy.utils.axonivypdf.benchmark;
+
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.primefaces.model.file.UploadedFile;
+
+import com.axonivy.utils.axonivypdf.dto.ImageExtractOptions;
+import com.axonivy.utils.axonivypdf.enums.ImageDeduplication;
+import com.axonivy.utils.axonivypdf.service.PdfService;
+
+/**
+ * Image extraction from image-heavy catalogs of several hundred pages, sequentially and on all processors. Writing
+ * every image as PNG decodes and encodes on the workers, the native format passes the photos through.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ImageExtractionBenchmark {
+  private static final int PHOTOS_PER_PAGE = 4;
+
+  @Param({"200", "500"})
+  public int pageCount;
+
+  /** Number of workers, 0 uses one worker per available processor. */
+  @Param({"1", "0"})
+  public int parallelism;
+
+  private final PdfService pdfService = PdfService.getInstance();
+  private UploadedFile uploadedFile;
+
+  @Setup
+  public void setUp() {
+    uploadedFile = Uploads.file("catalog.pdf", Fixtures.catalogPdf(pageCount, PHOTOS_PER_PAGE));
+  }
+
+  @Benchmark
+  public void extractAsPng() {
+    ImageExtractOptions options = new ImageExtractOptions();
+    options.setNativeFormat(false);
+    options.setDeduplication(ImageDeduplication.NONE);
+    options.setParallelism(parallelism);
+    pdfService.extractImagesFromPdf(uploadedFile, options, OutputStream.nullOutputStream());
+  }
+
+  @Benchmark
+  public void extractNativeFormat() {
+    ImageExtractOptions options = new ImageExtractOptions();
+    options.setParallelism(parallelism);
+    pdfService.extractImagesFromPdf(uploadedFile, options, OutputStream.nullOutputStream());
+  }
+}
@@ -0,0 +1,106 @@
+package com.axonivy.utils.axonivypdf.benchmark;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.primefaces.model.file.UploadedFile;
+
+import com.aspose.pdf.Rotation;
+import com.axonivy.utils.axonivypdf.benchmark.Fixtures.ContentType;
+import com.axonivy.utils.axonivypdf.service.PdfPipeline;
+import com.axonivy.utils.axonivypdf.service.PdfService;
+
+/**
+ * Header, footer, watermark, page numbers and rotation, each as separate call and chained through a
+ * {@link PdfPipeline}.
+ * <p>
+ * Page numbers use an explicit format, the CMS entry used by {@link PdfService#addPageNumbers} is not available
+ * outside of an engine.
+ * </p>
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PageOperationBenchmark {
+  private static final String PAGE_NUMBER_FORMAT = "Page #";
+
+  @Param({"1", "10", "100"})
+  public int pageCount;
+
+  @Param({"TEXT", "IMAGES"})
+  public ContentType contentType;
+
+  private final PdfService pdfService = PdfService.getInstance();
+  private UploadedFile uploadedFile;
+
+  @Setup
+  public void setUp() {
+    uploadedFile = Uploads.file("benchmark.pdf", Fixtures.pdf(pageCount, contentType));
+  }
+
+  @Benchmark
+  public void addHeader() {
+    pdfService.addHeader(uploadedFile, "Benchmark header", OutputStream.nullOutputStream());
+  }
+
+  @Benchmark
+  public void addFooter() {
+    pdfService.addFooter(uploadedFile, "Benchmark footer", OutputStream.nullOutputStream());
+  }
+
+  @Benchmark
+  public void addWatermark() {
+    pdfService.addWatermark(uploadedFile, "CONFIDENTIAL", OutputStream.nullOutputStream());
+  }
+
+  @Benchmark
+  public void addPageNumbers() {
+    pdfService.applyPipeline(uploadedFile, PdfPipeline.builder().pageNumbers(PAGE_NUMBER_FORMAT).build(),
+        OutputStream.nullOutputStream());
+  }
+
+  @Benchmark
+  public void rotatePages() {
+    pdfService.rotatePages(uploadedFile, Rotation.on90, OutputStream.nullOutputStream());
+  }
+
+  /**
+   * Four operations as four separate calls, each parsing the previous result and saving again.
+   */
+  @Benchmark
+  public void fourOperationsChained() {
+    ByteArrayOutputStream withHeader = new ByteArrayOutputStream();
+    pdfService.addHeader(uploadedFile, "Benchmark header", withHeader);
+    ByteArrayOutputStream withFooter = new ByteArrayOutputStream();
+    pdfService.addFooter(Uploads.file("header.pdf", withHeader.toByteArray()), "Benchmark footer", withFooter);
+    ByteArrayOutputStream withWatermark = new ByteArrayOutputStream();
+    pdfService.addWatermark(Uploads.file("footer.pdf", withFooter.toByteArray()), "CONFIDENTIAL", withWatermark);
+    pdfService.applyPipeline(Uploads.file("watermark.pdf", withWatermark.toByteArray()),
+        PdfPipeline.builder().pageNumbers(PAGE_NUMBER_FORMAT).build(), OutputStream.nullOutputStream());
+  }
+
+  /**
+   * The same four operations in a single pipeline pass.
+   */
+  @Benchmark
+  public void fourOperationsPipeline() {
+    PdfPipeline pipeline = PdfPipeline.builder().header("Benchmark header").footer("Benchmark footer")
+        .watermark("CONFIDENTIAL").pageNumbers(PAGE_NUMBER_FORMAT).build();
+    pdfService.applyPipeline(uploadedFile, pipeline, OutputStream.nullOutputStream());
+  }
+}
@@ -0,0 +1,68 @@
+package com.axonivy.utils.axonivypdf.benchmark;
+
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.primefaces.model.file.UploadedFile;
+
+import com.axonivy.utils.axonivypdf.benchmark.Fixtures.ContentType;
+import com.axonivy.utils.axonivypdf.dto.RenderOptions;
+import com.axonivy.utils.axonivypdf.enums.FileExtension;
+import com.axonivy.utils.axonivypdf.service.PdfService;
+
+/**
+ * Rendering pages into images, sequentially and on one worker per processor, plus thumbnails.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RasterizeBenchmark {
+  @Param({"1", "10", "50"})
+  public int pageCount;
+
+  @Param({"TEXT", "IMAGES"})
+  public ContentType contentType;
+
+  @Param({"JPG", "PNG", "TIFF"})
+  public FileExtension format;
+
+  /** 1 renders sequentially, 0 uses one worker per available processor. */
+  @Param({"1", "0"})
+  public int parallelism;
+
+  private final PdfService pdfService = PdfService.getInstance();
+  private UploadedFile uploadedFile;
+
+  @Setup
+  public void setUp() {
+    uploadedFile = Uploads.file("benchmark.pdf", Fixtures.pdf(pageCount, contentType));
+  }
+
+  @Benchmark
+  public void convertPdfToImages() {
+    RenderOptions options = RenderOptions.forFormat(format);
+    options.setParallelism(parallelism);
+    pdfService.convertPdfToImages(uploadedFile, options, OutputStream.nullOutputStream());
+  }
+
+  @Benchmark
+  public void convertPdfToThumbnails() {
+    RenderOptions options = RenderOptions.thumbnail();
+    options.setParallelism(parallelism);
+    pdfService.convertPdfToImages(uploadedFile, options, OutputStream.nullOutputStream());
+  }
+}
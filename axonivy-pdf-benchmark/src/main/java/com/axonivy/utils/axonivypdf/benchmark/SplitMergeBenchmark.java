@@ -0,0 +1,138 @@
+package com.axonivy.utils.axonivypdf.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.primefaces.model.file.UploadedFiles;
+
+import com.aspose.pdf.Document;
+import com.aspose.pdf.Page;
+import com.axonivy.utils.axonivypdf.benchmark.Fixtures.ContentType;
+import com.axonivy.utils.axonivypdf.dto.MergeOptions;
+import com.axonivy.utils.axonivypdf.service.PdfService;
+
+/**
+ * Splitting into single pages, splitting by range and merging, parsing included. Single page splitting is measured
+ * sequentially, on all processors and with the former one document per page loop as baseline. Merging is measured
+ * sequentially and as tree merge on all processors.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SplitMergeBenchmark {
+  private static final int MERGED_FILE_COUNT = 4;
+  private static final int TREE_FAN_IN = 2;
+
+  @Param({"1", "10", "100"})
+  public int pageCount;
+
+  @Param({"TEXT", "IMAGES"})
+  public ContentType contentType;
+
+  private final PdfService pdfService = PdfService.getInstance();
+  private byte[] content;
+  private UploadedFiles uploadedFiles;
+
+  @Setup
+  public void setUp() {
+    content = Fixtures.pdf(pageCount, contentType);
+    uploadedFiles = Uploads.files(Collections.nCopies(MERGED_FILE_COUNT, Uploads.file("benchmark.pdf", content)));
+  }
+
+  @Benchmark
+  public void splitIntoSinglePages() {
+    splitIntoSinglePages(1);
+  }
+
+  @Benchmark
+  public void splitIntoSinglePagesParallel() {
+    splitIntoSinglePages(0);
+  }
+
+  /**
+   * The former split loop, copying every page into a new document and saving it with all shared resources, kept as
+   * baseline for the split engine.
+   */
+  @Benchmark
+  public void splitIntoSinglePagesPerPageDocument() throws IOException {
+    try (Document pdfDocument = new Document(new ByteArrayInputStream(content));
+        ZipOutputStream zip = new ZipOutputStream(OutputStream.nullOutputStream())) {
+      int pageNumber = 1;
+      for (Page pdfPage : pdfDocument.getPages()) {
+        Document newDoc = new Document();
+        newDoc.getPages().add(pdfPage);
+        zip.putNextEntry(new ZipEntry("benchmark_page_" + pageNumber++ + ".pdf"));
+        newDoc.save(new NonClosingOutputStream(zip));
+        newDoc.close();
+        zip.closeEntry();
+      }
+    }
+  }
+
+  @Benchmark
+  public void splitByRange() {
+    Document pdfDocument = new Document(new ByteArrayInputStream(content));
+    try {
+      pdfService.handleSplitByRange(pdfDocument, 1, Math.max(1, pageCount / 2), OutputStream.nullOutputStream());
+    } finally {
+      pdfDocument.close();
+    }
+  }
+
+  @Benchmark
+  public void merge() {
+    pdfService.merge(uploadedFiles, OutputStream.nullOutputStream());
+  }
+
+  @Benchmark
+  public void mergeTree() {
+    MergeOptions options = MergeOptions.tree(TREE_FAN_IN);
+    options.setParallelism(0);
+    pdfService.merge(uploadedFiles, options, OutputStream.nullOutputStream());
+  }
+
+  private void splitIntoSinglePages(int parallelism) {
+    Document pdfDocument = new Document(new ByteArrayInputStream(content));
+    try {
+      pdfService.handleSplitIntoSinglePages(pdfDocument, "benchmark.pdf", parallelism, OutputStream.nullOutputStream());
+    } finally {
+      pdfDocument.close();
+    }
+  }
+
+  private static class NonClosingOutputStream extends FilterOutputStream {
+    NonClosingOutputStream(OutputStream out) {
+      super(out);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+      out.write(b, off, len);
+    }
+
+    @Override
+    public void close() throws IOException {
+      flush();
+    }
+  }
+}
@@ -0,0 +1,83 @@
+package com.axonivy.utils.axonivypdf.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.axonivy.utils.axonivypdf.dto.TextIndexHit;
+import com.axonivy.utils.axonivypdf.service.PdfService;
+import com.axonivy.utils.axonivypdf.service.TextIndex;
+
+/**
+ * Term and phrase queries against a text index of generated documents, built once per trial. A rare term matches a
+ * single page, a frequent term every page.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TextIndexBenchmark {
+  private static final int PAGES_PER_DOCUMENT = 3;
+
+  @Param({"100", "1000"})
+  public int documentCount;
+
+  private final PdfService pdfService = PdfService.getInstance();
+  private Path directory;
+  private TextIndex index;
+
+  @Setup
+  public void setUp() throws IOException {
+    directory = Files.createTempDirectory("axonivy_pdf_text_index");
+    index = new TextIndex(directory);
+    for (int number = 1; number <= documentCount; number++) {
+      byte[] content = Fixtures.numberedPdf(PAGES_PER_DOCUMENT, number);
+      pdfService.indexText(Uploads.file("benchmark" + number + ".pdf", content), index);
+    }
+    index.optimize();
+  }
+
+  @TearDown
+  public void tearDown() throws IOException {
+    index.close();
+    try (Stream<Path> files = Files.list(directory)) {
+      for (Path file : files.toList()) {
+        Files.delete(file);
+      }
+    }
+    Files.delete(directory);
+  }
+
+  @Benchmark
+  public List<TextIndexHit> searchRareTerm() throws IOException {
+    return index.search(String.valueOf(documentCount / 2));
+  }
+
+  @Benchmark
+  public List<TextIndexHit> searchFrequentTerm() throws IOException {
+    return index.search("ipsum");
+  }
+
+  @Benchmark
+  public List<TextIndexHit> searchPhrase() throws IOException {
+    return index.search("benchmark document " + documentCount / 2 + " page 2");
+  }
+}
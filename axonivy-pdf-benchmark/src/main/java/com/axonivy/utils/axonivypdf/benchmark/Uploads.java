@@ -0,0 +1,43 @@
+package com.axonivy.utils.axonivypdf.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.lang.reflect.Proxy;
+import java.util.List;
+
+import org.primefaces.model.file.UploadedFile;
+import org.primefaces.model.file.UploadedFiles;
+
+/**
+ * In-memory stand-ins for PrimeFaces uploads. Proxies are used instead of implementations so the benchmarks do not
+ * depend on the exact interface of the PrimeFaces version bundled with the engine.
+ */
+final class Uploads {
+  private Uploads() {}
+
+  static UploadedFile file(String fileName, byte[] content) {
+    return (UploadedFile) Proxy.newProxyInstance(Uploads.class.getClassLoader(), new Class<?>[] {UploadedFile.class},
+        (proxy, method, args) -> switch (method.getName()) {
+          case "getFileName" -> fileName;
+          case "getInputStream" -> new ByteArrayInputStream(content);
+          case "getContent" -> content;
+          case "getSize" -> (long) content.length;
+          case "getContentType" -> "application/octet-stream";
+          case "toString" -> fileName;
+          case "hashCode" -> System.identityHashCode(proxy);
+          case "equals" -> proxy == args[0];
+          default -> throw new UnsupportedOperationException(method.getName());
+        });
+  }
+
+  static UploadedFiles files(List<UploadedFile> files) {
+    return (UploadedFiles) Proxy.newProxyInstance(Uploads.class.getClassLoader(), new Class<?>[] {UploadedFiles.class},
+        (proxy, method, args) -> switch (method.getName()) {
+          case "getFiles" -> files;
+          case "getSize" -> files.stream().mapToLong(UploadedFile::getSize).sum();
+          case "toString" -> files.toString();
+          case "hashCode" -> System.identityHashCode(proxy);
+          case "equals" -> proxy == args[0];
+          default -> throw new UnsupportedOperationException(method.getName());
+        });
+  }
+}
@@ -16,13 +16,14 @@ import org.primefaces.model.DefaultStreamedContent;
 import org.primefaces.model.file.UploadedFile;
 import org.primefaces.model.file.UploadedFiles;
 
-import com.aspose.pdf.Document;
 import com.axonivy.utils.axonivypdf.demo.constant.DefaultInputConstant;
+import com.axonivy.utils.axonivypdf.dto.SplitOptions;
 import com.axonivy.utils.axonivypdf.enums.FileExtension;
 import com.axonivy.utils.axonivypdf.enums.RotateOption;
 import com.axonivy.utils.axonivypdf.enums.SplitOption;
 import com.axonivy.utils.axonivypdf.enums.TextExtractType;
 import com.axonivy.utils.axonivypdf.exception.AxonivyPdfException;
+import com.axonivy.utils.axonivypdf.service.PdfMetadataProbe;
 import com.axonivy.utils.axonivypdf.service.PdfService;
 
 @ManagedBean
@@ -62,11 +63,9 @@ public class PdfFactoryBean {
     if (uploadedFile == null) {
       return;
     }
-    try (InputStream input = uploadedFile.getInputStream()) {
-      Document pdfDocument = new Document(input);
+    try {
       setStartPage(1);
-      setEndPage(pdfDocument.getPages().size());
-      pdfDocument.close();
+      setEndPage(PdfMetadataProbe.getInstance().probe(uploadedFile).getPageCount());
     } catch (IOException e) {
       e.printStackTrace();
     }
@@ -148,16 +147,11 @@ public class PdfFactoryBean {
     if (uploadedFile == null) {
       throw new AxonivyPdfException("No file uploaded. Please upload a workbook file first.");
     }
-    String originalFileName = uploadedFile.getFileName();
-    InputStream input = uploadedFile.getInputStream();
-    Document pdfDocument = new Document(input);
-
     if (SplitOption.ALL.equals(splitOption)) {
-      setFileForDownload(pdfService.handleSplitIntoSinglePages(pdfDocument, originalFileName));
+      setFileForDownload(pdfService.split(uploadedFile, new SplitOptions()));
     } else {
-      setFileForDownload(pdfService.handleSplitByRange(pdfDocument, originalFileName, getStartPage(), getEndPage()));
+      setFileForDownload(pdfService.handleSplitByRange(uploadedFile, getStartPage(), getEndPage()));
     }
-    pdfDocument.close();
   }
 
   public void convertImagesToPdf() throws IOException {
@@ -0,0 +1,99 @@
+package com.axonivy.utils.axonivypdf.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayOutputStream;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.junit.jupiter.api.Test;
+
+import com.aspose.pdf.Document;
+import com.axonivy.utils.axonivypdf.enums.PdfOperationType;
+import com.axonivy.utils.axonivypdf.exception.AxonivyPdfException;
+import com.axonivy.utils.axonivypdf.service.AdmissionController;
+import com.axonivy.utils.axonivypdf.service.AdmissionController.Reservation;
+import com.axonivy.utils.axonivypdf.service.PdfService;
+
+import ch.ivyteam.ivy.environment.IvyTest;
+
+@IvyTest
+public class AdmissionControllerTest {
+  private static final long MEGABYTE = 1024L * 1024L;
+
+  @Test
+  void testReservationIsReleasedOnClose() {
+    AdmissionController controller = new AdmissionController(512 * MEGABYTE, 0);
+    long expected = PdfOperationType.MERGE.estimateBytes(10 * MEGABYTE, 0);
+
+    try (Reservation reservation = controller.reserve(PdfOperationType.MERGE, 10 * MEGABYTE, 0)) {
+      assertEquals(expected, reservation.getReservedBytes());
+      assertEquals(expected, controller.getReservedBytes());
+      assertEquals(1, controller.getActiveReservations());
+    }
+
+    assertEquals(0, controller.getReservedBytes());
+    assertEquals(0, controller.getActiveReservations());
+    assertEquals(1, controller.getAdmittedCount());
+  }
+
+  @Test
+  void testOperationIsRejectedWhenBudgetIsExhausted() throws Exception {
+    AdmissionController controller = new AdmissionController(100 * MEGABYTE, 0);
+
+    try (Reservation reservation = controller.reserve(PdfOperationType.CONVERT_TO_DOCUMENT, 100 * MEGABYTE, 0)) {
+      assertEquals(controller.getBudgetBytes(), reservation.getReservedBytes(), "Oversized jobs take the budget");
+      CompletableFuture<Reservation> concurrent =
+          CompletableFuture.supplyAsync(() -> controller.reserve(PdfOperationType.PAGE_OPERATION, MEGABYTE, 1));
+
+      Exception exception = assertThrows(Exception.class, () -> concurrent.get(10, TimeUnit.SECONDS));
+      assertEquals(AxonivyPdfException.class, exception.getCause().getClass());
+    }
+    assertEquals(1, controller.getRejectedCount());
+  }
+
+  @Test
+  void testNestedOperationRunsUnderOuterReservation() {
+    AdmissionController controller = new AdmissionController(100 * MEGABYTE, 0);
+
+    try (Reservation outer = controller.reserve(PdfOperationType.CONVERT_TO_DOCUMENT, 100 * MEGABYTE, 0);
+        Reservation inner = controller.reserve(PdfOperationType.RASTERIZE, 100 * MEGABYTE, 0)) {
+      assertEquals(0, inner.getReservedBytes());
+      assertEquals(1, controller.getActiveReservations());
+    }
+    assertEquals(0, controller.getReservedBytes());
+  }
+
+  @Test
+  void testReservationsArePublishedThroughJmx() throws Exception {
+    AdmissionController controller = new AdmissionController(512 * MEGABYTE, 0);
+    controller.registerMBean();
+    MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+    ObjectName name = new ObjectName(AdmissionController.OBJECT_NAME);
+
+    try (Reservation reservation = controller.reserve(PdfOperationType.MERGE, 10 * MEGABYTE, 0)) {
+      assertEquals(reservation.getReservedBytes(), server.getAttribute(name, "ReservedBytes"));
+      assertEquals(1, server.getAttribute(name, "ActiveReservations"));
+    } finally {
+      server.unregisterMBean(name);
+    }
+  }
+
+  @Test
+  void testDocumentOperationIsAdmitted() {
+    AdmissionController controller = AdmissionController.getInstance();
+    long admitted = controller.getAdmittedCount();
+
+    try (Document document = new Document()) {
+      document.getPages().add();
+      PdfService.getInstance().handleSplitByRange(document, 1, 1, new ByteArrayOutputStream());
+    }
+
+    assertEquals(admitted + 1, controller.getAdmittedCount());
+  }
+}
@@ -1,14 +1,26 @@
 package com.axonivy.utils.axonivypdf.test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.mock;
 
 import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.MockedConstruction;
@@ -16,7 +28,11 @@ import org.mockito.MockedStatic;
 import org.mockito.Mockito;
 
 import com.aspose.pdf.License;
+import com.axonivy.utils.axonivypdf.enums.PdfVariable;
+import com.axonivy.utils.axonivypdf.enums.RejectionPolicy;
+import com.axonivy.utils.axonivypdf.exception.AxonivyPdfException;
 import com.axonivy.utils.axonivypdf.service.PdfFactory;
+import com.axonivy.utils.axonivypdf.service.PdfJobExecutor;
 
 import ch.ivyteam.ivy.ThirdPartyLicenses;
 import ch.ivyteam.ivy.environment.IvyTest;
@@ -49,6 +65,92 @@ public class PdfFactoryTest {
     });
   }
 
+  @Test
+  void testSubmitRunsOnWorkerThread() throws Exception {
+    Thread caller = Thread.currentThread();
+    CompletableFuture<Thread> result = PdfFactory.submit(() -> Thread.currentThread());
+    assertNotEquals(caller, result.get(10, TimeUnit.SECONDS));
+  }
+
+  @Test
+  void testSubmitIsRejectedWhenQueueIsFull() throws Exception {
+    PdfJobExecutor executor = new PdfJobExecutor(1, 1, RejectionPolicy.ABORT);
+    CountDownLatch release = new CountDownLatch(1);
+    try {
+      CompletableFuture<Boolean> running = executor.submit(() -> await(release));
+      CompletableFuture<Boolean> queued = executor.submit(() -> await(release));
+      CompletableFuture<Boolean> rejected = executor.submit(() -> true);
+
+      ExecutionException exception = assertThrows(ExecutionException.class, () -> rejected.get());
+      assertInstanceOf(AxonivyPdfException.class, exception.getCause());
+
+      release.countDown();
+      assertTrue(running.get(10, TimeUnit.SECONDS));
+      assertTrue(queued.get(10, TimeUnit.SECONDS));
+    } finally {
+      release.countDown();
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  void testSubmitRunsOnCallerWhenQueueIsFullAndPolicyIsCallerRuns() throws Exception {
+    PdfJobExecutor executor = new PdfJobExecutor(1, 1, RejectionPolicy.CALLER_RUNS);
+    CountDownLatch release = new CountDownLatch(1);
+    Thread caller = Thread.currentThread();
+    try {
+      executor.submit(() -> await(release));
+      executor.submit(() -> await(release));
+      CompletableFuture<Thread> overflow = executor.submit(() -> Thread.currentThread());
+
+      assertEquals(caller, overflow.get(10, TimeUnit.SECONDS));
+    } finally {
+      release.countDown();
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  void testSubmittedJobSeesVariablesOfCaller() throws Exception {
+    CompletableFuture<Integer> result = PdfVariable.withValues(Map.of(PdfVariable.SPLIT_PARALLELISM, "3"),
+        () -> PdfFactory.submit(() -> PdfVariable.SPLIT_PARALLELISM.getIntValue()));
+
+    assertEquals(3, result.get(10, TimeUnit.SECONDS));
+  }
+
+  @Test
+  void testExecutorIsPublishedThroughJmx() throws Exception {
+    PdfJobExecutor executor = new PdfJobExecutor(1, 4, RejectionPolicy.ABORT);
+    CountDownLatch release = new CountDownLatch(1);
+    MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+    ObjectName name = new ObjectName(PdfJobExecutor.OBJECT_NAME);
+    try {
+      executor.registerMBean();
+      CompletableFuture<Boolean> running = executor.submit(() -> await(release));
+      executor.submit(() -> await(release));
+      while (executor.getActiveCount() == 0 && !running.isDone()) {
+        Thread.onSpinWait();
+      }
+
+      assertEquals(1, server.getAttribute(name, "PoolSize"));
+      assertEquals(1, server.getAttribute(name, "ActiveCount"));
+      assertEquals(1, server.getAttribute(name, "QueuedCount"));
+    } finally {
+      release.countDown();
+      executor.shutdown();
+      server.unregisterMBean(name);
+    }
+  }
+
+  private static boolean await(CountDownLatch latch) {
+    try {
+      return latch.await(10, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
+  }
+
   @FunctionalInterface
   private interface TestLogic {
     void run(InputStream stream, MockedStatic<ThirdPartyLicenses> mockedThirdParty,
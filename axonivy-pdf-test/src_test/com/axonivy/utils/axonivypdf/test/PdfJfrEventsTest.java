@@ -0,0 +1,103 @@
+package com.axonivy.utils.axonivypdf.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.primefaces.model.file.UploadedFile;
+
+import com.aspose.pdf.Document;
+import com.axonivy.utils.axonivypdf.dto.RenderOptions;
+import com.axonivy.utils.axonivypdf.enums.FileExtension;
+import com.axonivy.utils.axonivypdf.service.PdfService;
+
+import ch.ivyteam.ivy.environment.IvyTest;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+@IvyTest
+public class PdfJfrEventsTest {
+  private static final String FILE_NAME = "a.pdf";
+  private static final String EVENT_PREFIX = "com.axonivy.utils.axonivypdf.";
+
+  @Test
+  void testPipelineEmitsParsePageAndSaveEvents() throws Exception {
+    byte[] pdfBytes = createPdf(3);
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+    List<RecordedEvent> events = record(() -> PdfService.getInstance().addHeader(upload(pdfBytes), "HEADER", output));
+
+    Map<String, List<RecordedEvent>> byType = groupByType(events);
+    assertEquals(1, byType.get("Parse").size());
+    assertEquals(pdfBytes.length, byType.get("Parse").get(0).getLong("bytes"));
+    assertEquals(FILE_NAME.hashCode(), byType.get("Parse").get(0).getInt("fileNameHash"));
+    assertEquals(List.of(1, 2, 3), byType.get("Page").stream().map(event -> event.getInt("pageIndex")).toList());
+    assertEquals(output.size(), byType.get("Save").get(0).getLong("bytes"));
+  }
+
+  @Test
+  void testRasterizeEmitsRenderAndZipEntryEvents() throws Exception {
+    byte[] pdfBytes = createPdf(2);
+    RenderOptions options = RenderOptions.forFormat(FileExtension.PNG);
+    options.setParallelism(1);
+
+    List<RecordedEvent> events = record(
+        () -> PdfService.getInstance().convertPdfToImages(upload(pdfBytes), options, new ByteArrayOutputStream()));
+
+    Map<String, List<RecordedEvent>> byType = groupByType(events);
+    assertEquals(2, byType.get("Render").size());
+    assertEquals(2, byType.get("ZipEntry").size());
+    assertTrue(byType.get("Render").stream().allMatch(event -> event.getLong("bytes") > 0));
+  }
+
+  private static List<RecordedEvent> record(Runnable operation) throws Exception {
+    Path dump = Files.createTempFile("pdf-events", ".jfr");
+    try (Recording recording = new Recording()) {
+      for (String type : List.of("Parse", "Page", "Render", "Save", "ZipEntry")) {
+        recording.enable(EVENT_PREFIX + type).withoutThreshold();
+      }
+      recording.start();
+      operation.run();
+      recording.stop();
+      recording.dump(dump);
+      return RecordingFile.readAllEvents(dump);
+    } finally {
+      Files.deleteIfExists(dump);
+    }
+  }
+
+  private static Map<String, List<RecordedEvent>> groupByType(List<RecordedEvent> events) {
+    return events.stream().collect(Collectors.groupingBy(
+        event -> event.getEventType().getName().substring(EVENT_PREFIX.length())));
+  }
+
+  private static UploadedFile upload(byte[] content) throws Exception {
+    UploadedFile uploadedFile = mock(UploadedFile.class);
+    when(uploadedFile.getFileName()).thenReturn(FILE_NAME);
+    when(uploadedFile.getSize()).thenReturn((long) content.length);
+    when(uploadedFile.getInputStream()).thenReturn(new ByteArrayInputStream(content));
+    return uploadedFile;
+  }
+
+  private static byte[] createPdf(int pageCount) {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try (Document pdf = new Document()) {
+      for (int i = 0; i < pageCount; i++) {
+        pdf.getPages().add();
+      }
+      pdf.save(out);
+    }
+    return out.toByteArray();
+  }
+}
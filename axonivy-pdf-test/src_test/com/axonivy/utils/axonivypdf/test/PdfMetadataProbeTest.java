@@ -0,0 +1,115 @@
+package com.axonivy.utils.axonivypdf.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.aspose.pdf.Document;
+import com.aspose.pdf.PageSize;
+import com.axonivy.utils.axonivypdf.dto.PdfMetadata;
+import com.axonivy.utils.axonivypdf.service.PdfMetadataProbe;
+
+import ch.ivyteam.ivy.environment.IvyTest;
+
+@IvyTest
+public class PdfMetadataProbeTest {
+  private static final double DELTA = 0.01;
+
+  private final PdfMetadataProbe probe = PdfMetadataProbe.getInstance();
+
+  private byte[] createMockPdf() {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    Document pdf = new Document();
+    pdf.getPages().add().setPageSize(PageSize.getA4().getWidth(), PageSize.getA4().getHeight());
+    pdf.getPages().add().setPageSize(PageSize.getA3().getWidth(), PageSize.getA3().getHeight());
+    pdf.getPages().add();
+    pdf.save(out);
+    pdf.close();
+    return out.toByteArray();
+  }
+
+  /**
+   * Builds a small PDF with a classic cross-reference table, a nested page tree and inherited page attributes.
+   */
+  private byte[] createHandWrittenPdf() {
+    List<String> objects = List.of("<< /Type /Catalog /Pages 2 0 R >>",
+        "<< /Type /Pages /Kids [3 0 R 4 0 R] /Count 3 /MediaBox [0 0 595 842] /Rotate 90 >>",
+        "<< /Type /Page /Parent 2 0 R /Annots [] >>",
+        "<< /Type /Pages /Parent 2 0 R /Kids [5 0 R 6 0 R] /Count 2 /MediaBox [0 0 200 100] >>",
+        "<< /Type /Page /Parent 4 0 R /Rotate 0 /Annots [7 0 R] >>", "<< /Type /Page /Parent 4 0 R >>",
+        "<< /Type /Annot /Subtype /Text /Rect [0 0 10 10] >>", "<< /Producer (Hand \\(written\\)) >>");
+    StringBuilder pdf = new StringBuilder("%PDF-1.4\n");
+    int[] offsets = new int[objects.size()];
+    for (int i = 0; i < objects.size(); i++) {
+      offsets[i] = pdf.length();
+      pdf.append(i + 1).append(" 0 obj\n").append(objects.get(i)).append("\nendobj\n");
+    }
+    int xref = pdf.length();
+    pdf.append("xref\n0 ").append(objects.size() + 1).append("\n0000000000 65535 f \n");
+    Arrays.stream(offsets).forEach(offset -> pdf.append(String.format("%010d 00000 n \n", offset)));
+    pdf.append("trailer\n<< /Size ").append(objects.size() + 1).append(" /Root 1 0 R /Info 8 0 R >>\n");
+    pdf.append("startxref\n").append(xref).append("\n%%EOF\n");
+    return pdf.toString().getBytes(StandardCharsets.ISO_8859_1);
+  }
+
+  @Test
+  void testProbeMatchesFullParse() {
+    byte[] content = createMockPdf();
+
+    PdfMetadata metadata = probe.probe(content);
+
+    assertFalse(metadata.isFullyParsed(), "Aspose output should be readable without a full parse");
+    try (Document pdf = new Document(new ByteArrayInputStream(content))) {
+      assertEquals(pdf.getPages().size(), metadata.getPageCount());
+      for (int i = 1; i <= pdf.getPages().size(); i++) {
+        assertEquals(pdf.getPages().get_Item(i).getMediaBox().getWidth(),
+            metadata.getPageSizes().get(i - 1).getWidth(), DELTA);
+        assertEquals(pdf.getPages().get_Item(i).getMediaBox().getHeight(),
+            metadata.getPageSizes().get(i - 1).getHeight(), DELTA);
+      }
+    }
+    assertFalse(metadata.isEncrypted());
+    assertFalse(metadata.isHasImages());
+  }
+
+  @Test
+  void testProbeReadsInheritedAttributes() {
+    PdfMetadata metadata = probe.probe(createHandWrittenPdf());
+
+    assertFalse(metadata.isFullyParsed());
+    assertEquals(3, metadata.getPageCount());
+    assertEquals("1.4", metadata.getVersion());
+    assertEquals("Hand (written)", metadata.getProducer());
+    assertTrue(metadata.isHasAnnotations());
+
+    assertEquals(595, metadata.getPageSizes().get(0).getWidth(), DELTA);
+    assertEquals(842, metadata.getPageSizes().get(0).getHeight(), DELTA);
+    assertEquals(90, metadata.getPageSizes().get(0).getRotation());
+    assertEquals(200, metadata.getPageSizes().get(1).getWidth(), DELTA);
+    assertEquals(0, metadata.getPageSizes().get(1).getRotation());
+    assertEquals(100, metadata.getPageSizes().get(2).getHeight(), DELTA);
+    assertEquals(90, metadata.getPageSizes().get(2).getRotation());
+  }
+
+  @Test
+  void testDamagedCrossReferenceFallsBackToFullParse() {
+    byte[] content = createMockPdf();
+    String tail = new String(content, StandardCharsets.ISO_8859_1);
+    int startXref = tail.lastIndexOf("startxref");
+    byte[] damaged = tail.substring(0, startXref).concat("startxref\n999999999\n%%EOF\n")
+        .getBytes(StandardCharsets.ISO_8859_1);
+
+    PdfMetadata metadata = probe.probe(damaged);
+
+    assertTrue(metadata.isFullyParsed());
+    assertEquals(3, metadata.getPageCount());
+  }
+}
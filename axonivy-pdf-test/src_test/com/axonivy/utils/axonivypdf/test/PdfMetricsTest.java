@@ -0,0 +1,149 @@
+package com.axonivy.utils.axonivypdf.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.primefaces.model.file.UploadedFile;
+
+import com.aspose.pdf.Document;
+import com.axonivy.utils.axonivypdf.enums.OperationOutcome;
+import com.axonivy.utils.axonivypdf.exception.AxonivyPdfException;
+import com.axonivy.utils.axonivypdf.metrics.Histogram;
+import com.axonivy.utils.axonivypdf.metrics.InMemoryMetricsRegistry;
+import com.axonivy.utils.axonivypdf.metrics.OperationSample;
+import com.axonivy.utils.axonivypdf.metrics.PdfMetrics;
+import com.axonivy.utils.axonivypdf.metrics.PdfMetricsRegistry;
+import com.axonivy.utils.axonivypdf.service.PdfFactory;
+import com.axonivy.utils.axonivypdf.service.PdfService;
+
+import ch.ivyteam.ivy.environment.IvyTest;
+
+@IvyTest
+public class PdfMetricsTest {
+  private final List<OperationSample> samples = new CopyOnWriteArrayList<>();
+  private PdfMetricsRegistry previousRegistry;
+
+  @BeforeEach
+  void installRegistry() {
+    previousRegistry = PdfMetrics.getRegistry();
+    PdfMetrics.setRegistry(samples::add);
+  }
+
+  @AfterEach
+  void restoreRegistry() {
+    PdfMetrics.setRegistry(previousRegistry);
+  }
+
+  @Test
+  void testServiceOperationIsRecorded() throws Exception {
+    byte[] pdfBytes = createPdf(2);
+    UploadedFile uploadedFile = mock(UploadedFile.class);
+    when(uploadedFile.getFileName()).thenReturn("a.pdf");
+    when(uploadedFile.getSize()).thenReturn((long) pdfBytes.length);
+    when(uploadedFile.getInputStream()).thenReturn(new ByteArrayInputStream(pdfBytes));
+
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    PdfService.getInstance().addHeader(uploadedFile, "HEADER", output);
+
+    assertEquals(1, samples.size(), "Nested factory calls belong to the outermost operation");
+    OperationSample sample = samples.get(0);
+    assertEquals("PdfService.addHeader", sample.getOperationName());
+    assertEquals(OperationOutcome.SUCCESS, sample.getOutcome());
+    assertNull(sample.getErrorType());
+    assertEquals(pdfBytes.length, sample.getInputBytes());
+    assertEquals(2, sample.getPageCount());
+    assertEquals(output.size(), sample.getOutputBytes(), "Bytes written into the target stream are counted");
+    assertTrue(sample.getWallNanos() > 0);
+  }
+
+  @Test
+  void testWorkerAllocationsCountTowardsOperation() {
+    int allocatedOnWorker = 16 * 1024 * 1024;
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      PdfFactory.run(() -> {
+        try {
+          executor.submit(PdfMetrics.onWorker(() -> new byte[allocatedOnWorker])).get();
+        } catch (InterruptedException | ExecutionException e) {
+          throw new IllegalStateException(e);
+        }
+      });
+    } finally {
+      executor.shutdownNow();
+    }
+
+    assertEquals(1, samples.size());
+    long allocatedBytes = samples.get(0).getAllocatedBytes();
+    assertTrue(allocatedBytes == -1 || allocatedBytes >= allocatedOnWorker,
+        "Allocations of the worker belong to the operation that submitted it: " + allocatedBytes);
+  }
+
+  @Test
+  void testFailureIsRecordedWithErrorType() {
+    assertThrows(AxonivyPdfException.class, () -> PdfFactory.get(() -> {
+      throw new AxonivyPdfException("broken");
+    }));
+
+    assertEquals(1, samples.size());
+    assertEquals(OperationOutcome.FAILURE, samples.get(0).getOutcome());
+    assertEquals("AxonivyPdfException", samples.get(0).getErrorType());
+    assertEquals("PdfMetricsTest.testFailureIsRecordedWithErrorType", samples.get(0).getOperationName());
+  }
+
+  @Test
+  void testInMemoryRegistryAggregatesPerOperation() {
+    InMemoryMetricsRegistry registry = new InMemoryMetricsRegistry();
+    PdfMetrics.setRegistry(registry);
+
+    PdfFactory.run(() -> PdfMetrics.recordPages(3));
+    PdfFactory.run(() -> PdfMetrics.recordPages(5));
+
+    var statistics = registry.getStatistics("PdfMetricsTest.testInMemoryRegistryAggregatesPerOperation");
+    assertEquals(2, statistics.getSuccessCount());
+    assertEquals(8, statistics.getPageCount().getSum());
+    assertEquals(2, registry.getOperationCount());
+    assertEquals(1, registry.getSummary().length);
+  }
+
+  @Test
+  void testHistogramPercentiles() {
+    Histogram histogram = new Histogram();
+    for (int value = 1; value <= 100; value++) {
+      histogram.record(value);
+    }
+    histogram.record(-1);
+
+    assertEquals(100, histogram.getCount());
+    assertEquals(5050, histogram.getSum());
+    assertEquals(1, histogram.getMin());
+    assertEquals(100, histogram.getMax());
+    assertTrue(histogram.getPercentile(50) >= 50 && histogram.getPercentile(50) < 100);
+    assertEquals(100, histogram.getPercentile(100));
+  }
+
+  private static byte[] createPdf(int pageCount) {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try (Document pdf = new Document()) {
+      for (int i = 0; i < pageCount; i++) {
+        pdf.getPages().add();
+      }
+      pdf.save(out);
+    }
+    return out.toByteArray();
+  }
+}
@@ -1,8 +1,10 @@
 package com.axonivy.utils.axonivypdf.test;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -12,18 +14,26 @@ import java.awt.Graphics2D;
 import java.awt.image.BufferedImage;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStreamWriter;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.regex.Pattern;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
 
+import javax.imageio.IIOImage;
 import javax.imageio.ImageIO;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.primefaces.model.DefaultStreamedContent;
 import org.primefaces.model.file.UploadedFile;
 import org.primefaces.model.file.UploadedFiles;
@@ -31,17 +41,33 @@ import org.primefaces.model.file.UploadedFiles;
 import com.aspose.pdf.Document;
 import com.aspose.pdf.Font;
 import com.aspose.pdf.FontRepository;
+import com.aspose.pdf.GoToAction;
 import com.aspose.pdf.HighlightAnnotation;
 import com.aspose.pdf.Image;
+import com.aspose.pdf.OutlineItemCollection;
 import com.aspose.pdf.Page;
 import com.aspose.pdf.Position;
 import com.aspose.pdf.Rotation;
 import com.aspose.pdf.TextAbsorber;
 import com.aspose.pdf.TextFragment;
 import com.aspose.pdf.TextFragmentAbsorber;
+import com.axonivy.utils.axonivypdf.dto.ImageExtractOptions;
+import com.axonivy.utils.axonivypdf.dto.ImageOptions;
+import com.axonivy.utils.axonivypdf.dto.MergeOptions;
+import com.axonivy.utils.axonivypdf.dto.MergeResult;
+import com.axonivy.utils.axonivypdf.dto.RenderOptions;
+import com.axonivy.utils.axonivypdf.dto.SplitOptions;
+import com.axonivy.utils.axonivypdf.dto.TextExtractOptions;
+import com.axonivy.utils.axonivypdf.dto.TextIndexHit;
+import com.axonivy.utils.axonivypdf.dto.TextSearchMatch;
+import com.axonivy.utils.axonivypdf.dto.TextSearchOptions;
 import com.axonivy.utils.axonivypdf.enums.FileExtension;
+import com.axonivy.utils.axonivypdf.enums.ImageColorMode;
 import com.axonivy.utils.axonivypdf.enums.TextExtractType;
+import com.axonivy.utils.axonivypdf.exception.AxonivyPdfException;
+import com.axonivy.utils.axonivypdf.service.PdfPipeline;
 import com.axonivy.utils.axonivypdf.service.PdfService;
+import com.axonivy.utils.axonivypdf.service.TextIndex;
 
 import ch.ivyteam.ivy.environment.Ivy;
 import ch.ivyteam.ivy.environment.IvyTest;
@@ -130,6 +156,64 @@ public class PdfServiceTest {
     return out.toByteArray();
   }
 
+  private byte[] createPdfWithPages(int pageCount, int... bookmarkedPages) {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try (Document doc = new Document()) {
+      Font font = FontRepository.findFont(TIMES_NEW_ROMAN_FONT);
+      for (int i = 1; i <= pageCount; i++) {
+        TextFragment text = new TextFragment("This is page " + i + ".");
+        text.getTextState().setFont(font);
+        text.getTextState().setFontSize(12);
+        doc.getPages().add().getParagraphs().add(text);
+      }
+      for (int pageNumber : bookmarkedPages) {
+        OutlineItemCollection outline = new OutlineItemCollection(doc.getOutlines());
+        outline.setTitle("Chapter starting on page " + pageNumber);
+        outline.setAction(new GoToAction(doc.getPages().get_Item(pageNumber)));
+        doc.getOutlines().add(outline);
+      }
+      doc.save(out);
+    }
+    return out.toByteArray();
+  }
+
+  private List<String> zipEntryNames(byte[] zip) throws IOException {
+    List<String> names = new ArrayList<>();
+    try (ZipInputStream zis = new ZipInputStream(new ByteArrayInputStream(zip))) {
+      ZipEntry entry;
+      while ((entry = zis.getNextEntry()) != null) {
+        names.add(entry.getName());
+      }
+    }
+    return names;
+  }
+
+  private byte[] createPng(int width, int height) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB), "png", out);
+    return out.toByteArray();
+  }
+
+  /**
+   * A bilevel TIFF whose frames are 100, 200, ... pixels wide.
+   */
+  private byte[] createTiff(int frameCount) throws IOException {
+    ByteArrayOutputStream tiff = new ByteArrayOutputStream();
+    ImageWriter writer = ImageIO.getImageWritersByFormatName("tif").next();
+    try (ImageOutputStream stream = ImageIO.createImageOutputStream(tiff)) {
+      writer.setOutput(stream);
+      writer.prepareWriteSequence(null);
+      for (int i = 1; i <= frameCount; i++) {
+        writer.writeToSequence(new IIOImage(new BufferedImage(100 * i, 80, BufferedImage.TYPE_BYTE_BINARY), null, null),
+            null);
+      }
+      writer.endWriteSequence();
+    } finally {
+      writer.dispose();
+    }
+    return tiff.toByteArray();
+  }
+
   private UploadedFile mockFile(String name, byte[] data) throws IOException {
     UploadedFile uploadedFile = mock(UploadedFile.class);
     when(uploadedFile.getFileName()).thenReturn(name);
@@ -137,6 +221,27 @@ public class PdfServiceTest {
     return uploadedFile;
   }
 
+  /**
+   * An uploaded file which fails the test as soon as its content is read into memory as a whole.
+   */
+  private UploadedFile mockStreamedFile(String name, byte[] data) throws IOException {
+    UploadedFile uploadedFile = mock(UploadedFile.class);
+    when(uploadedFile.getFileName()).thenReturn(name);
+    when(uploadedFile.getContent()).thenThrow(new AssertionError("The source was read into memory"));
+    when(uploadedFile.getInputStream()).thenReturn(new FilterInputStream(new ByteArrayInputStream(data)) {
+      @Override
+      public byte[] readAllBytes() {
+        throw new AssertionError("The source was read into memory");
+      }
+
+      @Override
+      public byte[] readNBytes(int len) {
+        throw new AssertionError("The source was read into memory");
+      }
+    });
+    return uploadedFile;
+  }
+
   private UploadedFile mockUploadedFile() throws Exception {
     byte[] pdfBytes = createMockPdfWithNormalAndHighlightedText();
     UploadedFile uploadedFile = mock(UploadedFile.class);
@@ -211,6 +316,73 @@ public class PdfServiceTest {
     assertTrue(new String(merged).contains("%PDF"));
   }
 
+  @Test
+  void testMergeInPacketsSkipsAndReportsBrokenFile() throws Exception {
+    UploadedFiles uploadedFiles = mock(UploadedFiles.class);
+    List<UploadedFile> files = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      files.add(i == 2 ? mockFile("broken.pdf", "not a pdf".getBytes(StandardCharsets.UTF_8))
+          : mockFile("file" + i + ".pdf", createMockPdf()));
+    }
+    when(uploadedFiles.getFiles()).thenReturn(files);
+    MergeOptions options = new MergeOptions();
+    options.setPacketSize(2);
+    options.setSkipFailedInputs(true);
+    options.setDeduplicateResources(true);
+
+    MergeResult result = pdfService.merge(uploadedFiles, options);
+
+    assertEquals(4, result.getMergedFileCount());
+    assertEquals(4, result.getPageCount());
+    assertFalse(result.isComplete());
+    assertEquals(1, result.getFailures().size());
+    assertEquals("broken.pdf", result.getFailures().get(0).getFileName());
+    assertEquals(2, result.getFailures().get(0).getIndex());
+    try (Document merged = new Document(result.getContent().getStream().get())) {
+      assertEquals(4, merged.getPages().size());
+    }
+  }
+
+  @Test
+  void testTreeMergeKeepsOrderAndBookmarks() throws Exception {
+    UploadedFiles uploadedFiles = mock(UploadedFiles.class);
+    List<UploadedFile> files = new ArrayList<>();
+    for (int i = 0; i < 7; i++) {
+      files.add(mockFile("file" + i + ".pdf", createPdfWithPages(i + 1, i + 1)));
+    }
+    when(uploadedFiles.getFiles()).thenReturn(files);
+    MergeOptions options = MergeOptions.tree(2);
+    options.setParallelism(3);
+
+    MergeResult result = pdfService.merge(uploadedFiles, options);
+
+    assertEquals(7, result.getMergedFileCount());
+    assertEquals(28, result.getPageCount());
+    try (Document merged = new Document(result.getContent().getStream().get())) {
+      assertEquals(28, merged.getPages().size());
+      assertEquals(7, merged.getOutlines().size());
+      int lastPageOfFile = 0;
+      for (int i = 0; i < 7; i++) {
+        lastPageOfFile += i + 1;
+        TextAbsorber absorber = new TextAbsorber();
+        merged.getPages().get_Item(lastPageOfFile).accept(absorber);
+        assertTrue(absorber.getText().contains("This is page " + (i + 1) + "."), absorber.getText());
+      }
+    }
+  }
+
+  @Test
+  void testMergeFailureNamesBrokenFile() throws Exception {
+    UploadedFiles uploadedFiles = mock(UploadedFiles.class);
+    UploadedFile broken = mockFile("broken.pdf", "not a pdf".getBytes(StandardCharsets.UTF_8));
+    when(uploadedFiles.getFiles()).thenReturn(List.of(mockFile("a.pdf", createMockPdf()), broken));
+
+    AxonivyPdfException exception = assertThrows(AxonivyPdfException.class,
+        () -> pdfService.merge(uploadedFiles, new ByteArrayOutputStream()));
+
+    assertTrue(exception.getMessage().contains("broken.pdf"), exception.getMessage());
+  }
+
   @Test
   void testConvertHtmlToPdf() throws Exception {
     ByteArrayOutputStream pdfOut = new ByteArrayOutputStream();
@@ -259,6 +431,120 @@ public class PdfServiceTest {
     assertEquals("%PDF", pdfHeader);
   }
 
+  @Test
+  void testConvertImagesToPdfKeepsOrderAndImageSizes() throws Exception {
+    UploadedFiles uploadedFiles = mock(UploadedFiles.class);
+    List<UploadedFile> files = new ArrayList<>();
+    for (int i = 1; i <= 5; i++) {
+      BufferedImage image = new BufferedImage(100 * i, 50, BufferedImage.TYPE_INT_RGB);
+      ByteArrayOutputStream imageBytesOut = new ByteArrayOutputStream();
+      ImageIO.write(image, i % 2 == 0 ? "jpg" : "png", imageBytesOut);
+      files.add(mockFile("image" + i, imageBytesOut.toByteArray()));
+    }
+    when(uploadedFiles.getFiles()).thenReturn(files);
+
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    pdfService.convertImagesToSinglePdf(uploadedFiles, output);
+
+    try (Document pdf = new Document(new ByteArrayInputStream(output.toByteArray()))) {
+      assertEquals(5, pdf.getPages().size());
+      for (int i = 1; i <= 5; i++) {
+        assertEquals(100 * i, pdf.getPages().get_Item(i).getMediaBox().getWidth(), 0.5);
+        assertEquals(50, pdf.getPages().get_Item(i).getMediaBox().getHeight(), 0.5);
+      }
+    }
+  }
+
+  @Test
+  void testConvertImagesToPdfDownscalesAndKeepsPageSize() throws Exception {
+    UploadedFiles uploadedFiles = mock(UploadedFiles.class);
+    when(uploadedFiles.getFiles()).thenReturn(List.of(mockFile("scan.png", createPng(2000, 1000))));
+    ImageOptions options = ImageOptions.maxPixelDimension(500);
+    options.setColorMode(ImageColorMode.GRAYSCALE);
+    options.setParallelism(2);
+
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    pdfService.convertImagesToSinglePdf(uploadedFiles, options, output);
+
+    try (Document pdf = new Document(new ByteArrayInputStream(output.toByteArray()))) {
+      Page page = pdf.getPages().get_Item(1);
+      assertEquals(2000, page.getMediaBox().getWidth(), 0.5);
+      assertEquals(1000, page.getMediaBox().getHeight(), 0.5);
+      assertEquals(500, page.getResources().getImages().get_Item(1).getWidth());
+      assertEquals(250, page.getResources().getImages().get_Item(1).getHeight());
+    }
+  }
+
+  @Test
+  void testConvertMultiPageTiffAddsPagePerFrame() throws Exception {
+    UploadedFiles uploadedFiles = mock(UploadedFiles.class);
+    when(uploadedFiles.getFiles()).thenReturn(List.of(mockFile("fax.tif", createTiff(3)),
+        mockFile("cover.png", createPng(40, 40))));
+
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    pdfService.convertImagesToSinglePdf(uploadedFiles, output);
+
+    try (Document pdf = new Document(new ByteArrayInputStream(output.toByteArray()))) {
+      assertEquals(4, pdf.getPages().size());
+      for (int i = 1; i <= 3; i++) {
+        assertEquals(100 * i, pdf.getPages().get_Item(i).getMediaBox().getWidth(), 0.5);
+      }
+      assertEquals(40, pdf.getPages().get_Item(4).getMediaBox().getWidth(), 0.5);
+    }
+  }
+
+  @Test
+  void testConvertMultiPageTiffInParallelKeepsFrameOrderWithoutReadingUploadIntoMemory() throws Exception {
+    UploadedFiles uploadedFiles = mock(UploadedFiles.class);
+    when(uploadedFiles.getFiles()).thenReturn(List.of(mockStreamedFile("fax.tif", createTiff(5)),
+        mockStreamedFile("cover.png", createPng(40, 40)), mockStreamedFile("second.tif", createTiff(2))));
+    ImageOptions options = new ImageOptions();
+    options.setParallelism(3);
+
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    pdfService.convertImagesToSinglePdf(uploadedFiles, options, output);
+
+    try (Document pdf = new Document(new ByteArrayInputStream(output.toByteArray()))) {
+      assertEquals(8, pdf.getPages().size());
+      for (int i = 1; i <= 5; i++) {
+        assertEquals(100 * i, pdf.getPages().get_Item(i).getMediaBox().getWidth(), 0.5);
+      }
+      assertEquals(40, pdf.getPages().get_Item(6).getMediaBox().getWidth(), 0.5);
+      assertEquals(100, pdf.getPages().get_Item(7).getMediaBox().getWidth(), 0.5);
+      assertEquals(200, pdf.getPages().get_Item(8).getMediaBox().getWidth(), 0.5);
+    }
+  }
+
+  @Test
+  void testConvertLargeImageIsDownscaledToMaxMegapixels() throws Exception {
+    UploadedFiles uploadedFiles = mock(UploadedFiles.class);
+    when(uploadedFiles.getFiles()).thenReturn(List.of(mockFile("large.png", createPng(2000, 1000))));
+    ImageOptions options = new ImageOptions();
+    options.setMaxMegapixels(1);
+
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    pdfService.convertImagesToSinglePdf(uploadedFiles, options, output);
+
+    try (Document pdf = new Document(new ByteArrayInputStream(output.toByteArray()))) {
+      Page page = pdf.getPages().get_Item(1);
+      assertEquals(2000, page.getMediaBox().getWidth(), 0.5);
+      assertEquals(1414, page.getResources().getImages().get_Item(1).getWidth());
+      assertEquals(707, page.getResources().getImages().get_Item(1).getHeight());
+    }
+  }
+
+  @Test
+  void testConvertUnsupportedImageNamesFile() throws Exception {
+    UploadedFiles uploadedFiles = mock(UploadedFiles.class);
+    UploadedFile notAnImage = mockFile("notes.txt", "plain text".getBytes(StandardCharsets.UTF_8));
+    when(uploadedFiles.getFiles()).thenReturn(List.of(notAnImage));
+
+    AxonivyPdfException exception =
+        assertThrows(AxonivyPdfException.class, () -> pdfService.convertImagesToSinglePdf(uploadedFiles));
+
+    assertTrue(exception.getMessage().contains("notes.txt"), exception.getMessage());
+  }
+
   @Test
   void testAddHeader() throws Exception {
     byte[] pdfBytes = createMockPdf();
@@ -284,6 +570,26 @@ public class PdfServiceTest {
     assertTrue(extractedText.contains(headerText), "Header text should be present in the resulting PDF");
   }
 
+  @Test
+  void testAddHeaderToOutputStream() throws Exception {
+    UploadedFile uploadedFile = mockFile("a.pdf", createMockPdf());
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+    String headerText = "HEADER_STREAM_TEST";
+    pdfService.addHeader(uploadedFile, headerText, output);
+
+    byte[] resultPdfBytes = output.toByteArray();
+    assertEquals("%PDF", new String(resultPdfBytes, 0, 4));
+
+    Document checkDoc = new Document(new ByteArrayInputStream(resultPdfBytes));
+    TextAbsorber absorber = new TextAbsorber();
+    checkDoc.getPages().accept(absorber);
+    String extractedText = absorber.getText();
+    checkDoc.close();
+
+    assertTrue(extractedText.contains(headerText), "Header text should be written to the given stream");
+  }
+
   @Test
   void testAddFooter() throws Exception {
     byte[] pdfBytes = createMockPdf();
@@ -394,6 +700,44 @@ public class PdfServiceTest {
     pdfWithNumbers.close();
   }
 
+  @Test
+  void testApplyPipeline() throws Exception {
+    Document doc = new Document();
+    for (int i = 0; i < 3; i++) {
+      doc.getPages().add();
+    }
+    ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    doc.save(baos);
+    doc.close();
+    UploadedFile uploadedFile = mockFile("a.pdf", baos.toByteArray());
+
+    PdfPipeline pipeline = PdfPipeline.builder().header("HEADER_TEST").footer("FOOTER_TEST")
+        .watermark("WATERMARK_TEST").pageNumbers().rotate(Rotation.on90).build();
+    DefaultStreamedContent result = pdfService.applyPipeline(uploadedFile, pipeline);
+
+    assertEquals("a_processed.pdf", result.getName());
+
+    Document processed = new Document(new ByteArrayInputStream(result.getStream().get().readAllBytes()));
+    TextAbsorber absorber = new TextAbsorber();
+    processed.getPages().accept(absorber);
+    String extractedText = absorber.getText();
+
+    assertTrue(extractedText.contains("HEADER_TEST"));
+    assertTrue(extractedText.contains("FOOTER_TEST"));
+    assertTrue(extractedText.contains("WATERMARK_TEST"));
+    for (int pageNum = 1; pageNum <= 3; pageNum++) {
+      Page page = processed.getPages().get_Item(pageNum);
+      assertEquals(Rotation.on90, page.getRotate());
+
+      String expectedText = Ivy.cms().co("/Dialogs/com/axonivy/utils/axonivypdf/demo/PageOperations/PageNumberFormat",
+          List.of(pageNum, 3));
+      TextFragmentAbsorber pageNumberAbsorber = new TextFragmentAbsorber(expectedText);
+      page.accept(pageNumberAbsorber);
+      assertTrue(pageNumberAbsorber.getTextFragments().size() > 0, "Expected page number text on page " + pageNum);
+    }
+    processed.close();
+  }
+
   @Test
   void testExtractHighlightedText() throws Exception {
     byte[] pdfBytes = createMockPdfWithNormalAndHighlightedText();
@@ -424,12 +768,118 @@ public class PdfServiceTest {
 
     assertNotNull(result);
     assertEquals("extract_all_test_extracted_text.txt", result.getName());
+    assertEquals("text/plain", result.getContentType());
 
     String extracted = textStream.toString(StandardCharsets.UTF_8);
     assertTrue(extracted.contains(NORMAL_TEXT));
     assertTrue(extracted.contains(HIGHLIGHTED_TEXT));
   }
 
+  @Test
+  void testExtractTextStreamsPageRangeWithSeparators() throws Exception {
+    UploadedFile uploadedFile = mockStreamedFile("a.pdf", createPdfWithPages(6));
+    TextExtractOptions options = TextExtractOptions.pages(2, 5);
+    options.setPageSeparator("%n--- page %d ---%n");
+    options.setParallelism(3);
+
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    pdfService.extractText(uploadedFile, options, output);
+
+    String text = output.toString(StandardCharsets.UTF_8);
+    assertFalse(text.contains("This is page 1."), text);
+    assertFalse(text.contains("This is page 6."), text);
+    assertFalse(text.contains("--- page 2 ---"), text);
+    int previous = -1;
+    for (int page = 2; page <= 5; page++) {
+      int position = text.indexOf("This is page " + page + ".");
+      assertTrue(position > previous, text);
+      if (page > 2) {
+        assertTrue(text.indexOf("--- page " + page + " ---") < position, text);
+      }
+      previous = position;
+    }
+  }
+
+  @Test
+  void testExtractHighlightsAsNdjson() throws Exception {
+    UploadedFile uploadedFile = mockFile("highlight_test.pdf", createMockPdfWithNormalAndHighlightedText());
+
+    DefaultStreamedContent result = pdfService.extractHighlights(uploadedFile, new TextExtractOptions());
+
+    assertNotNull(result);
+    assertEquals("highlight_test_highlights.ndjson", result.getName());
+    assertEquals("application/x-ndjson", result.getContentType());
+
+    String[] records = new String(result.getStream().get().readAllBytes(), StandardCharsets.UTF_8).split("\n");
+    assertEquals(1, records.length);
+    assertTrue(records[0].startsWith("{\"page\":1,\"index\":1,\"rect\":{\"llx\":"), records[0]);
+    assertTrue(records[0].contains("\"color\":\"#ffff00\""), records[0]);
+    assertTrue(records[0].contains(HIGHLIGHTED_TEXT), records[0]);
+    assertFalse(records[0].contains(NORMAL_TEXT), records[0]);
+  }
+
+  @Test
+  void testSearchTextStopsAtMaxMatchesInPageOrder() throws Exception {
+    byte[] pdfBytes = createPdfWithPages(6);
+    TextSearchOptions options = TextSearchOptions.regex(Pattern.compile("PAGE \\d", Pattern.CASE_INSENSITIVE));
+    options.setMaxMatches(2);
+    options.setParallelism(3);
+
+    List<TextSearchMatch> matches = pdfService.searchText(mockStreamedFile("a.pdf", pdfBytes), options);
+
+    assertEquals(2, matches.size());
+    assertEquals(1, matches.get(0).getPageNumber());
+    assertEquals("page 1", matches.get(0).getText());
+    assertEquals(2, matches.get(1).getPageNumber());
+    assertTrue(matches.get(0).getUrx() > matches.get(0).getLlx());
+
+    TextSearchOptions literal = TextSearchOptions.literal("page 4.");
+    literal.setStartPage(3);
+    matches = pdfService.searchText(mockFile("a.pdf", pdfBytes), literal);
+    assertEquals(1, matches.size());
+    assertEquals(4, matches.get(0).getPageNumber());
+
+    assertTrue(pdfService.containsText(mockFile("a.pdf", pdfBytes), "This is page 5."));
+    assertFalse(pdfService.containsText(mockFile("a.pdf", pdfBytes), "page 7"));
+  }
+
+  @Test
+  void testTextIndexAnswersTermAndPhraseQueriesAcrossReopen(@TempDir Path directory) throws Exception {
+    byte[] pages = createPdfWithPages(3);
+    String pagesHash;
+    try (TextIndex index = new TextIndex(directory)) {
+      pagesHash = pdfService.indexText(mockFile("pages.pdf", pages), index);
+      pdfService.indexText(mockFile("highlight_test.pdf", createMockPdfWithNormalAndHighlightedText()), index);
+      assertEquals(pagesHash, pdfService.indexText(mockFile("copy.pdf", pages), index));
+      assertTrue(index.search("page").isEmpty());
+
+      index.commit();
+
+      assertEquals(2, index.getDocumentCount());
+      List<TextIndexHit> hits = index.search("Page 2");
+      assertEquals(1, hits.size());
+      assertEquals("pages.pdf", hits.get(0).getFileName());
+      assertEquals(2, hits.get(0).getPageNumber());
+      assertEquals(3, index.search("page").size());
+      assertEquals(2, index.search("page", 2).size());
+      hits = index.search("highlighted for testing");
+      assertEquals(1, hits.size());
+      assertEquals(2, hits.get(0).getMatchCount());
+      assertTrue(index.search("testing highlighted").isEmpty());
+    }
+
+    try (TextIndex index = new TextIndex(directory)) {
+      assertEquals(2, index.getDocumentCount());
+      assertEquals(3, index.search("is page").size());
+      assertTrue(index.remove(pagesHash));
+      index.commit();
+      assertTrue(index.search("page").isEmpty());
+      index.optimize();
+      assertEquals(1, index.getSegmentCount());
+      assertEquals(1, index.search("not highlighted").size());
+    }
+  }
+
   @Test
   void testExtractImagesFromPdf() throws Exception {
     byte[] pdfBytes = createMockPdfWithImages();
@@ -463,6 +913,65 @@ public class PdfServiceTest {
     assertTrue(foundPng);
   }
 
+  @Test
+  void testExtractImagesKeepsJpegAndSkipsRepeatedAndTinyImages() throws Exception {
+    ByteArrayOutputStream jpeg = new ByteArrayOutputStream();
+    ImageIO.write(new BufferedImage(200, 100, BufferedImage.TYPE_INT_RGB), "jpg", jpeg);
+    byte[] icon = createPng(8, 8);
+    Document pdf = new Document();
+    for (int i = 0; i < 3; i++) {
+      Page page = pdf.getPages().add();
+      Image logo = new Image();
+      logo.setImageStream(new ByteArrayInputStream(jpeg.toByteArray()));
+      page.getParagraphs().add(logo);
+      Image bullet = new Image();
+      bullet.setImageStream(new ByteArrayInputStream(icon));
+      page.getParagraphs().add(bullet);
+    }
+    ByteArrayOutputStream pdfOut = new ByteArrayOutputStream();
+    pdf.save(pdfOut);
+    pdf.close();
+    ImageExtractOptions options = ImageExtractOptions.pages(2, 3);
+    options.setMinWidth(16);
+    options.setMinHeight(16);
+
+    ByteArrayOutputStream zip = new ByteArrayOutputStream();
+    pdfService.extractImagesFromPdf(mockFile("logo.pdf", pdfOut.toByteArray()), options, zip);
+
+    assertEquals(List.of("logo_page_2_image_1.jpg"), zipEntryNames(zip.toByteArray()));
+    try (ZipInputStream zis = new ZipInputStream(new ByteArrayInputStream(zip.toByteArray()))) {
+      zis.getNextEntry();
+      byte[] image = zis.readAllBytes();
+      assertEquals(0xFF, image[0] & 0xFF);
+      assertEquals(0xD8, image[1] & 0xFF);
+    }
+  }
+
+  @Test
+  void testExtractImagesInParallelKeepsPageOrder() throws Exception {
+    Document pdf = new Document();
+    for (int i = 1; i <= 6; i++) {
+      Image image = new Image();
+      image.setImageStream(new ByteArrayInputStream(createPng(20 * i, 20)));
+      pdf.getPages().add().getParagraphs().add(image);
+    }
+    ByteArrayOutputStream pdfOut = new ByteArrayOutputStream();
+    pdf.save(pdfOut);
+    pdf.close();
+    ImageExtractOptions options = new ImageExtractOptions();
+    options.setNativeFormat(false);
+    options.setParallelism(3);
+
+    ByteArrayOutputStream zip = new ByteArrayOutputStream();
+    pdfService.extractImagesFromPdf(mockStreamedFile("catalog.pdf", pdfOut.toByteArray()), options, zip);
+
+    List<String> expected = new ArrayList<>();
+    for (int i = 1; i <= 6; i++) {
+      expected.add("catalog_page_" + i + "_image_" + i + ".png");
+    }
+    assertEquals(expected, zipEntryNames(zip.toByteArray()));
+  }
+
   @Test
   void testConvertPdfToImagesZip() throws Exception {
     byte[] pdfBytes = createMockPdfWithTwoPages();
@@ -493,6 +1002,63 @@ public class PdfServiceTest {
     assertEquals(pageCount, imageFileCount, "Number of images in ZIP must equal number of pages in PDF");
   }
 
+  @Test
+  void testConvertPdfToImagesZipInParallel() throws Exception {
+    byte[] pdfBytes = createMockPdfWithTwoPages();
+    Document pdfDocument = new Document(new ByteArrayInputStream(pdfBytes));
+
+    DefaultStreamedContent result = pdfService.convertPdfToImagesZip(pdfDocument, "a.pdf", ".jpg", 2);
+
+    ByteArrayInputStream zipBytes = new ByteArrayInputStream(result.getStream().get().readAllBytes());
+    List<String> entryNames = new ArrayList<>();
+    try (ZipInputStream zis = new ZipInputStream(zipBytes)) {
+      ZipEntry entry;
+      while ((entry = zis.getNextEntry()) != null) {
+        entryNames.add(entry.getName());
+        assertTrue(zis.readAllBytes().length > 0, "Rendered page must not be empty: " + entry.getName());
+      }
+    }
+
+    assertEquals(List.of("a_page_1.jpg", "a_page_2.jpg"), entryNames, "Pages must be written in page order");
+  }
+
+  @Test
+  void testConvertPdfToImagesWithPngDeviceAndPageRange() throws Exception {
+    UploadedFile uploadedFile = mockFile("a.pdf", createMockPdfWithTwoPages());
+    RenderOptions options = RenderOptions.forFormat(FileExtension.PNG);
+    options.setStartPage(2);
+    options.setEndPage(2);
+
+    DefaultStreamedContent result = pdfService.convertPdfToImages(uploadedFile, options);
+
+    try (ZipInputStream zis = new ZipInputStream(result.getStream().get())) {
+      ZipEntry entry = zis.getNextEntry();
+      assertEquals("a_page_2.png", entry.getName());
+      byte[] image = zis.readAllBytes();
+      assertEquals((byte) 0x89, image[0], "Entry must contain PNG bytes");
+      assertEquals("PNG", new String(image, 1, 3, StandardCharsets.US_ASCII));
+      assertEquals(null, zis.getNextEntry());
+    }
+  }
+
+  @Test
+  void testConvertPdfToImagesThumbnail() throws Exception {
+    UploadedFile uploadedFile = mockFile("a.pdf", createMockPdfWithTwoPages());
+
+    DefaultStreamedContent result = pdfService.convertPdfToImages(uploadedFile, RenderOptions.thumbnail());
+
+    int imageCount = 0;
+    try (ZipInputStream zis = new ZipInputStream(result.getStream().get())) {
+      while (zis.getNextEntry() != null) {
+        BufferedImage thumbnail = ImageIO.read(new ByteArrayInputStream(zis.readAllBytes()));
+        assertTrue(thumbnail.getWidth() <= RenderOptions.THUMBNAIL_MAX_DIMENSION);
+        assertTrue(thumbnail.getHeight() <= RenderOptions.THUMBNAIL_MAX_DIMENSION);
+        imageCount++;
+      }
+    }
+    assertEquals(2, imageCount);
+  }
+
   void testHandleSplitIntoSinglePages() throws Exception {
     UploadedFile uploadedFile = mockFile("a.pdf", createMockPdfWithTwoPages());
     String originalFileName = uploadedFile.getFileName();
@@ -511,6 +1077,103 @@ public class PdfServiceTest {
     }
   }
 
+  @Test
+  void testHandleSplitIntoSinglePagesInParallelKeepsPageOrder() throws Exception {
+    byte[] pdfBytes = createMockPdfWithTwoPages();
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+    try (Document pdfDocument = new Document(new ByteArrayInputStream(pdfBytes))) {
+      pdfService.handleSplitIntoSinglePages(pdfDocument, "a.pdf", 2, output);
+    }
+
+    List<String> pageTexts = new ArrayList<>();
+    try (ZipInputStream zis = new ZipInputStream(new ByteArrayInputStream(output.toByteArray()))) {
+      ZipEntry entry;
+      while ((entry = zis.getNextEntry()) != null) {
+        assertTrue(entry.getName().startsWith("a_page_"), "Unexpected entry " + entry.getName());
+        try (Document page = new Document(new ByteArrayInputStream(zis.readAllBytes()))) {
+          assertEquals(1, page.getPages().size());
+          TextAbsorber absorber = new TextAbsorber();
+          page.getPages().accept(absorber);
+          pageTexts.add(absorber.getText().trim());
+        }
+      }
+    }
+    assertEquals(List.of("This is page 1.", "This is page 2."), pageTexts);
+  }
+
+  @Test
+  void testSplitIntoChunks() throws Exception {
+    UploadedFile uploadedFile = mockFile("a.pdf", createPdfWithPages(5));
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+    pdfService.split(uploadedFile, SplitOptions.chunks(2), output);
+
+    assertEquals(List.of("a_pages_1-2.pdf", "a_pages_3-4.pdf", "a_page_5.pdf"), zipEntryNames(output.toByteArray()));
+  }
+
+  @Test
+  void testSplitReturnsZipThatCanBeDownloadedTwice() throws Exception {
+    UploadedFile uploadedFile = mockFile("a.pdf", createPdfWithPages(3));
+
+    DefaultStreamedContent result = pdfService.split(uploadedFile, SplitOptions.chunks(2));
+
+    assertEquals("application/zip", result.getContentType());
+    byte[] first = result.getStream().get().readAllBytes();
+    byte[] second = result.getStream().get().readAllBytes();
+    assertArrayEquals(first, second);
+    assertEquals(List.of("a_pages_1-2.pdf", "a_page_3.pdf"), zipEntryNames(second));
+  }
+
+  @Test
+  void testSplitInParallelStreamsSourceWithoutReadingItIntoMemory() throws Exception {
+    UploadedFile uploadedFile = mockStreamedFile("a.pdf", createPdfWithPages(6));
+    SplitOptions options = SplitOptions.chunks(2);
+    options.setParallelism(3);
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+    pdfService.split(uploadedFile, options, output);
+
+    assertEquals(List.of("a_pages_1-2.pdf", "a_pages_3-4.pdf", "a_pages_5-6.pdf"), zipEntryNames(output.toByteArray()));
+  }
+
+  @Test
+  void testSplitByTopLevelBookmarks() throws Exception {
+    UploadedFile uploadedFile = mockFile("a.pdf", createPdfWithPages(5, 2, 4));
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+    pdfService.split(uploadedFile, SplitOptions.bookmarks(), output);
+
+    assertEquals(List.of("a_page_1.pdf", "a_pages_2-3.pdf", "a_pages_4-5.pdf"), zipEntryNames(output.toByteArray()));
+  }
+
+  @Test
+  void testSplitByMaximumSizeKeepsPartsBelowLimit() throws Exception {
+    byte[] pdfBytes = createPdfWithPages(8);
+    UploadedFile uploadedFile = mockFile("a.pdf", pdfBytes);
+    SplitOptions options = SplitOptions.maxSize(pdfBytes.length / 3);
+    options.setParallelism(2);
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+    pdfService.split(uploadedFile, options, output);
+
+    int pageCount = 0;
+    int partCount = 0;
+    try (ZipInputStream zis = new ZipInputStream(new ByteArrayInputStream(output.toByteArray()))) {
+      while (zis.getNextEntry() != null) {
+        byte[] part = zis.readAllBytes();
+        try (Document partDocument = new Document(new ByteArrayInputStream(part))) {
+          int partPages = partDocument.getPages().size();
+          assertTrue(part.length <= options.getMaxPartBytes() || partPages == 1, "Part exceeds the limit");
+          pageCount += partPages;
+        }
+        partCount++;
+      }
+    }
+    assertEquals(8, pageCount);
+    assertTrue(partCount > 1, "The source should be split into several parts");
+  }
+
   @Test
   void testHandleSplitByRangeValid() throws Exception {
     UploadedFile uploadedFile = mockUploadedFile();
@@ -533,4 +1196,17 @@ public class PdfServiceTest {
       }
     }
   }
+
+  @Test
+  void testHandleSplitByRangeOfUploadedFile() throws Exception {
+    UploadedFile uploadedFile = mockStreamedFile("a.pdf", createPdfWithPages(5));
+
+    DefaultStreamedContent result = pdfService.handleSplitByRange(uploadedFile, 2, 4);
+
+    assertEquals("a_page_2_to_4.pdf", result.getName());
+    assertEquals("application/pdf", result.getContentType());
+    try (Document part = new Document(result.getStream().get())) {
+      assertEquals(3, part.getPages().size());
+    }
+  }
 }
@@ -0,0 +1,102 @@
+package com.axonivy.utils.axonivypdf.dto;
+
+import com.axonivy.utils.axonivypdf.enums.ImageDeduplication;
+
+/**
+ * Options for extracting the images of a PDF into a zip archive.
+ * <p>
+ * In native format, JPEG and JPEG 2000 images are written with their embedded data as {@code .jpg} respectively
+ * {@code .jp2} and CCITT fax images as {@code .tiff}, without decoding them. All other images, as well as images with
+ * a soft mask or a decode array, are decoded and written as PNG. Images narrower than the minimum width or lower than
+ * the minimum height in pixels, e.g. icons and bullets, are skipped. Unset page bounds mean the first respectively the
+ * last page of the document.
+ * </p>
+ */
+public class ImageExtractOptions {
+  private Integer startPage;
+  private Integer endPage;
+  private int minWidth;
+  private int minHeight;
+  private ImageDeduplication deduplication = ImageDeduplication.CONTENT;
+  private boolean nativeFormat = true;
+  private Integer parallelism;
+
+  /**
+   * The images of the pages between the given bounds, both included.
+   */
+  public static ImageExtractOptions pages(Integer startPage, Integer endPage) {
+    ImageExtractOptions options = new ImageExtractOptions();
+    options.setStartPage(startPage);
+    options.setEndPage(endPage);
+    return options;
+  }
+
+  public Integer getStartPage() {
+    return startPage;
+  }
+
+  public void setStartPage(Integer startPage) {
+    this.startPage = startPage;
+  }
+
+  public Integer getEndPage() {
+    return endPage;
+  }
+
+  public void setEndPage(Integer endPage) {
+    this.endPage = endPage;
+  }
+
+  /**
+   * Minimum width of an extracted image in pixels, 0 extracts images of any width.
+   */
+  public int getMinWidth() {
+    return minWidth;
+  }
+
+  public void setMinWidth(int minWidth) {
+    this.minWidth = minWidth;
+  }
+
+  /**
+   * Minimum height of an extracted image in pixels, 0 extracts images of any height.
+   */
+  public int getMinHeight() {
+    return minHeight;
+  }
+
+  public void setMinHeight(int minHeight) {
+    this.minHeight = minHeight;
+  }
+
+  public ImageDeduplication getDeduplication() {
+    return deduplication;
+  }
+
+  public void setDeduplication(ImageDeduplication deduplication) {
+    this.deduplication = deduplication;
+  }
+
+  /**
+   * Whether JPEG, JPEG 2000 and CCITT fax images keep their embedded encoding, otherwise every image is written as PNG.
+   */
+  public boolean isNativeFormat() {
+    return nativeFormat;
+  }
+
+  public void setNativeFormat(boolean nativeFormat) {
+    this.nativeFormat = nativeFormat;
+  }
+
+  /**
+   * Number of pages whose images are decoded concurrently, {@code null} uses the
+   * {@code AxonivyPdf.ImageExtraction.Parallelism} variable.
+   */
+  public Integer getParallelism() {
+    return parallelism;
+  }
+
+  public void setParallelism(Integer parallelism) {
+    this.parallelism = parallelism;
+  }
+}
@@ -0,0 +1,112 @@
+package com.axonivy.utils.axonivypdf.dto;
+
+import com.axonivy.utils.axonivypdf.enums.ImageColorMode;
+
+/**
+ * Options for embedding images into a PDF.
+ * <p>
+ * By default every image is embedded unchanged on a page of its pixel size. Images can be downscaled to a maximum
+ * width or height in pixels, or to a target resolution in DPI, in which case the page gets the physical size stored in
+ * the image and images without resolution are taken as 72 DPI. A JPEG quality or a reduced color mode makes every
+ * image re-encoded. Bilevel images and images with transparency are stored as PNG, all others as JPEG. Every frame of
+ * a multi-page TIFF becomes its own page.
+ * </p>
+ */
+public class ImageOptions {
+  public static final int DEFAULT_JPEG_QUALITY = 85;
+  public static final int SCAN_RESOLUTION = 150;
+  public static final int SCAN_JPEG_QUALITY = 75;
+
+  private int maxPixelDimension;
+  private int targetResolution;
+  private Integer jpegQuality;
+  private ImageColorMode colorMode = ImageColorMode.COLOR;
+  private Integer maxMegapixels;
+  private Integer parallelism;
+
+  /**
+   * Downscales images so that no side exceeds the given number of pixels.
+   */
+  public static ImageOptions maxPixelDimension(int maxPixelDimension) {
+    ImageOptions options = new ImageOptions();
+    options.setMaxPixelDimension(maxPixelDimension);
+    return options;
+  }
+
+  /**
+   * Grayscale {@value #SCAN_RESOLUTION} DPI pages for scanned documents.
+   */
+  public static ImageOptions documentScan() {
+    ImageOptions options = new ImageOptions();
+    options.setTargetResolution(SCAN_RESOLUTION);
+    options.setJpegQuality(SCAN_JPEG_QUALITY);
+    options.setColorMode(ImageColorMode.GRAYSCALE);
+    return options;
+  }
+
+  /**
+   * Maximum width or height of an embedded image in pixels, 0 means unlimited.
+   */
+  public int getMaxPixelDimension() {
+    return maxPixelDimension;
+  }
+
+  public void setMaxPixelDimension(int maxPixelDimension) {
+    this.maxPixelDimension = maxPixelDimension;
+  }
+
+  /**
+   * Maximum resolution of an embedded image in DPI relative to its physical size, 0 keeps the resolution and sizes
+   * pages by pixels.
+   */
+  public int getTargetResolution() {
+    return targetResolution;
+  }
+
+  public void setTargetResolution(int targetResolution) {
+    this.targetResolution = targetResolution;
+  }
+
+  /**
+   * JPEG quality from 1 to 100 used to re-encode every image, {@code null} only re-encodes images that are scaled or
+   * converted, with a quality of {@value #DEFAULT_JPEG_QUALITY}.
+   */
+  public Integer getJpegQuality() {
+    return jpegQuality;
+  }
+
+  public void setJpegQuality(Integer jpegQuality) {
+    this.jpegQuality = jpegQuality;
+  }
+
+  public ImageColorMode getColorMode() {
+    return colorMode;
+  }
+
+  public void setColorMode(ImageColorMode colorMode) {
+    this.colorMode = colorMode;
+  }
+
+  /**
+   * Maximum number of megapixels of an embedded image, larger images are downscaled while they are read. {@code null}
+   * uses the {@code AxonivyPdf.Image.MaxMegapixels} variable, 0 means unlimited.
+   */
+  public Integer getMaxMegapixels() {
+    return maxMegapixels;
+  }
+
+  public void setMaxMegapixels(Integer maxMegapixels) {
+    this.maxMegapixels = maxMegapixels;
+  }
+
+  /**
+   * Number of images prepared concurrently, {@code null} uses the {@code AxonivyPdf.Image.Parallelism} variable.
+   */
+  public Integer getParallelism() {
+    return parallelism;
+  }
+
+  public void setParallelism(Integer parallelism) {
+    this.parallelism = parallelism;
+  }
+}
@@ -0,0 +1,36 @@
+package com.axonivy.utils.axonivypdf.dto;
+
+/**
+ * An input that could not be merged.
+ */
+public class MergeFailure {
+  private final int index;
+  private final String fileName;
+  private final String message;
+
+  public MergeFailure(int index, String fileName, String message) {
+    this.index = index;
+    this.fileName = fileName;
+    this.message = message;
+  }
+
+  /**
+   * Position of the input in the merged list, starting with 0.
+   */
+  public int getIndex() {
+    return index;
+  }
+
+  public String getFileName() {
+    return fileName;
+  }
+
+  public String getMessage() {
+    return message;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("%s (input %d): %s", fileName, index + 1, message);
+  }
+}
@@ -0,0 +1,91 @@
+package com.axonivy.utils.axonivypdf.dto;
+
+/**
+ * Options for merging many PDF files.
+ * <p>
+ * The inputs are appended one after the other into a file-backed result, which is written to disk every
+ * {@code packetSize} inputs so that only the pages of the current packet are held in memory. By default the merge
+ * stops at the first input that cannot be read; with {@code skipFailedInputs} such inputs are left out and reported
+ * in the {@link MergeResult} instead.
+ * </p>
+ * <p>
+ * Large batches can be merged as a tree by setting a {@code fanIn} of 2 or more: groups of {@code fanIn} inputs are
+ * merged concurrently into intermediate files, which are merged the same way until one document is left.
+ * </p>
+ */
+public class MergeOptions {
+  public static final int DEFAULT_PACKET_SIZE = 20;
+
+  private boolean skipFailedInputs;
+  private boolean deduplicateResources;
+  private int packetSize = DEFAULT_PACKET_SIZE;
+  private int fanIn;
+  private Integer parallelism;
+
+  /**
+   * Options for a tree merge combining {@code fanIn} documents per step.
+   */
+  public static MergeOptions tree(int fanIn) {
+    MergeOptions options = new MergeOptions();
+    options.setFanIn(fanIn);
+    return options;
+  }
+
+  /**
+   * Leaves out unreadable inputs instead of failing the merge.
+   */
+  public boolean isSkipFailedInputs() {
+    return skipFailedInputs;
+  }
+
+  public void setSkipFailedInputs(boolean skipFailedInputs) {
+    this.skipFailedInputs = skipFailedInputs;
+  }
+
+  /**
+   * Links identical fonts, images and other streams of different inputs to one copy and drops unused objects, at the
+   * cost of an additional pass over the result.
+   */
+  public boolean isDeduplicateResources() {
+    return deduplicateResources;
+  }
+
+  public void setDeduplicateResources(boolean deduplicateResources) {
+    this.deduplicateResources = deduplicateResources;
+  }
+
+  /**
+   * Number of inputs appended in memory before the result is written to disk.
+   */
+  public int getPacketSize() {
+    return packetSize;
+  }
+
+  public void setPacketSize(int packetSize) {
+    this.packetSize = packetSize;
+  }
+
+  /**
+   * Number of documents merged into one intermediate document per step of a tree merge, values below 2 merge all
+   * inputs sequentially.
+   */
+  public int getFanIn() {
+    return fanIn;
+  }
+
+  public void setFanIn(int fanIn) {
+    this.fanIn = fanIn;
+  }
+
+  /**
+   * Number of groups merged concurrently in a tree merge, {@code null} uses the {@code AxonivyPdf.Merge.Parallelism}
+   * variable and values below 1 one worker per available processor.
+   */
+  public Integer getParallelism() {
+    return parallelism;
+  }
+
+  public void setParallelism(Integer parallelism) {
+    this.parallelism = parallelism;
+  }
+}
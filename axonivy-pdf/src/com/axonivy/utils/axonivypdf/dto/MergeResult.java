@@ -0,0 +1,48 @@
+package com.axonivy.utils.axonivypdf.dto;
+
+import java.util.List;
+
+import org.primefaces.model.DefaultStreamedContent;
+
+/**
+ * Outcome of a merge: the merged document, how much of the inputs it holds and which inputs were left out.
+ */
+public class MergeResult {
+  private final DefaultStreamedContent content;
+  private final int mergedFileCount;
+  private final int pageCount;
+  private final List<MergeFailure> failures;
+
+  public MergeResult(DefaultStreamedContent content, int mergedFileCount, int pageCount, List<MergeFailure> failures) {
+    this.content = content;
+    this.mergedFileCount = mergedFileCount;
+    this.pageCount = pageCount;
+    this.failures = List.copyOf(failures);
+  }
+
+  /**
+   * The merged document, {@code null} if the result was written into a given stream.
+   */
+  public DefaultStreamedContent getContent() {
+    return content;
+  }
+
+  public int getMergedFileCount() {
+    return mergedFileCount;
+  }
+
+  public int getPageCount() {
+    return pageCount;
+  }
+
+  public List<MergeFailure> getFailures() {
+    return failures;
+  }
+
+  /**
+   * Whether every input was merged.
+   */
+  public boolean isComplete() {
+    return failures.isEmpty();
+  }
+}
@@ -0,0 +1,45 @@
+package com.axonivy.utils.axonivypdf.dto;
+
+/**
+ * Size of a page in PDF points (1/72 inch) as given by its media box, before rotation.
+ */
+public class PageSize {
+  private double width;
+  private double height;
+  private int rotation;
+
+  public PageSize() {}
+
+  public PageSize(double width, double height, int rotation) {
+    this.width = width;
+    this.height = height;
+    this.rotation = rotation;
+  }
+
+  public double getWidth() {
+    return width;
+  }
+
+  public void setWidth(double width) {
+    this.width = width;
+  }
+
+  public double getHeight() {
+    return height;
+  }
+
+  public void setHeight(double height) {
+    this.height = height;
+  }
+
+  /**
+   * Clockwise page rotation in degrees, a multiple of 90.
+   */
+  public int getRotation() {
+    return rotation;
+  }
+
+  public void setRotation(int rotation) {
+    this.rotation = rotation;
+  }
+}
@@ -0,0 +1,95 @@
+package com.axonivy.utils.axonivypdf.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Document level facts about a PDF, as returned by {@link com.axonivy.utils.axonivypdf.service.PdfMetadataProbe}.
+ */
+public class PdfMetadata {
+  private int pageCount;
+  private List<PageSize> pageSizes = new ArrayList<>();
+  private boolean encrypted;
+  private String version;
+  private String producer;
+  private boolean hasAnnotations;
+  private boolean hasImages;
+  private boolean fullyParsed;
+
+  public int getPageCount() {
+    return pageCount;
+  }
+
+  public void setPageCount(int pageCount) {
+    this.pageCount = pageCount;
+  }
+
+  public List<PageSize> getPageSizes() {
+    return pageSizes;
+  }
+
+  public void setPageSizes(List<PageSize> pageSizes) {
+    this.pageSizes = pageSizes;
+  }
+
+  public boolean isEncrypted() {
+    return encrypted;
+  }
+
+  public void setEncrypted(boolean encrypted) {
+    this.encrypted = encrypted;
+  }
+
+  /**
+   * PDF version such as {@code 1.7}, taken from the catalog if it overrides the file header.
+   */
+  public String getVersion() {
+    return version;
+  }
+
+  public void setVersion(String version) {
+    this.version = version;
+  }
+
+  /**
+   * Producer from the document information dictionary, {@code null} if missing or encrypted.
+   */
+  public String getProducer() {
+    return producer;
+  }
+
+  public void setProducer(String producer) {
+    this.producer = producer;
+  }
+
+  public boolean isHasAnnotations() {
+    return hasAnnotations;
+  }
+
+  public void setHasAnnotations(boolean hasAnnotations) {
+    this.hasAnnotations = hasAnnotations;
+  }
+
+  /**
+   * Whether any page references an image XObject directly in its resources.
+   */
+  public boolean isHasImages() {
+    return hasImages;
+  }
+
+  public void setHasImages(boolean hasImages) {
+    this.hasImages = hasImages;
+  }
+
+  /**
+   * Whether the metadata had to be read by fully parsing the document, e.g. because the cross-reference table is
+   * damaged.
+   */
+  public boolean isFullyParsed() {
+    return fullyParsed;
+  }
+
+  public void setFullyParsed(boolean fullyParsed) {
+    this.fullyParsed = fullyParsed;
+  }
+}
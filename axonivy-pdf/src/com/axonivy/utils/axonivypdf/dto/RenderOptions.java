@@ -0,0 +1,113 @@
+package com.axonivy.utils.axonivypdf.dto;
+
+import com.axonivy.utils.axonivypdf.enums.FileExtension;
+
+/**
+ * Options for rendering PDF pages into images.
+ * <p>
+ * The format selects the matching Aspose device ({@link FileExtension#PNG}, {@link FileExtension#JPG},
+ * {@link FileExtension#JPEG} or {@link FileExtension#TIFF}). The resolution is given in DPI and is lowered
+ * automatically for pages that would exceed the maximum dimension. Unset page bounds mean the first respectively the
+ * last page of the document.
+ * </p>
+ */
+public class RenderOptions {
+  public static final int DEFAULT_RESOLUTION = 150;
+  public static final int THUMBNAIL_RESOLUTION = 36;
+  public static final int THUMBNAIL_QUALITY = 60;
+  public static final int THUMBNAIL_MAX_DIMENSION = 256;
+
+  private FileExtension format = FileExtension.JPG;
+  private int resolution = DEFAULT_RESOLUTION;
+  private Integer quality;
+  private Integer startPage;
+  private Integer endPage;
+  private int maxDimension;
+  private Integer parallelism;
+
+  /**
+   * Full resolution rendering in the given format.
+   */
+  public static RenderOptions forFormat(FileExtension format) {
+    RenderOptions options = new RenderOptions();
+    options.setFormat(format);
+    return options;
+  }
+
+  /**
+   * Low resolution JPEG rendering for previews, no side of an image exceeds {@value #THUMBNAIL_MAX_DIMENSION} pixels.
+   */
+  public static RenderOptions thumbnail() {
+    RenderOptions options = new RenderOptions();
+    options.setFormat(FileExtension.JPG);
+    options.setResolution(THUMBNAIL_RESOLUTION);
+    options.setQuality(THUMBNAIL_QUALITY);
+    options.setMaxDimension(THUMBNAIL_MAX_DIMENSION);
+    return options;
+  }
+
+  public FileExtension getFormat() {
+    return format;
+  }
+
+  public void setFormat(FileExtension format) {
+    this.format = format;
+  }
+
+  public int getResolution() {
+    return resolution;
+  }
+
+  public void setResolution(int resolution) {
+    this.resolution = resolution;
+  }
+
+  /**
+   * JPEG quality from 1 to 100, {@code null} keeps the Aspose default. Ignored for other formats.
+   */
+  public Integer getQuality() {
+    return quality;
+  }
+
+  public void setQuality(Integer quality) {
+    this.quality = quality;
+  }
+
+  public Integer getStartPage() {
+    return startPage;
+  }
+
+  public void setStartPage(Integer startPage) {
+    this.startPage = startPage;
+  }
+
+  public Integer getEndPage() {
+    return endPage;
+  }
+
+  public void setEndPage(Integer endPage) {
+    this.endPage = endPage;
+  }
+
+  /**
+   * Maximum width or height of a rendered page in pixels, 0 means unlimited.
+   */
+  public int getMaxDimension() {
+    return maxDimension;
+  }
+
+  public void setMaxDimension(int maxDimension) {
+    this.maxDimension = maxDimension;
+  }
+
+  /**
+   * Number of pages rendered concurrently, {@code null} uses the {@code AxonivyPdf.Rasterizer.Parallelism} variable.
+   */
+  public Integer getParallelism() {
+    return parallelism;
+  }
+
+  public void setParallelism(Integer parallelism) {
+    this.parallelism = parallelism;
+  }
+}
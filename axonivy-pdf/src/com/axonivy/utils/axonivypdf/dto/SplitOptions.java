@@ -0,0 +1,117 @@
+package com.axonivy.utils.axonivypdf.dto;
+
+import com.axonivy.utils.axonivypdf.enums.SplitOption;
+
+/**
+ * Options for splitting a PDF into parts.
+ * <p>
+ * The mode decides where parts begin: {@link SplitOption#ALL} writes every page on its own, {@link SplitOption#RANGE}
+ * writes the pages from the start to the end page, {@link SplitOption#CHUNK} writes parts of a fixed number of pages,
+ * {@link SplitOption#MAX_SIZE} writes parts of as many pages as fit into the maximum part size and
+ * {@link SplitOption#BOOKMARKS} starts a new part at every page a top-level bookmark points to.
+ * </p>
+ */
+public class SplitOptions {
+  public static final long MEGABYTE = 1024L * 1024L;
+  public static final int DEFAULT_CHUNK_SIZE = 10;
+  public static final long DEFAULT_MAX_PART_BYTES = 20 * MEGABYTE;
+
+  private SplitOption mode = SplitOption.ALL;
+  private Integer startPage;
+  private Integer endPage;
+  private int chunkSize = DEFAULT_CHUNK_SIZE;
+  private long maxPartBytes = DEFAULT_MAX_PART_BYTES;
+  private Integer parallelism;
+
+  /**
+   * Parts of {@code chunkSize} pages, the last part holds the remaining pages.
+   */
+  public static SplitOptions chunks(int chunkSize) {
+    SplitOptions options = new SplitOptions();
+    options.setMode(SplitOption.CHUNK);
+    options.setChunkSize(chunkSize);
+    return options;
+  }
+
+  /**
+   * Parts of at most {@code maxPartBytes}, only a single page that is larger on its own exceeds the limit.
+   */
+  public static SplitOptions maxSize(long maxPartBytes) {
+    SplitOptions options = new SplitOptions();
+    options.setMode(SplitOption.MAX_SIZE);
+    options.setMaxPartBytes(maxPartBytes);
+    return options;
+  }
+
+  /**
+   * One part per top-level bookmark, pages before the first bookmark form a part of their own.
+   */
+  public static SplitOptions bookmarks() {
+    SplitOptions options = new SplitOptions();
+    options.setMode(SplitOption.BOOKMARKS);
+    return options;
+  }
+
+  public SplitOption getMode() {
+    return mode;
+  }
+
+  public void setMode(SplitOption mode) {
+    this.mode = mode;
+  }
+
+  /**
+   * First page of {@link SplitOption#RANGE}, {@code null} means the first page of the document.
+   */
+  public Integer getStartPage() {
+    return startPage;
+  }
+
+  public void setStartPage(Integer startPage) {
+    this.startPage = startPage;
+  }
+
+  /**
+   * Last page of {@link SplitOption#RANGE}, {@code null} means the last page of the document.
+   */
+  public Integer getEndPage() {
+    return endPage;
+  }
+
+  public void setEndPage(Integer endPage) {
+    this.endPage = endPage;
+  }
+
+  /**
+   * Pages per part of {@link SplitOption#CHUNK}.
+   */
+  public int getChunkSize() {
+    return chunkSize;
+  }
+
+  public void setChunkSize(int chunkSize) {
+    this.chunkSize = chunkSize;
+  }
+
+  /**
+   * Maximum size of a part of {@link SplitOption#MAX_SIZE} in bytes.
+   */
+  public long getMaxPartBytes() {
+    return maxPartBytes;
+  }
+
+  public void setMaxPartBytes(long maxPartBytes) {
+    this.maxPartBytes = maxPartBytes;
+  }
+
+  /**
+   * Number of parts written concurrently, {@code null} uses the {@code AxonivyPdf.Split.Parallelism} variable.
+   */
+  public Integer getParallelism() {
+    return parallelism;
+  }
+
+  public void setParallelism(Integer parallelism) {
+    this.parallelism = parallelism;
+  }
+}
@@ -0,0 +1,64 @@
+package com.axonivy.utils.axonivypdf.dto;
+
+/**
+ * Options for extracting the text of a PDF page by page.
+ * <p>
+ * The text of every page is written as soon as it is extracted, pages are separated by the page separator, which may
+ * contain {@code %d} for the number of the following page. Unset page bounds mean the first respectively the last
+ * page of the document.
+ * </p>
+ */
+public class TextExtractOptions {
+  /** Form feed, the page break used by most text extraction tools. */
+  public static final String DEFAULT_PAGE_SEPARATOR = "\f";
+
+  private Integer startPage;
+  private Integer endPage;
+  private String pageSeparator = DEFAULT_PAGE_SEPARATOR;
+  private Integer parallelism;
+
+  /**
+   * The text of the pages between the given bounds, both included.
+   */
+  public static TextExtractOptions pages(Integer startPage, Integer endPage) {
+    TextExtractOptions options = new TextExtractOptions();
+    options.setStartPage(startPage);
+    options.setEndPage(endPage);
+    return options;
+  }
+
+  public Integer getStartPage() {
+    return startPage;
+  }
+
+  public void setStartPage(Integer startPage) {
+    this.startPage = startPage;
+  }
+
+  public Integer getEndPage() {
+    return endPage;
+  }
+
+  public void setEndPage(Integer endPage) {
+    this.endPage = endPage;
+  }
+
+  public String getPageSeparator() {
+    return pageSeparator;
+  }
+
+  public void setPageSeparator(String pageSeparator) {
+    this.pageSeparator = pageSeparator;
+  }
+
+  /**
+   * Number of pages extracted concurrently, {@code null} uses the {@code AxonivyPdf.Text.Parallelism} variable.
+   */
+  public Integer getParallelism() {
+    return parallelism;
+  }
+
+  public void setParallelism(Integer parallelism) {
+    this.parallelism = parallelism;
+  }
+}
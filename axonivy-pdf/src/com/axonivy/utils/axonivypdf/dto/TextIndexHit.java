@@ -0,0 +1,51 @@
+package com.axonivy.utils.axonivypdf.dto;
+
+/**
+ * A page of an indexed document matching a search of the text index.
+ */
+public class TextIndexHit {
+  private final String contentHash;
+  private final String fileName;
+  private final int pageNumber;
+  private final int matchCount;
+
+  public TextIndexHit(String contentHash, String fileName, int pageNumber, int matchCount) {
+    this.contentHash = contentHash;
+    this.fileName = fileName;
+    this.pageNumber = pageNumber;
+    this.matchCount = matchCount;
+  }
+
+  /**
+   * The SHA-256 hash of the document content, which identifies the document in the index.
+   */
+  public String getContentHash() {
+    return contentHash;
+  }
+
+  /**
+   * The file name the document was indexed with.
+   */
+  public String getFileName() {
+    return fileName;
+  }
+
+  /**
+   * Number of the matching page, starting with 1.
+   */
+  public int getPageNumber() {
+    return pageNumber;
+  }
+
+  /**
+   * How often the term or phrase occurs on the page.
+   */
+  public int getMatchCount() {
+    return matchCount;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("%s (page %d): %d matches", fileName, pageNumber, matchCount);
+  }
+}
@@ -0,0 +1,69 @@
+package com.axonivy.utils.axonivypdf.dto;
+
+/**
+ * A text fragment matching a text search, with its position on the page in PDF user space units.
+ */
+public class TextSearchMatch {
+  private final int pageNumber;
+  private final String text;
+  private final double llx;
+  private final double lly;
+  private final double urx;
+  private final double ury;
+
+  public TextSearchMatch(int pageNumber, String text, double llx, double lly, double urx, double ury) {
+    this.pageNumber = pageNumber;
+    this.text = text;
+    this.llx = llx;
+    this.lly = lly;
+    this.urx = urx;
+    this.ury = ury;
+  }
+
+  /**
+   * Number of the page, starting with 1.
+   */
+  public int getPageNumber() {
+    return pageNumber;
+  }
+
+  /**
+   * The matched text as it appears on the page.
+   */
+  public String getText() {
+    return text;
+  }
+
+  /**
+   * Lower left x coordinate of the fragment.
+   */
+  public double getLlx() {
+    return llx;
+  }
+
+  /**
+   * Lower left y coordinate of the fragment.
+   */
+  public double getLly() {
+    return lly;
+  }
+
+  /**
+   * Upper right x coordinate of the fragment.
+   */
+  public double getUrx() {
+    return urx;
+  }
+
+  /**
+   * Upper right y coordinate of the fragment.
+   */
+  public double getUry() {
+    return ury;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("%s (page %d at %.1f, %.1f)", text, pageNumber, llx, lly);
+  }
+}
@@ -0,0 +1,92 @@
+package com.axonivy.utils.axonivypdf.dto;
+
+import java.util.regex.Pattern;
+
+/**
+ * Options for searching the text of a PDF page by page.
+ * <p>
+ * The pattern is a regular expression, literal texts are compiled with {@link Pattern#LITERAL}. Case insensitive
+ * matching, dot-all and multi-line mode are taken from the pattern flags. Pages are searched in page order and the
+ * search stops once {@code maxMatches} matches are found, so a query for the first occurrence only reads the pages up
+ * to it. Unset page bounds mean the first respectively the last page of the document.
+ * </p>
+ */
+public class TextSearchOptions {
+  private Pattern pattern;
+  private int maxMatches;
+  private Integer startPage;
+  private Integer endPage;
+  private Integer parallelism;
+
+  /**
+   * Searches all occurrences of the text, compared case sensitively.
+   */
+  public static TextSearchOptions literal(String text) {
+    return regex(Pattern.compile(text, Pattern.LITERAL));
+  }
+
+  /**
+   * Searches all matches of the regular expression.
+   */
+  public static TextSearchOptions regex(Pattern pattern) {
+    TextSearchOptions options = new TextSearchOptions();
+    options.setPattern(pattern);
+    return options;
+  }
+
+  /**
+   * Stops at the first occurrence of the text, answering whether the document contains it.
+   */
+  public static TextSearchOptions firstMatch(String text) {
+    TextSearchOptions options = literal(text);
+    options.setMaxMatches(1);
+    return options;
+  }
+
+  public Pattern getPattern() {
+    return pattern;
+  }
+
+  public void setPattern(Pattern pattern) {
+    this.pattern = pattern;
+  }
+
+  /**
+   * Number of matches after which the search stops, 0 finds all matches.
+   */
+  public int getMaxMatches() {
+    return maxMatches;
+  }
+
+  public void setMaxMatches(int maxMatches) {
+    this.maxMatches = maxMatches;
+  }
+
+  public Integer getStartPage() {
+    return startPage;
+  }
+
+  public void setStartPage(Integer startPage) {
+    this.startPage = startPage;
+  }
+
+  public Integer getEndPage() {
+    return endPage;
+  }
+
+  public void setEndPage(Integer endPage) {
+    this.endPage = endPage;
+  }
+
+  /**
+   * Number of pages searched concurrently, {@code null} uses the {@code AxonivyPdf.Text.Parallelism} variable. With
+   * more than one worker a few pages after the last needed one may be searched in vain.
+   */
+  public Integer getParallelism() {
+    return parallelism;
+  }
+
+  public void setParallelism(Integer parallelism) {
+    this.parallelism = parallelism;
+  }
+}
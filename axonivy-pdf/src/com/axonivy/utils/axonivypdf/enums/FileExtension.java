@@ -4,20 +4,54 @@ import java.util.Arrays;
 import java.util.List;
 
 public enum FileExtension {
-  DOC(".doc"), DOCX(".docx"), ODT(".odt"), TXT(".txt"), MD(".md"), XLS(".xls"), XLSX(".xlsx"), HTML(".html"), PDF(".pdf"),
-  ZIP(".zip"), PPTX(".pptx"), JPG(".jpg"), JPEG(".jpeg"), PNG(".png");
+  DOC(".doc", "application/msword"),
+  DOCX(".docx", "application/vnd.openxmlformats-officedocument.wordprocessingml.document"),
+  ODT(".odt", "application/vnd.oasis.opendocument.text"),
+  TXT(".txt", "text/plain"),
+  NDJSON(".ndjson", "application/x-ndjson"),
+  MD(".md", "text/markdown"),
+  XLS(".xls", "application/vnd.ms-excel"),
+  XLSX(".xlsx", "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"),
+  HTML(".html", "text/html"),
+  PDF(".pdf", "application/pdf"),
+  ZIP(".zip", "application/zip"),
+  PPTX(".pptx", "application/vnd.openxmlformats-officedocument.presentationml.presentation"),
+  JPG(".jpg", "image/jpeg"),
+  JPEG(".jpeg", "image/jpeg"),
+  PNG(".png", "image/png"),
+  TIFF(".tiff", "image/tiff");
 
   private final String extension;
+  private final String contentType;
 
-  private FileExtension(String extension) {
+  private FileExtension(String extension, String contentType) {
     this.extension = extension;
+    this.contentType = contentType;
   }
 
   public String getExtension() {
     return extension;
   }
 
+  /**
+   * The media type of files with this extension, e.g. {@code application/zip}.
+   */
+  public String getContentType() {
+    return contentType;
+  }
+
   public static List<FileExtension> getOtherDocumentTypes() {
-    return Arrays.asList(DOC, DOCX, XLSX, PPTX, JPG, JPEG, PNG);
+    return Arrays.asList(DOC, DOCX, XLSX, PPTX, JPG, JPEG, PNG, TIFF);
+  }
+
+  /**
+   * Finds the file extension matching the given extension string, e.g. {@code .png}, ignoring case.
+   *
+   * @param extension the extension including the leading dot
+   * @return the matching file extension or {@code null} if there is none
+   */
+  public static FileExtension fromExtension(String extension) {
+    return Arrays.stream(values()).filter(value -> value.getExtension().equalsIgnoreCase(extension)).findFirst()
+        .orElse(null);
   }
 }
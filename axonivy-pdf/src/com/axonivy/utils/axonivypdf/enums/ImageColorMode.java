@@ -0,0 +1,5 @@
+package com.axonivy.utils.axonivypdf.enums;
+
+public enum ImageColorMode {
+  COLOR, GRAYSCALE, BILEVEL
+}
@@ -0,0 +1,13 @@
+package com.axonivy.utils.axonivypdf.enums;
+
+/**
+ * How repeated images are recognized when the images of a PDF are extracted.
+ */
+public enum ImageDeduplication {
+  /** Every image is extracted once per page using it. */
+  NONE,
+  /** An image object used by several pages, e.g. a logo shared by all pages, is extracted once. */
+  OBJECT,
+  /** Like {@link #OBJECT}, additionally images embedded several times with identical data are extracted once. */
+  CONTENT
+}
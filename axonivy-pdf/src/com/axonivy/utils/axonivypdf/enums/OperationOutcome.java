@@ -0,0 +1,5 @@
+package com.axonivy.utils.axonivypdf.enums;
+
+public enum OperationOutcome {
+  SUCCESS, FAILURE
+}
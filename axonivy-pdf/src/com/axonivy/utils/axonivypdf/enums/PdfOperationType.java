@@ -0,0 +1,46 @@
+package com.axonivy.utils.axonivypdf.enums;
+
+/**
+ * Kinds of PDF operations with a rough model of the heap they need while running.
+ * <p>
+ * The estimate is {@code base + input size * input factor + page count * bytes per page}. The factors are deliberately
+ * conservative, they only have to rank operations correctly and keep the sum of concurrent jobs below the heap budget.
+ * </p>
+ */
+public enum PdfOperationType {
+  PAGE_OPERATION(4, 64 * Constants.KILOBYTE, 8 * Constants.MEGABYTE),
+  SPLIT(4, 64 * Constants.KILOBYTE, 8 * Constants.MEGABYTE),
+  MERGE(3, 32 * Constants.KILOBYTE, 16 * Constants.MEGABYTE),
+  RASTERIZE(4, 0, 64 * Constants.MEGABYTE),
+  CONVERT_TO_DOCUMENT(12, 512 * Constants.KILOBYTE, 32 * Constants.MEGABYTE),
+  HTML_TO_PDF(8, 0, 32 * Constants.MEGABYTE),
+  IMAGES_TO_PDF(8, 0, 16 * Constants.MEGABYTE),
+  TEXT_EXTRACTION(4, 128 * Constants.KILOBYTE, 8 * Constants.MEGABYTE),
+  IMAGE_EXTRACTION(4, Constants.MEGABYTE, 8 * Constants.MEGABYTE);
+
+  private final int inputFactor;
+  private final long bytesPerPage;
+  private final long baseBytes;
+
+  private PdfOperationType(int inputFactor, long bytesPerPage, long baseBytes) {
+    this.inputFactor = inputFactor;
+    this.bytesPerPage = bytesPerPage;
+    this.baseBytes = baseBytes;
+  }
+
+  /**
+   * Estimates the heap needed by one run of this operation.
+   *
+   * @param inputBytes the size of all inputs
+   * @param pageCount the number of pages, 0 if unknown
+   * @return the estimated number of bytes
+   */
+  public long estimateBytes(long inputBytes, int pageCount) {
+    return baseBytes + Math.max(0, inputBytes) * inputFactor + Math.max(0, pageCount) * bytesPerPage;
+  }
+
+  private static final class Constants {
+    private static final long KILOBYTE = 1024L;
+    private static final long MEGABYTE = 1024L * KILOBYTE;
+  }
+}
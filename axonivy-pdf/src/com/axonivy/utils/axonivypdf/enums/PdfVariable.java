@@ -0,0 +1,111 @@
+package com.axonivy.utils.axonivypdf.enums;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
+
+import ch.ivyteam.ivy.environment.Ivy;
+
+/**
+ * Ivy variables tuning the PDF operations, see {@code config/variables.yaml} of the axonivy-pdf project.
+ */
+public enum PdfVariable {
+  RASTERIZER_PARALLELISM("AxonivyPdf.Rasterizer.Parallelism", 1),
+  SPLIT_PARALLELISM("AxonivyPdf.Split.Parallelism", 1),
+  MERGE_PARALLELISM("AxonivyPdf.Merge.Parallelism", 0),
+  IMAGE_PARALLELISM("AxonivyPdf.Image.Parallelism", 1),
+  IMAGE_MAX_MEGAPIXELS("AxonivyPdf.Image.MaxMegapixels", 40),
+  IMAGE_EXTRACTION_PARALLELISM("AxonivyPdf.ImageExtraction.Parallelism", 1),
+  TEXT_PARALLELISM("AxonivyPdf.Text.Parallelism", 1),
+  TEXT_INDEX_DIRECTORY("AxonivyPdf.TextIndex.Directory", ""),
+  EXECUTOR_THREADS("AxonivyPdf.Executor.Threads", 0),
+  EXECUTOR_QUEUE_CAPACITY("AxonivyPdf.Executor.QueueCapacity", 64),
+  EXECUTOR_REJECTION_POLICY("AxonivyPdf.Executor.RejectionPolicy", RejectionPolicy.ABORT.name()),
+  ADMISSION_HEAP_BUDGET_MEGABYTES("AxonivyPdf.Admission.HeapBudgetMegabytes", 0),
+  ADMISSION_QUEUE_TIMEOUT_SECONDS("AxonivyPdf.Admission.QueueTimeoutSeconds", 60);
+
+  private static final ThreadLocal<Map<PdfVariable, String>> CAPTURED_VALUES = new ThreadLocal<>();
+
+  private final String key;
+  private final String defaultValue;
+
+  private PdfVariable(String key, int defaultValue) {
+    this(key, String.valueOf(defaultValue));
+  }
+
+  private PdfVariable(String key, String defaultValue) {
+    this.key = key;
+    this.defaultValue = defaultValue;
+  }
+
+  public String getKey() {
+    return key;
+  }
+
+  public String getDefaultValue() {
+    return defaultValue;
+  }
+
+  /**
+   * Reads the variable, falling back to the default value when it is not set or when there is no Ivy context, e.g. in
+   * benchmarks running outside of an engine. Jobs of the PDF executor see the values of the submitting thread.
+   */
+  public String getValue() {
+    return StringUtils.defaultIfBlank(readVariable(), defaultValue);
+  }
+
+  /**
+   * Reads the variable as integer, falling back to the default value when it is not set or not a number.
+   */
+  public int getIntValue() {
+    return NumberUtils.toInt(readVariable(), NumberUtils.toInt(defaultValue));
+  }
+
+  /**
+   * Reads all variables that are set on the calling thread, so that they can be passed to a worker thread without Ivy
+   * context.
+   */
+  public static Map<PdfVariable, String> capture() {
+    Map<PdfVariable, String> values = new EnumMap<>(PdfVariable.class);
+    for (PdfVariable variable : values()) {
+      String value = variable.readVariable();
+      if (StringUtils.isNotBlank(value)) {
+        values.put(variable, value);
+      }
+    }
+    return values;
+  }
+
+  /**
+   * Runs the supplier with the captured values, which take precedence over {@code Ivy.var()} on this thread. Variables
+   * missing from the captured values are read as usual.
+   */
+  public static <T> T withValues(Map<PdfVariable, String> values, Supplier<T> supplier) {
+    Map<PdfVariable, String> previous = CAPTURED_VALUES.get();
+    CAPTURED_VALUES.set(values);
+    try {
+      return supplier.get();
+    } finally {
+      if (previous == null) {
+        CAPTURED_VALUES.remove();
+      } else {
+        CAPTURED_VALUES.set(previous);
+      }
+    }
+  }
+
+  private String readVariable() {
+    Map<PdfVariable, String> capturedValues = CAPTURED_VALUES.get();
+    if (capturedValues != null && capturedValues.containsKey(this)) {
+      return capturedValues.get(this);
+    }
+    try {
+      return Ivy.var().get(key);
+    } catch (RuntimeException e) {
+      return null;
+    }
+  }
+}
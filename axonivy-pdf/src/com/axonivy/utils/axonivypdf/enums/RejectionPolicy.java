@@ -0,0 +1,23 @@
+package com.axonivy.utils.axonivypdf.enums;
+
+/**
+ * What happens to a PDF job submitted while the worker queue is full.
+ */
+public enum RejectionPolicy {
+  /** The returned future fails with an {@link com.axonivy.utils.axonivypdf.exception.AxonivyPdfException}. */
+  ABORT,
+  /** The job runs on the submitting thread, which slows down the producer until the queue drains. */
+  CALLER_RUNS;
+
+  /**
+   * Resolves a policy by name, ignoring case and falling back to {@link #ABORT}.
+   */
+  public static RejectionPolicy fromName(String name) {
+    for (RejectionPolicy policy : values()) {
+      if (policy.name().equalsIgnoreCase(name)) {
+        return policy;
+      }
+    }
+    return ABORT;
+  }
+}
@@ -1,7 +1,7 @@
 package com.axonivy.utils.axonivypdf.enums;
 
 public enum SplitOption {
-  ALL("all"), RANGE("range");
+  ALL("all"), RANGE("range"), CHUNK("chunk"), MAX_SIZE("maxSize"), BOOKMARKS("bookmarks");
 
   private final String option;
 
@@ -0,0 +1,13 @@
+package com.axonivy.utils.axonivypdf.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Emitted when an operation such as stamping or rotating has been applied to one page.
+ */
+@Name("com.axonivy.utils.axonivypdf.Page")
+@Label("PDF Page")
+@Description("Processing of a single page")
+public class PdfPageEvent extends PdfPagePhaseEvent {}
@@ -0,0 +1,17 @@
+package com.axonivy.utils.axonivypdf.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+
+/**
+ * Base of the events emitted once per page.
+ */
+public abstract class PdfPagePhaseEvent extends PdfPhaseEvent {
+  @Label("Page Index")
+  @Description("Number of the page, starting with 1")
+  private int pageIndex;
+
+  public void setPageIndex(int pageIndex) {
+    this.pageIndex = pageIndex;
+  }
+}
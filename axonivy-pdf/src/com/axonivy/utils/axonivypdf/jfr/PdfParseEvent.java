@@ -0,0 +1,13 @@
+package com.axonivy.utils.axonivypdf.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Emitted when a PDF is parsed into an Aspose document, the bytes are the size of the input.
+ */
+@Name("com.axonivy.utils.axonivypdf.Parse")
+@Label("PDF Parse")
+@Description("Parsing of a PDF into an Aspose document")
+public class PdfParseEvent extends PdfPhaseEvent {}
@@ -0,0 +1,37 @@
+package com.axonivy.utils.axonivypdf.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+
+/**
+ * Base of the Java Flight Recorder events emitted for the phases of a PDF operation.
+ * <p>
+ * The events are only committed while a recording has them enabled, otherwise creating and beginning them costs next
+ * to nothing. File names are recorded as hash so recordings can be shared without leaking customer file names, while
+ * the events of one request can still be correlated.
+ * </p>
+ */
+@Category({"Axon Ivy", "PDF"})
+@StackTrace(false)
+public abstract class PdfPhaseEvent extends Event {
+  @Label("File Name Hash")
+  @Description("Hash of the name of the processed file")
+  private int fileNameHash;
+
+  @Label("Bytes")
+  @Description("Size of the data read or written in this phase")
+  @DataAmount
+  private long bytes;
+
+  public void setFileName(String fileName) {
+    this.fileNameHash = fileName == null ? 0 : fileName.hashCode();
+  }
+
+  public void setBytes(long bytes) {
+    this.bytes = bytes;
+  }
+}
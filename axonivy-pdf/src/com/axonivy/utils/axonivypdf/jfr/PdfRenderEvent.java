@@ -0,0 +1,13 @@
+package com.axonivy.utils.axonivypdf.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Emitted when a page has been rendered to an image, the bytes are the size of the image.
+ */
+@Name("com.axonivy.utils.axonivypdf.Render")
+@Label("PDF Render")
+@Description("Rendering of a single page to an image")
+public class PdfRenderEvent extends PdfPagePhaseEvent {}
@@ -0,0 +1,13 @@
+package com.axonivy.utils.axonivypdf.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Emitted when a document has been serialized, the bytes are the size of the written output.
+ */
+@Name("com.axonivy.utils.axonivypdf.Save")
+@Label("PDF Save")
+@Description("Serialization of a document")
+public class PdfSaveEvent extends PdfPhaseEvent {}
@@ -0,0 +1,13 @@
+package com.axonivy.utils.axonivypdf.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Emitted when an entry has been written to a zip archive, the bytes are the uncompressed entry size.
+ */
+@Name("com.axonivy.utils.axonivypdf.ZipEntry")
+@Label("PDF Zip Entry")
+@Description("Writing of a zip archive entry")
+public class PdfZipEntryEvent extends PdfPhaseEvent {}
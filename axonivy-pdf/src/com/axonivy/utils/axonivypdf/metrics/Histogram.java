@@ -0,0 +1,85 @@
+package com.axonivy.utils.axonivypdf.metrics;
+
+/**
+ * Histogram of non-negative values with exponential buckets, one per power of two.
+ * <p>
+ * Memory use is constant and recording is a few arithmetic operations, at the price of percentiles being reported as
+ * the upper bound of their bucket, i.e. with up to factor two error. That is good enough to spot regressions and to
+ * compare operations.
+ * </p>
+ */
+public class Histogram {
+  private static final int BUCKET_COUNT = Long.SIZE;
+
+  private final long[] buckets = new long[BUCKET_COUNT];
+  private long count;
+  private long sum;
+  private long min = Long.MAX_VALUE;
+  private long max;
+
+  /**
+   * Records a value, negative values mean "not measured" and are ignored.
+   */
+  public synchronized void record(long value) {
+    if (value < 0) {
+      return;
+    }
+    buckets[bucketOf(value)]++;
+    count++;
+    sum += value;
+    min = Math.min(min, value);
+    max = Math.max(max, value);
+  }
+
+  public synchronized long getCount() {
+    return count;
+  }
+
+  public synchronized long getSum() {
+    return sum;
+  }
+
+  public synchronized long getMin() {
+    return count == 0 ? 0 : min;
+  }
+
+  public synchronized long getMax() {
+    return max;
+  }
+
+  public synchronized long getMean() {
+    return count == 0 ? 0 : sum / count;
+  }
+
+  /**
+   * Estimates the given percentile.
+   *
+   * @param percentile between 0 and 100
+   * @return the upper bound of the bucket holding the percentile, at most the maximum recorded value
+   */
+  public synchronized long getPercentile(double percentile) {
+    if (count == 0) {
+      return 0;
+    }
+    long rank = (long) Math.ceil(count * Math.min(100, Math.max(0, percentile)) / 100.0);
+    long seen = 0;
+    for (int bucket = 0; bucket < BUCKET_COUNT; bucket++) {
+      seen += buckets[bucket];
+      if (seen >= Math.max(1, rank)) {
+        return Math.min(upperBoundOf(bucket), max);
+      }
+    }
+    return max;
+  }
+
+  /**
+   * Bucket 0 holds 0, bucket b holds the values from 2^(b-1) to 2^b - 1.
+   */
+  private static int bucketOf(long value) {
+    return Long.SIZE - Long.numberOfLeadingZeros(value);
+  }
+
+  private static long upperBoundOf(int bucket) {
+    return bucket == BUCKET_COUNT - 1 ? Long.MAX_VALUE : (1L << bucket) - 1;
+  }
+}
@@ -0,0 +1,90 @@
+package com.axonivy.utils.axonivypdf.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import ch.ivyteam.ivy.environment.Ivy;
+
+/**
+ * Default metrics registry keeping histograms and counters per operation in memory.
+ * <p>
+ * The statistics are readable through {@link #getStatistics()}, through JMX once {@link #registerMBean()} was called,
+ * and can be written to the Ivy log with {@link #logSummary()}. They are kept until {@link #reset()} or a restart.
+ * </p>
+ */
+public class InMemoryMetricsRegistry implements PdfMetricsRegistry, InMemoryMetricsRegistryMBean {
+  public static final String OBJECT_NAME = "com.axonivy.utils.axonivypdf:type=PdfMetrics";
+
+  private final Map<String, OperationStatistics> statistics = new ConcurrentHashMap<>();
+
+  @Override
+  public void record(OperationSample sample) {
+    statistics.computeIfAbsent(sample.getOperationName(), OperationStatistics::new).add(sample);
+  }
+
+  /**
+   * The statistics per operation name, sorted by name.
+   */
+  public Map<String, OperationStatistics> getStatistics() {
+    return new TreeMap<>(statistics);
+  }
+
+  public OperationStatistics getStatistics(String operationName) {
+    return statistics.get(operationName);
+  }
+
+  @Override
+  public String[] getOperationNames() {
+    return getStatistics().keySet().toArray(String[]::new);
+  }
+
+  @Override
+  public String[] getSummary() {
+    return getStatistics().values().stream().map(OperationStatistics::getSummary).toArray(String[]::new);
+  }
+
+  @Override
+  public long getOperationCount() {
+    return statistics.values().stream()
+        .mapToLong(operation -> operation.getSuccessCount() + operation.getFailureCount()).sum();
+  }
+
+  @Override
+  public long getFailureCount() {
+    return statistics.values().stream().mapToLong(OperationStatistics::getFailureCount).sum();
+  }
+
+  /**
+   * Writes one info line per operation to the Ivy log.
+   */
+  @Override
+  public void logSummary() {
+    for (String summary : getSummary()) {
+      Ivy.log().info(summary);
+    }
+  }
+
+  @Override
+  public void reset() {
+    statistics.clear();
+  }
+
+  /**
+   * Registers this registry with the platform MBean server, replacing an earlier registration, e.g. of a redeployed
+   * version of the library.
+   */
+  public void registerMBean() throws JMException {
+    MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+    ObjectName name = new ObjectName(OBJECT_NAME);
+    if (server.isRegistered(name)) {
+      server.unregisterMBean(name);
+    }
+    server.registerMBean(this, name);
+  }
+}
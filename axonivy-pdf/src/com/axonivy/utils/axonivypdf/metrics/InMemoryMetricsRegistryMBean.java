@@ -0,0 +1,18 @@
+package com.axonivy.utils.axonivypdf.metrics;
+
+/**
+ * JMX view of the {@link InMemoryMetricsRegistry}, registered as {@value InMemoryMetricsRegistry#OBJECT_NAME}.
+ */
+public interface InMemoryMetricsRegistryMBean {
+  String[] getOperationNames();
+
+  String[] getSummary();
+
+  long getOperationCount();
+
+  long getFailureCount();
+
+  void logSummary();
+
+  void reset();
+}
@@ -0,0 +1,89 @@
+package com.axonivy.utils.axonivypdf.metrics;
+
+import com.axonivy.utils.axonivypdf.enums.OperationOutcome;
+
+/**
+ * Measurements of a single PDF operation. Sizes and page counts are -1 when the operation did not report them.
+ */
+public class OperationSample {
+  private final String operationName;
+  private final OperationOutcome outcome;
+  private final String errorType;
+  private final long wallNanos;
+  private final long cpuNanos;
+  private final long allocatedBytes;
+  private final long queueNanos;
+  private final long inputBytes;
+  private final long outputBytes;
+  private final int pageCount;
+
+  OperationSample(String operationName, OperationOutcome outcome, String errorType, long wallNanos, long cpuNanos,
+      long allocatedBytes, long queueNanos, long inputBytes, long outputBytes, int pageCount) {
+    this.operationName = operationName;
+    this.outcome = outcome;
+    this.errorType = errorType;
+    this.wallNanos = wallNanos;
+    this.cpuNanos = cpuNanos;
+    this.allocatedBytes = allocatedBytes;
+    this.queueNanos = queueNanos;
+    this.inputBytes = inputBytes;
+    this.outputBytes = outputBytes;
+    this.pageCount = pageCount;
+  }
+
+  /**
+   * The calling method, e.g. {@code PdfService.addHeader}.
+   */
+  public String getOperationName() {
+    return operationName;
+  }
+
+  public OperationOutcome getOutcome() {
+    return outcome;
+  }
+
+  /**
+   * Simple class name of the exception of a failed operation, {@code null} on success.
+   */
+  public String getErrorType() {
+    return errorType;
+  }
+
+  public long getWallNanos() {
+    return wallNanos;
+  }
+
+  /**
+   * CPU time of the calling thread and of the worker threads it delegated to, -1 if the JVM does not measure it.
+   */
+  public long getCpuNanos() {
+    return cpuNanos;
+  }
+
+  /**
+   * Bytes allocated by the calling thread and by the worker threads it delegated to, -1 if the JVM does not measure
+   * it.
+   */
+  public long getAllocatedBytes() {
+    return allocatedBytes;
+  }
+
+  /**
+   * Time spent waiting for a worker thread or for memory budget before the operation started.
+   */
+  public long getQueueNanos() {
+    return queueNanos;
+  }
+
+  public long getInputBytes() {
+    return inputBytes;
+  }
+
+  public long getOutputBytes() {
+    return outputBytes;
+  }
+
+  public int getPageCount() {
+    return pageCount;
+  }
+}
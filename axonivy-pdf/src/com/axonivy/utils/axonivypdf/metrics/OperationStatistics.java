@@ -0,0 +1,112 @@
+package com.axonivy.utils.axonivypdf.metrics;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.axonivy.utils.axonivypdf.enums.OperationOutcome;
+
+/**
+ * Aggregated samples of one operation.
+ */
+public class OperationStatistics {
+  private static final long BYTES_PER_KILOBYTE = 1024L;
+
+  private final String operationName;
+  private final LongAdder successCount = new LongAdder();
+  private final LongAdder failureCount = new LongAdder();
+  private final Map<String, LongAdder> failuresByType = new ConcurrentHashMap<>();
+  private final Histogram wallNanos = new Histogram();
+  private final Histogram cpuNanos = new Histogram();
+  private final Histogram allocatedBytes = new Histogram();
+  private final Histogram queueNanos = new Histogram();
+  private final Histogram inputBytes = new Histogram();
+  private final Histogram outputBytes = new Histogram();
+  private final Histogram pageCount = new Histogram();
+
+  public OperationStatistics(String operationName) {
+    this.operationName = operationName;
+  }
+
+  void add(OperationSample sample) {
+    if (sample.getOutcome() == OperationOutcome.SUCCESS) {
+      successCount.increment();
+    } else {
+      failureCount.increment();
+      failuresByType.computeIfAbsent(String.valueOf(sample.getErrorType()), type -> new LongAdder()).increment();
+    }
+    wallNanos.record(sample.getWallNanos());
+    cpuNanos.record(sample.getCpuNanos());
+    allocatedBytes.record(sample.getAllocatedBytes());
+    queueNanos.record(sample.getQueueNanos());
+    inputBytes.record(sample.getInputBytes());
+    outputBytes.record(sample.getOutputBytes());
+    pageCount.record(sample.getPageCount());
+  }
+
+  public String getOperationName() {
+    return operationName;
+  }
+
+  public long getSuccessCount() {
+    return successCount.sum();
+  }
+
+  public long getFailureCount() {
+    return failureCount.sum();
+  }
+
+  public Map<String, Long> getFailuresByType() {
+    Map<String, Long> failures = new ConcurrentHashMap<>();
+    failuresByType.forEach((type, count) -> failures.put(type, count.sum()));
+    return failures;
+  }
+
+  public Histogram getWallNanos() {
+    return wallNanos;
+  }
+
+  public Histogram getCpuNanos() {
+    return cpuNanos;
+  }
+
+  public Histogram getAllocatedBytes() {
+    return allocatedBytes;
+  }
+
+  public Histogram getQueueNanos() {
+    return queueNanos;
+  }
+
+  public Histogram getInputBytes() {
+    return inputBytes;
+  }
+
+  public Histogram getOutputBytes() {
+    return outputBytes;
+  }
+
+  public Histogram getPageCount() {
+    return pageCount;
+  }
+
+  /**
+   * One line summary, e.g. for logs or JMX consoles.
+   */
+  public String getSummary() {
+    return String.format(
+        "%s: ok=%d failed=%d wall[ms] p50=%d p95=%d p99=%d max=%d cpu[ms] p50=%d p95=%d alloc[KB] p50=%d p95=%d "
+            + "queue[ms] p95=%d in[KB] avg=%d out[KB] avg=%d pages avg=%d",
+        operationName, getSuccessCount(), getFailureCount(), millis(wallNanos.getPercentile(50)),
+        millis(wallNanos.getPercentile(95)), millis(wallNanos.getPercentile(99)), millis(wallNanos.getMax()),
+        millis(cpuNanos.getPercentile(50)), millis(cpuNanos.getPercentile(95)),
+        allocatedBytes.getPercentile(50) / BYTES_PER_KILOBYTE, allocatedBytes.getPercentile(95) / BYTES_PER_KILOBYTE,
+        millis(queueNanos.getPercentile(95)), inputBytes.getMean() / BYTES_PER_KILOBYTE,
+        outputBytes.getMean() / BYTES_PER_KILOBYTE, pageCount.getMean());
+  }
+
+  private static long millis(long nanos) {
+    return TimeUnit.NANOSECONDS.toMillis(nanos);
+  }
+}
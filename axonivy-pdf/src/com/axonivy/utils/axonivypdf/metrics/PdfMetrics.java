@@ -0,0 +1,276 @@
+package com.axonivy.utils.axonivypdf.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import javax.management.JMException;
+
+import org.primefaces.model.StreamedContent;
+
+import com.axonivy.utils.axonivypdf.enums.OperationOutcome;
+
+import ch.ivyteam.ivy.environment.Ivy;
+
+/**
+ * Measures PDF operations and hands one {@link OperationSample} per operation to the installed
+ * {@link PdfMetricsRegistry}.
+ * <p>
+ * {@link com.axonivy.utils.axonivypdf.service.PdfFactory} measures every call it wraps. Nested calls on the same thread
+ * are part of the outermost operation, which is named after the method that called the factory, e.g.
+ * {@code PdfService.addHeader}. Sizes and page counts are reported from within the operation through
+ * {@link #recordInputBytes(long)}, {@link #recordOutputBytes(long)} and {@link #recordPages(int)}; these calls do
+ * nothing outside of a measured operation. CPU time and allocations of worker threads count towards the operation if
+ * their tasks are bound to it with {@link #onWorker(Callable)}.
+ * </p>
+ */
+public final class PdfMetrics {
+  private static final long NOT_MEASURED = -1;
+  private static final Set<String> INFRASTRUCTURE_CLASSES =
+      Set.of(PdfMetrics.class.getName(), "com.axonivy.utils.axonivypdf.service.PdfFactory");
+  private static final String LAMBDA_PREFIX = "lambda$";
+  private static final StackWalker STACK_WALKER = StackWalker.getInstance();
+  private static final ThreadLocal<Recording> CURRENT_RECORDING = new ThreadLocal<>();
+  private static final ThreadLocal<Long> PENDING_QUEUE_NANOS = new ThreadLocal<>();
+  private static final ThreadMeter THREAD_METER = ThreadMeter.create();
+
+  private static volatile PdfMetricsRegistry registry;
+
+  private PdfMetrics() {}
+
+  /**
+   * The installed registry, by default an {@link InMemoryMetricsRegistry} registered as JMX MBean.
+   */
+  public static PdfMetricsRegistry getRegistry() {
+    PdfMetricsRegistry current = registry;
+    if (current == null) {
+      synchronized (PdfMetrics.class) {
+        if (registry == null) {
+          registry = createDefaultRegistry();
+        }
+        current = registry;
+      }
+    }
+    return current;
+  }
+
+  /**
+   * Replaces the registry receiving the samples, e.g. with one forwarding to the monitoring system of the engine.
+   */
+  public static void setRegistry(PdfMetricsRegistry metricsRegistry) {
+    registry = metricsRegistry;
+  }
+
+  /**
+   * Runs the supplier as a measured operation, or as part of the already running operation of this thread.
+   */
+  public static <T> T measure(Supplier<T> supplier) {
+    if (CURRENT_RECORDING.get() != null) {
+      return supplier.get();
+    }
+    Recording recording = new Recording(operationName());
+    CURRENT_RECORDING.set(recording);
+    try {
+      T result = supplier.get();
+      if (result instanceof StreamedContent content && content.getContentLength() != null) {
+        recording.outputBytes = content.getContentLength();
+      }
+      recording.finish(OperationOutcome.SUCCESS, null);
+      return result;
+    } catch (RuntimeException | Error e) {
+      recording.finish(OperationOutcome.FAILURE, e.getClass().getSimpleName());
+      throw e;
+    } finally {
+      CURRENT_RECORDING.remove();
+    }
+  }
+
+  /**
+   * Runs the supplier with the time it waited in a queue before it was started, so that the next operation measured on
+   * this thread reports it.
+   */
+  public static <T> T withQueueTime(long queueNanos, Supplier<T> supplier) {
+    PENDING_QUEUE_NANOS.set(queueNanos);
+    try {
+      return supplier.get();
+    } finally {
+      PENDING_QUEUE_NANOS.remove();
+    }
+  }
+
+  public static void addQueueNanos(long queueNanos) {
+    Recording recording = CURRENT_RECORDING.get();
+    if (recording != null) {
+      recording.queueNanos += queueNanos;
+    }
+  }
+
+  /**
+   * Binds the task to the operation running on this thread, so that the CPU time and the allocations of the worker
+   * thread executing it are added to the operation. Outside of a measured operation the task is returned unchanged.
+   */
+  public static <T> Callable<T> onWorker(Callable<T> task) {
+    Recording recording = CURRENT_RECORDING.get();
+    if (recording == null) {
+      return task;
+    }
+    return () -> {
+      long startCpuNanos = THREAD_METER.cpuNanos();
+      long startAllocatedBytes = THREAD_METER.allocatedBytes();
+      try {
+        return task.call();
+      } finally {
+        recording.addWorkerUsage(Recording.difference(startCpuNanos, THREAD_METER.cpuNanos()),
+            Recording.difference(startAllocatedBytes, THREAD_METER.allocatedBytes()));
+      }
+    };
+  }
+
+  public static void recordInputBytes(long inputBytes) {
+    Recording recording = CURRENT_RECORDING.get();
+    if (recording != null && inputBytes >= 0) {
+      recording.inputBytes = Math.max(0, recording.inputBytes) + inputBytes;
+    }
+  }
+
+  public static void recordOutputBytes(long outputBytes) {
+    Recording recording = CURRENT_RECORDING.get();
+    if (recording != null && outputBytes >= 0) {
+      recording.outputBytes = Math.max(0, recording.outputBytes) + outputBytes;
+    }
+  }
+
+  public static void recordPages(int pageCount) {
+    Recording recording = CURRENT_RECORDING.get();
+    if (recording != null && pageCount >= 0) {
+      recording.pageCount = Math.max(0, recording.pageCount) + pageCount;
+    }
+  }
+
+  private static String operationName() {
+    return STACK_WALKER.walk(frames -> frames
+        .filter(frame -> !INFRASTRUCTURE_CLASSES.contains(frame.getClassName()))
+        .findFirst()
+        .map(frame -> simpleName(frame.getClassName()) + "." + methodName(frame.getMethodName()))
+        .orElse("unknown"));
+  }
+
+  private static String simpleName(String className) {
+    return className.substring(className.lastIndexOf('.') + 1);
+  }
+
+  /**
+   * Names lambdas after their enclosing method, {@code lambda$addHeader$0} becomes {@code addHeader}.
+   */
+  private static String methodName(String methodName) {
+    if (methodName.startsWith(LAMBDA_PREFIX)) {
+      int end = methodName.indexOf('$', LAMBDA_PREFIX.length());
+      return end > 0 ? methodName.substring(LAMBDA_PREFIX.length(), end) : methodName;
+    }
+    return methodName;
+  }
+
+  private static PdfMetricsRegistry createDefaultRegistry() {
+    InMemoryMetricsRegistry defaultRegistry = new InMemoryMetricsRegistry();
+    try {
+      defaultRegistry.registerMBean();
+    } catch (JMException | SecurityException e) {
+      Ivy.log().warn("Could not register the PDF metrics MBean: " + e.getMessage());
+    }
+    return defaultRegistry;
+  }
+
+  private static void publish(OperationSample sample) {
+    try {
+      getRegistry().record(sample);
+    } catch (RuntimeException e) {
+      // metrics must never fail the measured operation
+    }
+  }
+
+  private static final class Recording {
+    private final String operationName;
+    private final long startNanos;
+    private final long startCpuNanos;
+    private final long startAllocatedBytes;
+    private final AtomicLong workerCpuNanos = new AtomicLong();
+    private final AtomicLong workerAllocatedBytes = new AtomicLong();
+    private long queueNanos;
+    private long inputBytes = NOT_MEASURED;
+    private long outputBytes = NOT_MEASURED;
+    private int pageCount = (int) NOT_MEASURED;
+
+    private Recording(String operationName) {
+      this.operationName = operationName;
+      Long pendingQueueNanos = PENDING_QUEUE_NANOS.get();
+      this.queueNanos = pendingQueueNanos == null ? 0 : pendingQueueNanos;
+      PENDING_QUEUE_NANOS.remove();
+      this.startCpuNanos = THREAD_METER.cpuNanos();
+      this.startAllocatedBytes = THREAD_METER.allocatedBytes();
+      this.startNanos = System.nanoTime();
+    }
+
+    /**
+     * Called by worker threads, possibly concurrently, before the operation finishes.
+     */
+    private void addWorkerUsage(long cpuNanos, long allocatedBytes) {
+      if (cpuNanos > 0) {
+        workerCpuNanos.addAndGet(cpuNanos);
+      }
+      if (allocatedBytes > 0) {
+        workerAllocatedBytes.addAndGet(allocatedBytes);
+      }
+    }
+
+    private void finish(OperationOutcome outcome, String errorType) {
+      long wallNanos = System.nanoTime() - startNanos;
+      publish(new OperationSample(operationName, outcome, errorType, wallNanos,
+          total(difference(startCpuNanos, THREAD_METER.cpuNanos()), workerCpuNanos.get()),
+          total(difference(startAllocatedBytes, THREAD_METER.allocatedBytes()), workerAllocatedBytes.get()),
+          queueNanos, inputBytes, outputBytes, pageCount));
+    }
+
+    private static long difference(long start, long end) {
+      return start < 0 || end < 0 ? NOT_MEASURED : end - start;
+    }
+
+    private static long total(long callingThread, long workerThreads) {
+      return callingThread == NOT_MEASURED ? NOT_MEASURED : callingThread + workerThreads;
+    }
+  }
+
+  /**
+   * Reads CPU time and allocated bytes of the current thread where the JVM supports it.
+   */
+  private static final class ThreadMeter {
+    private final ThreadMXBean threads;
+    private final com.sun.management.ThreadMXBean extendedThreads;
+
+    private ThreadMeter(ThreadMXBean threads, com.sun.management.ThreadMXBean extendedThreads) {
+      this.threads = threads;
+      this.extendedThreads = extendedThreads;
+    }
+
+    private static ThreadMeter create() {
+      ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+      boolean cpuTime = threads.isCurrentThreadCpuTimeSupported() && threads.isThreadCpuTimeEnabled();
+      com.sun.management.ThreadMXBean extendedThreads = null;
+      if (threads instanceof com.sun.management.ThreadMXBean extended && extended.isThreadAllocatedMemorySupported()
+          && extended.isThreadAllocatedMemoryEnabled()) {
+        extendedThreads = extended;
+      }
+      return new ThreadMeter(cpuTime ? threads : null, extendedThreads);
+    }
+
+    private long cpuNanos() {
+      return threads == null ? NOT_MEASURED : threads.getCurrentThreadCpuTime();
+    }
+
+    private long allocatedBytes() {
+      return extendedThreads == null ? NOT_MEASURED : extendedThreads.getCurrentThreadAllocatedBytes();
+    }
+  }
+}
@@ -0,0 +1,14 @@
+package com.axonivy.utils.axonivypdf.metrics;
+
+/**
+ * Receives one sample per PDF operation run through {@link com.axonivy.utils.axonivypdf.service.PdfFactory}.
+ * <p>
+ * Implementations are called on the thread that ran the operation, right after it finished, and must therefore be
+ * thread safe and cheap. Install a custom registry, e.g. one forwarding to Micrometer, with
+ * {@link PdfMetrics#setRegistry(PdfMetricsRegistry)}.
+ * </p>
+ */
+@FunctionalInterface
+public interface PdfMetricsRegistry {
+  void record(OperationSample sample);
+}
@@ -0,0 +1,183 @@
+package com.axonivy.utils.axonivypdf.service;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import com.axonivy.utils.axonivypdf.enums.PdfOperationType;
+import com.axonivy.utils.axonivypdf.enums.PdfVariable;
+import com.axonivy.utils.axonivypdf.exception.AxonivyPdfException;
+
+import ch.ivyteam.ivy.environment.Ivy;
+
+/**
+ * Limits how much heap concurrently running PDF operations may use.
+ * <p>
+ * Every admitted operation reserves its estimated memory cost against a fixed budget, backed by a fair weighted
+ * semaphore with one permit per kilobyte. Operations that do not fit wait in arrival order until enough budget is
+ * released, and are rejected with an {@link AxonivyPdfException} once the queue timeout has passed. An operation whose
+ * estimate exceeds the whole budget reserves the whole budget and therefore runs alone. Nested operations on the same
+ * thread run under the reservation of the outermost one. The shared controller publishes its current reservations
+ * through JMX.
+ * </p>
+ */
+public class AdmissionController implements AdmissionControllerMBean {
+  public static final String OBJECT_NAME = "com.axonivy.utils.axonivypdf:type=AdmissionController";
+  private static final long BYTES_PER_KILOBYTE = 1024L;
+  private static final long BYTES_PER_MEGABYTE = 1024L * 1024L;
+  private static final int DEFAULT_HEAP_SHARE_DIVISOR = 2;
+
+  private static AdmissionController INSTANCE;
+
+  private final Semaphore permits;
+  private final int totalPermits;
+  private final long queueTimeoutMillis;
+  private final ThreadLocal<Reservation> currentReservation = new ThreadLocal<>();
+  private final AtomicInteger activeReservations = new AtomicInteger();
+  private final AtomicLong admittedCount = new AtomicLong();
+  private final AtomicLong rejectedCount = new AtomicLong();
+
+  /**
+   * @param budgetBytes the heap all admitted operations may reserve together
+   * @param queueTimeoutMillis how long an operation waits for budget before it is rejected
+   */
+  public AdmissionController(long budgetBytes, long queueTimeoutMillis) {
+    this.totalPermits = (int) Math.max(1, Math.min(Integer.MAX_VALUE, budgetBytes / BYTES_PER_KILOBYTE));
+    this.permits = new Semaphore(totalPermits, true);
+    this.queueTimeoutMillis = Math.max(0, queueTimeoutMillis);
+  }
+
+  /**
+   * The shared controller configured by the {@code AxonivyPdf.Admission} variables, which are read on first use.
+   */
+  public static synchronized AdmissionController getInstance() {
+    if (INSTANCE == null) {
+      long budgetMegabytes = PdfVariable.ADMISSION_HEAP_BUDGET_MEGABYTES.getIntValue();
+      long budgetBytes = budgetMegabytes > 0 ? budgetMegabytes * BYTES_PER_MEGABYTE
+          : Runtime.getRuntime().maxMemory() / DEFAULT_HEAP_SHARE_DIVISOR;
+      INSTANCE = new AdmissionController(budgetBytes,
+          TimeUnit.SECONDS.toMillis(PdfVariable.ADMISSION_QUEUE_TIMEOUT_SECONDS.getIntValue()));
+      try {
+        INSTANCE.registerMBean();
+      } catch (JMException | SecurityException e) {
+        Ivy.log().warn("Could not register the PDF admission MBean: " + e.getMessage());
+      }
+    }
+    return INSTANCE;
+  }
+
+  /**
+   * Registers this controller with the platform MBean server, replacing an earlier registration, e.g. of a redeployed
+   * version of the library.
+   */
+  public void registerMBean() throws JMException {
+    MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+    ObjectName name = new ObjectName(OBJECT_NAME);
+    if (server.isRegistered(name)) {
+      server.unregisterMBean(name);
+    }
+    server.registerMBean(this, name);
+  }
+
+  /**
+   * Reserves the estimated memory of an operation, waiting up to the queue timeout for free budget.
+   *
+   * @param operationType the kind of operation
+   * @param inputBytes the size of all inputs
+   * @param pageCount the number of pages, 0 if unknown
+   * @return the reservation, to be closed when the operation has finished
+   * @throws AxonivyPdfException if the budget did not become available in time
+   */
+  public Reservation reserve(PdfOperationType operationType, long inputBytes, int pageCount) {
+    if (currentReservation.get() != null) {
+      return new Reservation(0, false);
+    }
+    long estimatedBytes = operationType.estimateBytes(inputBytes, pageCount);
+    int requested = (int) Math.min(totalPermits, Math.max(1, estimatedBytes / BYTES_PER_KILOBYTE));
+    try {
+      if (!permits.tryAcquire(requested, queueTimeoutMillis, TimeUnit.MILLISECONDS)) {
+        rejectedCount.incrementAndGet();
+        throw new AxonivyPdfException(String.format(
+            "Not enough memory to run the PDF operation %s right now (%d MB requested), please try again later",
+            operationType, estimatedBytes / BYTES_PER_MEGABYTE));
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new AxonivyPdfException("Waiting for memory to run the PDF operation " + operationType
+          + " was interrupted");
+    }
+    admittedCount.incrementAndGet();
+    activeReservations.incrementAndGet();
+    Reservation reservation = new Reservation(requested, true);
+    currentReservation.set(reservation);
+    return reservation;
+  }
+
+  @Override
+  public long getBudgetBytes() {
+    return totalPermits * BYTES_PER_KILOBYTE;
+  }
+
+  @Override
+  public long getReservedBytes() {
+    return (totalPermits - (long) permits.availablePermits()) * BYTES_PER_KILOBYTE;
+  }
+
+  @Override
+  public int getActiveReservations() {
+    return activeReservations.get();
+  }
+
+  /**
+   * The approximate number of operations waiting for budget.
+   */
+  @Override
+  public int getWaitingCount() {
+    return permits.getQueueLength();
+  }
+
+  @Override
+  public long getAdmittedCount() {
+    return admittedCount.get();
+  }
+
+  @Override
+  public long getRejectedCount() {
+    return rejectedCount.get();
+  }
+
+  /**
+   * Memory reserved for one operation, closing it returns the memory to the budget.
+   */
+  public final class Reservation implements AutoCloseable {
+    private final int reservedPermits;
+    private final boolean outermost;
+    private boolean released;
+
+    private Reservation(int reservedPermits, boolean outermost) {
+      this.reservedPermits = reservedPermits;
+      this.outermost = outermost;
+    }
+
+    public long getReservedBytes() {
+      return reservedPermits * BYTES_PER_KILOBYTE;
+    }
+
+    @Override
+    public void close() {
+      if (released || !outermost) {
+        return;
+      }
+      released = true;
+      currentReservation.remove();
+      activeReservations.decrementAndGet();
+      permits.release(reservedPermits);
+    }
+  }
+}
@@ -0,0 +1,18 @@
+package com.axonivy.utils.axonivypdf.service;
+
+/**
+ * JMX view of the {@link AdmissionController}, registered as {@value AdmissionController#OBJECT_NAME}.
+ */
+public interface AdmissionControllerMBean {
+  long getBudgetBytes();
+
+  long getReservedBytes();
+
+  int getActiveReservations();
+
+  int getWaitingCount();
+
+  long getAdmittedCount();
+
+  long getRejectedCount();
+}
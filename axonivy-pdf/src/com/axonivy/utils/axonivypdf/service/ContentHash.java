@@ -0,0 +1,45 @@
+package com.axonivy.utils.axonivypdf.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+import com.axonivy.utils.axonivypdf.exception.AxonivyPdfException;
+
+/**
+ * SHA-256 hashes of PDF and image content as lower case hex strings, e.g. to recognize identical documents or images.
+ */
+final class ContentHash {
+  private static final String HASH_ALGORITHM = "SHA-256";
+
+  private ContentHash() {}
+
+  static String of(byte[] content) {
+    return HexFormat.of().formatHex(newDigest().digest(content));
+  }
+
+  /**
+   * Hashes the file like {@link #of(byte[])}, reading it in chunks.
+   */
+  static String of(Path file) throws IOException {
+    MessageDigest digest = newDigest();
+    try (InputStream input = new DigestInputStream(Files.newInputStream(file), digest)) {
+      input.transferTo(OutputStream.nullOutputStream());
+    }
+    return HexFormat.of().formatHex(digest.digest());
+  }
+
+  private static MessageDigest newDigest() {
+    try {
+      return MessageDigest.getInstance(HASH_ALGORITHM);
+    } catch (NoSuchAlgorithmException e) {
+      throw new AxonivyPdfException(e.getMessage());
+    }
+  }
+}
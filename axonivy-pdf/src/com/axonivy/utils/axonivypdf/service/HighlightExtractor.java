@@ -0,0 +1,106 @@
+package com.axonivy.utils.axonivypdf.service;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.aspose.pdf.Annotation;
+import com.aspose.pdf.Color;
+import com.aspose.pdf.Document;
+import com.aspose.pdf.HighlightAnnotation;
+import com.aspose.pdf.Rectangle;
+import com.aspose.pdf.TextFragment;
+import com.axonivy.utils.axonivypdf.dto.TextExtractOptions;
+import com.axonivy.utils.axonivypdf.exception.AxonivyPdfException;
+import com.axonivy.utils.axonivypdf.jfr.PdfPageEvent;
+
+/**
+ * Extracts the highlight annotations of a page range as NDJSON, one line per highlight.
+ * <p>
+ * A record holds the page number, the position of the highlight on its page, the rectangle in PDF user space units,
+ * the author, the color as {@code #rrggbb}, the marked text and the comment of the annotation:
+ * </p>
+ *
+ * <pre>
+ * {"page":3,"index":1,"rect":{"llx":72,"lly":640.5,"urx":310.2,"ury":654},"author":"Jane","color":"#ffff00",
+ *  "text":"...","comment":null}
+ * </pre>
+ * <p>
+ * Pages are scanned concurrently by a {@link ParallelPageProcessor}, the records are written in page order and flushed
+ * after every page.
+ * </p>
+ */
+class HighlightExtractor {
+  private static final String TEXT_FRAGMENT_SEPARATOR = "\n";
+  private static final String COLOR_PATTERN = "#%02x%02x%02x";
+
+  private final String fileName;
+  private final TextExtractOptions options;
+  private final int parallelism;
+
+  HighlightExtractor(String fileName, TextExtractOptions options, int parallelism) {
+    this.fileName = fileName;
+    this.options = options;
+    this.parallelism = parallelism;
+  }
+
+  /**
+   * Writes the highlights of the selected pages of the document to the writer. The document is closed afterwards.
+   *
+   * @param document the parsed source, used by the first worker
+   * @param source the source file, parsed once more by every further worker, see {@link SourceFile}
+   * @return the number of scanned pages
+   * @throws AxonivyPdfException if the page range is outside of the document
+   */
+  int extract(Document document, Path source, Writer writer) throws IOException {
+    return new ParallelPageProcessor(source, parallelism).processRange(document, options.getStartPage(),
+        options.getEndPage(), this::extractPage, (pageNumber, records) -> {
+          for (String record : records) {
+            writer.write(record);
+            writer.write('\n');
+          }
+          writer.flush();
+        });
+  }
+
+  private List<String> extractPage(Document document, int pageNumber) {
+    PdfPageEvent event = new PdfPageEvent();
+    event.begin();
+    List<String> records = new ArrayList<>();
+    for (Annotation annotation : document.getPages().get_Item(pageNumber).getAnnotations()) {
+      if (annotation instanceof HighlightAnnotation highlight) {
+        records.add(toRecord(highlight, pageNumber, records.size() + 1));
+      }
+    }
+    if (event.shouldCommit()) {
+      event.setFileName(fileName);
+      event.setPageIndex(pageNumber);
+      event.commit();
+    }
+    return records;
+  }
+
+  private static String toRecord(HighlightAnnotation highlight, int pageNumber, int index) {
+    Rectangle rect = highlight.getRect();
+    JsonRecord rectangle = rect == null ? null
+        : new JsonRecord().add("llx", rect.getLLX()).add("lly", rect.getLLY()).add("urx", rect.getURX())
+            .add("ury", rect.getURY());
+    List<String> texts = new ArrayList<>();
+    for (TextFragment fragment : highlight.getMarkedTextFragments()) {
+      texts.add(fragment.getText());
+    }
+    return new JsonRecord().add("page", pageNumber).add("index", index).add("rect", rectangle)
+        .add("author", highlight.getTitle()).add("color", toHex(highlight.getColor()))
+        .add("text", String.join(TEXT_FRAGMENT_SEPARATOR, texts)).add("comment", highlight.getContents()).toString();
+  }
+
+  private static String toHex(Color color) {
+    if (color == null) {
+      return null;
+    }
+    java.awt.Color rgb = color.toRgb();
+    return String.format(COLOR_PATTERN, rgb.getRed(), rgb.getGreen(), rgb.getBlue());
+  }
+}
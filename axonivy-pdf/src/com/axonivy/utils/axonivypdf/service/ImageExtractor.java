@@ -0,0 +1,536 @@
+package com.axonivy.utils.axonivypdf.service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.apache.commons.lang3.StringUtils;
+
+import com.aspose.pdf.Document;
+import com.aspose.pdf.ImageFormat;
+import com.aspose.pdf.ImagePlacement;
+import com.aspose.pdf.ImagePlacementAbsorber;
+import com.aspose.pdf.Resources;
+import com.aspose.pdf.XImage;
+import com.axonivy.utils.axonivypdf.dto.ImageExtractOptions;
+import com.axonivy.utils.axonivypdf.enums.FileExtension;
+import com.axonivy.utils.axonivypdf.enums.ImageDeduplication;
+import com.axonivy.utils.axonivypdf.exception.AxonivyPdfException;
+import com.axonivy.utils.axonivypdf.jfr.PdfPageEvent;
+import com.axonivy.utils.axonivypdf.service.PdfStructureReader.Ref;
+import com.axonivy.utils.axonivypdf.service.PdfStructureReader.Stream;
+
+import ch.ivyteam.ivy.environment.Ivy;
+
+/**
+ * Extracts the images of a page range into a zip archive, passing embedded JPEG, JPEG 2000 and CCITT fax data through
+ * without decoding it.
+ * <p>
+ * Pages and images are found with a {@link PdfStructureReader}: the image XObjects invoked by the content of a page,
+ * directly or through form XObjects, are looked up in its resources. If a content stream cannot be decoded, all images
+ * of the resources count as used. Repeated images are skipped by object number and by the SHA-256 hash of their
+ * encoded data before anything is decoded, so a logo on every page is read once. Only images which cannot be passed
+ * through are decoded by Aspose, which parses the document on first need. Encrypted documents and documents the
+ * structure reader cannot read are extracted by Aspose alone, every image placement as PNG.
+ * </p>
+ * <p>
+ * Decoding and PNG encoding run page by page on a {@link ParallelPageProcessor}, every worker with its own document.
+ * Entries are written to the sink on the calling thread in page order, so the archive is the same for any parallelism.
+ * An instance extracts one document.
+ * </p>
+ */
+class ImageExtractor {
+  private static final String IMAGE_NAME_PATTERN = "%s_page_%d_image_%d%s";
+  private static final String JPX_EXTENSION = ".jp2";
+  private static final String JPEG_FILTER = "DCTDecode";
+  private static final String JPX_FILTER = "JPXDecode";
+  private static final String FAX_FILTER = "CCITTFaxDecode";
+  private static final Pattern DO_OPERATOR = Pattern.compile("/([^\\s/()<>\\[\\]{}%]+)\\s*Do(?![^\\s/()<>\\[\\]{}%])");
+  private static final int MAX_PAGE_TREE_DEPTH = 64;
+  private static final int MAX_FORM_DEPTH = 16;
+  private static final int DEFAULT_FAX_COLUMNS = 1728;
+  private static final int TIFF_HEADER_BYTES = 8;
+  private static final int TIFF_ENTRY_BYTES = 12;
+  private static final int TIFF_ENTRY_COUNT = 10;
+  private static final short TIFF_SHORT = 3;
+  private static final short TIFF_LONG = 4;
+  private static final int TIFF_GROUP_3 = 3;
+  private static final int TIFF_GROUP_4 = 4;
+
+  private final String fileName;
+  private final String baseName;
+  private final ImageExtractOptions options;
+  private final int parallelism;
+  private final Set<Integer> extractedObjects = new HashSet<>();
+  private final Set<String> extractedContents = new HashSet<>();
+  private int imageCount;
+
+  ImageExtractor(String fileName, ImageExtractOptions options, int parallelism) {
+    this.fileName = fileName;
+    this.baseName = StringUtils.substringBeforeLast(fileName, ".");
+    this.options = options;
+    this.parallelism = parallelism;
+  }
+
+  /**
+   * Writes the images of the selected pages into the sink in page order.
+   *
+   * @param source the source file, see {@link SourceFile}
+   * @param parser parses the source with Aspose for the first worker, called at most once
+   * @param sink receives one entry per extracted image
+   * @return the number of pages of the range
+   * @throws AxonivyPdfException if the page range is outside of the document
+   */
+  int extract(Path source, Supplier<Document> parser, ZipSink sink) throws IOException {
+    PdfStructureReader reader;
+    try {
+      reader = PdfStructureReader.open(source);
+    } catch (IOException e) {
+      Ivy.log().debug("Falling back to Aspose for image extraction: " + e.getMessage());
+      return extractPlacements(source, parser, sink);
+    }
+    try (reader) {
+      List<PageImages> pages;
+      try {
+        pages = select(reader, plan(reader));
+      } catch (AxonivyPdfException e) {
+        throw e;
+      } catch (IOException | RuntimeException e) {
+        Ivy.log().debug("Falling back to Aspose for image extraction: " + e.getMessage());
+        return extractPlacements(source, parser, sink);
+      }
+      if (pages.stream().noneMatch(PageImages::needsDecoding)) {
+        for (PageImages page : pages) {
+          PdfPageEvent event = new PdfPageEvent();
+          event.begin();
+          writePage(reader, page, null, sink);
+          commit(event, page.pageNumber());
+        }
+      } else {
+        int fromPage = pages.get(0).pageNumber();
+        new ParallelPageProcessor(source, parallelism).process(parser.get(), fromPage,
+            pages.get(pages.size() - 1).pageNumber(),
+            (document, pageNumber) -> decodePage(document, pages.get(pageNumber - fromPage)),
+            (pageNumber, decoded) -> writePage(reader, pages.get(pageNumber - fromPage), decoded, sink));
+      }
+      return pages.size();
+    }
+  }
+
+  /**
+   * Writes every image placement of the selected pages as PNG, without passing any data through. Placements are
+   * deduplicated by the hash of the PNG data unless deduplication is off.
+   *
+   * @param source the source file, see {@link SourceFile}
+   * @param parser parses the source with Aspose for the first worker
+   * @param sink receives one entry per extracted image
+   * @return the number of pages of the range
+   * @throws AxonivyPdfException if the page range is outside of the document
+   */
+  int extractPlacements(Path source, Supplier<Document> parser, ZipSink sink) throws IOException {
+    return new ParallelPageProcessor(source, parallelism).processRange(parser.get(), options.getStartPage(),
+        options.getEndPage(), this::encodePlacements, (pageNumber, images) -> {
+          for (EncodedImage image : images) {
+            if (image.hash() == null || extractedContents.add(image.hash())) {
+              sink.putEntry(entryName(pageNumber, FileExtension.PNG.getExtension()), image.content());
+            }
+          }
+        });
+  }
+
+  /**
+   * Finds the images of every page of the range and how they are written, without reading any image data.
+   */
+  private List<PageImages> plan(PdfStructureReader reader) throws IOException {
+    Map<String, Object> trailer = reader.getTrailer();
+    if (trailer.get("Encrypt") != null) {
+      throw new IOException("Encrypted document");
+    }
+    Map<String, Object> catalog = reader.resolveDictionary(trailer.get("Root"));
+    Map<String, Object> root = catalog != null ? reader.resolveDictionary(catalog.get("Pages")) : null;
+    if (root == null) {
+      throw new IOException("Missing page tree");
+    }
+    List<PageNode> pageNodes = new ArrayList<>();
+    readPageTree(reader, root, null, pageNodes, Collections.newSetFromMap(new IdentityHashMap<>()), 0);
+
+    int[] range = pageRange(pageNodes.size());
+    List<PageImages> pages = new ArrayList<>();
+    for (int pageNumber = range[0]; pageNumber <= range[1]; pageNumber++) {
+      PageNode page = pageNodes.get(pageNumber - 1);
+      List<ImageRef> images = new ArrayList<>();
+      collectImages(reader, pageNumber, page.resources(), contentOf(reader, page.node().get("Contents")), List.of(),
+          new HashSet<>(), images);
+      pages.add(new PageImages(pageNumber, images));
+    }
+    return pages;
+  }
+
+  private static void readPageTree(PdfStructureReader reader, Map<String, Object> node,
+      Map<String, Object> inheritedResources, List<PageNode> pages, Set<Object> visited, int depth)
+      throws IOException {
+    if (depth > MAX_PAGE_TREE_DEPTH || !visited.add(node)) {
+      throw new IOException("Invalid page tree");
+    }
+    Map<String, Object> ownResources = reader.resolveDictionary(node.get("Resources"));
+    Map<String, Object> resources = ownResources != null ? ownResources : inheritedResources;
+    List<Object> kids = reader.resolveArray(node.get("Kids"));
+    if (kids != null && !"Page".equals(PdfStructureReader.nameOf(node.get("Type")))) {
+      for (Object kid : kids) {
+        Map<String, Object> child = reader.resolveDictionary(kid);
+        if (child != null) {
+          readPageTree(reader, child, resources, pages, visited, depth + 1);
+        }
+      }
+      return;
+    }
+    pages.add(new PageNode(node, resources));
+  }
+
+  private int[] pageRange(int pageCount) {
+    int fromPage = options.getStartPage() != null ? options.getStartPage() : 1;
+    int toPage = options.getEndPage() != null ? options.getEndPage() : pageCount;
+    if (fromPage <= 0 || toPage > pageCount || fromPage > toPage) {
+      throw new AxonivyPdfException("Please enter a valid start page and end page");
+    }
+    return new int[] {fromPage, toPage};
+  }
+
+  /**
+   * Adds the images used by the content which are large enough, recursing into the used form XObjects.
+   *
+   * @param formPath the resource names of the forms leading to the content, empty for the page itself
+   * @param forms the object numbers of the forms already visited on the page
+   */
+  private void collectImages(PdfStructureReader reader, int pageNumber, Map<String, Object> resources, String content,
+      List<String> formPath, Set<Integer> forms, List<ImageRef> images) throws IOException {
+    Map<String, Object> xObjects = resources != null ? reader.resolveDictionary(resources.get("XObject")) : null;
+    if (xObjects == null) {
+      return;
+    }
+    for (String name : usedNames(xObjects, content)) {
+      Object value = xObjects.get(name);
+      if (!(reader.resolve(value) instanceof Stream stream)) {
+        continue;
+      }
+      int objectNumber = value instanceof Ref ref ? ref.number() : -1;
+      Map<String, Object> dictionary = stream.dictionary();
+      String subtype = PdfStructureReader.nameOf(dictionary.get("Subtype"));
+      if ("Image".equals(subtype)) {
+        int width = PdfStructureReader.intValue(reader.resolve(dictionary.get("Width")), 0);
+        int height = PdfStructureReader.intValue(reader.resolve(dictionary.get("Height")), 0);
+        if (width >= options.getMinWidth() && height >= options.getMinHeight()) {
+          String filter = options.isNativeFormat() ? passThroughFilter(reader, dictionary) : null;
+          images.add(new ImageRef(pageNumber, formPath, name, objectNumber, stream, filter));
+        }
+      } else if ("Form".equals(subtype) && formPath.size() < MAX_FORM_DEPTH && forms.add(objectNumber)) {
+        Map<String, Object> formResources = reader.resolveDictionary(dictionary.get("Resources"));
+        List<String> path = new ArrayList<>(formPath);
+        path.add(name);
+        collectImages(reader, pageNumber, formResources != null ? formResources : resources,
+            contentOf(reader, stream), path, forms, images);
+      }
+    }
+  }
+
+  /**
+   * The names of the XObjects invoked by the content in order of first use, all names if the content is unknown.
+   */
+  private static Collection<String> usedNames(Map<String, Object> xObjects, String content) {
+    if (content == null) {
+      return new TreeSet<>(xObjects.keySet());
+    }
+    Set<String> names = new LinkedHashSet<>();
+    Matcher matcher = DO_OPERATOR.matcher(content);
+    while (matcher.find()) {
+      String name = unescapeName(matcher.group(1));
+      if (xObjects.containsKey(name)) {
+        names.add(name);
+      }
+    }
+    return names;
+  }
+
+  /**
+   * The decoded content of a page or form, {@code null} if a stream uses a filter the structure reader cannot decode.
+   */
+  private static String contentOf(PdfStructureReader reader, Object contents) {
+    try {
+      Object resolved = reader.resolve(contents);
+      List<?> parts = resolved instanceof List<?> list ? list : Collections.singletonList(resolved);
+      StringBuilder content = new StringBuilder();
+      for (Object part : parts) {
+        if (reader.resolve(part) instanceof Stream stream) {
+          content.append(new String(reader.decode(stream), StandardCharsets.ISO_8859_1)).append('\n');
+        }
+      }
+      return content.toString();
+    } catch (IOException e) {
+      return null;
+    }
+  }
+
+  private static String unescapeName(String name) {
+    if (name.indexOf('#') < 0) {
+      return name;
+    }
+    StringBuilder unescaped = new StringBuilder(name.length());
+    for (int i = 0; i < name.length(); i++) {
+      char c = name.charAt(i);
+      if (c == '#' && i + 2 < name.length()) {
+        int high = Character.digit(name.charAt(i + 1), 16);
+        int low = Character.digit(name.charAt(i + 2), 16);
+        if (high >= 0 && low >= 0) {
+          unescaped.append((char) (high << 4 | low));
+          i += 2;
+          continue;
+        }
+      }
+      unescaped.append(c);
+    }
+    return unescaped.toString();
+  }
+
+  /**
+   * Drops the images already extracted from an earlier page or earlier on the same page, before anything is decoded.
+   */
+  private List<PageImages> select(PdfStructureReader reader, List<PageImages> pages) throws IOException {
+    ImageDeduplication deduplication = options.getDeduplication();
+    if (deduplication == ImageDeduplication.NONE) {
+      return pages;
+    }
+    List<PageImages> selected = new ArrayList<>(pages.size());
+    for (PageImages page : pages) {
+      List<ImageRef> images = new ArrayList<>();
+      for (ImageRef image : page.images()) {
+        if (image.objectNumber() >= 0 && !extractedObjects.add(image.objectNumber())) {
+          continue;
+        }
+        if (deduplication == ImageDeduplication.CONTENT
+            && !extractedContents.add(ContentHash.of(reader.readRawData(image.stream())))) {
+          continue;
+        }
+        images.add(image);
+      }
+      selected.add(new PageImages(page.pageNumber(), images));
+    }
+    return selected;
+  }
+
+  /**
+   * Encodes the images of the page which cannot be passed through as PNG.
+   *
+   * @return the PNG data per image of the page, {@code null} for images passed through or unknown to Aspose
+   */
+  private List<byte[]> decodePage(Document document, PageImages page) {
+    PdfPageEvent event = new PdfPageEvent();
+    event.begin();
+    List<byte[]> decoded = new ArrayList<>(page.images().size());
+    for (ImageRef image : page.images()) {
+      decoded.add(image.filter() == null ? encodePng(findImage(document, image)) : null);
+    }
+    commit(event, page.pageNumber());
+    return decoded;
+  }
+
+  /**
+   * @param decoded the result of {@link #decodePage(Document, PageImages)}, {@code null} if every image of the page is
+   *        passed through
+   */
+  private void writePage(PdfStructureReader reader, PageImages page, List<byte[]> decoded, ZipSink sink)
+      throws IOException {
+    for (int i = 0; i < page.images().size(); i++) {
+      ImageRef image = page.images().get(i);
+      if (JPEG_FILTER.equals(image.filter())) {
+        sink.putEntry(entryName(page.pageNumber(), FileExtension.JPG.getExtension()),
+            reader.readRawData(image.stream()));
+      } else if (JPX_FILTER.equals(image.filter())) {
+        sink.putEntry(entryName(page.pageNumber(), JPX_EXTENSION), reader.readRawData(image.stream()));
+      } else if (FAX_FILTER.equals(image.filter())) {
+        sink.putEntry(entryName(page.pageNumber(), FileExtension.TIFF.getExtension()),
+            faxToTiff(reader, image.stream().dictionary(), reader.readRawData(image.stream())));
+      } else if (decoded != null && decoded.get(i) != null) {
+        sink.putEntry(entryName(page.pageNumber(), FileExtension.PNG.getExtension()), decoded.get(i));
+      } else {
+        Ivy.log().debug("Skipping image " + image.name() + " on page " + page.pageNumber() + " of " + fileName);
+      }
+    }
+  }
+
+  private String entryName(int pageNumber, String extension) {
+    return String.format(IMAGE_NAME_PATTERN, baseName, pageNumber, ++imageCount, extension);
+  }
+
+  /**
+   * The filter of an image whose encoded data is a complete image file, {@code null} if the image has to be decoded.
+   * Masked images are decoded so the mask is applied, JPEG and JPEG 2000 images also if a decode array remaps them.
+   */
+  private static String passThroughFilter(PdfStructureReader reader, Map<String, Object> dictionary)
+      throws IOException {
+    if (dictionary.get("SMask") != null || dictionary.get("Mask") != null) {
+      return null;
+    }
+    Object filter = reader.resolve(dictionary.get("Filter"));
+    if (filter instanceof List<?> filters && filters.size() == 1) {
+      filter = reader.resolve(filters.get(0));
+    }
+    String name = PdfStructureReader.nameOf(filter);
+    if (JPEG_FILTER.equals(name) || JPX_FILTER.equals(name)) {
+      return dictionary.get("Decode") == null ? name : null;
+    }
+    if (FAX_FILTER.equals(name)
+        && !Boolean.TRUE.equals(reader.resolve(faxParameters(reader, dictionary).get("EncodedByteAlign")))) {
+      return name;
+    }
+    return null;
+  }
+
+  private static Map<String, Object> faxParameters(PdfStructureReader reader, Map<String, Object> dictionary)
+      throws IOException {
+    Object parameters = reader.resolve(dictionary.get("DecodeParms"));
+    if (parameters instanceof List<?> list) {
+      parameters = list.isEmpty() ? null : list.get(0);
+    }
+    Map<String, Object> map = reader.resolveDictionary(parameters);
+    return map != null ? map : Map.of();
+  }
+
+  private static byte[] faxToTiff(PdfStructureReader reader, Map<String, Object> dictionary, byte[] data)
+      throws IOException {
+    Map<String, Object> parameters = faxParameters(reader, dictionary);
+    int k = PdfStructureReader.intValue(reader.resolve(parameters.get("K")), 0);
+    int columns = PdfStructureReader.intValue(reader.resolve(parameters.get("Columns")), DEFAULT_FAX_COLUMNS);
+    int rows = PdfStructureReader.intValue(reader.resolve(parameters.get("Rows")), 0);
+    if (rows <= 0) {
+      rows = PdfStructureReader.intValue(reader.resolve(dictionary.get("Height")), 0);
+    }
+    boolean blackIs1 = Boolean.TRUE.equals(reader.resolve(parameters.get("BlackIs1")));
+    List<Object> decode = reader.resolveArray(dictionary.get("Decode"));
+    Object firstDecode = decode != null && !decode.isEmpty() ? reader.resolve(decode.get(0)) : null;
+    boolean decodeInverted = firstDecode instanceof Number number && number.doubleValue() == 1;
+    return toTiff(data, columns, rows, k, blackIs1 != decodeInverted);
+  }
+
+  /**
+   * Wraps CCITT fax data into a TIFF file with a single strip. Negative {@code k} means Group 4, otherwise Group 3 with
+   * two-dimensional coding for positive {@code k}. Black runs are shown black unless the image is inverted.
+   */
+  static byte[] toTiff(byte[] data, int width, int height, int k, boolean inverted) {
+    int dataOffset = TIFF_HEADER_BYTES + Short.BYTES + TIFF_ENTRY_COUNT * TIFF_ENTRY_BYTES + Integer.BYTES;
+    ByteBuffer tiff = ByteBuffer.allocate(dataOffset + data.length).order(ByteOrder.LITTLE_ENDIAN);
+    tiff.put((byte) 'I').put((byte) 'I').putShort((short) 42).putInt(TIFF_HEADER_BYTES);
+    tiff.putShort((short) TIFF_ENTRY_COUNT);
+    putTiffEntry(tiff, 256, TIFF_LONG, width); // ImageWidth
+    putTiffEntry(tiff, 257, TIFF_LONG, height); // ImageLength
+    putTiffEntry(tiff, 258, TIFF_SHORT, 1); // BitsPerSample
+    putTiffEntry(tiff, 259, TIFF_SHORT, k < 0 ? TIFF_GROUP_4 : TIFF_GROUP_3); // Compression
+    putTiffEntry(tiff, 262, TIFF_SHORT, inverted ? 1 : 0); // PhotometricInterpretation
+    putTiffEntry(tiff, 273, TIFF_LONG, dataOffset); // StripOffsets
+    putTiffEntry(tiff, 277, TIFF_SHORT, 1); // SamplesPerPixel
+    putTiffEntry(tiff, 278, TIFF_LONG, height); // RowsPerStrip
+    putTiffEntry(tiff, 279, TIFF_LONG, data.length); // StripByteCounts
+    putTiffEntry(tiff, k < 0 ? 293 : 292, TIFF_LONG, k > 0 ? 1 : 0); // T6Options respectively T4Options
+    tiff.putInt(0);
+    tiff.put(data);
+    return tiff.array();
+  }
+
+  private static void putTiffEntry(ByteBuffer tiff, int tag, short type, int value) {
+    tiff.putShort((short) tag).putShort(type).putInt(1);
+    if (type == TIFF_SHORT) {
+      tiff.putShort((short) value).putShort((short) 0);
+    } else {
+      tiff.putInt(value);
+    }
+  }
+
+  /**
+   * Looks up the image in the Aspose model of the document, {@code null} if Aspose does not know it.
+   */
+  private static XImage findImage(Document document, ImageRef image) {
+    try {
+      Resources resources = document.getPages().get_Item(image.pageNumber()).getResources();
+      for (String form : image.formPath()) {
+        resources = resources.getForms().get_Item(form).getResources();
+      }
+      return resources.getImages().get_Item(image.name());
+    } catch (RuntimeException e) {
+      return null;
+    }
+  }
+
+  /**
+   * Encodes the large enough image placements of the page as PNG, hashed for deduplication unless it is off.
+   */
+  private List<EncodedImage> encodePlacements(Document document, int pageNumber) {
+    PdfPageEvent event = new PdfPageEvent();
+    event.begin();
+    ImagePlacementAbsorber absorber = new ImagePlacementAbsorber();
+    document.getPages().get_Item(pageNumber).accept(absorber);
+    List<EncodedImage> images = new ArrayList<>();
+    for (ImagePlacement placement : absorber.getImagePlacements()) {
+      XImage image = placement.getImage();
+      if (image.getWidth() < options.getMinWidth() || image.getHeight() < options.getMinHeight()) {
+        continue;
+      }
+      byte[] content = encodePng(image);
+      images.add(new EncodedImage(content,
+          options.getDeduplication() == ImageDeduplication.NONE ? null : ContentHash.of(content)));
+    }
+    commit(event, pageNumber);
+    return images;
+  }
+
+  private static byte[] encodePng(XImage image) {
+    if (image == null) {
+      return null;
+    }
+    ByteArrayOutputStream png = new ByteArrayOutputStream();
+    image.save(png, ImageFormat.Png);
+    return png.toByteArray();
+  }
+
+  private void commit(PdfPageEvent event, int pageNumber) {
+    if (event.shouldCommit()) {
+      event.setFileName(fileName);
+      event.setPageIndex(pageNumber);
+      event.commit();
+    }
+  }
+
+  private record PageNode(Map<String, Object> node, Map<String, Object> resources) {}
+
+  private record PageImages(int pageNumber, List<ImageRef> images) {
+    boolean needsDecoding() {
+      return images.stream().anyMatch(image -> image.filter() == null);
+    }
+  }
+
+  /**
+   * An image XObject used on a page.
+   *
+   * @param formPath the resource names of the forms leading to the image, empty if the page uses it directly
+   * @param objectNumber the number of the image object, -1 for a direct object
+   * @param filter the filter of the data passed through, {@code null} if the image is decoded
+   */
+  private record ImageRef(int pageNumber, List<String> formPath, String name, int objectNumber, Stream stream,
+      String filter) {}
+
+  private record EncodedImage(byte[] content, String hash) {}
+}
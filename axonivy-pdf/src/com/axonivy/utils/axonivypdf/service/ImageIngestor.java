@@ -0,0 +1,270 @@
+package com.axonivy.utils.axonivypdf.service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.metadata.IIOMetadata;
+import javax.imageio.stream.ImageInputStream;
+
+import org.apache.commons.lang3.math.NumberUtils;
+import org.primefaces.model.file.UploadedFile;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+
+import com.axonivy.utils.axonivypdf.dto.ImageOptions;
+import com.axonivy.utils.axonivypdf.exception.AxonivyPdfException;
+import com.axonivy.utils.axonivypdf.metrics.PdfMetrics;
+
+/**
+ * Prepares uploaded images for embedding as PDF pages.
+ * <p>
+ * Every upload is copied to a temporary file in chunks and read from there, it is never held in memory as a whole.
+ * Dimensions are taken from the image header through an {@link ImageReader}, without decoding the raster, and the
+ * original bytes of a single image are later handed to Aspose unchanged unless the {@link ImageOptions} ask for
+ * downscaling or re-encoding by the {@link ImageRecompressor}. Every frame of a multi-page TIFF becomes its own page
+ * and is decoded and encoded on its own, so only one decoded frame per worker is in memory. Frames are prepared on up
+ * to {@code parallelism} workers and handed back in upload and frame order, with at most two prepared frames per
+ * worker waiting to be consumed. With a parallelism of 1 everything runs on the calling thread.
+ * </p>
+ */
+class ImageIngestor {
+  private static final int RESULTS_IN_FLIGHT_PER_WORKER = 2;
+  private static final double POINTS_PER_INCH = 72;
+  private static final double MILLIMETERS_PER_INCH = 25.4;
+  private static final String STANDARD_METADATA_FORMAT = "javax_imageio_1.0";
+  private static final String HORIZONTAL_PIXEL_SIZE = "HorizontalPixelSize";
+  private static final String TIFF_FORMAT = "tif";
+  private static final String TIFF_FORMAT_LONG = "tiff";
+
+  private final ImageOptions options;
+  private final ImageRecompressor recompressor;
+  private final int parallelism;
+
+  /**
+   * @param maxPixels the maximum number of pixels of an embedded image, larger images are downscaled, 0 means unlimited
+   */
+  ImageIngestor(ImageOptions options, int parallelism, long maxPixels) {
+    this.options = options;
+    this.recompressor = new ImageRecompressor(options, maxPixels);
+    this.parallelism = ParallelPageProcessor.resolveParallelism(parallelism);
+  }
+
+  /**
+   * An image ready to be placed on a page of the given size in points.
+   */
+  record PreparedImage(String fileName, byte[] content, int widthPx, int heightPx, double pageWidth,
+      double pageHeight) {
+
+    /**
+     * The resolution of the image on its page in DPI.
+     */
+    double resolution() {
+      return widthPx * POINTS_PER_INCH / pageWidth;
+    }
+  }
+
+  @FunctionalInterface
+  interface ImageConsumer {
+    void accept(PreparedImage image) throws IOException;
+  }
+
+  /**
+   * Prepares all uploads and passes their pages to the consumer on the calling thread, in upload order.
+   */
+  void ingest(List<UploadedFile> files, ImageConsumer consumer) throws IOException {
+    if (parallelism == 1) {
+      for (UploadedFile file : files) {
+        try (SourceFile source = SourceFile.of(file)) {
+          prepare(source.getPath(), file.getFileName(), consumer);
+        }
+      }
+      return;
+    }
+
+    ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+    Deque<PendingFrame> inFlight = new ArrayDeque<>();
+    Deque<SourceFile> sources = new ArrayDeque<>();
+    int maxInFlight = parallelism * RESULTS_IN_FLIGHT_PER_WORKER;
+    try {
+      for (UploadedFile file : files) {
+        SourceFile source = SourceFile.of(file);
+        sources.add(source);
+        int frameCount = frameCount(source.getPath(), file.getFileName());
+        if (frameCount == 0) {
+          sources.removeLast().close();
+          continue;
+        }
+        for (int frame = 0; frame < frameCount; frame++) {
+          int index = frame;
+          boolean single = frameCount == 1;
+          inFlight.add(new PendingFrame(executor.submit(PdfMetrics.onWorker(
+              () -> prepareFrame(source.getPath(), file.getFileName(), index, single))), frame == frameCount - 1));
+          if (inFlight.size() >= maxInFlight) {
+            accept(inFlight.poll(), sources, consumer);
+          }
+        }
+      }
+      while (!inFlight.isEmpty()) {
+        accept(inFlight.poll(), sources, consumer);
+      }
+    } finally {
+      inFlight.forEach(pending -> pending.image().cancel(true));
+      executor.shutdownNow();
+      awaitTermination(executor);
+      for (SourceFile source : sources) {
+        source.close();
+      }
+    }
+  }
+
+  /**
+   * A frame prepared by a worker, the spill file of its upload is deleted once the last frame is consumed.
+   */
+  private record PendingFrame(Future<PreparedImage> image, boolean lastOfUpload) {}
+
+  private static void accept(PendingFrame pending, Deque<SourceFile> sources, ImageConsumer consumer)
+      throws IOException {
+    consumer.accept(await(pending.image()));
+    if (pending.lastOfUpload()) {
+      sources.poll().close();
+    }
+  }
+
+  /**
+   * Reads the spilled upload once and passes one prepared image per page to the consumer. Single images keep their
+   * original bytes where the options allow it, TIFF frames are always re-encoded on their own.
+   */
+  private void prepare(Path source, String fileName, ImageConsumer consumer) throws IOException {
+    try (ImageInputStream input = ImageIO.createImageInputStream(source.toFile())) {
+      ImageReader reader = readerFor(input, fileName);
+      try {
+        reader.setInput(input, false, options.getTargetResolution() <= 0);
+        int frameCount = isTiff(reader) ? reader.getNumImages(true) : 1;
+        if (frameCount == 1) {
+          consumer.accept(recompressor.apply(reader, 0,
+              describe(reader, 0, fileName, Files.readAllBytes(source)), false));
+          return;
+        }
+        for (int frame = 0; frame < frameCount; frame++) {
+          consumer.accept(recompressor.apply(reader, frame, describe(reader, frame, fileName, null), true));
+        }
+      } finally {
+        reader.dispose();
+      }
+    }
+  }
+
+  /**
+   * The number of pages of the spilled upload, read from the image headers without decoding a frame.
+   */
+  private static int frameCount(Path source, String fileName) throws IOException {
+    try (ImageInputStream input = ImageIO.createImageInputStream(source.toFile())) {
+      ImageReader reader = readerFor(input, fileName);
+      try {
+        reader.setInput(input, false, true);
+        return isTiff(reader) ? reader.getNumImages(true) : 1;
+      } finally {
+        reader.dispose();
+      }
+    }
+  }
+
+  /**
+   * Prepares one frame of the spilled upload with a reader of its own, so that the frames of a multi-page TIFF are
+   * decoded concurrently and each of them is handed on as soon as it is ready.
+   */
+  private PreparedImage prepareFrame(Path source, String fileName, int frame, boolean single) throws IOException {
+    try (ImageInputStream input = ImageIO.createImageInputStream(source.toFile())) {
+      ImageReader reader = readerFor(input, fileName);
+      try {
+        reader.setInput(input, false, options.getTargetResolution() <= 0);
+        byte[] content = single ? Files.readAllBytes(source) : null;
+        return recompressor.apply(reader, frame, describe(reader, frame, fileName, content), !single);
+      } finally {
+        reader.dispose();
+      }
+    }
+  }
+
+  /**
+   * Describes a frame from its header, with the page size following the options.
+   */
+  private PreparedImage describe(ImageReader reader, int frame, String fileName, byte[] content) throws IOException {
+    int widthPx = reader.getWidth(frame);
+    int heightPx = reader.getHeight(frame);
+    double pointsPerPixel = options.getTargetResolution() > 0 ? POINTS_PER_INCH / resolutionOf(reader, frame) : 1;
+    return new PreparedImage(fileName, content, widthPx, heightPx, widthPx * pointsPerPixel,
+        heightPx * pointsPerPixel);
+  }
+
+  private static boolean isTiff(ImageReader reader) throws IOException {
+    String formatName = reader.getFormatName();
+    return TIFF_FORMAT.equalsIgnoreCase(formatName) || TIFF_FORMAT_LONG.equalsIgnoreCase(formatName);
+  }
+
+  /**
+   * The resolution stored in the image metadata in DPI, 72 if there is none.
+   */
+  private static double resolutionOf(ImageReader reader, int frame) throws IOException {
+    IIOMetadata metadata = reader.getImageMetadata(frame);
+    if (metadata == null || !metadata.isStandardMetadataFormatSupported()) {
+      return POINTS_PER_INCH;
+    }
+    Node root = metadata.getAsTree(STANDARD_METADATA_FORMAT);
+    for (Node dimension = root.getFirstChild(); dimension != null; dimension = dimension.getNextSibling()) {
+      for (Node child = dimension.getFirstChild(); child != null; child = child.getNextSibling()) {
+        if (HORIZONTAL_PIXEL_SIZE.equals(child.getNodeName()) && child instanceof Element element) {
+          double millimetersPerPixel = NumberUtils.toDouble(element.getAttribute("value"));
+          return millimetersPerPixel > 0 ? MILLIMETERS_PER_INCH / millimetersPerPixel : POINTS_PER_INCH;
+        }
+      }
+    }
+    return POINTS_PER_INCH;
+  }
+
+  private static ImageReader readerFor(ImageInputStream input, String fileName) {
+    Iterator<ImageReader> readers = input != null ? ImageIO.getImageReaders(input) : null;
+    if (readers == null || !readers.hasNext()) {
+      throw new AxonivyPdfException("The file " + fileName + " is not a supported image");
+    }
+    return readers.next();
+  }
+
+  private static <T> T await(Future<T> future) throws IOException {
+    try {
+      return future.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new AxonivyPdfException("Image preparation was interrupted");
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof IOException ioException) {
+        throw ioException;
+      }
+      if (cause instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      }
+      throw new AxonivyPdfException(cause.getMessage());
+    }
+  }
+
+  private static void awaitTermination(ExecutorService executor) {
+    try {
+      executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
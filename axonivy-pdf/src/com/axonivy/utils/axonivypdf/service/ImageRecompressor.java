@@ -0,0 +1,187 @@
+package com.axonivy.utils.axonivypdf.service;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.color.ColorSpace;
+import java.awt.image.BufferedImage;
+import java.awt.image.ColorModel;
+import java.awt.image.IndexColorModel;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import javax.imageio.IIOException;
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageTypeSpecifier;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+
+import com.axonivy.utils.axonivypdf.dto.ImageOptions;
+import com.axonivy.utils.axonivypdf.enums.ImageColorMode;
+import com.axonivy.utils.axonivypdf.service.ImageIngestor.PreparedImage;
+
+/**
+ * Downscales, converts and re-encodes images before they are embedded, following the {@link ImageOptions}.
+ * <p>
+ * An image is only decoded if it has to change: it exceeds the maximum pixel dimension, the maximum pixel count or the
+ * target resolution, its colors are reduced, a JPEG quality is requested or it is a frame of a multi-page file. The
+ * source is decoded in horizontal strips of at most {@value #STRIP_PIXELS} source pixels, subsampled by the integer
+ * part of the reduction, and every strip is scaled into the target with bilinear interpolation. A very large image
+ * therefore never needs more memory than one strip and the downscaled result. The page size of an image is never
+ * changed. Single images the JDK cannot decode are embedded unchanged.
+ * </p>
+ */
+class ImageRecompressor {
+  private static final String JPEG_FORMAT = "jpeg";
+  private static final String PNG_FORMAT = "png";
+  private static final float PERCENT = 100f;
+  private static final long STRIP_PIXELS = 16L * 1024 * 1024;
+
+  private final ImageOptions options;
+  private final long maxPixels;
+
+  /**
+   * @param maxPixels the maximum number of pixels of an embedded image, 0 means unlimited
+   */
+  ImageRecompressor(ImageOptions options, long maxPixels) {
+    this.options = options;
+    this.maxPixels = maxPixels;
+  }
+
+  /**
+   * Prepares one frame of the image read by the reader.
+   *
+   * @param image the frame as described by its header, with the original bytes if they may be kept
+   * @param reencode whether the frame has to be re-encoded even if the options do not ask for it
+   */
+  PreparedImage apply(ImageReader reader, int frame, PreparedImage image, boolean reencode) throws IOException {
+    double scale = scaleOf(image);
+    boolean converted = options.getColorMode() != null && options.getColorMode() != ImageColorMode.COLOR;
+    if (!reencode && scale >= 1 && !converted && options.getJpegQuality() == null) {
+      return image;
+    }
+
+    int width = Math.max(1, (int) Math.round(image.widthPx() * scale));
+    int height = Math.max(1, (int) Math.round(image.heightPx() * scale));
+    ColorModel sourceColorModel = colorModelOf(reader, frame);
+    boolean png = options.getColorMode() == ImageColorMode.BILEVEL || sourceColorModel == null
+        || sourceColorModel.hasAlpha() || sourceColorModel instanceof IndexColorModel;
+    BufferedImage target = new BufferedImage(width, height, imageTypeOf(sourceColorModel, png));
+    try {
+      drawScaled(reader, frame, image, target, Math.max(1, (int) Math.floor(1 / scale)), png);
+    } catch (IIOException e) {
+      if (reencode) {
+        throw e;
+      }
+      return image;
+    }
+
+    byte[] content = png ? encodePng(target) : encodeJpeg(target, jpegQuality());
+    if (!reencode && scale >= 1 && !converted && content.length >= image.content().length) {
+      return image;
+    }
+    return new PreparedImage(image.fileName(), content, width, height, image.pageWidth(), image.pageHeight());
+  }
+
+  /**
+   * The factor to scale the pixel size by so the image fits the maximum dimension, the maximum pixel count and the
+   * target resolution.
+   */
+  private double scaleOf(PreparedImage image) {
+    double scale = 1;
+    if (options.getMaxPixelDimension() > 0) {
+      scale = Math.min(scale,
+          (double) options.getMaxPixelDimension() / Math.max(image.widthPx(), image.heightPx()));
+    }
+    if (maxPixels > 0) {
+      scale = Math.min(scale, Math.sqrt((double) maxPixels / ((long) image.widthPx() * image.heightPx())));
+    }
+    if (options.getTargetResolution() > 0) {
+      scale = Math.min(scale, options.getTargetResolution() / image.resolution());
+    }
+    return scale;
+  }
+
+  /**
+   * Decodes the frame strip by strip and draws every strip scaled into its rows of the target.
+   */
+  private static void drawScaled(ImageReader reader, int frame, PreparedImage image, BufferedImage target,
+      int subsampling, boolean png) throws IOException {
+    int width = target.getWidth();
+    int height = target.getHeight();
+    int stripRows = (int) Math.max(subsampling,
+        Math.min(image.heightPx(), STRIP_PIXELS / image.widthPx()) / subsampling * subsampling);
+    Graphics2D graphics = target.createGraphics();
+    try {
+      graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+      if (!png) {
+        graphics.setColor(Color.WHITE);
+        graphics.fillRect(0, 0, width, height);
+      }
+      ImageReadParam param = reader.getDefaultReadParam();
+      for (int y = 0; y < image.heightPx(); y += stripRows) {
+        int rows = Math.min(stripRows, image.heightPx() - y);
+        param.setSourceRegion(new Rectangle(0, y, image.widthPx(), rows));
+        param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+        BufferedImage strip = reader.read(frame, param);
+        int top = (int) Math.round((double) y * height / image.heightPx());
+        int bottom = (int) Math.round((double) (y + rows) * height / image.heightPx());
+        graphics.drawImage(strip, 0, top, width, Math.max(1, bottom - top), null);
+        strip.flush();
+      }
+    } finally {
+      graphics.dispose();
+    }
+  }
+
+  private static ColorModel colorModelOf(ImageReader reader, int frame) throws IOException {
+    ImageTypeSpecifier type = reader.getRawImageType(frame);
+    return type != null ? type.getColorModel() : null;
+  }
+
+  /**
+   * Bilevel and gray sources stay bilevel respectively gray unless the options reduce the colors further.
+   */
+  private int imageTypeOf(ColorModel sourceColorModel, boolean png) {
+    ImageColorMode colorMode = options.getColorMode();
+    if (colorMode == ImageColorMode.BILEVEL || sourceColorModel != null && sourceColorModel.getPixelSize() == 1) {
+      return BufferedImage.TYPE_BYTE_BINARY;
+    }
+    if (colorMode == ImageColorMode.GRAYSCALE || sourceColorModel != null
+        && sourceColorModel.getColorSpace().getType() == ColorSpace.TYPE_GRAY && !sourceColorModel.hasAlpha()) {
+      return BufferedImage.TYPE_BYTE_GRAY;
+    }
+    return png ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+  }
+
+  private float jpegQuality() {
+    int quality = options.getJpegQuality() != null ? options.getJpegQuality() : ImageOptions.DEFAULT_JPEG_QUALITY;
+    return Math.max(1, Math.min(100, quality)) / PERCENT;
+  }
+
+  private static byte[] encodePng(BufferedImage image) throws IOException {
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    ImageIO.write(image, PNG_FORMAT, output);
+    return output.toByteArray();
+  }
+
+  private static byte[] encodeJpeg(BufferedImage image, float quality) throws IOException {
+    ImageWriter writer = ImageIO.getImageWritersByFormatName(JPEG_FORMAT).next();
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    try (ImageOutputStream stream = ImageIO.createImageOutputStream(output)) {
+      writer.setOutput(stream);
+      ImageWriteParam param = writer.getDefaultWriteParam();
+      param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+      param.setCompressionQuality(quality);
+      writer.write(null, new IIOImage(image, null, null), param);
+    } finally {
+      writer.dispose();
+    }
+    return output.toByteArray();
+  }
+}
@@ -0,0 +1,162 @@
+package com.axonivy.utils.axonivypdf.service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.aspose.pdf.Document;
+import com.aspose.pdf.ExplicitDestination;
+import com.aspose.pdf.GoToAction;
+import com.aspose.pdf.IAppointment;
+import com.aspose.pdf.OutlineCollection;
+import com.aspose.pdf.OutlineItemCollection;
+import com.axonivy.utils.axonivypdf.dto.MergeFailure;
+import com.axonivy.utils.axonivypdf.dto.MergeOptions;
+import com.axonivy.utils.axonivypdf.dto.MergeResult;
+import com.axonivy.utils.axonivypdf.enums.FileExtension;
+import com.axonivy.utils.axonivypdf.exception.AxonivyPdfException;
+import com.axonivy.utils.axonivypdf.jfr.PdfParseEvent;
+
+/**
+ * Appends PDF inputs one by one into a file-backed result.
+ * <p>
+ * Only one input is parsed at a time. After every packet of inputs the result is saved to its file, the first time in
+ * full and then as incremental update, and reopened from there. A document opened from a file loads its objects
+ * lazily, so the pages of earlier packets stay on disk and memory is bounded by the packet size instead of the number
+ * of inputs. Top-level bookmarks and their children are carried over with their targets moved to the merged pages.
+ * Inputs that cannot be read are reported with their position and name.
+ * </p>
+ */
+class IncrementalMerger {
+  private static final String COMPACTED_FILE_PREFIX = "axonivy_pdf_merge";
+
+  private final MergeOptions options;
+
+  IncrementalMerger(MergeOptions options) {
+    this.options = options;
+  }
+
+  /**
+   * Merges the inputs, in order, into the target file. Nothing is written if no input could be merged.
+   *
+   * @return the result, without content
+   * @throws AxonivyPdfException at the first unreadable input unless failed inputs are skipped
+   */
+  MergeResult merge(List<MergeInput> inputs, Path target) throws IOException {
+    int packetSize = Math.max(1, options.getPacketSize());
+    List<MergeFailure> failures = new ArrayList<>();
+    int mergedFileCount = 0;
+    int pendingCount = 0;
+    int pageCount;
+    boolean written = false;
+    Path compacted = null;
+    Document merged = new Document();
+
+    try {
+      for (int index = 0; index < inputs.size(); index++) {
+        MergeInput input = inputs.get(index);
+        try {
+          append(merged, input);
+        } catch (IOException | RuntimeException e) {
+          MergeFailure failure = new MergeFailure(input.index(), input.fileName(), e.getMessage());
+          if (!options.isSkipFailedInputs()) {
+            throw new AxonivyPdfException("Could not merge " + failure);
+          }
+          failures.add(failure);
+          continue;
+        }
+        mergedFileCount++;
+        if (++pendingCount >= packetSize && index < inputs.size() - 1) {
+          merged = writeAndReopen(merged, target, written);
+          written = true;
+          pendingCount = 0;
+        }
+      }
+      if (mergedFileCount == 0) {
+        return new MergeResult(null, 0, 0, failures);
+      }
+
+      pageCount = merged.getPages().size();
+      if (options.isDeduplicateResources()) {
+        merged.optimizeResources(PageSplitter.pruneUnusedResources());
+      }
+      if (!written) {
+        merged.save(target.toString());
+      } else if (!options.isDeduplicateResources()) {
+        merged.save();
+      } else {
+        compacted = Files.createTempFile(COMPACTED_FILE_PREFIX, FileExtension.PDF.getExtension());
+        merged.save(compacted.toString());
+      }
+    } finally {
+      merged.close();
+    }
+
+    if (compacted != null) {
+      Files.move(compacted, target, StandardCopyOption.REPLACE_EXISTING);
+    }
+    return new MergeResult(null, mergedFileCount, pageCount, failures);
+  }
+
+  private void append(Document merged, MergeInput input) throws IOException {
+    PdfParseEvent event = new PdfParseEvent();
+    event.begin();
+    try (Document source = input.open()) {
+      if (event.shouldCommit()) {
+        event.setFileName(input.fileName());
+        event.setBytes(input.size());
+        event.commit();
+      }
+      int pageOffset = merged.getPages().size();
+      merged.getPages().add(source.getPages());
+      copyBookmarks(source.getOutlines(), merged.getOutlines(), merged, pageOffset);
+    }
+  }
+
+  /**
+   * Copies the bookmarks below {@code sourceItems} to {@code targetItems}, pointing them at the same page in the merged
+   * document. Bookmarks without an explicit page, e.g. links or named destinations, keep their title and children
+   * only.
+   */
+  private static void copyBookmarks(Iterable<OutlineItemCollection> sourceItems, Object targetItems, Document merged,
+      int pageOffset) {
+    for (OutlineItemCollection item : sourceItems) {
+      OutlineItemCollection copy = new OutlineItemCollection(merged.getOutlines());
+      copy.setTitle(item.getTitle());
+      int pageNumber = pageNumberOf(item);
+      if (pageNumber > 0) {
+        copy.setAction(new GoToAction(merged.getPages().get_Item(pageOffset + pageNumber)));
+      }
+      if (targetItems instanceof OutlineCollection outlines) {
+        outlines.add(copy);
+      } else {
+        ((OutlineItemCollection) targetItems).add(copy);
+      }
+      copyBookmarks(item, copy, merged, pageOffset);
+    }
+  }
+
+  private static int pageNumberOf(OutlineItemCollection item) {
+    IAppointment destination = item.getDestination();
+    if (destination == null && item.getAction() instanceof GoToAction goTo) {
+      destination = goTo.getDestination();
+    }
+    return destination instanceof ExplicitDestination explicit ? explicit.getPageNumber() : 0;
+  }
+
+  /**
+   * Writes the pages appended so far to the target file and continues on a document lazily reading from it.
+   */
+  private static Document writeAndReopen(Document merged, Path target, boolean written) {
+    if (written) {
+      merged.save();
+    } else {
+      merged.save(target.toString());
+    }
+    merged.close();
+    return new Document(target.toString());
+  }
+}
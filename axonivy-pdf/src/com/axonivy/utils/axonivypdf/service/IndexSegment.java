@@ -0,0 +1,266 @@
+package com.axonivy.utils.axonivypdf.service;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+import com.axonivy.utils.axonivypdf.exception.AxonivyPdfException;
+import com.axonivy.utils.axonivypdf.service.PostingCodec.Posting;
+
+/**
+ * An immutable file of the {@link TextIndex} holding the postings of a set of documents.
+ * <p>
+ * The file starts with the postings of every term in term order, followed by the term dictionary, the ids of the
+ * documents in the segment and a footer of fixed size:
+ * </p>
+ *
+ * <pre>
+ * magic, version
+ * postings of every term, see PostingCodec
+ * term count, per term: shared prefix length, suffix length, UTF-8 suffix, postings length
+ * document count, delta coded document ids
+ * dictionary offset, document ids offset, magic
+ * </pre>
+ * <p>
+ * Terms are front coded against the previous term. The dictionary is loaded when the segment is opened, so a term
+ * lookup is a binary search followed by a single positional read of its postings, which concurrent readers may do at
+ * the same time.
+ * </p>
+ */
+class IndexSegment implements Closeable {
+  static final String FILE_EXTENSION = ".seg";
+  static final Comparator<Posting> POSTING_ORDER =
+      Comparator.comparingInt(Posting::docId).thenComparingInt(Posting::pageNumber);
+  private static final int MAGIC = 0x50445849;
+  private static final int VERSION = 1;
+  private static final int HEADER_BYTES = 2 * Integer.BYTES;
+  private static final int FOOTER_BYTES = 2 * Long.BYTES + Integer.BYTES;
+
+  private final Path file;
+  private final FileChannel channel;
+  private final long size;
+  private final String[] terms;
+  /** Start of the postings of every term, followed by the end of the postings of the last term. */
+  private final long[] offsets;
+  private final int[] docIds;
+
+  private IndexSegment(Path file, FileChannel channel, long size, String[] terms, long[] offsets, int[] docIds) {
+    this.file = file;
+    this.channel = channel;
+    this.size = size;
+    this.terms = terms;
+    this.offsets = offsets;
+    this.docIds = docIds;
+  }
+
+  static IndexSegment open(Path file) throws IOException {
+    FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+    try {
+      long size = channel.size();
+      ByteBuffer header = read(channel, 0, HEADER_BYTES);
+      if (size < HEADER_BYTES + FOOTER_BYTES || header.getInt() != MAGIC || header.getInt() != VERSION) {
+        throw new AxonivyPdfException("The text index segment " + file + " is damaged");
+      }
+      ByteBuffer footer = read(channel, size - FOOTER_BYTES, FOOTER_BYTES);
+      long dictionaryOffset = footer.getLong();
+      long docIdsOffset = footer.getLong();
+      if (footer.getInt() != MAGIC) {
+        throw new AxonivyPdfException("The text index segment " + file + " is damaged");
+      }
+
+      ByteBuffer dictionary = read(channel, dictionaryOffset, Math.toIntExact(docIdsOffset - dictionaryOffset));
+      int termCount = PostingCodec.readVarInt(dictionary);
+      String[] terms = new String[termCount];
+      long[] offsets = new long[termCount + 1];
+      byte[] previousTerm = new byte[0];
+      long offset = HEADER_BYTES;
+      for (int i = 0; i < termCount; i++) {
+        int sharedLength = PostingCodec.readVarInt(dictionary);
+        int suffixLength = PostingCodec.readVarInt(dictionary);
+        byte[] term = Arrays.copyOf(previousTerm, sharedLength + suffixLength);
+        dictionary.get(term, sharedLength, suffixLength);
+        terms[i] = new String(term, StandardCharsets.UTF_8);
+        offsets[i] = offset;
+        offset += PostingCodec.readVarLong(dictionary);
+        previousTerm = term;
+      }
+      offsets[termCount] = offset;
+
+      ByteBuffer docIdBuffer = read(channel, docIdsOffset, Math.toIntExact(size - FOOTER_BYTES - docIdsOffset));
+      int[] docIds = new int[PostingCodec.readVarInt(docIdBuffer)];
+      int docId = 0;
+      for (int i = 0; i < docIds.length; i++) {
+        docId += PostingCodec.readVarInt(docIdBuffer);
+        docIds[i] = docId;
+      }
+      return new IndexSegment(file, channel, size, terms, offsets, docIds);
+    } catch (IOException | RuntimeException e) {
+      channel.close();
+      throw e;
+    }
+  }
+
+  Path getFile() {
+    return file;
+  }
+
+  long getSize() {
+    return size;
+  }
+
+  /**
+   * The ids of the documents in this segment in ascending order, including documents removed since it was written.
+   */
+  int[] getDocIds() {
+    return docIds;
+  }
+
+  /**
+   * The postings of the term, sorted by document id and page number, empty if the term does not occur.
+   */
+  List<Posting> postings(String term) throws IOException {
+    int index = Arrays.binarySearch(terms, term);
+    return index >= 0 ? postings(index) : List.of();
+  }
+
+  private List<Posting> postings(int termIndex) throws IOException {
+    return PostingCodec.decode(
+        read(channel, offsets[termIndex], Math.toIntExact(offsets[termIndex + 1] - offsets[termIndex])));
+  }
+
+  @Override
+  public void close() throws IOException {
+    channel.close();
+  }
+
+  /**
+   * Merges the segments into a new segment, leaving out the given documents.
+   */
+  static void merge(List<IndexSegment> segments, Set<Integer> removedDocIds, Path target) throws IOException {
+    record Cursor(IndexSegment segment, int termIndex) {
+      String term() {
+        return segment.terms[termIndex];
+      }
+    }
+
+    PriorityQueue<Cursor> cursors = new PriorityQueue<>(Comparator.comparing(Cursor::term));
+    for (IndexSegment segment : segments) {
+      if (segment.terms.length > 0) {
+        cursors.add(new Cursor(segment, 0));
+      }
+    }
+    try (Writer writer = new Writer(target)) {
+      while (!cursors.isEmpty()) {
+        String term = cursors.peek().term();
+        List<Posting> postings = new ArrayList<>();
+        while (!cursors.isEmpty() && cursors.peek().term().equals(term)) {
+          Cursor cursor = cursors.poll();
+          for (Posting posting : cursor.segment().postings(cursor.termIndex())) {
+            if (!removedDocIds.contains(posting.docId())) {
+              postings.add(posting);
+            }
+          }
+          if (cursor.termIndex() + 1 < cursor.segment().terms.length) {
+            cursors.add(new Cursor(cursor.segment(), cursor.termIndex() + 1));
+          }
+        }
+        postings.sort(POSTING_ORDER);
+        writer.add(term, postings);
+      }
+      writer.finish(segments.stream().flatMapToInt(segment -> Arrays.stream(segment.docIds))
+          .filter(docId -> !removedDocIds.contains(docId)).sorted().toArray());
+    }
+  }
+
+  private static ByteBuffer read(FileChannel channel, long position, int length) throws IOException {
+    ByteBuffer buffer = ByteBuffer.allocate(length);
+    while (buffer.hasRemaining()) {
+      if (channel.read(buffer, position + buffer.position()) < 0) {
+        throw new AxonivyPdfException("Unexpected end of the text index segment");
+      }
+    }
+    return buffer.flip();
+  }
+
+  /**
+   * Writes a new segment. Terms must be added in ascending order, the file is complete and synced to disk once
+   * {@link #finish(int[])} returned.
+   */
+  static final class Writer implements Closeable {
+    private final FileChannel channel;
+    private final CountingOutputStream out;
+    private final ByteArrayOutputStream dictionary = new ByteArrayOutputStream();
+    private byte[] previousTerm = new byte[0];
+    private int termCount;
+
+    Writer(Path file) throws IOException {
+      channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+      out = new CountingOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel)));
+      DataOutputStream header = new DataOutputStream(out);
+      header.writeInt(MAGIC);
+      header.writeInt(VERSION);
+    }
+
+    void add(String term, List<Posting> postings) throws IOException {
+      if (postings.isEmpty()) {
+        return;
+      }
+      long start = out.getCount();
+      PostingCodec.encode(postings, out);
+      byte[] termBytes = term.getBytes(StandardCharsets.UTF_8);
+      int sharedLength = Arrays.mismatch(previousTerm, termBytes);
+      if (sharedLength < 0) {
+        sharedLength = termBytes.length;
+      }
+      PostingCodec.writeVarLong(dictionary, sharedLength);
+      PostingCodec.writeVarLong(dictionary, termBytes.length - sharedLength);
+      dictionary.write(termBytes, sharedLength, termBytes.length - sharedLength);
+      PostingCodec.writeVarLong(dictionary, out.getCount() - start);
+      previousTerm = termBytes;
+      termCount++;
+    }
+
+    /**
+     * Writes the dictionary and the footer.
+     *
+     * @param docIds the ids of the documents in the segment in ascending order
+     */
+    void finish(int[] docIds) throws IOException {
+      long dictionaryOffset = out.getCount();
+      PostingCodec.writeVarLong(out, termCount);
+      dictionary.writeTo(out);
+      long docIdsOffset = out.getCount();
+      PostingCodec.writeVarLong(out, docIds.length);
+      int previousDocId = 0;
+      for (int docId : docIds) {
+        PostingCodec.writeVarLong(out, docId - previousDocId);
+        previousDocId = docId;
+      }
+      DataOutputStream footer = new DataOutputStream(out);
+      footer.writeLong(dictionaryOffset);
+      footer.writeLong(docIdsOffset);
+      footer.writeInt(MAGIC);
+      footer.flush();
+      channel.force(true);
+    }
+
+    @Override
+    public void close() throws IOException {
+      out.close();
+    }
+  }
+}
@@ -0,0 +1,64 @@
+package com.axonivy.utils.axonivypdf.service;
+
+import java.util.Map;
+import java.util.function.Supplier;
+
+import com.axonivy.utils.axonivypdf.enums.PdfVariable;
+
+/**
+ * The Ivy values read by PDF operations, captured on a thread with Ivy context and installed on a worker thread of the
+ * {@link PdfJobExecutor}, where {@code Ivy.var()} and {@code Ivy.cms()} are not available.
+ * <p>
+ * It holds the {@link PdfVariable} values and the page number format of the CMS, so that jobs calling the
+ * {@link PdfService} behave exactly as if they ran on the submitting thread.
+ * </p>
+ */
+final class IvyContextSnapshot {
+  private static final ThreadLocal<IvyContextSnapshot> CURRENT = new ThreadLocal<>();
+
+  private final Map<PdfVariable, String> variables;
+  private final String pageNumberFormat;
+
+  private IvyContextSnapshot(Map<PdfVariable, String> variables, String pageNumberFormat) {
+    this.variables = variables;
+    this.pageNumberFormat = pageNumberFormat;
+  }
+
+  /**
+   * Reads the values on the calling thread. Values that cannot be read, e.g. without Ivy context, are left out and
+   * resolved on the worker thread as before.
+   */
+  static IvyContextSnapshot capture() {
+    return new IvyContextSnapshot(PdfVariable.capture(), PdfPipeline.readPageNumberFormat());
+  }
+
+  /**
+   * The snapshot installed on the current thread, {@code null} outside of a job.
+   */
+  static IvyContextSnapshot current() {
+    return CURRENT.get();
+  }
+
+  String getPageNumberFormat() {
+    return pageNumberFormat;
+  }
+
+  /**
+   * Wraps the supplier so that it runs with this snapshot installed on whatever thread executes it.
+   */
+  <T> Supplier<T> bind(Supplier<T> supplier) {
+    return () -> {
+      IvyContextSnapshot previous = CURRENT.get();
+      CURRENT.set(this);
+      try {
+        return PdfVariable.withValues(variables, supplier);
+      } finally {
+        if (previous == null) {
+          CURRENT.remove();
+        } else {
+          CURRENT.set(previous);
+        }
+      }
+    };
+  }
+}
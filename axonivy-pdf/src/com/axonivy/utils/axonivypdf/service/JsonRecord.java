@@ -0,0 +1,79 @@
+package com.axonivy.utils.axonivypdf.service;
+
+import java.math.BigDecimal;
+
+/**
+ * Builds one flat or nested JSON object on a single line, e.g. as record of an NDJSON stream.
+ * <p>
+ * Only strings, numbers and nested records are supported, which is all the structured extraction outputs need, so no
+ * JSON library has to be bundled. {@code null} values are written as JSON {@code null}, non-finite numbers as well.
+ * </p>
+ */
+final class JsonRecord {
+  private final StringBuilder json = new StringBuilder("{");
+
+  JsonRecord add(String name, String value) {
+    appendName(name);
+    if (value == null) {
+      json.append("null");
+    } else {
+      appendString(value);
+    }
+    return this;
+  }
+
+  JsonRecord add(String name, long value) {
+    appendName(name);
+    json.append(value);
+    return this;
+  }
+
+  JsonRecord add(String name, double value) {
+    appendName(name);
+    json.append(Double.isFinite(value) ? BigDecimal.valueOf(value).stripTrailingZeros().toPlainString() : "null");
+    return this;
+  }
+
+  JsonRecord add(String name, JsonRecord value) {
+    appendName(name);
+    json.append(value == null ? "null" : value.toString());
+    return this;
+  }
+
+  @Override
+  public String toString() {
+    return json + "}";
+  }
+
+  private void appendName(String name) {
+    if (json.length() > 1) {
+      json.append(',');
+    }
+    appendString(name);
+    json.append(':');
+  }
+
+  private void appendString(String value) {
+    json.append('"');
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      switch (c) {
+        case '"' -> json.append("\\\"");
+        case '\\' -> json.append("\\\\");
+        case '\n' -> json.append("\\n");
+        case '\r' -> json.append("\\r");
+        case '\t' -> json.append("\\t");
+        case '\b' -> json.append("\\b");
+        case '\f' -> json.append("\\f");
+        default -> {
+          if (c < 0x20) {
+            json.append(String.format("\\u%04x", (int) c));
+          } else {
+            json.append(c);
+          }
+        }
+      }
+    }
+    json.append('"');
+  }
+}
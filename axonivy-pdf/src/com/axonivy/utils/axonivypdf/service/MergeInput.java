@@ -0,0 +1,44 @@
+package com.axonivy.utils.axonivypdf.service;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.primefaces.model.file.UploadedFile;
+
+import com.aspose.pdf.Document;
+
+/**
+ * A document to merge together with its position in the list of all inputs of the merge.
+ */
+record MergeInput(int index, String fileName, long size, MergeInput.DocumentOpener opener) {
+
+  @FunctionalInterface
+  interface DocumentOpener {
+    Document open() throws IOException;
+  }
+
+  /**
+   * An uploaded file, read into memory only while it is merged.
+   */
+  static MergeInput of(int index, UploadedFile file) {
+    return new MergeInput(index, file.getFileName(), file.getSize(), () -> {
+      try (InputStream stream = file.getInputStream()) {
+        return new Document(new ByteArrayInputStream(stream.readAllBytes()));
+      }
+    });
+  }
+
+  /**
+   * An intermediate result on disk, which Aspose reads lazily.
+   */
+  static MergeInput of(int index, Path file) throws IOException {
+    return new MergeInput(index, file.getFileName().toString(), Files.size(file), () -> new Document(file.toString()));
+  }
+
+  Document open() throws IOException {
+    return opener.open();
+  }
+}
@@ -0,0 +1,15 @@
+package com.axonivy.utils.axonivypdf.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Writes the result of a PDF operation directly into the given {@link OutputStream}.
+ * <p>
+ * The writer must not close the stream, ownership stays with the caller.
+ * </p>
+ */
+@FunctionalInterface
+interface OutputWriter {
+  void writeTo(OutputStream output) throws IOException;
+}
@@ -0,0 +1,102 @@
+package com.axonivy.utils.axonivypdf.service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+
+import com.aspose.pdf.Document;
+import com.aspose.pdf.Page;
+import com.aspose.pdf.Rectangle;
+import com.aspose.pdf.devices.JpegDevice;
+import com.aspose.pdf.devices.PngDevice;
+import com.aspose.pdf.devices.Resolution;
+import com.aspose.pdf.devices.TiffDevice;
+import com.axonivy.utils.axonivypdf.dto.RenderOptions;
+import com.axonivy.utils.axonivypdf.enums.FileExtension;
+import com.axonivy.utils.axonivypdf.jfr.PdfRenderEvent;
+
+/**
+ * Renders single pages with the Aspose device matching the requested {@link RenderOptions}.
+ * <p>
+ * A new device is created per page, devices are cheap and not shared between worker threads. Every page is reported
+ * as {@link PdfRenderEvent} to Java Flight Recorder.
+ * </p>
+ */
+class PageRenderer {
+  private static final double POINTS_PER_INCH = 72;
+
+  private final RenderOptions options;
+  private final FileExtension format;
+  private final String fileName;
+
+  /**
+   * @param options how to render
+   * @param fileName the name of the source file, for diagnostics only
+   */
+  PageRenderer(RenderOptions options, String fileName) {
+    this.options = options;
+    this.fileName = fileName;
+    this.format = toImageFormat(options.getFormat());
+  }
+
+  /**
+   * Maps the requested format to a supported image format, anything unknown is rendered as JPG.
+   */
+  static FileExtension toImageFormat(FileExtension fileExtension) {
+    if (FileExtension.JPEG == fileExtension || FileExtension.PNG == fileExtension
+        || FileExtension.TIFF == fileExtension) {
+      return fileExtension;
+    }
+    return FileExtension.JPG;
+  }
+
+  String getExtension() {
+    return format.getExtension();
+  }
+
+  byte[] render(Document document, int pageNumber) {
+    ByteArrayOutputStream image = new ByteArrayOutputStream();
+    render(document, pageNumber, image);
+    return image.toByteArray();
+  }
+
+  void render(Document document, int pageNumber, OutputStream output) {
+    PdfRenderEvent event = new PdfRenderEvent();
+    event.begin();
+    CountingOutputStream countingOutput = event.isEnabled() ? new CountingOutputStream(output) : null;
+    renderPage(document, pageNumber, countingOutput != null ? countingOutput : output);
+    if (countingOutput != null && event.shouldCommit()) {
+      event.setFileName(fileName);
+      event.setPageIndex(pageNumber);
+      event.setBytes(countingOutput.getCount());
+      event.commit();
+    }
+  }
+
+  private void renderPage(Document document, int pageNumber, OutputStream output) {
+    Page page = document.getPages().get_Item(pageNumber);
+    Resolution resolution = new Resolution(resolveResolution(page));
+
+    if (FileExtension.PNG == format) {
+      new PngDevice(resolution).process(page, output);
+    } else if (FileExtension.TIFF == format) {
+      new TiffDevice(resolution).process(document, pageNumber, pageNumber, output);
+    } else if (options.getQuality() != null) {
+      new JpegDevice(resolution, options.getQuality()).process(page, output);
+    } else {
+      new JpegDevice(resolution).process(page, output);
+    }
+  }
+
+  /**
+   * Lowers the configured resolution so that the longest side of the page does not exceed the maximum dimension.
+   */
+  private int resolveResolution(Page page) {
+    if (options.getMaxDimension() <= 0) {
+      return options.getResolution();
+    }
+    Rectangle rect = page.getRect();
+    double longestSide = Math.max(rect.getWidth(), rect.getHeight());
+    int limitedResolution = (int) Math.floor(options.getMaxDimension() * POINTS_PER_INCH / longestSide);
+    return Math.max(1, Math.min(options.getResolution(), limitedResolution));
+  }
+}
@@ -0,0 +1,77 @@
+package com.axonivy.utils.axonivypdf.service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+
+import com.aspose.pdf.Document;
+import com.aspose.pdf.optimization.OptimizationOptions;
+import com.axonivy.utils.axonivypdf.jfr.PdfPageEvent;
+
+/**
+ * Writes page ranges of a source document as standalone PDFs.
+ * <p>
+ * Aspose can only serialize pages through a document of their own, so every part is copied into a fresh target
+ * document. The pages of one source usually share a single resource dictionary holding the fonts and images of all
+ * pages, which every copied page would drag along. Unused resources are therefore pruned and identical streams linked
+ * before saving, keeping save time and part size proportional to the part instead of the whole source. The source is
+ * only read, so several splitters may work on the same parse as long as each thread uses its own {@link Document}.
+ * </p>
+ */
+class PageSplitter {
+  private final String fileName;
+
+  /**
+   * @param fileName the name of the source file, for diagnostics only
+   */
+  PageSplitter(String fileName) {
+    this.fileName = fileName;
+  }
+
+  /**
+   * Writes the pages {@code fromPage} to {@code toPage}, both inclusive and 1-based, as one PDF into the stream.
+   */
+  void writeRange(Document source, int fromPage, int toPage, OutputStream output) {
+    Document part = new Document();
+    try {
+      for (int pageNumber = fromPage; pageNumber <= toPage; pageNumber++) {
+        PdfPageEvent event = new PdfPageEvent();
+        event.begin();
+        part.getPages().add(source.getPages().get_Item(pageNumber));
+        if (event.shouldCommit()) {
+          event.setFileName(fileName);
+          event.setPageIndex(pageNumber);
+          event.commit();
+        }
+      }
+      part.optimizeResources(pruneUnusedResources());
+      part.save(output);
+    } finally {
+      part.close();
+    }
+  }
+
+  byte[] extractRange(Document source, int fromPage, int toPage) {
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    writeRange(source, fromPage, toPage, output);
+    return output.toByteArray();
+  }
+
+  byte[] extractPage(Document source, int pageNumber) {
+    return extractRange(source, pageNumber, pageNumber);
+  }
+
+  /**
+   * Only drops what the part does not reference, images and fonts are written unchanged.
+   */
+  static OptimizationOptions pruneUnusedResources() {
+    OptimizationOptions options = new OptimizationOptions();
+    options.setRemoveUnusedObjects(true);
+    options.setRemoveUnusedStreams(true);
+    options.setLinkDuplcateStreams(true);
+    options.setAllowReusePageContent(false);
+    options.setUnembedFonts(false);
+    options.setSubsetFonts(false);
+    options.getImageCompressionOptions().setCompressImages(false);
+    return options;
+  }
+}
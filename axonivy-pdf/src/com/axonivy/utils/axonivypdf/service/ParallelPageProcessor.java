@@ -0,0 +1,257 @@
+package com.axonivy.utils.axonivypdf.service;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import com.aspose.pdf.Document;
+import com.axonivy.utils.axonivypdf.exception.AxonivyPdfException;
+import com.axonivy.utils.axonivypdf.metrics.PdfMetrics;
+
+/**
+ * Runs a per-page task over a page range on a bounded worker pool and hands the results back in page order.
+ * <p>
+ * Aspose {@link Document} instances are not thread safe, so every worker borrows its own instance opened from the
+ * shared, read-only source file, which Aspose reads lazily instead of holding it in heap. At most {@code parallelism}
+ * documents are opened and at most two results per worker are held in memory before they are consumed. With a
+ * parallelism of 1 everything runs on the calling thread.
+ * </p>
+ */
+class ParallelPageProcessor {
+  private static final int RESULTS_IN_FLIGHT_PER_WORKER = 2;
+
+  private final Path source;
+  private final int parallelism;
+
+  /**
+   * @param source the source file, see {@link SourceFile}
+   * @param parallelism the number of pages processed concurrently, values below 1 mean one per available processor
+   */
+  ParallelPageProcessor(Path source, int parallelism) {
+    this.source = source;
+    this.parallelism = resolveParallelism(parallelism);
+  }
+
+  @FunctionalInterface
+  interface PageTask<R> {
+    R apply(Document document, int pageNumber) throws Exception;
+  }
+
+  @FunctionalInterface
+  interface PageConsumer<R> {
+    void accept(int pageNumber, R result) throws IOException;
+  }
+
+  /**
+   * Consumes the results like a {@link PageConsumer} but may end the processing early.
+   */
+  @FunctionalInterface
+  interface PageVisitor<R> {
+    /**
+     * @return whether the following pages are still needed
+     */
+    boolean visit(int pageNumber, R result) throws IOException;
+  }
+
+  /**
+   * Resolves the configured parallelism, values below 1 mean one worker per available processor.
+   */
+  static int resolveParallelism(int parallelism) {
+    return parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+  }
+
+  int getParallelism() {
+    return parallelism;
+  }
+
+  /**
+   * Processes every page of the source.
+   *
+   * @return the number of pages of the source
+   */
+  <R> int processAll(PageTask<R> task, PageConsumer<R> consumer) throws IOException {
+    Document document = openSource();
+    int pageCount = document.getPages().size();
+    process(document, 1, pageCount, task, consumer);
+    return pageCount;
+  }
+
+  /**
+   * Processes the pages between the given bounds, a {@code null} bound means the first respectively the last page.
+   *
+   * @throws AxonivyPdfException if the bounds are outside of the document
+   */
+  <R> void processRange(Integer startPage, Integer endPage, PageTask<R> task, PageConsumer<R> consumer)
+      throws IOException {
+    if (startPage == null && endPage == null) {
+      processAll(task, consumer);
+      return;
+    }
+    processRange(openSource(), startPage, endPage, task, consumer);
+  }
+
+  /**
+   * Processes the pages between the given bounds starting with an already opened source document, see
+   * {@link #processRange(Integer, Integer, PageTask, PageConsumer)}. The document is closed afterwards.
+   *
+   * @return the number of processed pages
+   * @throws AxonivyPdfException if the bounds are outside of the document
+   */
+  <R> int processRange(Document firstDocument, Integer startPage, Integer endPage, PageTask<R> task,
+      PageConsumer<R> consumer) throws IOException {
+    return visitRange(firstDocument, startPage, endPage, task, consumingAll(consumer));
+  }
+
+  /**
+   * Processes the pages between the given bounds in page order until the visitor does not need more pages, see
+   * {@link #processRange(Document, Integer, Integer, PageTask, PageConsumer)}. Pages already running when the visitor
+   * stops are cancelled, at most two pages per worker are processed in vain.
+   *
+   * @return the number of visited pages
+   * @throws AxonivyPdfException if the bounds are outside of the document
+   */
+  <R> int visitRange(Document firstDocument, Integer startPage, Integer endPage, PageTask<R> task,
+      PageVisitor<R> visitor) throws IOException {
+    int pageCount = firstDocument.getPages().size();
+    int fromPage = startPage != null ? startPage : 1;
+    int toPage = endPage != null ? endPage : pageCount;
+    if (fromPage <= 0 || toPage > pageCount || fromPage > toPage) {
+      firstDocument.close();
+      throw new AxonivyPdfException("Please enter a valid start page and end page");
+    }
+    return visit(firstDocument, fromPage, toPage, task, visitor);
+  }
+
+  <R> void process(int fromPage, int toPage, PageTask<R> task, PageConsumer<R> consumer) throws IOException {
+    process(openSource(), fromPage, toPage, task, consumer);
+  }
+
+  /**
+   * Processes the given indices starting with an already opened source document, e.g. one used to plan the work. The
+   * document is closed afterwards.
+   */
+  <R> void process(Document firstDocument, int fromPage, int toPage, PageTask<R> task,
+      PageConsumer<R> consumer) throws IOException {
+    visit(firstDocument, fromPage, toPage, task, consumingAll(consumer));
+  }
+
+  private static <R> PageVisitor<R> consumingAll(PageConsumer<R> consumer) {
+    return (pageNumber, result) -> {
+      consumer.accept(pageNumber, result);
+      return true;
+    };
+  }
+
+  private <R> int visit(Document firstDocument, int fromPage, int toPage, PageTask<R> task, PageVisitor<R> visitor)
+      throws IOException {
+    if (toPage < fromPage) {
+      firstDocument.close();
+      return 0;
+    }
+    if (parallelism == 1 || fromPage == toPage) {
+      return visitSequentially(firstDocument, fromPage, toPage, task, visitor);
+    }
+
+    Queue<Document> documents = new ConcurrentLinkedQueue<>();
+    documents.add(firstDocument);
+    ExecutorService executor = Executors.newFixedThreadPool(Math.min(parallelism, toPage - fromPage + 1));
+    Deque<Future<R>> inFlight = new ArrayDeque<>();
+    int maxInFlight = parallelism * RESULTS_IN_FLIGHT_PER_WORKER;
+    int nextToConsume = fromPage;
+
+    try {
+      for (int pageNumber = fromPage; pageNumber <= toPage; pageNumber++) {
+        int page = pageNumber;
+        inFlight.add(executor.submit(PdfMetrics.onWorker(() -> runOnBorrowedDocument(documents, task, page))));
+        if (inFlight.size() >= maxInFlight && !visitor.visit(nextToConsume++, await(inFlight.poll()))) {
+          return nextToConsume - fromPage;
+        }
+      }
+      while (!inFlight.isEmpty()) {
+        if (!visitor.visit(nextToConsume++, await(inFlight.poll()))) {
+          return nextToConsume - fromPage;
+        }
+      }
+      return nextToConsume - fromPage;
+    } finally {
+      inFlight.forEach(future -> future.cancel(true));
+      executor.shutdownNow();
+      awaitTermination(executor);
+      documents.forEach(Document::close);
+    }
+  }
+
+  private <R> int visitSequentially(Document document, int fromPage, int toPage, PageTask<R> task,
+      PageVisitor<R> visitor) throws IOException {
+    try {
+      for (int pageNumber = fromPage; pageNumber <= toPage; pageNumber++) {
+        if (!visitor.visit(pageNumber, apply(task, document, pageNumber))) {
+          return pageNumber - fromPage + 1;
+        }
+      }
+      return toPage - fromPage + 1;
+    } finally {
+      document.close();
+    }
+  }
+
+  private <R> R runOnBorrowedDocument(Queue<Document> documents, PageTask<R> task, int pageNumber) throws Exception {
+    Document document = documents.poll();
+    if (document == null) {
+      document = openSource();
+    }
+    try {
+      return task.apply(document, pageNumber);
+    } finally {
+      documents.add(document);
+    }
+  }
+
+  Document openSource() {
+    return new Document(source.toString());
+  }
+
+  private <R> R apply(PageTask<R> task, Document document, int pageNumber) throws IOException {
+    try {
+      return task.apply(document, pageNumber);
+    } catch (IOException | RuntimeException e) {
+      throw e;
+    } catch (Exception e) {
+      throw new AxonivyPdfException(e.getMessage());
+    }
+  }
+
+  private <R> R await(Future<R> future) throws IOException {
+    try {
+      return future.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new AxonivyPdfException("Page processing was interrupted");
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof IOException ioException) {
+        throw ioException;
+      }
+      if (cause instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      }
+      throw new AxonivyPdfException(cause.getMessage());
+    }
+  }
+
+  private void awaitTermination(ExecutorService executor) {
+    try {
+      executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -1,9 +1,12 @@
 package com.axonivy.utils.axonivypdf.service;
 
 import java.io.InputStream;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Supplier;
 
 import com.aspose.pdf.License;
+import com.axonivy.utils.axonivypdf.enums.PdfOperationType;
+import com.axonivy.utils.axonivypdf.metrics.PdfMetrics;
 
 import ch.ivyteam.ivy.ThirdPartyLicenses;
 import ch.ivyteam.ivy.environment.Ivy;
@@ -52,13 +55,16 @@ public class PdfFactory {
    * callers to transparently execute logic that depends on a valid license, without duplicating license initialization
    * checks.
    * </p>
+   * <p>
+   * The call is measured as one operation by {@link PdfMetrics}, unless it is nested in another measured call.
+   * </p>
    *
    * @param supplier the function to execute
    * @param <T> the return type of the supplier
    * @return the result produced by the supplier
    */
   public static <T> T get(Supplier<T> supplier) {
-    return supplier.get();
+    return PdfMetrics.measure(supplier);
   }
 
   /**
@@ -71,6 +77,100 @@ public class PdfFactory {
    * @param run the task to execute
    */
   public static void run(Runnable run) {
-    run.run();
+    PdfMetrics.measure(() -> {
+      run.run();
+      return null;
+    });
+  }
+
+  /**
+   * Executes a memory intensive supplier function once its estimated heap cost fits into the budget of the
+   * {@link AdmissionController}.
+   * <p>
+   * The cost is estimated from the operation type, the input size and the page count and reserved until the supplier
+   * has returned. If the budget does not become available within the configured queue timeout the call is rejected.
+   * The time spent waiting for budget is reported as queue time to {@link PdfMetrics}.
+   * </p>
+   *
+   * @param operationType the kind of operation, selects the cost model
+   * @param inputBytes the size of all inputs
+   * @param pageCount the number of pages, 0 if unknown
+   * @param supplier the function to execute
+   * @param <T> the return type of the supplier
+   * @return the result produced by the supplier
+   * @throws com.axonivy.utils.axonivypdf.exception.AxonivyPdfException if the operation was not admitted in time
+   */
+  public static <T> T get(PdfOperationType operationType, long inputBytes, int pageCount, Supplier<T> supplier) {
+    return PdfMetrics.measure(() -> {
+      long waitStart = System.nanoTime();
+      try (AdmissionController.Reservation reservation =
+          AdmissionController.getInstance().reserve(operationType, inputBytes, pageCount)) {
+        PdfMetrics.addQueueNanos(System.nanoTime() - waitStart);
+        return supplier.get();
+      }
+    });
+  }
+
+  /**
+   * Executes a memory intensive runnable task once its estimated heap cost fits into the budget of the
+   * {@link AdmissionController}, see {@link #get(PdfOperationType, long, int, Supplier)}.
+   *
+   * @param operationType the kind of operation, selects the cost model
+   * @param inputBytes the size of all inputs
+   * @param pageCount the number of pages, 0 if unknown
+   * @param run the task to execute
+   */
+  public static void run(PdfOperationType operationType, long inputBytes, int pageCount, Runnable run) {
+    get(operationType, inputBytes, pageCount, () -> {
+      run.run();
+      return null;
+    });
+  }
+
+  /**
+   * Executes a supplier function asynchronously on the bounded PDF worker pool.
+   * <p>
+   * Use it for CPU bound Aspose work such as conversions, so the calling request thread is freed, e.g.
+   * {@code PdfFactory.submit(() -> PdfService.getInstance().addPageNumbers(file))}. The supplier runs outside of the
+   * Ivy request context, the variables and CMS entries read by the {@link PdfService} are captured on the calling
+   * thread, other Ivy APIs must not be called. If the worker queue is full the returned future fails or the supplier
+   * runs on the calling thread, depending on the {@code AxonivyPdf.Executor.RejectionPolicy} variable.
+   * </p>
+   *
+   * @param supplier the function to execute
+   * @param <T> the return type of the supplier
+   * @return a future completed with the result produced by the supplier
+   */
+  public static <T> CompletableFuture<T> submit(Supplier<T> supplier) {
+    return PdfJobExecutor.getInstance().submit(supplier);
+  }
+
+  /**
+   * Executes a runnable task asynchronously on the bounded PDF worker pool, see {@link #submit(Supplier)}.
+   *
+   * @param run the task to execute
+   * @return a future completed when the task has finished
+   */
+  public static CompletableFuture<Void> submit(Runnable run) {
+    return PdfJobExecutor.getInstance().<Void>submit(() -> {
+      run.run();
+      return null;
+    });
+  }
+
+  /**
+   * Executes an I/O bound supplier function asynchronously on a virtual thread.
+   * <p>
+   * Use it for stages that mostly wait, e.g. reading uploads or writing results to a remote store. Like
+   * {@link #submit(Supplier)} the supplier sees the Ivy values read by the {@link PdfService} but must not call other
+   * Ivy APIs.
+   * </p>
+   *
+   * @param supplier the function to execute
+   * @param <T> the return type of the supplier
+   * @return a future completed with the result produced by the supplier
+   */
+  public static <T> CompletableFuture<T> submitIo(Supplier<T> supplier) {
+    return PdfJobExecutor.getInstance().submitIo(supplier);
   }
 }
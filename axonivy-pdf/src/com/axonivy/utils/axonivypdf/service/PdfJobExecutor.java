@@ -0,0 +1,154 @@
+package com.axonivy.utils.axonivypdf.service;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import com.axonivy.utils.axonivypdf.enums.PdfVariable;
+import com.axonivy.utils.axonivypdf.enums.RejectionPolicy;
+import com.axonivy.utils.axonivypdf.exception.AxonivyPdfException;
+import com.axonivy.utils.axonivypdf.metrics.PdfMetrics;
+
+import ch.ivyteam.ivy.environment.Ivy;
+
+/**
+ * Executors running PDF jobs off the calling thread.
+ * <p>
+ * CPU bound Aspose work runs on a bounded pool of platform threads with a bounded queue, so the number of concurrent
+ * conversions and waiting jobs stays predictable under load. What happens when the queue is full is decided by the
+ * {@link RejectionPolicy}. I/O bound stages such as reading uploads or writing results run on virtual threads.
+ * </p>
+ * <p>
+ * Jobs run outside of the Ivy request context. The {@link com.axonivy.utils.axonivypdf.enums.PdfVariable} values and
+ * the CMS entries read by the {@link PdfService} are captured on the submitting thread and seen by the job, so
+ * service calls behave as on the calling thread. Other Ivy APIs such as {@code Ivy.session()} must not be called,
+ * resolve such values before submitting. The shared executor publishes its pool size, active and queued jobs through
+ * JMX.
+ * </p>
+ */
+public class PdfJobExecutor implements PdfJobExecutorMBean {
+  public static final String OBJECT_NAME = "com.axonivy.utils.axonivypdf:type=PdfJobExecutor";
+  private static final String THREAD_NAME_PREFIX = "axonivy-pdf-worker-";
+  private static final long KEEP_ALIVE_SECONDS = 60;
+
+  private static PdfJobExecutor INSTANCE;
+
+  private final ThreadPoolExecutor cpuExecutor;
+  private final ExecutorService ioExecutor;
+
+  /**
+   * @param threads number of platform threads for CPU bound jobs, values below 1 mean one per available processor
+   * @param queueCapacity maximum number of jobs waiting for a free thread
+   * @param rejectionPolicy what to do with jobs submitted to a full queue
+   */
+  public PdfJobExecutor(int threads, int queueCapacity, RejectionPolicy rejectionPolicy) {
+    int poolSize = ParallelPageProcessor.resolveParallelism(threads);
+    this.cpuExecutor = new ThreadPoolExecutor(poolSize, poolSize, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+        new ArrayBlockingQueue<>(Math.max(1, queueCapacity)), new WorkerThreadFactory(),
+        rejectionPolicy == RejectionPolicy.CALLER_RUNS ? new ThreadPoolExecutor.CallerRunsPolicy()
+            : new ThreadPoolExecutor.AbortPolicy());
+    this.cpuExecutor.allowCoreThreadTimeOut(true);
+    this.ioExecutor = Executors.newVirtualThreadPerTaskExecutor();
+  }
+
+  /**
+   * The shared executor configured by the {@code AxonivyPdf.Executor} variables, which are read on first use.
+   */
+  public static synchronized PdfJobExecutor getInstance() {
+    if (INSTANCE == null) {
+      INSTANCE = new PdfJobExecutor(PdfVariable.EXECUTOR_THREADS.getIntValue(),
+          PdfVariable.EXECUTOR_QUEUE_CAPACITY.getIntValue(),
+          RejectionPolicy.fromName(PdfVariable.EXECUTOR_REJECTION_POLICY.getValue()));
+      try {
+        INSTANCE.registerMBean();
+      } catch (JMException | SecurityException e) {
+        Ivy.log().warn("Could not register the PDF executor MBean: " + e.getMessage());
+      }
+    }
+    return INSTANCE;
+  }
+
+  /**
+   * Registers this executor with the platform MBean server, replacing an earlier registration, e.g. of a redeployed
+   * version of the library.
+   */
+  public void registerMBean() throws JMException {
+    MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+    ObjectName name = new ObjectName(OBJECT_NAME);
+    if (server.isRegistered(name)) {
+      server.unregisterMBean(name);
+    }
+    server.registerMBean(this, name);
+  }
+
+  /**
+   * Runs a CPU bound job on the bounded worker pool with the Ivy values of the calling thread. The time the job waited
+   * in the queue is reported to {@link PdfMetrics} by the first operation the job measures.
+   *
+   * @return a future completed with the result, or failed with an {@link AxonivyPdfException} if the job was rejected
+   */
+  public <T> CompletableFuture<T> submit(Supplier<T> supplier) {
+    Supplier<T> job = IvyContextSnapshot.capture().bind(supplier);
+    try {
+      long submitted = System.nanoTime();
+      return CompletableFuture.supplyAsync(
+          () -> PdfMetrics.withQueueTime(System.nanoTime() - submitted, job), cpuExecutor);
+    } catch (RejectedExecutionException e) {
+      return CompletableFuture.failedFuture(new AxonivyPdfException(
+          "The PDF job queue is full, please try again later (" + cpuExecutor.getQueue().size() + " jobs waiting)"));
+    }
+  }
+
+  /**
+   * Runs an I/O bound job on its own virtual thread with the Ivy values of the calling thread.
+   */
+  public <T> CompletableFuture<T> submitIo(Supplier<T> supplier) {
+    return CompletableFuture.supplyAsync(IvyContextSnapshot.capture().bind(supplier), ioExecutor);
+  }
+
+  @Override
+  public int getPoolSize() {
+    return cpuExecutor.getMaximumPoolSize();
+  }
+
+  @Override
+  public int getActiveCount() {
+    return cpuExecutor.getActiveCount();
+  }
+
+  @Override
+  public int getQueuedCount() {
+    return cpuExecutor.getQueue().size();
+  }
+
+  /**
+   * Stops accepting jobs, already submitted jobs still complete.
+   */
+  public void shutdown() {
+    cpuExecutor.shutdown();
+    ioExecutor.shutdown();
+  }
+
+  private static class WorkerThreadFactory implements ThreadFactory {
+    private final AtomicInteger threadCount = new AtomicInteger();
+
+    @Override
+    public Thread newThread(Runnable runnable) {
+      Thread thread = new Thread(runnable, THREAD_NAME_PREFIX + threadCount.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    }
+  }
+}
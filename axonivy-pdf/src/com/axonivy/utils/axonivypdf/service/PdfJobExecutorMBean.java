@@ -0,0 +1,12 @@
+package com.axonivy.utils.axonivypdf.service;
+
+/**
+ * JMX view of the {@link PdfJobExecutor}, registered as {@value PdfJobExecutor#OBJECT_NAME}.
+ */
+public interface PdfJobExecutorMBean {
+  int getPoolSize();
+
+  int getActiveCount();
+
+  int getQueuedCount();
+}
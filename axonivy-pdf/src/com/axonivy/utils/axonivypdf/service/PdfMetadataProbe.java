@@ -0,0 +1,220 @@
+package com.axonivy.utils.axonivypdf.service;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.commons.lang3.StringUtils;
+import org.primefaces.model.file.UploadedFile;
+
+import com.aspose.pdf.Document;
+import com.aspose.pdf.Page;
+import com.aspose.pdf.Rectangle;
+import com.aspose.pdf.Rotation;
+import com.axonivy.utils.axonivypdf.dto.PageSize;
+import com.axonivy.utils.axonivypdf.dto.PdfMetadata;
+import com.axonivy.utils.axonivypdf.enums.PdfOperationType;
+import com.axonivy.utils.axonivypdf.exception.AxonivyPdfException;
+
+import ch.ivyteam.ivy.environment.Ivy;
+
+/**
+ * Reads page count, page sizes and document level flags of a PDF without parsing the whole document.
+ * <p>
+ * Only the trailer, the cross-reference data, the catalog and the page tree are read, page contents are never
+ * touched, so probing a document with thousands of pages costs a fraction of a full Aspose parse. Documents whose
+ * structure cannot be read this way, e.g. because of a damaged cross-reference table or an unsupported filter, are
+ * parsed fully with Aspose instead, which is reported by {@link PdfMetadata#isFullyParsed()}.
+ * </p>
+ */
+public class PdfMetadataProbe {
+  private static final PdfMetadataProbe INSTANCE = new PdfMetadataProbe();
+  private static final double[] DEFAULT_MEDIA_BOX = {0, 0, 612, 792};
+  private static final int MAX_PAGE_TREE_DEPTH = 64;
+
+  private PdfMetadataProbe() {}
+
+  public static PdfMetadataProbe getInstance() {
+    return INSTANCE;
+  }
+
+  /**
+   * Copies the upload to a temporary file in chunks and probes it like {@link #probe(Path)}, the upload is never read
+   * into memory as a whole.
+   */
+  public PdfMetadata probe(UploadedFile uploadedFile) throws IOException {
+    try (SourceFile source = SourceFile.of(uploadedFile)) {
+      return probe(source.getPath());
+    }
+  }
+
+  public PdfMetadata probe(byte[] content) {
+    try (PdfStructureReader reader = PdfStructureReader.open(content)) {
+      return read(reader);
+    } catch (IOException | RuntimeException e) {
+      Ivy.log().debug("Falling back to a full parse for PDF metadata: " + e.getMessage());
+      return PdfFactory.get(PdfOperationType.PAGE_OPERATION, content.length, 0,
+          () -> readFully(new ByteArrayInputStream(content)));
+    }
+  }
+
+  /**
+   * Probes a file with random access reads, only the parts of the file holding the structure are loaded.
+   */
+  public PdfMetadata probe(Path file) {
+    try (PdfStructureReader reader = PdfStructureReader.open(file)) {
+      return read(reader);
+    } catch (IOException | RuntimeException e) {
+      Ivy.log().debug("Falling back to a full parse for PDF metadata: " + e.getMessage());
+      return PdfFactory.get(PdfOperationType.PAGE_OPERATION, file.toFile().length(), 0, () -> {
+        try (InputStream input = Files.newInputStream(file)) {
+          return readFully(input);
+        } catch (IOException ioException) {
+          throw new AxonivyPdfException(ioException.getMessage());
+        }
+      });
+    }
+  }
+
+  private PdfMetadata read(PdfStructureReader reader) throws IOException {
+    Map<String, Object> trailer = reader.getTrailer();
+    PdfMetadata metadata = new PdfMetadata();
+    metadata.setEncrypted(trailer.get("Encrypt") != null);
+
+    Map<String, Object> catalog = reader.resolveDictionary(trailer.get("Root"));
+    if (catalog == null) {
+      throw new IOException("Missing document catalog");
+    }
+    metadata.setVersion(newerVersion(reader.getHeaderVersion(),
+        PdfStructureReader.nameOf(reader.resolve(catalog.get("Version")))));
+
+    if (!metadata.isEncrypted()) {
+      Map<String, Object> info = reader.resolveDictionary(trailer.get("Info"));
+      if (info != null) {
+        metadata.setProducer(PdfStructureReader.textOf(reader.resolve(info.get("Producer"))));
+      }
+    }
+
+    Map<String, Object> pages = reader.resolveDictionary(catalog.get("Pages"));
+    if (pages == null) {
+      throw new IOException("Missing page tree");
+    }
+    Set<Object> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+    readPageTree(reader, pages, new PageAttributes(DEFAULT_MEDIA_BOX, 0, null), metadata, visited, 0);
+    metadata.setPageCount(metadata.getPageSizes().size());
+    return metadata;
+  }
+
+  private void readPageTree(PdfStructureReader reader, Map<String, Object> node, PageAttributes inherited,
+      PdfMetadata metadata, Set<Object> visited, int depth) throws IOException {
+    if (depth > MAX_PAGE_TREE_DEPTH || !visited.add(node)) {
+      throw new IOException("Invalid page tree");
+    }
+    PageAttributes attributes = inherited.merge(reader, node);
+    List<Object> kids = reader.resolveArray(node.get("Kids"));
+    String type = PdfStructureReader.nameOf(node.get("Type"));
+    if (kids != null && !"Page".equals(type)) {
+      for (Object kid : kids) {
+        Map<String, Object> child = reader.resolveDictionary(kid);
+        if (child != null) {
+          readPageTree(reader, child, attributes, metadata, visited, depth + 1);
+        }
+      }
+      return;
+    }
+
+    double[] box = attributes.mediaBox();
+    metadata.getPageSizes().add(
+        new PageSize(Math.abs(box[2] - box[0]), Math.abs(box[3] - box[1]), Math.floorMod(attributes.rotation(), 360)));
+    if (!metadata.isHasAnnotations()) {
+      List<Object> annotations = reader.resolveArray(node.get("Annots"));
+      metadata.setHasAnnotations(annotations != null && !annotations.isEmpty());
+    }
+    if (!metadata.isHasImages()) {
+      metadata.setHasImages(hasImageXObject(reader, attributes.resources()));
+    }
+  }
+
+  private boolean hasImageXObject(PdfStructureReader reader, Map<String, Object> resources) throws IOException {
+    if (resources == null) {
+      return false;
+    }
+    Map<String, Object> xObjects = reader.resolveDictionary(resources.get("XObject"));
+    if (xObjects == null) {
+      return false;
+    }
+    for (Object xObject : xObjects.values()) {
+      Map<String, Object> dictionary = reader.resolveDictionary(xObject);
+      if (dictionary != null && "Image".equals(PdfStructureReader.nameOf(dictionary.get("Subtype")))) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private PdfMetadata readFully(InputStream input) {
+    try (Document pdfDocument = new Document(input)) {
+      PdfMetadata metadata = new PdfMetadata();
+      metadata.setFullyParsed(true);
+      metadata.setEncrypted(pdfDocument.isEncrypted());
+      metadata.setVersion(pdfDocument.getVersion());
+      metadata.setProducer(StringUtils.defaultIfEmpty(pdfDocument.getInfo().getProducer(), null));
+      for (Page page : pdfDocument.getPages()) {
+        Rectangle rect = page.getMediaBox();
+        metadata.getPageSizes().add(new PageSize(rect.getWidth(), rect.getHeight(), rotationOf(page)));
+        metadata.setHasAnnotations(metadata.isHasAnnotations() || page.getAnnotations().size() > 0);
+        metadata.setHasImages(metadata.isHasImages() || page.getResources().getImages().size() > 0);
+      }
+      metadata.setPageCount(metadata.getPageSizes().size());
+      return metadata;
+    }
+  }
+
+  private static int rotationOf(Page page) {
+    int rotate = page.getRotate();
+    if (rotate == Rotation.on90) {
+      return 90;
+    }
+    if (rotate == Rotation.on180) {
+      return 180;
+    }
+    return rotate == Rotation.on270 ? 270 : 0;
+  }
+
+  private static String newerVersion(String headerVersion, String catalogVersion) {
+    if (catalogVersion == null) {
+      return headerVersion;
+    }
+    if (headerVersion == null) {
+      return catalogVersion;
+    }
+    return catalogVersion.compareTo(headerVersion) > 0 ? catalogVersion : headerVersion;
+  }
+
+  /**
+   * Attributes a page inherits from its ancestors in the page tree.
+   */
+  private record PageAttributes(double[] mediaBox, int rotation, Map<String, Object> resources) {
+    PageAttributes merge(PdfStructureReader reader, Map<String, Object> node) throws IOException {
+      double[] box = mediaBox;
+      List<Object> boxValues = reader.resolveArray(node.get("MediaBox"));
+      if (boxValues != null && boxValues.size() == 4) {
+        box = new double[4];
+        for (int i = 0; i < 4; i++) {
+          box[i] = ((Number) reader.resolve(boxValues.get(i))).doubleValue();
+        }
+      }
+      Object rotate = reader.resolve(node.get("Rotate"));
+      Map<String, Object> nodeResources = reader.resolveDictionary(node.get("Resources"));
+      return new PageAttributes(box, rotate instanceof Number number ? number.intValue() : rotation,
+          nodeResources != null ? nodeResources : resources);
+    }
+  }
+}
@@ -0,0 +1,190 @@
+package com.axonivy.utils.axonivypdf.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import com.aspose.pdf.Color;
+import com.aspose.pdf.Document;
+import com.aspose.pdf.FontRepository;
+import com.aspose.pdf.FontStyles;
+import com.aspose.pdf.HorizontalAlignment;
+import com.aspose.pdf.Page;
+import com.aspose.pdf.PageNumberStamp;
+import com.aspose.pdf.TextStamp;
+import com.aspose.pdf.VerticalAlignment;
+import com.aspose.pdf.WatermarkArtifact;
+import com.aspose.pdf.facades.EncodingType;
+import com.aspose.pdf.facades.FontStyle;
+import com.aspose.pdf.facades.FormattedText;
+import com.axonivy.utils.axonivypdf.jfr.PdfPageEvent;
+
+import ch.ivyteam.ivy.environment.Ivy;
+
+/**
+ * An ordered list of page operations applied to a document in a single page iteration.
+ * <p>
+ * Chaining header, footer, watermark, page numbers and rotation through a pipeline parses the input once, visits
+ * every page once and saves once, instead of a full parse and save per operation. Run it with
+ * {@link PdfService#applyPipeline(org.primefaces.model.file.UploadedFile, PdfPipeline)}.
+ * </p>
+ *
+ * <pre>
+ * PdfPipeline pipeline = PdfPipeline.builder().header("Confidential").footer("ACME").pageNumbers().build();
+ * </pre>
+ */
+public class PdfPipeline {
+  private static final String PAGE_NUMBER_FORMAT_CMS =
+      "/Dialogs/com/axonivy/utils/axonivypdf/demo/PageOperations/PageNumberFormat";
+  private static final String PAGE_NUMBER_PLACEHOLDER = "#";
+  private static final String TOTAL_PAGES_PLACEHOLDER = "%TOTAL_PAGES%";
+  private static final String TIMES_NEW_ROMAN_FONT = "TimesRoman";
+  private static final float DEFAULT_PAGE_NUMBER_FONT_SIZE = 14.0F;
+  private static final float DEFAULT_WATERMARK_FONT_SIZE = 36.0F;
+  private static final double DEFAULT_WATERMARK_OPACITY = 0.5;
+  private static final double DEFAULT_WATERMARK_ROTATION = 45;
+  private static final int DEFAULT_MARGIN = 10;
+
+  private final List<Function<Document, Consumer<Page>>> operations;
+
+  private PdfPipeline(List<Function<Document, Consumer<Page>>> operations) {
+    this.operations = List.copyOf(operations);
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * The page number format of the CMS, {@code null} if it cannot be read on this thread.
+   */
+  static String readPageNumberFormat() {
+    try {
+      return Ivy.cms().co(PAGE_NUMBER_FORMAT_CMS, List.of(PAGE_NUMBER_PLACEHOLDER, TOTAL_PAGES_PLACEHOLDER));
+    } catch (RuntimeException e) {
+      return null;
+    }
+  }
+
+  public int size() {
+    return operations.size();
+  }
+
+  /**
+   * Prepares all operations against the document and applies them page by page, in the order they were added. Every
+   * page is reported as {@link PdfPageEvent} to Java Flight Recorder.
+   *
+   * @param pdfDocument the document to change
+   * @param fileName the name of the source file, for diagnostics only
+   */
+  void applyTo(Document pdfDocument, String fileName) {
+    List<Consumer<Page>> pageOperations = new ArrayList<>(operations.size());
+    for (Function<Document, Consumer<Page>> operation : operations) {
+      pageOperations.add(operation.apply(pdfDocument));
+    }
+
+    for (Page page : pdfDocument.getPages()) {
+      PdfPageEvent event = new PdfPageEvent();
+      event.begin();
+      for (Consumer<Page> pageOperation : pageOperations) {
+        pageOperation.accept(page);
+      }
+      if (event.shouldCommit()) {
+        event.setFileName(fileName);
+        event.setPageIndex(page.getNumber());
+        event.commit();
+      }
+    }
+  }
+
+  public static class Builder {
+    private final List<Function<Document, Consumer<Page>>> operations = new ArrayList<>();
+
+    private Builder() {}
+
+    public Builder header(String headerText) {
+      operations.add(pdfDocument -> {
+        TextStamp textStamp = new TextStamp(headerText);
+        textStamp.setTopMargin(DEFAULT_MARGIN);
+        textStamp.setHorizontalAlignment(HorizontalAlignment.Center);
+        textStamp.setVerticalAlignment(VerticalAlignment.Top);
+        return page -> page.addStamp(textStamp);
+      });
+      return this;
+    }
+
+    public Builder footer(String footerText) {
+      operations.add(pdfDocument -> {
+        TextStamp textStamp = new TextStamp(footerText);
+        textStamp.setBottomMargin(DEFAULT_MARGIN);
+        textStamp.setHorizontalAlignment(HorizontalAlignment.Center);
+        textStamp.setVerticalAlignment(VerticalAlignment.Bottom);
+        return page -> page.addStamp(textStamp);
+      });
+      return this;
+    }
+
+    public Builder watermark(String watermarkText) {
+      operations.add(pdfDocument -> {
+        FormattedText formattedText = new FormattedText(watermarkText, java.awt.Color.BLUE, FontStyle.TimesRoman,
+            EncodingType.Identity_h, true, DEFAULT_WATERMARK_FONT_SIZE);
+        WatermarkArtifact artifact = new WatermarkArtifact();
+        artifact.setText(formattedText);
+        artifact.setArtifactHorizontalAlignment(HorizontalAlignment.Center);
+        artifact.setArtifactVerticalAlignment(VerticalAlignment.Center);
+        artifact.setRotation(DEFAULT_WATERMARK_ROTATION);
+        artifact.setOpacity(DEFAULT_WATERMARK_OPACITY);
+        artifact.setBackground(false);
+        return page -> page.getArtifacts().add(artifact);
+      });
+      return this;
+    }
+
+    /**
+     * Adds page numbers using the {@code PageNumberFormat} CMS entry. The entry is resolved when this method is
+     * called, in a job of the PDF executor as it was read on the submitting thread, the total page count when the
+     * pipeline is applied.
+     */
+    public Builder pageNumbers() {
+      IvyContextSnapshot snapshot = IvyContextSnapshot.current();
+      String format = snapshot != null && snapshot.getPageNumberFormat() != null ? snapshot.getPageNumberFormat()
+          : Ivy.cms().co(PAGE_NUMBER_FORMAT_CMS, List.of(PAGE_NUMBER_PLACEHOLDER, TOTAL_PAGES_PLACEHOLDER));
+      operations.add(pdfDocument -> pageNumberOperation(
+          format.replace(TOTAL_PAGES_PLACEHOLDER, String.valueOf(pdfDocument.getPages().size()))));
+      return this;
+    }
+
+    /**
+     * Adds page numbers with an explicit Aspose page number format, where {@code #} is replaced by the page number.
+     */
+    public Builder pageNumbers(String format) {
+      operations.add(pdfDocument -> pageNumberOperation(format));
+      return this;
+    }
+
+    public Builder rotate(int rotation) {
+      operations.add(pdfDocument -> page -> page.setRotate(rotation));
+      return this;
+    }
+
+    public PdfPipeline build() {
+      return new PdfPipeline(operations);
+    }
+
+    private static Consumer<Page> pageNumberOperation(String format) {
+      PageNumberStamp pageNumberStamp = new PageNumberStamp();
+      pageNumberStamp.setBackground(false);
+      pageNumberStamp.setFormat(format);
+      pageNumberStamp.setBottomMargin(DEFAULT_MARGIN);
+      pageNumberStamp.setHorizontalAlignment(HorizontalAlignment.Center);
+      pageNumberStamp.setStartingNumber(1);
+
+      pageNumberStamp.getTextState().setFont(FontRepository.findFont(TIMES_NEW_ROMAN_FONT));
+      pageNumberStamp.getTextState().setFontSize(DEFAULT_PAGE_NUMBER_FONT_SIZE);
+      pageNumberStamp.getTextState().setFontStyle(FontStyles.Bold);
+      pageNumberStamp.getTextState().setForegroundColor(Color.getBlack());
+      return page -> page.addStamp(pageNumberStamp);
+    }
+  }
+}
@@ -1,21 +1,23 @@
 package com.axonivy.utils.axonivypdf.service;
 
-import java.awt.image.BufferedImage;
+import java.io.BufferedOutputStream;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.lang.ref.Cleaner;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.zip.ZipEntry;
-import java.util.zip.ZipOutputStream;
-
-import javax.imageio.ImageIO;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.StringUtils;
 import org.primefaces.model.DefaultStreamedContent;
@@ -23,36 +25,36 @@ import org.primefaces.model.file.UploadedFile;
 import org.primefaces.model.file.UploadedFiles;
 
 import com.aspose.pdf.Annotation;
-import com.aspose.pdf.Color;
 import com.aspose.pdf.Document;
 import com.aspose.pdf.FontRepository;
-import com.aspose.pdf.FontStyles;
 import com.aspose.pdf.HighlightAnnotation;
-import com.aspose.pdf.HorizontalAlignment;
 import com.aspose.pdf.HtmlSaveOptions;
 import com.aspose.pdf.Image;
-import com.aspose.pdf.ImageFormat;
-import com.aspose.pdf.ImagePlacement;
-import com.aspose.pdf.ImagePlacementAbsorber;
 import com.aspose.pdf.MarginInfo;
 import com.aspose.pdf.Page;
-import com.aspose.pdf.PageNumberStamp;
 import com.aspose.pdf.SaveFormat;
-import com.aspose.pdf.TextAbsorber;
 import com.aspose.pdf.TextFragment;
 import com.aspose.pdf.TextFragmentCollection;
-import com.aspose.pdf.TextStamp;
-import com.aspose.pdf.VerticalAlignment;
-import com.aspose.pdf.WatermarkArtifact;
-import com.aspose.pdf.XImage;
-import com.aspose.pdf.devices.JpegDevice;
-import com.aspose.pdf.facades.EncodingType;
-import com.aspose.pdf.facades.FontStyle;
-import com.aspose.pdf.facades.FormattedText;
-import com.aspose.pdf.facades.PdfFileEditor;
+import com.axonivy.utils.axonivypdf.dto.ImageExtractOptions;
+import com.axonivy.utils.axonivypdf.dto.ImageOptions;
+import com.axonivy.utils.axonivypdf.dto.MergeFailure;
+import com.axonivy.utils.axonivypdf.dto.MergeOptions;
+import com.axonivy.utils.axonivypdf.dto.MergeResult;
+import com.axonivy.utils.axonivypdf.dto.RenderOptions;
+import com.axonivy.utils.axonivypdf.dto.SplitOptions;
+import com.axonivy.utils.axonivypdf.dto.TextExtractOptions;
+import com.axonivy.utils.axonivypdf.dto.TextSearchMatch;
+import com.axonivy.utils.axonivypdf.dto.TextSearchOptions;
 import com.axonivy.utils.axonivypdf.enums.FileExtension;
+import com.axonivy.utils.axonivypdf.enums.ImageDeduplication;
+import com.axonivy.utils.axonivypdf.enums.PdfOperationType;
+import com.axonivy.utils.axonivypdf.enums.PdfVariable;
 import com.axonivy.utils.axonivypdf.enums.TextExtractType;
 import com.axonivy.utils.axonivypdf.exception.AxonivyPdfException;
+import com.axonivy.utils.axonivypdf.jfr.PdfParseEvent;
+import com.axonivy.utils.axonivypdf.jfr.PdfSaveEvent;
+import com.axonivy.utils.axonivypdf.metrics.PdfMetrics;
+import com.axonivy.utils.axonivypdf.service.ImageIngestor.PreparedImage;
 
 import ch.ivyteam.ivy.environment.Ivy;
 
@@ -71,30 +73,29 @@ public class PdfService {
 
   private static final String DOT = ".";
   private static final float DEFAULT_FONT_SIZE = 12;
-  private static final float DEFAULT_PAGE_NUMBER_FONT_SIZE = 14.0F;
-  private static final float DEFAULT_WATERMARK_FONT_SIZE = 36.0F;
-  private static final double DEFAULT_WATERMARK_OPACITY = 0.5;
-  private static final double DEFAULT_WATERMARK_ROTATION = 45;
   private static final String EXTRACTED_TEXT = "extracted_text";
   private static final String EXTRACTED_HIGHLIGHTED_TEXT = "extracted_highlighted_text";
   private static final String TIMES_NEW_ROMAN_FONT = "TimesRoman";
-  private static final String TEMP_ZIP_FILE_NAME = "split_pages";
-  private static final String PDF_CONTENT_TYPE = "application/pdf";
+  private static final String SPILL_FILE_PREFIX = "axonivy_pdf_output";
+  private static final Cleaner SPILL_FILES = Cleaner.create();
   private static final String SPLIT_PAGE_NAME_PATTERN = "%s_page_%d";
+  private static final String SPLIT_PART_NAME_PATTERN = "%s_pages_%d-%d";
   private static final String ROTATED_DOCUMENT_NAME_PATTERN = "%s_rotated" + FileExtension.PDF.getExtension();
   private static final String DOCUMENT_WITH_HEADER_NAME_PATTERN = "%s_with_header" + FileExtension.PDF.getExtension();
   private static final String DOCUMENT_WITH_FOOTER_NAME_PATTERN = "%s_with_footer" + FileExtension.PDF.getExtension();
+  private static final String PROCESSED_DOCUMENT_NAME_PATTERN = "%s_processed" + FileExtension.PDF.getExtension();
   private static final String DOCUMENT_WITH_PAGE_NUMBER_NAME_PATTERN = "%s_numbered" + FileExtension.PDF.getExtension();
   private static final String TXT_FILE_NAME_PATTERN = "%s_%s" + FileExtension.TXT.getExtension();
+  private static final String HIGHLIGHTS_FILE_NAME_PATTERN = "%s_highlights" + FileExtension.NDJSON.getExtension();
+  private static final long PIXELS_PER_MEGAPIXEL = 1_000_000L;
   private static final String MERGED_DOCUMENT_NAME = "merged_document" + FileExtension.PDF.getExtension();
-  private static final String IMAGE_NAME_PATTERN = "%s_page_%d_image_%d" + FileExtension.PNG.getExtension();
   private static final String IMAGE_ZIP_NAME_PATTERN = "%s_images_zipped" + FileExtension.ZIP.getExtension();
   private static final String SPLIT_PAGE_ZIP_NAME_PATTERN = "%s_split_zipped" + FileExtension.ZIP.getExtension();
   private static final String RANGE_SPLIT_FILE_NAME_PATTERN = "%s_page_%d_to_%d" + FileExtension.PDF.getExtension();
   private static final String FILE_NAME_WITH_WATERMARK_PATTERN = "%s_with_watermark" + FileExtension.PDF.getExtension();
 
   public DefaultStreamedContent addHeader(UploadedFile uploadedFile, String headerText) {
-    return PdfFactory.get(() -> {
+    return PdfFactory.get(PdfOperationType.PAGE_OPERATION, uploadedFile.getSize(), 0, () -> {
       try {
         return addHeaderInternal(uploadedFile, headerText);
       } catch (IOException e) {
@@ -103,28 +104,39 @@ public class PdfService {
     });
   }
 
-  private DefaultStreamedContent addHeaderInternal(UploadedFile uploadedFile, String headerText) throws IOException {
-    String originalFileName = uploadedFile.getFileName();
-    InputStream input = uploadedFile.getInputStream();
-    ByteArrayOutputStream output = new ByteArrayOutputStream();
-
-    Document pdfDocument = new Document(input);
-
-    TextStamp textStamp = new TextStamp(headerText);
-    textStamp.setTopMargin(10);
-    textStamp.setHorizontalAlignment(HorizontalAlignment.Center);
-    textStamp.setVerticalAlignment(VerticalAlignment.Top);
+  /**
+   * Adds the header text to every page and writes the resulting PDF directly into the given stream.
+   * <p>
+   * The stream is neither buffered in memory nor closed. Callers holding a
+   * {@link java.nio.channels.WritableByteChannel} can pass {@link java.nio.channels.Channels#newOutputStream}.
+   * </p>
+   *
+   * @param uploadedFile the source PDF
+   * @param headerText the header text
+   * @param output the target stream
+   */
+  public void addHeader(UploadedFile uploadedFile, String headerText, OutputStream output) {
+    PdfFactory.run(PdfOperationType.PAGE_OPERATION, uploadedFile.getSize(), 0, () -> {
+      try {
+        writeMeasured(output, target -> addHeaderInternal(uploadedFile, headerText, target));
+      } catch (IOException e) {
+        throw new AxonivyPdfException(e.getMessage());
+      }
+    });
+  }
 
-    for (Page page : pdfDocument.getPages()) {
-      page.addStamp(textStamp);
-    }
-    saveAndCloseDocument(pdfDocument, output);
+  private DefaultStreamedContent addHeaderInternal(UploadedFile uploadedFile, String headerText) throws IOException {
+    return buildFileStream(updateFileWithHeaderName(uploadedFile.getFileName()), FileExtension.PDF,
+        output -> addHeaderInternal(uploadedFile, headerText, output));
+  }
 
-    return buildFileStream(output.toByteArray(), updateFileWithHeaderName(originalFileName));
+  private void addHeaderInternal(UploadedFile uploadedFile, String headerText, OutputStream output)
+      throws IOException {
+    applyPipelineInternal(uploadedFile, PdfPipeline.builder().header(headerText).build(), output);
   }
 
   public DefaultStreamedContent addFooter(UploadedFile uploadedFile, String footerText) {
-    return PdfFactory.get(() -> {
+    return PdfFactory.get(PdfOperationType.PAGE_OPERATION, uploadedFile.getSize(), 0, () -> {
       try {
         return addFooterInternal(uploadedFile, footerText);
       } catch (IOException e) {
@@ -133,28 +145,36 @@ public class PdfService {
     });
   }
 
-  private DefaultStreamedContent addFooterInternal(UploadedFile uploadedFile, String footerText) throws IOException {
-    String originalFileName = uploadedFile.getFileName();
-    InputStream input = uploadedFile.getInputStream();
-    ByteArrayOutputStream output = new ByteArrayOutputStream();
-
-    Document pdfDocument = new Document(input);
-
-    TextStamp textStamp = new TextStamp(footerText);
-    textStamp.setBottomMargin(10);
-    textStamp.setHorizontalAlignment(HorizontalAlignment.Center);
-    textStamp.setVerticalAlignment(VerticalAlignment.Bottom);
+  /**
+   * Adds the footer text to every page and writes the resulting PDF directly into the given stream, which is left
+   * open.
+   *
+   * @param uploadedFile the source PDF
+   * @param footerText the footer text
+   * @param output the target stream
+   */
+  public void addFooter(UploadedFile uploadedFile, String footerText, OutputStream output) {
+    PdfFactory.run(PdfOperationType.PAGE_OPERATION, uploadedFile.getSize(), 0, () -> {
+      try {
+        writeMeasured(output, target -> addFooterInternal(uploadedFile, footerText, target));
+      } catch (IOException e) {
+        throw new AxonivyPdfException(e.getMessage());
+      }
+    });
+  }
 
-    for (Page page : pdfDocument.getPages()) {
-      page.addStamp(textStamp);
-    }
-    saveAndCloseDocument(pdfDocument, output);
+  private DefaultStreamedContent addFooterInternal(UploadedFile uploadedFile, String footerText) throws IOException {
+    return buildFileStream(updateFileWithFooterName(uploadedFile.getFileName()), FileExtension.PDF,
+        output -> addFooterInternal(uploadedFile, footerText, output));
+  }
 
-    return buildFileStream(output.toByteArray(), updateFileWithFooterName(originalFileName));
+  private void addFooterInternal(UploadedFile uploadedFile, String footerText, OutputStream output)
+      throws IOException {
+    applyPipelineInternal(uploadedFile, PdfPipeline.builder().footer(footerText).build(), output);
   }
 
   public DefaultStreamedContent addWatermark(UploadedFile uploadedFile, String watermarkText) {
-    return PdfFactory.get(() -> {
+    return PdfFactory.get(PdfOperationType.PAGE_OPERATION, uploadedFile.getSize(), 0, () -> {
       try {
         return addWatermarkInternal(uploadedFile, watermarkText);
       } catch (IOException e) {
@@ -163,34 +183,37 @@ public class PdfService {
     });
   }
 
+  /**
+   * Adds the watermark text to every page and writes the resulting PDF directly into the given stream, which is left
+   * open.
+   *
+   * @param uploadedFile the source PDF
+   * @param watermarkText the watermark text
+   * @param output the target stream
+   */
+  public void addWatermark(UploadedFile uploadedFile, String watermarkText, OutputStream output) {
+    PdfFactory.run(PdfOperationType.PAGE_OPERATION, uploadedFile.getSize(), 0, () -> {
+      try {
+        writeMeasured(output, target -> addWatermarkInternal(uploadedFile, watermarkText, target));
+      } catch (IOException e) {
+        throw new AxonivyPdfException(e.getMessage());
+      }
+    });
+  }
+
   private DefaultStreamedContent addWatermarkInternal(UploadedFile uploadedFile, String watermarkText)
       throws IOException {
-    String originalFileName = uploadedFile.getFileName();
-    InputStream input = uploadedFile.getInputStream();
-    ByteArrayOutputStream output = new ByteArrayOutputStream();
-
-    Document pdfDocument = new Document(input);
-
-    FormattedText formattedText = new FormattedText(watermarkText, java.awt.Color.BLUE, FontStyle.TimesRoman,
-        EncodingType.Identity_h, true, DEFAULT_WATERMARK_FONT_SIZE);
-    WatermarkArtifact artifact = new WatermarkArtifact();
-    artifact.setText(formattedText);
-    artifact.setArtifactHorizontalAlignment(HorizontalAlignment.Center);
-    artifact.setArtifactVerticalAlignment(VerticalAlignment.Center);
-    artifact.setRotation(DEFAULT_WATERMARK_ROTATION);
-    artifact.setOpacity(DEFAULT_WATERMARK_OPACITY);
-    artifact.setBackground(false);
-
-    for (Page page : pdfDocument.getPages()) {
-      page.getArtifacts().add(artifact);
-    }
-    saveAndCloseDocument(pdfDocument, output);
+    return buildFileStream(updateFileNameWithWatermark(uploadedFile.getFileName()), FileExtension.PDF,
+        output -> addWatermarkInternal(uploadedFile, watermarkText, output));
+  }
 
-    return buildFileStream(output.toByteArray(), updateFileNameWithWatermark(originalFileName));
+  private void addWatermarkInternal(UploadedFile uploadedFile, String watermarkText, OutputStream output)
+      throws IOException {
+    applyPipelineInternal(uploadedFile, PdfPipeline.builder().watermark(watermarkText).build(), output);
   }
 
   public DefaultStreamedContent rotatePages(UploadedFile uploadedFile, int rotateOption) {
-    return PdfFactory.get(() -> {
+    return PdfFactory.get(PdfOperationType.PAGE_OPERATION, uploadedFile.getSize(), 0, () -> {
       try {
         return rotatePagesInternal(uploadedFile, rotateOption);
       } catch (IOException e) {
@@ -201,22 +224,34 @@ public class PdfService {
 
 
   public DefaultStreamedContent rotatePagesInternal(UploadedFile uploadedFile, int rotateOption) throws IOException {
-    String originalFileName = uploadedFile.getFileName();
-    InputStream input = uploadedFile.getInputStream();
-    ByteArrayOutputStream output = new ByteArrayOutputStream();
-
-    Document pdfDocument = new Document(input);
+    return buildFileStream(updateRotatedFileName(uploadedFile.getFileName()), FileExtension.PDF,
+        output -> rotatePagesInternal(uploadedFile, rotateOption, output));
+  }
 
-    for (Page page : pdfDocument.getPages()) {
-      page.setRotate(rotateOption);
-    }
-    saveAndCloseDocument(pdfDocument, output);
+  /**
+   * Rotates every page and writes the resulting PDF directly into the given stream, which is left open.
+   *
+   * @param uploadedFile the source PDF
+   * @param rotateOption the rotation, see {@link com.aspose.pdf.Rotation}
+   * @param output the target stream
+   */
+  public void rotatePages(UploadedFile uploadedFile, int rotateOption, OutputStream output) {
+    PdfFactory.run(PdfOperationType.PAGE_OPERATION, uploadedFile.getSize(), 0, () -> {
+      try {
+        writeMeasured(output, target -> rotatePagesInternal(uploadedFile, rotateOption, target));
+      } catch (IOException e) {
+        throw new AxonivyPdfException(e.getMessage());
+      }
+    });
+  }
 
-    return buildFileStream(output.toByteArray(), updateRotatedFileName(originalFileName));
+  private void rotatePagesInternal(UploadedFile uploadedFile, int rotateOption, OutputStream output)
+      throws IOException {
+    applyPipelineInternal(uploadedFile, PdfPipeline.builder().rotate(rotateOption).build(), output);
   }
 
   public DefaultStreamedContent addPageNumbers(UploadedFile uploadedFile) {
-    return PdfFactory.get(() -> {
+    return PdfFactory.get(PdfOperationType.PAGE_OPERATION, uploadedFile.getSize(), 0, () -> {
       try {
         return addPageNumbersInternal(uploadedFile);
       } catch (IOException e) {
@@ -225,37 +260,77 @@ public class PdfService {
     });
   }
 
-  private DefaultStreamedContent addPageNumbersInternal(UploadedFile uploadedFile) throws IOException {
-    String originalFileName = uploadedFile.getFileName();
-    InputStream input = uploadedFile.getInputStream();
-    ByteArrayOutputStream output = new ByteArrayOutputStream();
+  /**
+   * Adds page numbers to every page and writes the resulting PDF directly into the given stream, which is left open.
+   *
+   * @param uploadedFile the source PDF
+   * @param output the target stream
+   */
+  public void addPageNumbers(UploadedFile uploadedFile, OutputStream output) {
+    PdfFactory.run(PdfOperationType.PAGE_OPERATION, uploadedFile.getSize(), 0, () -> {
+      try {
+        writeMeasured(output, target -> addPageNumbersInternal(uploadedFile, target));
+      } catch (IOException e) {
+        throw new AxonivyPdfException(e.getMessage());
+      }
+    });
+  }
 
-    Document pdfDocument = new Document(input);
+  private DefaultStreamedContent addPageNumbersInternal(UploadedFile uploadedFile) throws IOException {
+    return buildFileStream(updateFileWithPageNumberName(uploadedFile.getFileName()), FileExtension.PDF,
+        output -> addPageNumbersInternal(uploadedFile, output));
+  }
 
-    PageNumberStamp pageNumberStamp = new PageNumberStamp();
-    pageNumberStamp.setBackground(false);
-    pageNumberStamp.setFormat(Ivy.cms().co("/Dialogs/com/axonivy/utils/axonivypdf/demo/PageOperations/PageNumberFormat",
-        List.of(1, pdfDocument.getPages().size())));
-    pageNumberStamp.setBottomMargin(10);
-    pageNumberStamp.setHorizontalAlignment(HorizontalAlignment.Center);
-    pageNumberStamp.setStartingNumber(1);
+  private void addPageNumbersInternal(UploadedFile uploadedFile, OutputStream output) throws IOException {
+    applyPipelineInternal(uploadedFile, PdfPipeline.builder().pageNumbers().build(), output);
+  }
 
-    pageNumberStamp.getTextState().setFont(FontRepository.findFont(TIMES_NEW_ROMAN_FONT));
-    pageNumberStamp.getTextState().setFontSize(DEFAULT_PAGE_NUMBER_FONT_SIZE);
-    pageNumberStamp.getTextState().setFontStyle(FontStyles.Bold);
-    pageNumberStamp.getTextState().setForegroundColor(Color.getBlack());
+  /**
+   * Applies all operations of the pipeline with a single parse, a single page iteration and a single save.
+   *
+   * @param uploadedFile the source PDF
+   * @param pipeline the ordered page operations
+   * @return the processed PDF
+   */
+  public DefaultStreamedContent applyPipeline(UploadedFile uploadedFile, PdfPipeline pipeline) {
+    return PdfFactory.get(PdfOperationType.PAGE_OPERATION, uploadedFile.getSize(), 0, () -> {
+      try {
+        return buildFileStream(updateProcessedFileName(uploadedFile.getFileName()), FileExtension.PDF,
+            output -> applyPipelineInternal(uploadedFile, pipeline, output));
+      } catch (IOException e) {
+        throw new AxonivyPdfException(e.getMessage());
+      }
+    });
+  }
 
-    for (Page page : pdfDocument.getPages()) {
-      page.addStamp(pageNumberStamp);
-    }
-    saveAndCloseDocument(pdfDocument, output);
+  /**
+   * Applies all operations of the pipeline and writes the resulting PDF directly into the given stream, which is left
+   * open.
+   *
+   * @param uploadedFile the source PDF
+   * @param pipeline the ordered page operations
+   * @param output the target stream
+   */
+  public void applyPipeline(UploadedFile uploadedFile, PdfPipeline pipeline, OutputStream output) {
+    PdfFactory.run(PdfOperationType.PAGE_OPERATION, uploadedFile.getSize(), 0, () -> {
+      try {
+        writeMeasured(output, target -> applyPipelineInternal(uploadedFile, pipeline, target));
+      } catch (IOException e) {
+        throw new AxonivyPdfException(e.getMessage());
+      }
+    });
+  }
 
-    return buildFileStream(output.toByteArray(), updateFileWithPageNumberName(originalFileName));
+  private void applyPipelineInternal(UploadedFile uploadedFile, PdfPipeline pipeline, OutputStream output)
+      throws IOException {
+    Document pdfDocument = openDocument(uploadedFile);
+    pipeline.applyTo(pdfDocument, uploadedFile.getFileName());
+    saveAndCloseDocument(pdfDocument, uploadedFile.getFileName(), output);
   }
 
   public DefaultStreamedContent extractHighlightedText(String originalFileName, InputStream input,
       ByteArrayOutputStream textStream, OutputStreamWriter writer, TextExtractType textExtractType) {
-    return PdfFactory.get(() -> {
+    return PdfFactory.get(PdfOperationType.TEXT_EXTRACTION, 0, 0, () -> {
       try {
         return extractHighlightedTextInternal(originalFileName, input, textStream, writer, textExtractType);
       } catch (IOException e) {
@@ -266,7 +341,7 @@ public class PdfService {
 
   private DefaultStreamedContent extractHighlightedTextInternal(String originalFileName, InputStream input,
       ByteArrayOutputStream textStream, OutputStreamWriter writer, TextExtractType textExtractType) throws IOException {
-    Document pdfDocument = new Document(input);
+    Document pdfDocument = parseDocument(input, originalFileName, 0);
     StringBuilder highlightedText = new StringBuilder();
 
     for (Page page : pdfDocument.getPages()) {
@@ -285,12 +360,13 @@ public class PdfService {
 
     pdfDocument.close();
 
-    return buildFileStream(textStream.toByteArray(), updateTxtFileName(originalFileName, textExtractType));
+    return buildFileStream(textStream.toByteArray(), updateTxtFileName(originalFileName, textExtractType),
+        FileExtension.TXT);
   }
 
   public DefaultStreamedContent extractAllText(String originalFileName, InputStream input,
       ByteArrayOutputStream textStream, OutputStreamWriter writer, TextExtractType textExtractType) {
-    return PdfFactory.get(() -> {
+    return PdfFactory.get(PdfOperationType.TEXT_EXTRACTION, 0, 0, () -> {
       try {
         return extractAllTextInternal(originalFileName, input, textStream, writer, textExtractType);
       } catch (IOException e) {
@@ -301,325 +377,1121 @@ public class PdfService {
 
   public DefaultStreamedContent extractAllTextInternal(String originalFileName, InputStream input,
       ByteArrayOutputStream textStream, OutputStreamWriter writer, TextExtractType textExtractType) throws IOException {
-    Document pdfDocument = new Document(input);
-    TextAbsorber textAbsorber = new TextAbsorber();
-
-    pdfDocument.getPages().accept(textAbsorber);
-
-    String extractedText = textAbsorber.getText();
-
-    writer.write(extractedText);
-    writer.flush();
-
-    pdfDocument.close();
+    TextExtractOptions options = new TextExtractOptions();
+    options.setPageSeparator(System.lineSeparator());
+    try (SourceFile source = SourceFile.of(input)) {
+      new TextExtractor(originalFileName, options, textParallelism(options))
+          .extract(parseDocument(source, originalFileName), source.getPath(), writer);
+    }
 
-    return buildFileStream(textStream.toByteArray(), updateTxtFileName(originalFileName, textExtractType));
+    return buildFileStream(textStream.toByteArray(), updateTxtFileName(originalFileName, textExtractType),
+        FileExtension.TXT);
   }
 
-  public DefaultStreamedContent extractImagesFromPdf(UploadedFile uploadedFile) {
-    return PdfFactory.get(() -> {
+  /**
+   * Extracts the text of the selected pages and returns it as UTF-8 text file.
+   * <p>
+   * The pages are visited one by one and the text of every page is written as soon as it is extracted, separated by
+   * {@link TextExtractOptions#getPageSeparator()}. Up to {@link TextExtractOptions#getParallelism()} pages are
+   * extracted concurrently, each worker on its own parsed copy of the document.
+   * </p>
+   *
+   * @param uploadedFile the source PDF
+   * @param options the page range, page separator and parallelism
+   * @return the extracted text
+   */
+  public DefaultStreamedContent extractText(UploadedFile uploadedFile, TextExtractOptions options) {
+    return PdfFactory.get(PdfOperationType.TEXT_EXTRACTION, uploadedFile.getSize(), 0, () -> {
       try {
-        return extractImagesFromPdfInternal(uploadedFile);
+        return buildFileStream(updateTxtFileName(uploadedFile.getFileName(), TextExtractType.ALL), FileExtension.TXT,
+            output -> extractTextInternal(uploadedFile, options, output));
       } catch (IOException e) {
         throw new AxonivyPdfException(e.getMessage());
       }
     });
   }
 
-  private DefaultStreamedContent extractImagesFromPdfInternal(UploadedFile uploadedFile) throws IOException {
-    Path tempDir = Files.createTempDirectory(TEMP_ZIP_FILE_NAME);
-    String originalFileName = uploadedFile.getFileName();
-    InputStream input = uploadedFile.getInputStream();
-    Document pdfDocument = new Document(input);
-    int imageCount = 1;
-    int pageCount = 1;
-
-    for (Page page : pdfDocument.getPages()) {
-      ImagePlacementAbsorber imageAbsorber = new ImagePlacementAbsorber();
-      page.accept(imageAbsorber);
-
-      for (ImagePlacement ip : imageAbsorber.getImagePlacements()) {
-        XImage image = ip.getImage();
-
-        try (ByteArrayOutputStream imageStream = new ByteArrayOutputStream()) {
-          image.save(imageStream, ImageFormat.Png);
-          Path imageFile = tempDir.resolve(String.format(IMAGE_NAME_PATTERN,
-              StringUtils.substringBeforeLast(originalFileName, DOT), pageCount, imageCount));
-          Files.write(imageFile, imageStream.toByteArray());
-          imageCount++;
-        }
-      }
-      pageCount++;
-    }
-    byte[] zipBytes = Files.readAllBytes(zipDirectory(tempDir, TEMP_ZIP_FILE_NAME));
-    pdfDocument.close();
-
-    return buildFileStream(zipBytes, updateImageZipName(originalFileName));
-  }
-
-  public DefaultStreamedContent convertPdfToOtherDocumentTypes(UploadedFile uploadedFile, FileExtension fileExtension) {
-    return PdfFactory.get(() -> {
+  /**
+   * Extracts the text of the selected pages like {@link #extractText(UploadedFile, TextExtractOptions)} and writes it
+   * as UTF-8 directly into the given stream, which is left open. Every page is flushed to the stream once it is
+   * extracted.
+   *
+   * @param uploadedFile the source PDF
+   * @param options the page range, page separator and parallelism
+   * @param output the target stream
+   */
+  public void extractText(UploadedFile uploadedFile, TextExtractOptions options, OutputStream output) {
+    PdfFactory.run(PdfOperationType.TEXT_EXTRACTION, uploadedFile.getSize(), 0, () -> {
       try {
-        return convertPdfToOtherDocumentTypesInternal(uploadedFile, fileExtension);
+        writeMeasured(output, target -> extractTextInternal(uploadedFile, options, target));
       } catch (IOException e) {
         throw new AxonivyPdfException(e.getMessage());
       }
     });
   }
 
-  private DefaultStreamedContent convertPdfToOtherDocumentTypesInternal(UploadedFile uploadedFile,
-      FileExtension fileExtension) throws IOException {
-    String originalFileName = uploadedFile.getFileName();
-    InputStream input = uploadedFile.getInputStream();
-    ByteArrayOutputStream output = new ByteArrayOutputStream();
-    Document pdfDocument = new Document(input);
-
-    if (FileExtension.DOC == fileExtension) {
-      pdfDocument.save(output, SaveFormat.Doc);
-    } else if (FileExtension.DOCX == fileExtension) {
-      pdfDocument.save(output, SaveFormat.DocX);
-    } else if (FileExtension.XLSX == fileExtension) {
-      pdfDocument.save(output, SaveFormat.Excel);
-    } else if (FileExtension.PPTX == fileExtension) {
-      pdfDocument.save(output, SaveFormat.Pptx);
-    } else if (FileExtension.HTML == fileExtension) {
-      HtmlSaveOptions options = new HtmlSaveOptions();
-      options.setPartsEmbeddingMode(HtmlSaveOptions.PartsEmbeddingModes.EmbedAllIntoHtml);
-      options.setRasterImagesSavingMode(HtmlSaveOptions.RasterImagesSavingModes.AsPngImagesEmbeddedIntoSvg);
-      options.setSplitIntoPages(false);
-      pdfDocument.save(output, options);
-    } else {
-      return handleConvertPdfToImageTypes(pdfDocument, originalFileName, fileExtension);
-    }
-    pdfDocument.close();
-    return buildFileStream(output.toByteArray(), updateFileWithNewExtension(originalFileName, fileExtension));
-  }
-
-  private DefaultStreamedContent handleConvertPdfToImageTypes(Document pdfDocument, String originalFileName,
-      FileExtension fileExtension) throws IOException {
-    if (FileExtension.JPG == fileExtension) {
-      return convertPdfToImagesZip(pdfDocument, originalFileName, FileExtension.JPG.getExtension());
-    } else if (FileExtension.JPEG == fileExtension) {
-      return convertPdfToImagesZip(pdfDocument, originalFileName, FileExtension.JPEG.getExtension());
-    } else if (FileExtension.PNG == fileExtension) {
-      return convertPdfToImagesZip(pdfDocument, originalFileName, FileExtension.PNG.getExtension());
-    } else {
-      return convertPdfToImagesZip(pdfDocument, originalFileName, FileExtension.JPG.getExtension());
-    }
-  }
-
-  public DefaultStreamedContent convertPdfToImagesZip(Document pdfDocument, String originalFileName, String extension)
+  private void extractTextInternal(UploadedFile uploadedFile, TextExtractOptions options, OutputStream output)
       throws IOException {
-    Path tempDir = Files.createTempDirectory(TEMP_ZIP_FILE_NAME);
-    int pageCount = 1;
-    for (Page pdfPage : pdfDocument.getPages()) {
-      JpegDevice jpegDevice = new JpegDevice();
-
-      try (ByteArrayOutputStream imageStream = new ByteArrayOutputStream()) {
-        jpegDevice.process(pdfPage, imageStream);
-
-        Path imageFile = tempDir.resolve(String.format(SPLIT_PAGE_NAME_PATTERN + extension,
-            StringUtils.substringBeforeLast(originalFileName, DOT), pageCount));
-        Files.write(imageFile, imageStream.toByteArray());
-      }
-
-      pageCount++;
+    Writer writer = new OutputStreamWriter(output, StandardCharsets.UTF_8);
+    try (SourceFile source = SourceFile.of(uploadedFile)) {
+      PdfMetrics.recordInputBytes(source.getSize());
+      int pageCount = new TextExtractor(uploadedFile.getFileName(), options, textParallelism(options))
+          .extract(parseDocument(source, uploadedFile.getFileName()), source.getPath(), writer);
+      PdfMetrics.recordPages(pageCount);
     }
-    byte[] zipBytes = Files.readAllBytes(zipDirectory(tempDir, TEMP_ZIP_FILE_NAME));
-    pdfDocument.close();
-
-    return buildFileStream(zipBytes, updateImageZipName(originalFileName));
   }
 
-  private Path zipDirectory(Path directory, String prefix) throws IOException {
-    Path zipPath = Files.createTempFile(prefix, FileExtension.ZIP.getExtension());
-
-    try (FileOutputStream fos = new FileOutputStream(zipPath.toFile());
-        ZipOutputStream zos = new ZipOutputStream(fos)) {
-
-      Files.list(directory).forEach(path -> {
-        try (InputStream fis = Files.newInputStream(path)) {
-          ZipEntry zipEntry = new ZipEntry(path.getFileName().toString());
-          zos.putNextEntry(zipEntry);
-
-          byte[] buffer = new byte[1024];
-          int length;
-          while ((length = fis.read(buffer)) > 0) {
-            zos.write(buffer, 0, length);
-          }
-          zos.closeEntry();
-        } catch (IOException e) {
-          throw new UncheckedIOException(e);
-        }
-      });
-    }
-    return zipPath;
+  /**
+   * Extracts the highlight annotations of the selected pages as NDJSON file, one JSON record per highlight.
+   * <p>
+   * Each record holds the page number, the index of the highlight on its page, its rectangle, author, color, marked
+   * text and comment. Pages are scanned concurrently like in {@link #extractText(UploadedFile, TextExtractOptions)}
+   * and the records are written in page order.
+   * </p>
+   *
+   * @param uploadedFile the source PDF
+   * @param options the page range and parallelism, the page separator is not used
+   * @return the NDJSON file
+   */
+  public DefaultStreamedContent extractHighlights(UploadedFile uploadedFile, TextExtractOptions options) {
+    return PdfFactory.get(PdfOperationType.TEXT_EXTRACTION, uploadedFile.getSize(), 0, () -> {
+      try {
+        String fileName = StringUtils.substringBeforeLast(uploadedFile.getFileName(), DOT);
+        return buildFileStream(String.format(HIGHLIGHTS_FILE_NAME_PATTERN, fileName), FileExtension.NDJSON,
+            output -> extractHighlightsInternal(uploadedFile, options, output));
+      } catch (IOException e) {
+        throw new AxonivyPdfException(e.getMessage());
+      }
+    });
   }
 
-  public DefaultStreamedContent merge(UploadedFiles uploadedFiles) {
-    return PdfFactory.get(() -> {
+  /**
+   * Extracts the highlight annotations like {@link #extractHighlights(UploadedFile, TextExtractOptions)} and writes
+   * them as UTF-8 NDJSON directly into the given stream, which is left open. The records of every page are flushed to
+   * the stream once the page is scanned.
+   *
+   * @param uploadedFile the source PDF
+   * @param options the page range and parallelism, the page separator is not used
+   * @param output the target stream
+   */
+  public void extractHighlights(UploadedFile uploadedFile, TextExtractOptions options, OutputStream output) {
+    PdfFactory.run(PdfOperationType.TEXT_EXTRACTION, uploadedFile.getSize(), 0, () -> {
       try {
-        return mergeInternal(uploadedFiles);
+        writeMeasured(output, target -> extractHighlightsInternal(uploadedFile, options, target));
       } catch (IOException e) {
         throw new AxonivyPdfException(e.getMessage());
       }
     });
   }
 
-  public DefaultStreamedContent mergeInternal(UploadedFiles uploadedFiles) throws IOException {
-    ByteArrayOutputStream output = new ByteArrayOutputStream();
-    int uploadedFilesSize = uploadedFiles.getFiles().size();
-    InputStream[] inputStreams = new InputStream[uploadedFilesSize];
-
-    for (int i = 0; i < uploadedFilesSize; i++) {
-      inputStreams[i] = uploadedFiles.getFiles().get(i).getInputStream();
-    }
-
-    PdfFileEditor editor = new PdfFileEditor();
-    if (!editor.concatenate(inputStreams, output)) {
-      return null;
+  private void extractHighlightsInternal(UploadedFile uploadedFile, TextExtractOptions options, OutputStream output)
+      throws IOException {
+    Writer writer = new OutputStreamWriter(output, StandardCharsets.UTF_8);
+    try (SourceFile source = SourceFile.of(uploadedFile)) {
+      PdfMetrics.recordInputBytes(source.getSize());
+      int pageCount = new HighlightExtractor(uploadedFile.getFileName(), options, textParallelism(options))
+          .extract(parseDocument(source, uploadedFile.getFileName()), source.getPath(), writer);
+      PdfMetrics.recordPages(pageCount);
     }
-    return buildFileStream(output.toByteArray(), MERGED_DOCUMENT_NAME);
   }
 
-  public DefaultStreamedContent convertHtmlToPdf(UploadedFile uploadedFile) {
-    return PdfFactory.get(() -> {
+  /**
+   * Searches the text of the selected pages for a literal text or regular expression.
+   * <p>
+   * Pages are searched in page order and the search stops once the maximum number of matches is found, so answering
+   * whether a document contains a text only costs the pages up to its first occurrence instead of a full extraction.
+   * </p>
+   *
+   * @param uploadedFile the source PDF
+   * @param options the pattern, the maximum number of matches, the page range and the parallelism
+   * @return the first matches in page order, with their page number and position
+   */
+  public List<TextSearchMatch> searchText(UploadedFile uploadedFile, TextSearchOptions options) {
+    return PdfFactory.get(PdfOperationType.TEXT_EXTRACTION, uploadedFile.getSize(), 0, () -> {
       try {
-        return convertHtmlToPdfInternal(uploadedFile);
+        return searchTextInternal(uploadedFile, options);
       } catch (IOException e) {
         throw new AxonivyPdfException(e.getMessage());
       }
     });
   }
 
-  private DefaultStreamedContent convertHtmlToPdfInternal(UploadedFile uploadedFile) throws IOException {
-    InputStream input = uploadedFile.getInputStream();
-    ByteArrayOutputStream output = new ByteArrayOutputStream();
-    String originalFileName = uploadedFile.getFileName();
-    String fileName = originalFileName.toLowerCase();
+  /**
+   * Whether the text occurs in the document, compared case sensitively. Stops at the first occurrence.
+   */
+  public boolean containsText(UploadedFile uploadedFile, String text) {
+    return !searchText(uploadedFile, TextSearchOptions.firstMatch(text)).isEmpty();
+  }
 
-    if (fileName.endsWith(FileExtension.HTML.getExtension())) {
-      String html = new String(input.readAllBytes(), StandardCharsets.UTF_8);
-      Document pdfDoc = new Document();
-      Page page = pdfDoc.getPages().add();
-      TextFragment text = new TextFragment(html);
-      text.getTextState().setFontSize(DEFAULT_FONT_SIZE);
-      text.getTextState().setFont(FontRepository.findFont(TIMES_NEW_ROMAN_FONT));
-      page.getParagraphs().add(text);
-      pdfDoc.save(output);
-      pdfDoc.close();
-    } else if (fileName.endsWith(FileExtension.PDF.getExtension())) {
-      Document pdfDoc = new Document(input);
-      saveAndCloseDocument(pdfDoc, output);
+  private List<TextSearchMatch> searchTextInternal(UploadedFile uploadedFile, TextSearchOptions options)
+      throws IOException {
+    int parallelism =
+        options.getParallelism() != null ? options.getParallelism() : PdfVariable.TEXT_PARALLELISM.getIntValue();
+    TextSearcher searcher = new TextSearcher(uploadedFile.getFileName(), options, parallelism);
+    List<TextSearchMatch> matches = new ArrayList<>();
+    try (SourceFile source = SourceFile.of(uploadedFile)) {
+      PdfMetrics.recordInputBytes(source.getSize());
+      PdfMetrics.recordPages(
+          searcher.search(parseDocument(source, uploadedFile.getFileName()), source.getPath(), matches));
     }
-
-    return buildFileStream(output.toByteArray(), updateFileWithPdfExtension(originalFileName));
+    return matches;
   }
 
-  public DefaultStreamedContent convertImagesToSinglePdf(UploadedFiles uploadedFiles) {
-    return PdfFactory.get(() -> {
+  /**
+   * Extracts the text of every page once and adds it to the full-text index, keyed by the SHA-256 hash of the content.
+   * <p>
+   * A document already in the index is not extracted again. The document becomes searchable with the next
+   * {@link TextIndex#commit()}. Pages are extracted concurrently like in
+   * {@link #extractText(UploadedFile, TextExtractOptions)}.
+   * </p>
+   *
+   * @param uploadedFile the source PDF
+   * @param index the index to add the document to, e.g. {@link TextIndex#open()}
+   * @return the content hash identifying the document in the index
+   */
+  public String indexText(UploadedFile uploadedFile, TextIndex index) {
+    return PdfFactory.get(PdfOperationType.TEXT_EXTRACTION, uploadedFile.getSize(), 0, () -> {
       try {
-        return convertImagesToSinglePdfInternal(uploadedFiles);
+        return indexTextInternal(uploadedFile, index);
       } catch (IOException e) {
         throw new AxonivyPdfException(e.getMessage());
       }
     });
   }
 
-  public DefaultStreamedContent convertImagesToSinglePdfInternal(UploadedFiles uploadedFiles) throws IOException {
-    String finalFileName =
-        uploadedFiles.getFiles().size() == 1 ? updateFileWithPdfExtension(uploadedFiles.getFiles().get(0).getFileName())
-            : MERGED_DOCUMENT_NAME;
-    ByteArrayOutputStream output = new ByteArrayOutputStream();
-    Document pdfDocument = new Document();
-
-    for (UploadedFile file : uploadedFiles.getFiles()) {
-      addImageAsPageToDocument(pdfDocument, file);
+  private String indexTextInternal(UploadedFile uploadedFile, TextIndex index) throws IOException {
+    try (SourceFile source = SourceFile.of(uploadedFile)) {
+      String contentHash = ContentHash.of(source.getPath());
+      if (index.contains(contentHash)) {
+        return contentHash;
+      }
+      PdfMetrics.recordInputBytes(source.getSize());
+      TextExtractOptions options = new TextExtractOptions();
+      TextIndex.DocumentTerms terms = new TextIndex.DocumentTerms(contentHash, uploadedFile.getFileName());
+      int pageCount = new TextExtractor(uploadedFile.getFileName(), options, textParallelism(options))
+          .extractPages(parseDocument(source, uploadedFile.getFileName()), source.getPath(), terms::addPage);
+      index.add(terms);
+      PdfMetrics.recordPages(pageCount);
+      return contentHash;
     }
-
-    saveAndCloseDocument(pdfDocument, output);
-
-    return buildFileStream(output.toByteArray(), finalFileName);
   }
 
-  private void addImageAsPageToDocument(Document pdfDocument, UploadedFile uploadedFile) throws IOException {
-    BufferedImage bufferedImage = ImageIO.read(new ByteArrayInputStream(uploadedFile.getContent()));
-    int widthPx = bufferedImage.getWidth();
-    int heightPx = bufferedImage.getHeight();
-
-    Page page = pdfDocument.getPages().add();
-    page.getPageInfo().setWidth(widthPx);
-    page.getPageInfo().setHeight(heightPx);
-    page.getPageInfo().setMargin(new MarginInfo(0, 0, 0, 0));
-
-    Image image = new Image();
-    image.setImageStream(new ByteArrayInputStream(uploadedFile.getContent()));
-    page.getParagraphs().add(image);
+  private int textParallelism(TextExtractOptions options) {
+    return options.getParallelism() != null ? options.getParallelism()
+        : PdfVariable.TEXT_PARALLELISM.getIntValue();
   }
 
-  public DefaultStreamedContent handleSplitIntoSinglePages(Document pdfDocument, String originalFileName) {
-    return PdfFactory.get(() -> {
+  public DefaultStreamedContent extractImagesFromPdf(UploadedFile uploadedFile) {
+    return PdfFactory.get(PdfOperationType.IMAGE_EXTRACTION, uploadedFile.getSize(), 0, () -> {
       try {
-        return handleSplitIntoSinglePagesInternal(pdfDocument, originalFileName);
+        return extractImagesFromPdfInternal(uploadedFile);
       } catch (IOException e) {
         throw new AxonivyPdfException(e.getMessage());
       }
     });
   }
 
-  public DefaultStreamedContent handleSplitIntoSinglePagesInternal(Document pdfDocument, String originalFileName)
-      throws IOException {
-    Path tempDir = Files.createTempDirectory(TEMP_ZIP_FILE_NAME);
-    int pageCount = 1;
-
-    for (Page pdfPage : pdfDocument.getPages()) {
-      Document newDoc = new Document();
-      newDoc.getPages().add(pdfPage);
-
-      Path pageFile = tempDir.resolve(String.format(SPLIT_PAGE_NAME_PATTERN + FileExtension.PDF.getExtension(),
-          StringUtils.substringBeforeLast(originalFileName, DOT), pageCount));
-      newDoc.save(pageFile.toString());
-      newDoc.close();
-      pageCount++;
-    }
-    return buildFileStream(Files.readAllBytes(zipDirectory(tempDir, TEMP_ZIP_FILE_NAME)),
-        updateFileWithZipExtension(originalFileName));
-  }
-
-  public DefaultStreamedContent handleSplitByRange(Document pdfDocument, String originalFileName, int startPage,
-      int endPage) {
-    return PdfFactory.get(() -> {
+  /**
+   * Extracts all images and writes them as a zip archive directly into the given stream, which is left open. Every
+   * image placement is written as PNG, pages are processed concurrently by the number of workers configured with the
+   * {@code AxonivyPdf.ImageExtraction.Parallelism} variable.
+   *
+   * @param uploadedFile the source PDF
+   * @param output the target stream
+   */
+  public void extractImagesFromPdf(UploadedFile uploadedFile, OutputStream output) {
+    PdfFactory.run(PdfOperationType.IMAGE_EXTRACTION, uploadedFile.getSize(), 0, () -> {
       try {
-        return handleSplitByRangeInternal(pdfDocument, originalFileName, startPage, endPage);
+        writeMeasured(output, target -> extractImagesFromPdfInternal(uploadedFile, target));
       } catch (IOException e) {
         throw new AxonivyPdfException(e.getMessage());
       }
     });
   }
 
-  public DefaultStreamedContent handleSplitByRangeInternal(Document pdfDocument, String originalFileName, int startPage,
-      int endPage) throws IOException {
-    int pageSize = pdfDocument.getPages().size();
-    isInputInvalid(startPage, endPage, pageSize);
-    try (ByteArrayOutputStream output = new ByteArrayOutputStream()) {
-      Document newDoc = new Document();
-
-      for (int i = startPage; i <= endPage; i++) {
-        Page pdfPage = pdfDocument.getPages().get_Item(i);
-        newDoc.getPages().add(pdfPage);
-      }
+  private DefaultStreamedContent extractImagesFromPdfInternal(UploadedFile uploadedFile) throws IOException {
+    return buildFileStream(updateImageZipName(uploadedFile.getFileName()), FileExtension.ZIP,
+        output -> extractImagesFromPdfInternal(uploadedFile, output));
+  }
 
-      saveAndCloseDocument(newDoc, output);
+  private void extractImagesFromPdfInternal(UploadedFile uploadedFile, OutputStream output) throws IOException {
+    String fileName = uploadedFile.getFileName();
+    ImageExtractOptions options = new ImageExtractOptions();
+    options.setDeduplication(ImageDeduplication.NONE);
+    try (SourceFile source = SourceFile.of(uploadedFile); ZipSink zipSink = new ZipSink(output, fileName)) {
+      PdfMetrics.recordInputBytes(source.getSize());
+      int pageCount = new ImageExtractor(fileName, options, imageExtractionParallelism(options))
+          .extractPlacements(source.getPath(), () -> parseDocument(source, fileName), zipSink);
+      PdfMetrics.recordPages(pageCount);
+      zipSink.finish();
+    }
+  }
+
+  /**
+   * Extracts the images of a page range as a zip archive, by default once per image and in their embedded format, see
+   * {@link ImageExtractOptions}.
+   *
+   * @param uploadedFile the source PDF
+   * @param options page range, size filter, deduplication and output format
+   */
+  public DefaultStreamedContent extractImagesFromPdf(UploadedFile uploadedFile, ImageExtractOptions options) {
+    return PdfFactory.get(PdfOperationType.IMAGE_EXTRACTION, uploadedFile.getSize(), 0, () -> {
+      try {
+        return buildFileStream(updateImageZipName(uploadedFile.getFileName()), FileExtension.ZIP,
+            output -> extractImagesInternal(uploadedFile, options, output));
+      } catch (IOException e) {
+        throw new AxonivyPdfException(e.getMessage());
+      }
+    });
+  }
+
+  /**
+   * Extracts the images of a page range and writes them as a zip archive directly into the given stream, which is
+   * left open.
+   *
+   * @param uploadedFile the source PDF
+   * @param options page range, size filter, deduplication and output format
+   * @param output the target stream
+   */
+  public void extractImagesFromPdf(UploadedFile uploadedFile, ImageExtractOptions options, OutputStream output) {
+    PdfFactory.run(PdfOperationType.IMAGE_EXTRACTION, uploadedFile.getSize(), 0, () -> {
+      try {
+        writeMeasured(output, target -> extractImagesInternal(uploadedFile, options, target));
+      } catch (IOException e) {
+        throw new AxonivyPdfException(e.getMessage());
+      }
+    });
+  }
+
+  private void extractImagesInternal(UploadedFile uploadedFile, ImageExtractOptions options, OutputStream output)
+      throws IOException {
+    String fileName = uploadedFile.getFileName();
+    try (SourceFile source = SourceFile.of(uploadedFile); ZipSink zipSink = new ZipSink(output, fileName)) {
+      PdfMetrics.recordInputBytes(source.getSize());
+      int pageCount = new ImageExtractor(fileName, options, imageExtractionParallelism(options))
+          .extract(source.getPath(), () -> parseDocument(source, fileName), zipSink);
+      PdfMetrics.recordPages(pageCount);
+      zipSink.finish();
+    }
+  }
+
+  private int imageExtractionParallelism(ImageExtractOptions options) {
+    return options.getParallelism() != null ? options.getParallelism()
+        : PdfVariable.IMAGE_EXTRACTION_PARALLELISM.getIntValue();
+  }
+
+  public DefaultStreamedContent convertPdfToOtherDocumentTypes(UploadedFile uploadedFile, FileExtension fileExtension) {
+    return PdfFactory.get(operationTypeOf(fileExtension), uploadedFile.getSize(), 0, () -> {
+      try {
+        return convertPdfToOtherDocumentTypesInternal(uploadedFile, fileExtension);
+      } catch (IOException e) {
+        throw new AxonivyPdfException(e.getMessage());
+      }
+    });
+  }
+
+  /**
+   * Converts the PDF into the requested format and writes the result directly into the given stream, which is left
+   * open. Image formats are written as a zip archive holding one image per page.
+   *
+   * @param uploadedFile the source PDF
+   * @param fileExtension the target format
+   * @param output the target stream
+   */
+  public void convertPdfToOtherDocumentTypes(UploadedFile uploadedFile, FileExtension fileExtension,
+      OutputStream output) {
+    PdfFactory.run(operationTypeOf(fileExtension), uploadedFile.getSize(), 0, () -> {
+      try {
+        writeMeasured(output, target -> convertPdfToOtherDocumentTypesInternal(uploadedFile, fileExtension, target));
+      } catch (IOException e) {
+        throw new AxonivyPdfException(e.getMessage());
+      }
+    });
+  }
+
+  private DefaultStreamedContent convertPdfToOtherDocumentTypesInternal(UploadedFile uploadedFile,
+      FileExtension fileExtension) throws IOException {
+    String originalFileName = uploadedFile.getFileName();
+    String fileName = isDocumentType(fileExtension) ? updateFileWithNewExtension(originalFileName, fileExtension)
+        : updateImageZipName(originalFileName);
+    return buildFileStream(fileName, isDocumentType(fileExtension) ? fileExtension : FileExtension.ZIP,
+        output -> convertPdfToOtherDocumentTypesInternal(uploadedFile, fileExtension, output));
+  }
+
+  private void convertPdfToOtherDocumentTypesInternal(UploadedFile uploadedFile, FileExtension fileExtension,
+      OutputStream output) throws IOException {
+    if (!isDocumentType(fileExtension)) {
+      convertPdfToImagesInternal(uploadedFile, RenderOptions.forFormat(fileExtension), output);
+      return;
+    }
+    Document pdfDocument = openDocument(uploadedFile);
+    String fileName = uploadedFile.getFileName();
+
+    if (FileExtension.DOC == fileExtension) {
+      saveDocument(fileName, output, target -> pdfDocument.save(target, SaveFormat.Doc));
+    } else if (FileExtension.DOCX == fileExtension) {
+      saveDocument(fileName, output, target -> pdfDocument.save(target, SaveFormat.DocX));
+    } else if (FileExtension.XLSX == fileExtension) {
+      saveDocument(fileName, output, target -> pdfDocument.save(target, SaveFormat.Excel));
+    } else if (FileExtension.PPTX == fileExtension) {
+      saveDocument(fileName, output, target -> pdfDocument.save(target, SaveFormat.Pptx));
+    } else if (FileExtension.HTML == fileExtension) {
+      HtmlSaveOptions options = new HtmlSaveOptions();
+      options.setPartsEmbeddingMode(HtmlSaveOptions.PartsEmbeddingModes.EmbedAllIntoHtml);
+      options.setRasterImagesSavingMode(HtmlSaveOptions.RasterImagesSavingModes.AsPngImagesEmbeddedIntoSvg);
+      options.setSplitIntoPages(false);
+      saveDocument(fileName, output, target -> pdfDocument.save(target, options));
+    }
+    pdfDocument.close();
+  }
+
+  private boolean isDocumentType(FileExtension fileExtension) {
+    return FileExtension.DOC == fileExtension || FileExtension.DOCX == fileExtension
+        || FileExtension.XLSX == fileExtension || FileExtension.PPTX == fileExtension
+        || FileExtension.HTML == fileExtension;
+  }
+
+  private PdfOperationType operationTypeOf(FileExtension fileExtension) {
+    return isDocumentType(fileExtension) ? PdfOperationType.CONVERT_TO_DOCUMENT : PdfOperationType.RASTERIZE;
+  }
+
+  private int pageCountOf(RenderOptions options) {
+    if (options.getStartPage() == null || options.getEndPage() == null) {
+      return 0;
+    }
+    return Math.max(0, options.getEndPage() - options.getStartPage() + 1);
+  }
+
+  private long totalSize(UploadedFiles uploadedFiles) {
+    return uploadedFiles.getFiles().stream().mapToLong(UploadedFile::getSize).sum();
+  }
+
+  public DefaultStreamedContent convertPdfToImagesZip(Document pdfDocument, String originalFileName, String extension)
+      throws IOException {
+    return convertPdfToImagesZip(pdfDocument, originalFileName, extension,
+        PdfVariable.RASTERIZER_PARALLELISM.getIntValue());
+  }
+
+  /**
+   * Renders every page into an image and returns them as zip archive, rendering up to {@code parallelism} pages
+   * concurrently.
+   * <p>
+   * The extension selects the device, {@code .png} and {@code .tiff} are rendered as such, everything else as JPEG.
+   * Each worker renders from its own {@link Document} opened from a copy of the given document saved to a temporary
+   * file, the entries are written in page order. A parallelism below 1 uses one worker per available processor, a
+   * parallelism of 1 renders sequentially from the given document. The document is closed afterwards.
+   * </p>
+   *
+   * @param pdfDocument the source document
+   * @param originalFileName the name used to derive the entry names
+   * @param extension the image file extension, e.g. {@code .jpg}
+   * @param parallelism the number of pages rendered concurrently
+   * @return the zip archive holding one image per page
+   */
+  public DefaultStreamedContent convertPdfToImagesZip(Document pdfDocument, String originalFileName, String extension,
+      int parallelism) throws IOException {
+    RenderOptions options = RenderOptions.forFormat(FileExtension.fromExtension(extension));
+    options.setParallelism(parallelism);
+    return PdfFactory.get(PdfOperationType.RASTERIZE, 0, pdfDocument.getPages().size(), () -> {
+      try {
+        return buildFileStream(updateImageZipName(originalFileName), FileExtension.ZIP,
+            output -> convertPdfToImagesZip(pdfDocument, originalFileName, options, output));
+      } catch (IOException e) {
+        throw new AxonivyPdfException(e.getMessage());
+      }
+    });
+  }
+
+  /**
+   * Renders the pages selected by the options into images and returns them as zip archive.
+   * <p>
+   * Use {@link RenderOptions#thumbnail()} for cheap low resolution previews.
+   * </p>
+   *
+   * @param uploadedFile the source PDF
+   * @param options the format, resolution, quality, page range and parallelism
+   * @return the zip archive holding one image per rendered page
+   */
+  public DefaultStreamedContent convertPdfToImages(UploadedFile uploadedFile, RenderOptions options) {
+    return PdfFactory.get(PdfOperationType.RASTERIZE, uploadedFile.getSize(), pageCountOf(options), () -> {
+      try {
+        return buildFileStream(updateImageZipName(uploadedFile.getFileName()), FileExtension.ZIP,
+            output -> convertPdfToImagesInternal(uploadedFile, options, output));
+      } catch (IOException e) {
+        throw new AxonivyPdfException(e.getMessage());
+      }
+    });
+  }
+
+  /**
+   * Renders the pages selected by the options into images and writes them as zip archive directly into the given
+   * stream, which is left open.
+   *
+   * @param uploadedFile the source PDF
+   * @param options the format, resolution, quality, page range and parallelism
+   * @param output the target stream
+   */
+  public void convertPdfToImages(UploadedFile uploadedFile, RenderOptions options, OutputStream output) {
+    PdfFactory.run(PdfOperationType.RASTERIZE, uploadedFile.getSize(), pageCountOf(options), () -> {
+      try {
+        writeMeasured(output, target -> convertPdfToImagesInternal(uploadedFile, options, target));
+      } catch (IOException e) {
+        throw new AxonivyPdfException(e.getMessage());
+      }
+    });
+  }
+
+  private void convertPdfToImagesInternal(UploadedFile uploadedFile, RenderOptions options, OutputStream output)
+      throws IOException {
+    try (SourceFile source = SourceFile.of(uploadedFile)) {
+      rasterizeToZip(source.getPath(), uploadedFile.getFileName(), options, output);
+    }
+  }
+
+  private void convertPdfToImagesZip(Document pdfDocument, String originalFileName, RenderOptions options,
+      OutputStream output) throws IOException {
+    try {
+      if (resolveParallelism(options) == 1) {
+        PageRenderer renderer = new PageRenderer(options, originalFileName);
+        String baseName = StringUtils.substringBeforeLast(originalFileName, DOT);
+        try (ZipSink zipSink = new ZipSink(output, originalFileName)) {
+          for (int pageNumber = 1; pageNumber <= pdfDocument.getPages().size(); pageNumber++) {
+            int page = pageNumber;
+            zipSink.putEntry(String.format(SPLIT_PAGE_NAME_PATTERN + renderer.getExtension(), baseName, pageNumber),
+                entry -> renderer.render(pdfDocument, page, entry));
+          }
+          zipSink.finish();
+        }
+      } else {
+        try (SourceFile source = SourceFile.of(pdfDocument)) {
+          rasterizeToZip(source.getPath(), originalFileName, options, output);
+        }
+      }
+    } finally {
+      pdfDocument.close();
+    }
+  }
+
+  private void rasterizeToZip(Path source, String originalFileName, RenderOptions options, OutputStream output)
+      throws IOException {
+    String baseName = StringUtils.substringBeforeLast(originalFileName, DOT);
+    PageRenderer renderer = new PageRenderer(options, originalFileName);
+    ParallelPageProcessor processor = new ParallelPageProcessor(source, resolveParallelism(options));
+
+    try (ZipSink zipSink = new ZipSink(output, originalFileName)) {
+      processor.processRange(options.getStartPage(), options.getEndPage(), renderer::render,
+          (pageNumber, image) -> zipSink.putEntry(
+              String.format(SPLIT_PAGE_NAME_PATTERN + renderer.getExtension(), baseName, pageNumber), image));
+      zipSink.finish();
+    }
+  }
+
+  private int resolveParallelism(RenderOptions options) {
+    int parallelism = options.getParallelism() != null ? options.getParallelism()
+        : PdfVariable.RASTERIZER_PARALLELISM.getIntValue();
+    return ParallelPageProcessor.resolveParallelism(parallelism);
+  }
+
+  public DefaultStreamedContent merge(UploadedFiles uploadedFiles) {
+    return PdfFactory.get(PdfOperationType.MERGE, totalSize(uploadedFiles), 0, () -> {
+      try {
+        return mergeInternal(uploadedFiles);
+      } catch (IOException e) {
+        throw new AxonivyPdfException(e.getMessage());
+      }
+    });
+  }
+
+  public DefaultStreamedContent mergeInternal(UploadedFiles uploadedFiles) throws IOException {
+    return mergeInternal(uploadedFiles, new MergeOptions()).getContent();
+  }
+
+  /**
+   * Merges the uploaded PDF files and writes the result directly into the given stream, which is left open.
+   *
+   * @param uploadedFiles the PDF files to merge, in order
+   * @param output the target stream
+   * @throws AxonivyPdfException if the files could not be merged, naming the first file that failed
+   */
+  public void merge(UploadedFiles uploadedFiles, OutputStream output) {
+    merge(uploadedFiles, new MergeOptions(), output);
+  }
+
+  /**
+   * Merges the uploaded PDF files into a file-backed document and returns it together with the files left out.
+   * <p>
+   * The files are appended one at a time and written to disk every {@link MergeOptions#getPacketSize()} files, so the
+   * heap holds one input and one packet of pages rather than every input and the whole result. With a
+   * {@link MergeOptions#getFanIn() fan-in} of 2 or more, groups of files are merged concurrently and the intermediate
+   * results merged again, keeping the order and the bookmarks of the files.
+   * </p>
+   *
+   * @param uploadedFiles the PDF files to merge, in order
+   * @param options whether to skip unreadable files, to deduplicate resources and to merge as a tree
+   * @return the merged document, the number of merged files and pages, and the failures of skipped files
+   * @throws AxonivyPdfException if a file failed and failed files are not skipped, or if no file could be merged
+   */
+  public MergeResult merge(UploadedFiles uploadedFiles, MergeOptions options) {
+    return PdfFactory.get(PdfOperationType.MERGE, totalSize(uploadedFiles), 0, () -> {
+      try {
+        return mergeInternal(uploadedFiles, options);
+      } catch (IOException e) {
+        throw new AxonivyPdfException(e.getMessage());
+      }
+    });
+  }
+
+  /**
+   * Merges the uploaded PDF files like {@link #merge(UploadedFiles, MergeOptions)} and writes the result directly into
+   * the given stream, which is left open.
+   *
+   * @param uploadedFiles the PDF files to merge, in order
+   * @param options whether to skip unreadable files and to deduplicate resources
+   * @param output the target stream
+   * @return the number of merged files and pages and the failures of skipped files, without content
+   */
+  public MergeResult merge(UploadedFiles uploadedFiles, MergeOptions options, OutputStream output) {
+    return PdfFactory.get(PdfOperationType.MERGE, totalSize(uploadedFiles), 0, () -> {
+      try {
+        Path mergedFile = Files.createTempFile(SPILL_FILE_PREFIX, FileExtension.PDF.getExtension());
+        try {
+          MergeResult result = mergeToFile(uploadedFiles, options, mergedFile);
+          PdfMetrics.recordOutputBytes(Files.copy(mergedFile, output));
+          return result;
+        } finally {
+          Files.deleteIfExists(mergedFile);
+        }
+      } catch (IOException e) {
+        throw new AxonivyPdfException(e.getMessage());
+      }
+    });
+  }
+
+  private MergeResult mergeInternal(UploadedFiles uploadedFiles, MergeOptions options) throws IOException {
+    Path mergedFile = Files.createTempFile(SPILL_FILE_PREFIX, FileExtension.PDF.getExtension());
+    try {
+      MergeResult result = mergeToFile(uploadedFiles, options, mergedFile);
+      return new MergeResult(buildFileStream(mergedFile, MERGED_DOCUMENT_NAME, FileExtension.PDF),
+          result.getMergedFileCount(), result.getPageCount(), result.getFailures());
+    } catch (IOException | RuntimeException e) {
+      Files.deleteIfExists(mergedFile);
+      throw e;
+    }
+  }
+
+  private MergeResult mergeToFile(UploadedFiles uploadedFiles, MergeOptions options, Path mergedFile)
+      throws IOException {
+    PdfMetrics.recordInputBytes(totalSize(uploadedFiles));
+    List<UploadedFile> files = uploadedFiles.getFiles();
+    List<MergeInput> inputs = new ArrayList<>();
+    for (int index = 0; index < files.size(); index++) {
+      inputs.add(MergeInput.of(index, files.get(index)));
+    }
+    MergeResult result = options.getFanIn() > 1
+        ? new TreeMerger(options, mergeParallelism(options)).merge(inputs, mergedFile)
+        : new IncrementalMerger(options).merge(inputs, mergedFile);
+    if (result.getMergedFileCount() == 0) {
+      throw new AxonivyPdfException("None of the uploaded PDF files could be merged: "
+          + result.getFailures().stream().map(MergeFailure::toString).collect(Collectors.joining(", ")));
+    }
+    PdfMetrics.recordPages(result.getPageCount());
+    return result;
+  }
+
+  private int mergeParallelism(MergeOptions options) {
+    return options.getParallelism() != null ? options.getParallelism()
+        : PdfVariable.MERGE_PARALLELISM.getIntValue();
+  }
+
+  public DefaultStreamedContent convertHtmlToPdf(UploadedFile uploadedFile) {
+    return PdfFactory.get(PdfOperationType.HTML_TO_PDF, uploadedFile.getSize(), 0, () -> {
+      try {
+        return convertHtmlToPdfInternal(uploadedFile);
+      } catch (IOException e) {
+        throw new AxonivyPdfException(e.getMessage());
+      }
+    });
+  }
+
+  /**
+   * Converts the uploaded HTML or PDF file and writes the resulting PDF directly into the given stream, which is left
+   * open.
+   *
+   * @param uploadedFile the HTML or PDF file
+   * @param output the target stream
+   */
+  public void convertHtmlToPdf(UploadedFile uploadedFile, OutputStream output) {
+    PdfFactory.run(PdfOperationType.HTML_TO_PDF, uploadedFile.getSize(), 0, () -> {
+      try {
+        writeMeasured(output, target -> convertHtmlToPdfInternal(uploadedFile, target));
+      } catch (IOException e) {
+        throw new AxonivyPdfException(e.getMessage());
+      }
+    });
+  }
+
+  private DefaultStreamedContent convertHtmlToPdfInternal(UploadedFile uploadedFile) throws IOException {
+    return buildFileStream(updateFileWithPdfExtension(uploadedFile.getFileName()), FileExtension.PDF,
+        output -> convertHtmlToPdfInternal(uploadedFile, output));
+  }
+
+  private void convertHtmlToPdfInternal(UploadedFile uploadedFile, OutputStream output) throws IOException {
+    String fileName = uploadedFile.getFileName().toLowerCase();
+
+    if (fileName.endsWith(FileExtension.HTML.getExtension())) {
+      String html;
+      try (InputStream input = uploadedFile.getInputStream()) {
+        html = new String(input.readAllBytes(), StandardCharsets.UTF_8);
+      }
+      Document pdfDoc = new Document();
+      Page page = pdfDoc.getPages().add();
+      TextFragment text = new TextFragment(html);
+      text.getTextState().setFontSize(DEFAULT_FONT_SIZE);
+      text.getTextState().setFont(FontRepository.findFont(TIMES_NEW_ROMAN_FONT));
+      page.getParagraphs().add(text);
+      saveAndCloseDocument(pdfDoc, uploadedFile.getFileName(), output);
+    } else if (fileName.endsWith(FileExtension.PDF.getExtension())) {
+      Document pdfDoc = openDocument(uploadedFile);
+      saveAndCloseDocument(pdfDoc, uploadedFile.getFileName(), output);
+    }
+  }
+
+  public DefaultStreamedContent convertImagesToSinglePdf(UploadedFiles uploadedFiles) {
+    int pageCount = uploadedFiles.getFiles().size();
+    return PdfFactory.get(PdfOperationType.IMAGES_TO_PDF, totalSize(uploadedFiles), pageCount, () -> {
+      try {
+        return convertImagesToSinglePdfInternal(uploadedFiles);
+      } catch (IOException e) {
+        throw new AxonivyPdfException(e.getMessage());
+      }
+    });
+  }
+
+  public DefaultStreamedContent convertImagesToSinglePdfInternal(UploadedFiles uploadedFiles) throws IOException {
+    return convertImagesToSinglePdfInternal(uploadedFiles, new ImageOptions());
+  }
+
+  /**
+   * Converts the uploaded images into a single PDF, one page per image, and writes it directly into the given stream,
+   * which is left open.
+   *
+   * @param uploadedFiles the images, in page order
+   * @param output the target stream
+   */
+  public void convertImagesToSinglePdf(UploadedFiles uploadedFiles, OutputStream output) {
+    convertImagesToSinglePdf(uploadedFiles, new ImageOptions(), output);
+  }
+
+  /**
+   * Converts the uploaded images into a single PDF, one page per image, after downscaling and re-encoding them as
+   * requested by the options.
+   * <p>
+   * The images are prepared concurrently on up to {@link ImageOptions#getParallelism()} workers and placed on the
+   * pages in upload order.
+   * </p>
+   *
+   * @param uploadedFiles the images, in page order
+   * @param options the maximum size, resolution, JPEG quality and color mode of the embedded images
+   * @return the PDF
+   */
+  public DefaultStreamedContent convertImagesToSinglePdf(UploadedFiles uploadedFiles, ImageOptions options) {
+    int pageCount = uploadedFiles.getFiles().size();
+    return PdfFactory.get(PdfOperationType.IMAGES_TO_PDF, totalSize(uploadedFiles), pageCount, () -> {
+      try {
+        return convertImagesToSinglePdfInternal(uploadedFiles, options);
+      } catch (IOException e) {
+        throw new AxonivyPdfException(e.getMessage());
+      }
+    });
+  }
+
+  /**
+   * Converts the uploaded images like {@link #convertImagesToSinglePdf(UploadedFiles, ImageOptions)} and writes the
+   * PDF directly into the given stream, which is left open.
+   *
+   * @param uploadedFiles the images, in page order
+   * @param options the maximum size, resolution, JPEG quality and color mode of the embedded images
+   * @param output the target stream
+   */
+  public void convertImagesToSinglePdf(UploadedFiles uploadedFiles, ImageOptions options, OutputStream output) {
+    int pageCount = uploadedFiles.getFiles().size();
+    PdfFactory.run(PdfOperationType.IMAGES_TO_PDF, totalSize(uploadedFiles), pageCount, () -> {
+      try {
+        writeMeasured(output, target -> convertImagesToSinglePdfInternal(uploadedFiles, options, target));
+      } catch (IOException e) {
+        throw new AxonivyPdfException(e.getMessage());
+      }
+    });
+  }
+
+  private DefaultStreamedContent convertImagesToSinglePdfInternal(UploadedFiles uploadedFiles, ImageOptions options)
+      throws IOException {
+    String finalFileName =
+        uploadedFiles.getFiles().size() == 1 ? updateFileWithPdfExtension(uploadedFiles.getFiles().get(0).getFileName())
+            : MERGED_DOCUMENT_NAME;
+    return buildFileStream(finalFileName, FileExtension.PDF,
+        output -> convertImagesToSinglePdfInternal(uploadedFiles, options, output));
+  }
+
+  private void convertImagesToSinglePdfInternal(UploadedFiles uploadedFiles, ImageOptions options,
+      OutputStream output) throws IOException {
+    Document pdfDocument = new Document();
+    try {
+      new ImageIngestor(options, imageParallelism(options), imageMaxPixels(options)).ingest(uploadedFiles.getFiles(),
+          image -> addImageAsPageToDocument(pdfDocument, image));
+    } catch (IOException | RuntimeException e) {
       pdfDocument.close();
-      return buildFileStream(output.toByteArray(), updateRangeSplitFileName(originalFileName, startPage, endPage));
+      throw e;
+    }
+
+    String fileName = uploadedFiles.getFiles().isEmpty() ? null : uploadedFiles.getFiles().get(0).getFileName();
+    saveAndCloseDocument(pdfDocument, fileName, output);
+  }
+
+  private int imageParallelism(ImageOptions options) {
+    return options.getParallelism() != null ? options.getParallelism()
+        : PdfVariable.IMAGE_PARALLELISM.getIntValue();
+  }
+
+  private long imageMaxPixels(ImageOptions options) {
+    int maxMegapixels = options.getMaxMegapixels() != null ? options.getMaxMegapixels()
+        : PdfVariable.IMAGE_MAX_MEGAPIXELS.getIntValue();
+    return Math.max(0, maxMegapixels) * PIXELS_PER_MEGAPIXEL;
+  }
+
+  private void addImageAsPageToDocument(Document pdfDocument, PreparedImage preparedImage) {
+    Page page = pdfDocument.getPages().add();
+    page.getPageInfo().setWidth(preparedImage.pageWidth());
+    page.getPageInfo().setHeight(preparedImage.pageHeight());
+    page.getPageInfo().setMargin(new MarginInfo(0, 0, 0, 0));
+
+    Image image = new Image();
+    image.setImageStream(new ByteArrayInputStream(preparedImage.content()));
+    image.setFixWidth(preparedImage.pageWidth());
+    image.setFixHeight(preparedImage.pageHeight());
+    page.getParagraphs().add(image);
+  }
+
+  public DefaultStreamedContent handleSplitIntoSinglePages(Document pdfDocument, String originalFileName) {
+    return PdfFactory.get(PdfOperationType.SPLIT, 0, pdfDocument.getPages().size(), () -> {
+      try {
+        return handleSplitIntoSinglePagesInternal(pdfDocument, originalFileName);
+      } catch (IOException e) {
+        throw new AxonivyPdfException(e.getMessage());
+      }
+    });
+  }
+
+  public DefaultStreamedContent handleSplitIntoSinglePagesInternal(Document pdfDocument, String originalFileName)
+      throws IOException {
+    return buildFileStream(updateFileWithZipExtension(originalFileName), FileExtension.ZIP,
+        output -> handleSplitIntoSinglePagesInternal(pdfDocument, originalFileName, splitParallelism(), output));
+  }
+
+  /**
+   * Splits the document into single-page PDFs and returns them as zip archive, splitting up to {@code parallelism}
+   * pages concurrently.
+   * <p>
+   * Each worker copies from its own {@link Document} opened from a copy of the given document saved to a temporary
+   * file, the entries are written in page order. A parallelism below 1 uses one worker per available processor, a
+   * parallelism of 1 splits sequentially from the given document. The document stays open and remains owned by the
+   * caller. To split an upload prefer {@link #split(UploadedFile, SplitOptions)}, which copies the upload to a
+   * temporary file without parsing it first.
+   * </p>
+   *
+   * @param pdfDocument the source document
+   * @param originalFileName the name used to derive the entry names
+   * @param parallelism the number of pages split concurrently
+   * @return the zip archive holding one PDF per page
+   */
+  public DefaultStreamedContent handleSplitIntoSinglePages(Document pdfDocument, String originalFileName,
+      int parallelism) {
+    return PdfFactory.get(PdfOperationType.SPLIT, 0, pdfDocument.getPages().size(), () -> {
+      try {
+        return buildFileStream(updateFileWithZipExtension(originalFileName), FileExtension.ZIP,
+            output -> handleSplitIntoSinglePagesInternal(pdfDocument, originalFileName, parallelism, output));
+      } catch (IOException e) {
+        throw new AxonivyPdfException(e.getMessage());
+      }
+    });
+  }
+
+  /**
+   * Splits the document into single-page PDFs and writes them as a zip archive directly into the given stream, which
+   * is left open. The document stays open and remains owned by the caller.
+   *
+   * @param pdfDocument the source document
+   * @param originalFileName the name used to derive the entry names
+   * @param output the target stream
+   */
+  public void handleSplitIntoSinglePages(Document pdfDocument, String originalFileName, OutputStream output) {
+    handleSplitIntoSinglePages(pdfDocument, originalFileName, splitParallelism(), output);
+  }
+
+  /**
+   * Splits the document into single-page PDFs like {@link #handleSplitIntoSinglePages(Document, String, int)} and
+   * writes them as a zip archive directly into the given stream, which is left open.
+   *
+   * @param pdfDocument the source document
+   * @param originalFileName the name used to derive the entry names
+   * @param parallelism the number of pages split concurrently
+   * @param output the target stream
+   */
+  public void handleSplitIntoSinglePages(Document pdfDocument, String originalFileName, int parallelism,
+      OutputStream output) {
+    PdfFactory.run(PdfOperationType.SPLIT, 0, pdfDocument.getPages().size(), () -> {
+      try {
+        writeMeasured(output,
+            target -> handleSplitIntoSinglePagesInternal(pdfDocument, originalFileName, parallelism, target));
+      } catch (IOException e) {
+        throw new AxonivyPdfException(e.getMessage());
+      }
+    });
+  }
+
+  private void handleSplitIntoSinglePagesInternal(Document pdfDocument, String originalFileName, int parallelism,
+      OutputStream output) throws IOException {
+    String baseName = StringUtils.substringBeforeLast(originalFileName, DOT);
+    PageSplitter splitter = new PageSplitter(originalFileName);
+    int pageCount = pdfDocument.getPages().size();
+    PdfMetrics.recordPages(pageCount);
+
+    try (ZipSink zipSink = new ZipSink(output, originalFileName)) {
+      if (ParallelPageProcessor.resolveParallelism(parallelism) == 1 || pageCount <= 1) {
+        for (int pageNumber = 1; pageNumber <= pageCount; pageNumber++) {
+          int page = pageNumber;
+          zipSink.putEntry(singlePageEntryName(baseName, pageNumber),
+              entry -> splitter.writeRange(pdfDocument, page, page, entry));
+        }
+      } else {
+        try (SourceFile source = SourceFile.of(pdfDocument)) {
+          new ParallelPageProcessor(source.getPath(), parallelism).processAll(splitter::extractPage,
+              (pageNumber, part) -> zipSink.putEntry(singlePageEntryName(baseName, pageNumber), part));
+        }
+      }
+      zipSink.finish();
+    }
+  }
+
+  /**
+   * The number of pages of a range split for the admission estimate, 0 if the bounds are invalid.
+   */
+  private int rangeSize(int startPage, int endPage) {
+    return Math.max(0, endPage - startPage + 1);
+  }
+
+  private String singlePageEntryName(String baseName, int pageNumber) {
+    return String.format(SPLIT_PAGE_NAME_PATTERN + FileExtension.PDF.getExtension(), baseName, pageNumber);
+  }
+
+  private int splitParallelism() {
+    return PdfVariable.SPLIT_PARALLELISM.getIntValue();
+  }
+
+  public DefaultStreamedContent handleSplitByRange(Document pdfDocument, String originalFileName, int startPage,
+      int endPage) {
+    return PdfFactory.get(PdfOperationType.SPLIT, 0, rangeSize(startPage, endPage), () -> {
+      try {
+        return handleSplitByRangeInternal(pdfDocument, originalFileName, startPage, endPage);
+      } catch (IOException e) {
+        throw new AxonivyPdfException(e.getMessage());
+      }
+    });
+  }
+
+  public DefaultStreamedContent handleSplitByRangeInternal(Document pdfDocument, String originalFileName, int startPage,
+      int endPage) throws IOException {
+    isInputInvalid(startPage, endPage, pdfDocument.getPages().size());
+    return buildFileStream(updateRangeSplitFileName(originalFileName, startPage, endPage), FileExtension.PDF,
+        output -> handleSplitByRangeInternal(pdfDocument, startPage, endPage, output));
+  }
+
+  /**
+   * Copies the given page range of the uploaded PDF into a new PDF.
+   * <p>
+   * The upload is copied to a temporary file, which Aspose reads lazily, so only the copied pages are loaded instead
+   * of a full parse from memory.
+   * </p>
+   *
+   * @param uploadedFile the source PDF
+   * @param startPage the first page, 1-based
+   * @param endPage the last page, inclusive
+   * @return the PDF holding the page range
+   */
+  public DefaultStreamedContent handleSplitByRange(UploadedFile uploadedFile, int startPage, int endPage) {
+    return PdfFactory.get(PdfOperationType.SPLIT, uploadedFile.getSize(), 0, () -> {
+      try (SourceFile source = SourceFile.of(uploadedFile)) {
+        PdfMetrics.recordInputBytes(source.getSize());
+        Document pdfDocument = parseDocument(source, uploadedFile.getFileName());
+        try {
+          return handleSplitByRangeInternal(pdfDocument, uploadedFile.getFileName(), startPage, endPage);
+        } finally {
+          pdfDocument.close();
+        }
+      } catch (IOException e) {
+        throw new AxonivyPdfException(e.getMessage());
+      }
+    });
+  }
+
+  /**
+   * Copies the given page range into a new PDF and writes it directly into the given stream, which is left open. The
+   * source document stays open and remains owned by the caller.
+   *
+   * @param pdfDocument the source document
+   * @param startPage the first page, 1-based
+   * @param endPage the last page, inclusive
+   * @param output the target stream
+   */
+  public void handleSplitByRange(Document pdfDocument, int startPage, int endPage, OutputStream output) {
+    PdfFactory.run(PdfOperationType.SPLIT, 0, rangeSize(startPage, endPage), () -> {
+      isInputInvalid(startPage, endPage, pdfDocument.getPages().size());
+      try {
+        writeMeasured(output, target -> handleSplitByRangeInternal(pdfDocument, startPage, endPage, target));
+      } catch (IOException e) {
+        throw new AxonivyPdfException(e.getMessage());
+      }
+    });
+  }
+
+  private void handleSplitByRangeInternal(Document pdfDocument, int startPage, int endPage, OutputStream output) {
+    PdfMetrics.recordPages(endPage - startPage + 1);
+    new PageSplitter(null).writeRange(pdfDocument, startPage, endPage, output);
+  }
+
+  /**
+   * Splits the uploaded PDF into parts as selected by the options and returns them as zip archive.
+   * <p>
+   * The source is parsed once to plan the parts, which are then written concurrently, see
+   * {@link SplitOptions#getParallelism()}. Single-page parts are named like those of
+   * {@link #handleSplitIntoSinglePages(Document, String)}, longer parts after their page range, e.g.
+   * {@code report_pages_1-10.pdf}.
+   * </p>
+   *
+   * @param uploadedFile the source PDF
+   * @param options the split mode and its parameters
+   * @return the zip archive holding the parts in page order
+   * @throws AxonivyPdfException if the options do not fit the document
+   */
+  public DefaultStreamedContent split(UploadedFile uploadedFile, SplitOptions options) {
+    return PdfFactory.get(PdfOperationType.SPLIT, uploadedFile.getSize(), 0, () -> {
+      try {
+        return buildFileStream(updateFileWithZipExtension(uploadedFile.getFileName()), FileExtension.ZIP,
+            output -> splitInternal(uploadedFile, options, output));
+      } catch (IOException e) {
+        throw new AxonivyPdfException(e.getMessage());
+      }
+    });
+  }
+
+  /**
+   * Splits the uploaded PDF like {@link #split(UploadedFile, SplitOptions)} and writes the zip archive directly into
+   * the given stream, which is left open.
+   *
+   * @param uploadedFile the source PDF
+   * @param options the split mode and its parameters
+   * @param output the target stream
+   */
+  public void split(UploadedFile uploadedFile, SplitOptions options, OutputStream output) {
+    PdfFactory.run(PdfOperationType.SPLIT, uploadedFile.getSize(), 0, () -> {
+      try {
+        writeMeasured(output, target -> splitInternal(uploadedFile, options, target));
+      } catch (IOException e) {
+        throw new AxonivyPdfException(e.getMessage());
+      }
+    });
+  }
+
+  private void splitInternal(UploadedFile uploadedFile, SplitOptions options, OutputStream output)
+      throws IOException {
+    String baseName = StringUtils.substringBeforeLast(uploadedFile.getFileName(), DOT);
+    int parallelism = options.getParallelism() != null ? options.getParallelism() : splitParallelism();
+
+    try (SourceFile source = SourceFile.of(uploadedFile)) {
+      PdfMetrics.recordInputBytes(source.getSize());
+      SplitEngine engine = new SplitEngine(source.getPath(), uploadedFile.getFileName(), options, parallelism);
+      try (ZipSink zipSink = new ZipSink(output, uploadedFile.getFileName())) {
+        int pageCount = engine.split(part -> zipSink.putEntry(partEntryName(baseName, part.range()), part.content()));
+        PdfMetrics.recordPages(pageCount);
+        zipSink.finish();
+      }
+    }
+  }
+
+  private String partEntryName(String baseName, SplitEngine.PageRange range) {
+    if (range.fromPage() == range.toPage()) {
+      return singlePageEntryName(baseName, range.fromPage());
+    }
+    return String.format(SPLIT_PART_NAME_PATTERN + FileExtension.PDF.getExtension(), baseName, range.fromPage(),
+        range.toPage());
+  }
+
+  private Document openDocument(UploadedFile uploadedFile) throws IOException {
+    PdfMetrics.recordInputBytes(uploadedFile.getSize());
+    return parseDocument(uploadedFile.getInputStream(), uploadedFile.getFileName(), uploadedFile.getSize());
+  }
+
+  /**
+   * Parses the PDF and reports the parse phase as {@link PdfParseEvent} to Java Flight Recorder.
+   *
+   * @param bytes the size of the input, 0 if unknown
+   */
+  private Document parseDocument(InputStream input, String fileName, long bytes) {
+    return parseDocument(() -> new Document(input), fileName, bytes);
+  }
+
+  /**
+   * Opens the source file, which Aspose reads lazily, and reports it like {@link #parseDocument(InputStream, String,
+   * long)}.
+   */
+  private Document parseDocument(SourceFile source, String fileName) {
+    return parseDocument(source::open, fileName, source.getSize());
+  }
+
+  private Document parseDocument(Supplier<Document> parser, String fileName, long bytes) {
+    PdfParseEvent event = new PdfParseEvent();
+    event.begin();
+    Document pdfDocument = parser.get();
+    if (event.shouldCommit()) {
+      event.setFileName(fileName);
+      event.setBytes(bytes);
+      event.commit();
     }
+    return pdfDocument;
   }
 
-  private void saveAndCloseDocument(Document pdfDocument, ByteArrayOutputStream output) {
-    pdfDocument.save(output);
+  private void saveAndCloseDocument(Document pdfDocument, String fileName, OutputStream output) {
+    PdfMetrics.recordPages(pdfDocument.getPages().size());
+    saveDocument(fileName, output, target -> pdfDocument.save(target));
     pdfDocument.close();
   }
 
+  /**
+   * Runs the save action and reports it as {@link PdfSaveEvent} to Java Flight Recorder. The written bytes are only
+   * counted while the event is enabled.
+   */
+  private void saveDocument(String fileName, OutputStream output, Consumer<OutputStream> save) {
+    PdfSaveEvent event = new PdfSaveEvent();
+    event.begin();
+    CountingOutputStream countingOutput = event.isEnabled() ? new CountingOutputStream(output) : null;
+    save.accept(countingOutput != null ? countingOutput : output);
+    if (countingOutput != null && event.shouldCommit()) {
+      event.setFileName(fileName);
+      event.setBytes(countingOutput.getCount());
+      event.commit();
+    }
+  }
+
+  /**
+   * Lets the writer produce the result into the target stream and reports the number of bytes written to
+   * {@link PdfMetrics}, which cannot read it from a returned {@link org.primefaces.model.StreamedContent}.
+   */
+  private void writeMeasured(OutputStream output, OutputWriter writer) throws IOException {
+    CountingOutputStream countingOutput = new CountingOutputStream(output);
+    writer.writeTo(countingOutput);
+    PdfMetrics.recordOutputBytes(countingOutput.getCount());
+  }
+
   private void isInputInvalid(int startPage, int endPage, int originalDocPageSize) {
     if (startPage <= 0 || endPage <= 0) {
       throw new AxonivyPdfException("Please enter a valid start page and end page");
@@ -634,11 +1506,59 @@ public class PdfService {
     }
   }
 
-  private DefaultStreamedContent buildFileStream(byte[] byteContent, String fileName) {
-    return DefaultStreamedContent.builder().name(fileName).contentType(PDF_CONTENT_TYPE)
+  private DefaultStreamedContent buildFileStream(byte[] byteContent, String fileName, FileExtension fileType) {
+    return DefaultStreamedContent.builder().name(fileName).contentType(fileType.getContentType())
         .stream(() -> new ByteArrayInputStream(byteContent)).build();
   }
 
+  /**
+   * Runs the writer against a managed spill file and returns a {@link DefaultStreamedContent} reading from that file.
+   * <p>
+   * The operation output therefore never lives in heap as a whole, the content is a thin adapter over the file. Every
+   * call of the stream supplier opens a fresh stream, so the content can be downloaded more than once. The spill file
+   * lives as long as the content: it is deleted once the content is garbage collected, e.g. when the view or session
+   * holding it ends, also if it was never downloaded.
+   * </p>
+   */
+  private DefaultStreamedContent buildFileStream(String fileName, FileExtension fileType, OutputWriter writer)
+      throws IOException {
+    Path spillFile = Files.createTempFile(SPILL_FILE_PREFIX, null);
+    try (OutputStream output = new BufferedOutputStream(Files.newOutputStream(spillFile))) {
+      writer.writeTo(output);
+    } catch (IOException | RuntimeException e) {
+      Files.deleteIfExists(spillFile);
+      throw e;
+    }
+    return buildFileStream(spillFile, fileName, fileType);
+  }
+
+  /**
+   * Returns a {@link DefaultStreamedContent} reading from the given spill file, which is owned by the content from now
+   * on and deleted once the content is garbage collected.
+   */
+  private DefaultStreamedContent buildFileStream(Path file, String fileName, FileExtension fileType)
+      throws IOException {
+    String location = file.toString();
+    DefaultStreamedContent content = DefaultStreamedContent.builder().name(fileName)
+        .contentType(fileType.getContentType()).contentLength(Files.size(file)).stream(() -> {
+          try {
+            return Files.newInputStream(Path.of(location));
+          } catch (IOException e) {
+            throw new UncheckedIOException(e);
+          }
+        }).build();
+    SPILL_FILES.register(content, () -> deleteSpillFile(location));
+    return content;
+  }
+
+  private static void deleteSpillFile(String location) {
+    try {
+      Files.deleteIfExists(Path.of(location));
+    } catch (IOException e) {
+      Ivy.log().warn("Could not delete the spill file " + location + ": " + e.getMessage());
+    }
+  }
+
   private String getBaseName(String originalFileName, String substitudeName) {
     return StringUtils.isNotBlank(originalFileName) ? StringUtils.substringBeforeLast(originalFileName, DOT)
         : substitudeName;
@@ -676,6 +1596,10 @@ public class PdfService {
     return String.format(DOCUMENT_WITH_PAGE_NUMBER_NAME_PATTERN, getBaseName(originalFileName, "numbered"));
   }
 
+  private String updateProcessedFileName(String originalFileName) {
+    return String.format(PROCESSED_DOCUMENT_NAME_PATTERN, getBaseName(originalFileName, "processed"));
+  }
+
   private String updateFileWithHeaderName(String originalFileName) {
     return String.format(DOCUMENT_WITH_HEADER_NAME_PATTERN, getBaseName(originalFileName, "with_header"));
   }
@@ -0,0 +1,832 @@
+package com.axonivy.utils.axonivypdf.service;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Minimal reader for the object structure of a PDF file.
+ * <p>
+ * It locates objects through the cross-reference data at the end of the file (classic tables, cross-reference streams
+ * and hybrid files, following {@code /Prev} chains) and parses single objects on demand, including objects stored in
+ * object streams. Only the Flate filter with PNG predictors is supported, which is all the cross-reference and object
+ * streams written by common producers use. Content streams are never decoded. Any structural problem is reported as an
+ * {@link IOException} so callers can fall back to a full parser.
+ * </p>
+ */
+class PdfStructureReader implements Closeable {
+  private static final int HEADER_SCAN_LENGTH = 1024;
+  private static final int TRAILER_SCAN_LENGTH = 2048;
+  private static final int BUFFER_SIZE = 8192;
+  private static final int MAX_OBJECT_STREAM_CACHE = 16;
+  private static final int MAX_XREF_SECTIONS = 512;
+
+  private final Source source;
+  private final Map<Integer, Long> offsets = new HashMap<>();
+  private final Map<Integer, int[]> compressedObjects = new HashMap<>();
+  private final Map<String, Object> trailer = new HashMap<>();
+  private final Map<Integer, Object> objectCache = new HashMap<>();
+  private final Map<Integer, ObjectStream> objectStreams = new LinkedHashMap<>(16, 0.75f, true) {
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<Integer, ObjectStream> eldest) {
+      return size() > MAX_OBJECT_STREAM_CACHE;
+    }
+  };
+  private String headerVersion;
+
+  private PdfStructureReader(Source source) {
+    this.source = source;
+  }
+
+  static PdfStructureReader open(byte[] content) throws IOException {
+    return open(new ArraySource(content));
+  }
+
+  static PdfStructureReader open(Path file) throws IOException {
+    return open(new FileSource(FileChannel.open(file, StandardOpenOption.READ)));
+  }
+
+  private static PdfStructureReader open(Source source) throws IOException {
+    PdfStructureReader reader = new PdfStructureReader(source);
+    try {
+      reader.readHeader();
+      reader.readCrossReferences();
+      return reader;
+    } catch (IOException | RuntimeException e) {
+      reader.close();
+      throw e instanceof IOException ioException ? ioException : new IOException(e.getMessage(), e);
+    }
+  }
+
+  String getHeaderVersion() {
+    return headerVersion;
+  }
+
+  Map<String, Object> getTrailer() {
+    return trailer;
+  }
+
+  /**
+   * Resolves an indirect reference, any other value is returned unchanged. Missing objects resolve to {@code null}
+   * as the specification demands.
+   */
+  Object resolve(Object value) throws IOException {
+    if (value instanceof Ref ref) {
+      return getObject(ref.number());
+    }
+    return value;
+  }
+
+  @SuppressWarnings("unchecked")
+  Map<String, Object> resolveDictionary(Object value) throws IOException {
+    Object resolved = resolve(value);
+    if (resolved instanceof Stream stream) {
+      return stream.dictionary();
+    }
+    return resolved instanceof Map ? (Map<String, Object>) resolved : null;
+  }
+
+  @SuppressWarnings("unchecked")
+  List<Object> resolveArray(Object value) throws IOException {
+    Object resolved = resolve(value);
+    return resolved instanceof List ? (List<Object>) resolved : null;
+  }
+
+  Object getObject(int number) throws IOException {
+    if (objectCache.containsKey(number)) {
+      return objectCache.get(number);
+    }
+    Object object;
+    Long offset = offsets.get(number);
+    int[] compressed = compressedObjects.get(number);
+    if (offset != null) {
+      object = readIndirectObject(offset, number);
+    } else if (compressed != null) {
+      object = readCompressedObject(compressed[0], compressed[1]);
+    } else {
+      object = null;
+    }
+    if (!(object instanceof Stream)) {
+      objectCache.put(number, object);
+    }
+    return object;
+  }
+
+  @Override
+  public void close() throws IOException {
+    source.close();
+  }
+
+  private void readHeader() throws IOException {
+    String header = readAscii(0, (int) Math.min(HEADER_SCAN_LENGTH, source.length()));
+    int index = header.indexOf("%PDF-");
+    if (index < 0) {
+      throw new IOException("Missing PDF header");
+    }
+    int end = index + 5;
+    while (end < header.length() && (Character.isDigit(header.charAt(end)) || header.charAt(end) == '.')) {
+      end++;
+    }
+    headerVersion = header.substring(index + 5, end);
+  }
+
+  private void readCrossReferences() throws IOException {
+    long length = source.length();
+    long tailStart = Math.max(0, length - TRAILER_SCAN_LENGTH);
+    String tail = readAscii(tailStart, (int) (length - tailStart));
+    int index = tail.lastIndexOf("startxref");
+    if (index < 0) {
+      throw new IOException("Missing startxref");
+    }
+    Lexer lexer = new Lexer(source, tailStart + index + "startxref".length());
+    long offset = lexer.readLong();
+
+    Set<Long> visited = new HashSet<>();
+    while (offset > 0) {
+      if (!visited.add(offset) || visited.size() > MAX_XREF_SECTIONS || offset >= length) {
+        throw new IOException("Invalid cross-reference offset " + offset);
+      }
+      Map<String, Object> sectionTrailer = readCrossReferenceSection(offset);
+      sectionTrailer.forEach(trailer::putIfAbsent);
+      if (sectionTrailer.get("XRefStm") instanceof Number hybridOffset) {
+        readCrossReferenceStream(hybridOffset.longValue());
+      }
+      offset = sectionTrailer.get("Prev") instanceof Number prev ? prev.longValue() : 0;
+    }
+    if (!(trailer.get("Root") instanceof Ref)) {
+      throw new IOException("Missing document catalog");
+    }
+  }
+
+  private Map<String, Object> readCrossReferenceSection(long offset) throws IOException {
+    Lexer lexer = new Lexer(source, offset);
+    lexer.skipWhitespace();
+    if (lexer.peek() != 'x') {
+      return readCrossReferenceStream(offset);
+    }
+    lexer.expectKeyword("xref");
+    while (true) {
+      Object token = lexer.readObject();
+      if (token instanceof Keyword keyword && "trailer".equals(keyword.value())) {
+        break;
+      }
+      if (!(token instanceof Long start)) {
+        throw new IOException("Invalid cross-reference table at " + offset);
+      }
+      long count = lexer.readLong();
+      for (int i = 0; i < count; i++) {
+        long entryOffset = lexer.readLong();
+        lexer.readLong();
+        Object type = lexer.readObject();
+        int number = (int) (start + i);
+        if (type instanceof Keyword keyword && "n".equals(keyword.value())) {
+          if (!offsets.containsKey(number) && !compressedObjects.containsKey(number)) {
+            offsets.put(number, entryOffset);
+          }
+        } else if (!(type instanceof Keyword keyword && "f".equals(keyword.value()))) {
+          throw new IOException("Invalid cross-reference entry for object " + number);
+        }
+      }
+    }
+    return asDictionary(lexer.readObject());
+  }
+
+  private Map<String, Object> readCrossReferenceStream(long offset) throws IOException {
+    Object object = readIndirectObject(offset, -1);
+    if (!(object instanceof Stream stream) || !"XRef".equals(nameOf(stream.dictionary().get("Type")))) {
+      throw new IOException("Invalid cross-reference stream at " + offset);
+    }
+    Map<String, Object> dictionary = stream.dictionary();
+    List<Object> widths = asArray(dictionary.get("W"));
+    int[] w = new int[3];
+    for (int i = 0; i < 3; i++) {
+      w[i] = ((Number) widths.get(i)).intValue();
+    }
+    List<Object> index = dictionary.containsKey("Index") ? asArray(dictionary.get("Index"))
+        : List.of(0L, dictionary.get("Size"));
+
+    byte[] data = decode(stream);
+    int rowLength = w[0] + w[1] + w[2];
+    int position = 0;
+    for (int i = 0; i + 1 < index.size(); i += 2) {
+      int start = ((Number) index.get(i)).intValue();
+      int count = ((Number) index.get(i + 1)).intValue();
+      for (int j = 0; j < count; j++) {
+        if (position + rowLength > data.length) {
+          throw new IOException("Truncated cross-reference stream at " + offset);
+        }
+        long type = w[0] == 0 ? 1 : readField(data, position, w[0]);
+        long field2 = readField(data, position + w[0], w[1]);
+        long field3 = readField(data, position + w[0] + w[1], w[2]);
+        position += rowLength;
+        int number = start + j;
+        if (offsets.containsKey(number) || compressedObjects.containsKey(number)) {
+          continue;
+        }
+        if (type == 1) {
+          offsets.put(number, field2);
+        } else if (type == 2) {
+          compressedObjects.put(number, new int[] {(int) field2, (int) field3});
+        }
+      }
+    }
+    return dictionary;
+  }
+
+  private Object readIndirectObject(long offset, int expectedNumber) throws IOException {
+    Lexer lexer = new Lexer(source, offset);
+    long number = lexer.readLong();
+    lexer.readLong();
+    lexer.expectKeyword("obj");
+    if (expectedNumber >= 0 && number != expectedNumber) {
+      throw new IOException("Object " + expectedNumber + " not found at offset " + offset);
+    }
+    Object object = lexer.readObject();
+    if (object instanceof Map<?, ?> && lexer.nextIsKeyword("stream")) {
+      lexer.skipStreamLineBreak();
+      return new Stream(asDictionary(object), lexer.position(), null);
+    }
+    return object;
+  }
+
+  private Object readCompressedObject(int streamNumber, int index) throws IOException {
+    ObjectStream objectStream = objectStreams.get(streamNumber);
+    if (objectStream == null) {
+      if (!(getObject(streamNumber) instanceof Stream stream)) {
+        throw new IOException("Missing object stream " + streamNumber);
+      }
+      byte[] data = decode(stream);
+      int count = ((Number) stream.dictionary().get("N")).intValue();
+      int first = ((Number) stream.dictionary().get("First")).intValue();
+      Lexer lexer = new Lexer(new ArraySource(data), 0);
+      long[] objectOffsets = new long[count];
+      for (int i = 0; i < count; i++) {
+        lexer.readLong();
+        objectOffsets[i] = first + lexer.readLong();
+      }
+      objectStream = new ObjectStream(data, objectOffsets);
+      objectStreams.put(streamNumber, objectStream);
+    }
+    if (index < 0 || index >= objectStream.offsets().length) {
+      throw new IOException("Invalid index " + index + " in object stream " + streamNumber);
+    }
+    return new Lexer(new ArraySource(objectStream.data()), objectStream.offsets()[index]).readObject();
+  }
+
+  /**
+   * The encoded data of the stream as stored in the file, without applying any filter.
+   */
+  byte[] readRawData(Stream stream) throws IOException {
+    if (stream.data() != null) {
+      return stream.data();
+    }
+    Object length = resolve(stream.dictionary().get("Length"));
+    if (!(length instanceof Number)) {
+      throw new IOException("Stream without length");
+    }
+    return readBytes(stream.offset(), Math.toIntExact(((Number) length).longValue()));
+  }
+
+  /**
+   * The decoded data of the stream, see the class comment for the supported filters.
+   */
+  byte[] decode(Stream stream) throws IOException {
+    Map<String, Object> dictionary = stream.dictionary();
+    byte[] raw = readRawData(stream);
+
+    Object filter = dictionary.get("Filter");
+    Object parameters = resolve(dictionary.get("DecodeParms"));
+    if (filter instanceof List<?> filters) {
+      if (filters.size() > 1) {
+        throw new IOException("Unsupported filter chain " + filters);
+      }
+      filter = filters.isEmpty() ? null : filters.get(0);
+      parameters = parameters instanceof List<?> list && !list.isEmpty() ? resolve(list.get(0)) : parameters;
+    }
+    if (filter == null) {
+      return raw;
+    }
+    if (!"FlateDecode".equals(nameOf(filter))) {
+      throw new IOException("Unsupported filter " + filter);
+    }
+    byte[] inflated;
+    try (InflaterInputStream input = new InflaterInputStream(new ByteArrayInputStream(raw))) {
+      inflated = input.readAllBytes();
+    }
+    return parameters instanceof Map<?, ?> map ? unpredict(inflated, asDictionary(map)) : inflated;
+  }
+
+  private static byte[] unpredict(byte[] data, Map<String, Object> parameters) throws IOException {
+    int predictor = intValue(parameters.get("Predictor"), 1);
+    if (predictor == 1) {
+      return data;
+    }
+    if (predictor < 10) {
+      throw new IOException("Unsupported predictor " + predictor);
+    }
+    int colors = intValue(parameters.get("Colors"), 1);
+    int bitsPerComponent = intValue(parameters.get("BitsPerComponent"), 8);
+    int columns = intValue(parameters.get("Columns"), 1);
+    int bytesPerPixel = Math.max(1, colors * bitsPerComponent / 8);
+    int rowLength = (columns * colors * bitsPerComponent + 7) / 8;
+
+    int rows = data.length / (rowLength + 1);
+    byte[] result = new byte[rows * rowLength];
+    byte[] previous = new byte[rowLength];
+    for (int row = 0; row < rows; row++) {
+      int in = row * (rowLength + 1);
+      int type = data[in] & 0xFF;
+      int out = row * rowLength;
+      for (int i = 0; i < rowLength; i++) {
+        int raw = data[in + 1 + i] & 0xFF;
+        int left = i >= bytesPerPixel ? result[out + i - bytesPerPixel] & 0xFF : 0;
+        int up = previous[i] & 0xFF;
+        int upLeft = i >= bytesPerPixel ? previous[i - bytesPerPixel] & 0xFF : 0;
+        int value = switch (type) {
+          case 0 -> raw;
+          case 1 -> raw + left;
+          case 2 -> raw + up;
+          case 3 -> raw + (left + up) / 2;
+          case 4 -> raw + paeth(left, up, upLeft);
+          default -> throw new IOException("Invalid PNG predictor type " + type);
+        };
+        result[out + i] = (byte) value;
+      }
+      System.arraycopy(result, out, previous, 0, rowLength);
+    }
+    return result;
+  }
+
+  private static int paeth(int left, int up, int upLeft) {
+    int estimate = left + up - upLeft;
+    int distanceLeft = Math.abs(estimate - left);
+    int distanceUp = Math.abs(estimate - up);
+    int distanceUpLeft = Math.abs(estimate - upLeft);
+    if (distanceLeft <= distanceUp && distanceLeft <= distanceUpLeft) {
+      return left;
+    }
+    return distanceUp <= distanceUpLeft ? up : upLeft;
+  }
+
+  private static long readField(byte[] data, int position, int width) {
+    long value = 0;
+    for (int i = 0; i < width; i++) {
+      value = (value << 8) | (data[position + i] & 0xFF);
+    }
+    return value;
+  }
+
+  private String readAscii(long position, int length) throws IOException {
+    return new String(readBytes(position, length), StandardCharsets.ISO_8859_1);
+  }
+
+  private byte[] readBytes(long position, int length) throws IOException {
+    byte[] buffer = new byte[length];
+    int read = 0;
+    while (read < length) {
+      int count = source.read(position + read, buffer, read, length - read);
+      if (count <= 0) {
+        throw new IOException("Unexpected end of file at " + (position + read));
+      }
+      read += count;
+    }
+    return buffer;
+  }
+
+  static String nameOf(Object value) {
+    return value instanceof Name name ? name.value() : null;
+  }
+
+  static int intValue(Object value, int defaultValue) {
+    return value instanceof Number number ? number.intValue() : defaultValue;
+  }
+
+  /**
+   * Decodes a PDF text string, either UTF-16BE with byte order mark or PDFDocEncoding, which is approximated by
+   * ISO-8859-1.
+   */
+  static String textOf(Object value) {
+    if (!(value instanceof byte[] bytes)) {
+      return null;
+    }
+    if (bytes.length >= 2 && (bytes[0] & 0xFF) == 0xFE && (bytes[1] & 0xFF) == 0xFF) {
+      return new String(bytes, 2, bytes.length - 2, StandardCharsets.UTF_16BE);
+    }
+    return new String(bytes, StandardCharsets.ISO_8859_1);
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Map<String, Object> asDictionary(Object value) throws IOException {
+    if (value instanceof Map) {
+      return (Map<String, Object>) value;
+    }
+    throw new IOException("Expected a dictionary but found " + value);
+  }
+
+  @SuppressWarnings("unchecked")
+  private static List<Object> asArray(Object value) throws IOException {
+    if (value instanceof List) {
+      return (List<Object>) value;
+    }
+    throw new IOException("Expected an array but found " + value);
+  }
+
+  record Ref(int number, int generation) {}
+
+  record Name(String value) {}
+
+  record Keyword(String value) {}
+
+  /**
+   * A stream object, the data is either held in memory or read lazily from the given file offset.
+   */
+  record Stream(Map<String, Object> dictionary, long offset, byte[] data) {}
+
+  private record ObjectStream(byte[] data, long[] offsets) {}
+
+  private interface Source extends Closeable {
+    long length() throws IOException;
+
+    int read(long position, byte[] buffer, int offset, int length) throws IOException;
+  }
+
+  private static class ArraySource implements Source {
+    private final byte[] content;
+
+    ArraySource(byte[] content) {
+      this.content = content;
+    }
+
+    @Override
+    public long length() {
+      return content.length;
+    }
+
+    @Override
+    public int read(long position, byte[] buffer, int offset, int length) {
+      if (position >= content.length) {
+        return -1;
+      }
+      int count = (int) Math.min(length, content.length - position);
+      System.arraycopy(content, (int) position, buffer, offset, count);
+      return count;
+    }
+
+    @Override
+    public void close() {}
+  }
+
+  private static class FileSource implements Source {
+    private final FileChannel channel;
+
+    FileSource(FileChannel channel) {
+      this.channel = channel;
+    }
+
+    @Override
+    public long length() throws IOException {
+      return channel.size();
+    }
+
+    @Override
+    public int read(long position, byte[] buffer, int offset, int length) throws IOException {
+      return channel.read(ByteBuffer.wrap(buffer, offset, length), position);
+    }
+
+    @Override
+    public void close() throws IOException {
+      channel.close();
+    }
+  }
+
+  /**
+   * Tokenizer and object parser reading forward from a position of a source through a small buffer.
+   */
+  private static class Lexer {
+    private final Source source;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private long bufferStart;
+    private int bufferLength;
+    private long position;
+
+    Lexer(Source source, long position) {
+      this.source = source;
+      this.position = position;
+    }
+
+    long position() {
+      return position;
+    }
+
+    int peek() throws IOException {
+      if (position < bufferStart || position >= bufferStart + bufferLength) {
+        bufferStart = position;
+        bufferLength = Math.max(0, source.read(position, buffer, 0, buffer.length));
+        if (bufferLength == 0) {
+          return -1;
+        }
+      }
+      return buffer[(int) (position - bufferStart)] & 0xFF;
+    }
+
+    int read() throws IOException {
+      int value = peek();
+      if (value >= 0) {
+        position++;
+      }
+      return value;
+    }
+
+    void skipWhitespace() throws IOException {
+      while (true) {
+        int c = peek();
+        if (c == '%') {
+          while (c >= 0 && c != '\n' && c != '\r') {
+            position++;
+            c = peek();
+          }
+        } else if (isWhitespace(c)) {
+          position++;
+        } else {
+          return;
+        }
+      }
+    }
+
+    void skipStreamLineBreak() throws IOException {
+      if (peek() == '\r') {
+        position++;
+      }
+      if (peek() == '\n') {
+        position++;
+      }
+    }
+
+    long readLong() throws IOException {
+      if (readObject() instanceof Long value) {
+        return value;
+      }
+      throw new IOException("Expected an integer at " + position);
+    }
+
+    void expectKeyword(String keyword) throws IOException {
+      if (!nextIsKeyword(keyword)) {
+        throw new IOException("Expected '" + keyword + "' at " + position);
+      }
+    }
+
+    /**
+     * Consumes the next token if it is the given keyword, otherwise the position is left unchanged.
+     */
+    boolean nextIsKeyword(String keyword) throws IOException {
+      long start = position;
+      skipWhitespace();
+      if (peek() >= 0 && !isDelimiter(peek()) && readToken().equals(keyword)) {
+        return true;
+      }
+      position = start;
+      return false;
+    }
+
+    Object readObject() throws IOException {
+      skipWhitespace();
+      int c = peek();
+      switch (c) {
+        case -1:
+          throw new IOException("Unexpected end of data");
+        case '/':
+          position++;
+          return new Name(readName());
+        case '(':
+          position++;
+          return readLiteralString();
+        case '[':
+          position++;
+          return readArray();
+        case '<':
+          position++;
+          if (peek() == '<') {
+            position++;
+            return readDictionary();
+          }
+          return readHexString();
+        default:
+          break;
+      }
+      if (isDelimiter(c)) {
+        throw new IOException("Unexpected delimiter '" + (char) c + "' at " + position);
+      }
+      String token = readToken();
+      if (isNumber(token)) {
+        return readNumberOrReference(token);
+      }
+      return switch (token) {
+        case "true" -> Boolean.TRUE;
+        case "false" -> Boolean.FALSE;
+        case "null" -> null;
+        default -> new Keyword(token);
+      };
+    }
+
+    private Object readNumberOrReference(String token) throws IOException {
+      if (token.contains(".")) {
+        return Double.valueOf(token);
+      }
+      Long number = Long.valueOf(token);
+      long afterNumber = position;
+      skipWhitespace();
+      if (Character.isDigit(peek())) {
+        String generation = readToken();
+        skipWhitespace();
+        if (generation.chars().allMatch(Character::isDigit) && peek() == 'R') {
+          position++;
+          if (peek() < 0 || isWhitespace(peek()) || isDelimiter(peek())) {
+            return new Ref(number.intValue(), Integer.parseInt(generation));
+          }
+        }
+      }
+      position = afterNumber;
+      return number;
+    }
+
+    private Map<String, Object> readDictionary() throws IOException {
+      Map<String, Object> dictionary = new HashMap<>();
+      while (true) {
+        skipWhitespace();
+        if (peek() == '>') {
+          position++;
+          if (read() != '>') {
+            throw new IOException("Invalid dictionary end at " + position);
+          }
+          return dictionary;
+        }
+        if (!(readObject() instanceof Name key)) {
+          throw new IOException("Expected a name key at " + position);
+        }
+        dictionary.put(key.value(), readObject());
+      }
+    }
+
+    private List<Object> readArray() throws IOException {
+      List<Object> array = new ArrayList<>();
+      while (true) {
+        skipWhitespace();
+        if (peek() == ']') {
+          position++;
+          return array;
+        }
+        array.add(readObject());
+      }
+    }
+
+    private String readName() throws IOException {
+      StringBuilder name = new StringBuilder();
+      int c = peek();
+      while (c >= 0 && !isWhitespace(c) && !isDelimiter(c)) {
+        position++;
+        if (c == '#') {
+          name.append((char) Integer.parseInt(new String(new char[] {(char) read(), (char) read()}), 16));
+        } else {
+          name.append((char) c);
+        }
+        c = peek();
+      }
+      return name.toString();
+    }
+
+    private byte[] readLiteralString() throws IOException {
+      ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+      int depth = 1;
+      while (true) {
+        int c = read();
+        if (c < 0) {
+          throw new IOException("Unterminated string");
+        }
+        if (c == '(') {
+          depth++;
+        } else if (c == ')' && --depth == 0) {
+          return bytes.toByteArray();
+        } else if (c == '\\') {
+          c = readEscape();
+          if (c < 0) {
+            continue;
+          }
+        }
+        bytes.write(c);
+      }
+    }
+
+    private int readEscape() throws IOException {
+      int c = read();
+      switch (c) {
+        case 'n':
+          return '\n';
+        case 'r':
+          return '\r';
+        case 't':
+          return '\t';
+        case 'b':
+          return '\b';
+        case 'f':
+          return '\f';
+        case '\r':
+          if (peek() == '\n') {
+            position++;
+          }
+          return -1;
+        case '\n':
+          return -1;
+        default:
+          break;
+      }
+      if (c >= '0' && c <= '7') {
+        int value = c - '0';
+        for (int i = 0; i < 2 && peek() >= '0' && peek() <= '7'; i++) {
+          value = value * 8 + (read() - '0');
+        }
+        return value & 0xFF;
+      }
+      return c;
+    }
+
+    private byte[] readHexString() throws IOException {
+      ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+      int high = -1;
+      while (true) {
+        int c = read();
+        if (c < 0) {
+          throw new IOException("Unterminated hex string");
+        }
+        if (c == '>') {
+          if (high >= 0) {
+            bytes.write(high << 4);
+          }
+          return bytes.toByteArray();
+        }
+        int digit = Character.digit(c, 16);
+        if (digit < 0) {
+          continue;
+        }
+        if (high < 0) {
+          high = digit;
+        } else {
+          bytes.write((high << 4) | digit);
+          high = -1;
+        }
+      }
+    }
+
+    private String readToken() throws IOException {
+      StringBuilder token = new StringBuilder();
+      int c = peek();
+      while (c >= 0 && !isWhitespace(c) && !isDelimiter(c)) {
+        token.append((char) c);
+        position++;
+        c = peek();
+      }
+      return token.toString();
+    }
+
+    private static boolean isNumber(String token) {
+      if (token.isEmpty()) {
+        return false;
+      }
+      int start = token.charAt(0) == '+' || token.charAt(0) == '-' ? 1 : 0;
+      boolean digits = false;
+      for (int i = start; i < token.length(); i++) {
+        char c = token.charAt(i);
+        if (Character.isDigit(c)) {
+          digits = true;
+        } else if (c != '.') {
+          return false;
+        }
+      }
+      return digits;
+    }
+
+    private static boolean isWhitespace(int c) {
+      return c == ' ' || c == '\n' || c == '\r' || c == '\t' || c == '\f' || c == 0;
+    }
+
+    private static boolean isDelimiter(int c) {
+      return c == '(' || c == ')' || c == '<' || c == '>' || c == '[' || c == ']' || c == '{' || c == '}' || c == '/'
+          || c == '%';
+    }
+  }
+}
@@ -0,0 +1,94 @@
+package com.axonivy.utils.axonivypdf.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Encodes the postings of a term of the {@link TextIndex} and the other numbers of its files.
+ * <p>
+ * A posting list is a sequence of page entries sorted by document id and page number. Document ids, page numbers and
+ * word positions are delta coded against the previous entry and written as variable length integers of seven bits per
+ * byte, so most numbers of a posting list take a single byte.
+ * </p>
+ */
+final class PostingCodec {
+  private static final int PAYLOAD_BITS = 7;
+  private static final int PAYLOAD_MASK = 0x7F;
+  private static final int CONTINUATION_BIT = 0x80;
+
+  private PostingCodec() {}
+
+  /**
+   * The word positions of a term on one page of a document. Positions count the words of the page starting with 0.
+   */
+  record Posting(int docId, int pageNumber, int[] positions) {}
+
+  static void encode(List<Posting> postings, OutputStream out) throws IOException {
+    writeVarLong(out, postings.size());
+    int previousDocId = 0;
+    int previousPageNumber = 0;
+    for (Posting posting : postings) {
+      int docIdDelta = posting.docId() - previousDocId;
+      writeVarLong(out, docIdDelta);
+      writeVarLong(out, docIdDelta == 0 ? posting.pageNumber() - previousPageNumber : posting.pageNumber());
+      writeVarLong(out, posting.positions().length);
+      int previousPosition = 0;
+      for (int position : posting.positions()) {
+        writeVarLong(out, position - previousPosition);
+        previousPosition = position;
+      }
+      previousDocId = posting.docId();
+      previousPageNumber = posting.pageNumber();
+    }
+  }
+
+  static List<Posting> decode(ByteBuffer in) {
+    int count = readVarInt(in);
+    List<Posting> postings = new ArrayList<>(count);
+    int docId = 0;
+    int pageNumber = 0;
+    for (int i = 0; i < count; i++) {
+      int docIdDelta = readVarInt(in);
+      docId += docIdDelta;
+      pageNumber = docIdDelta == 0 ? pageNumber + readVarInt(in) : readVarInt(in);
+      int[] positions = new int[readVarInt(in)];
+      int position = 0;
+      for (int j = 0; j < positions.length; j++) {
+        position += readVarInt(in);
+        positions[j] = position;
+      }
+      postings.add(new Posting(docId, pageNumber, positions));
+    }
+    return postings;
+  }
+
+  /**
+   * Writes a non-negative number in as few bytes as possible, least significant group of bits first.
+   */
+  static void writeVarLong(OutputStream out, long value) throws IOException {
+    long remaining = value;
+    while ((remaining & ~PAYLOAD_MASK) != 0) {
+      out.write((int) (remaining & PAYLOAD_MASK) | CONTINUATION_BIT);
+      remaining >>>= PAYLOAD_BITS;
+    }
+    out.write((int) remaining);
+  }
+
+  static long readVarLong(ByteBuffer in) {
+    long value = 0;
+    for (int shift = 0;; shift += PAYLOAD_BITS) {
+      int b = in.get();
+      value |= (long) (b & PAYLOAD_MASK) << shift;
+      if ((b & CONTINUATION_BIT) == 0) {
+        return value;
+      }
+    }
+  }
+
+  static int readVarInt(ByteBuffer in) {
+    return Math.toIntExact(readVarLong(in));
+  }
+}
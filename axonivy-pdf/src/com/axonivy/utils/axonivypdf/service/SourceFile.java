@@ -0,0 +1,90 @@
+package com.axonivy.utils.axonivypdf.service;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.primefaces.model.file.UploadedFile;
+
+import com.aspose.pdf.Document;
+import com.axonivy.utils.axonivypdf.enums.FileExtension;
+
+/**
+ * A source PDF spilled to a temporary file, so that it can be parsed several times without being held in heap.
+ * <p>
+ * Aspose reads file-backed documents lazily, so planning on the file and letting every worker of a
+ * {@link ParallelPageProcessor} open its own {@link Document} from it keeps the heap use independent of the source
+ * size. Closing the source deletes the file, the documents opened from it have to be closed before.
+ * </p>
+ */
+class SourceFile implements Closeable {
+  private static final String SOURCE_FILE_PREFIX = "axonivy_pdf_source";
+
+  private final Path path;
+  private final long size;
+
+  private SourceFile(Path path) throws IOException {
+    this.path = path;
+    this.size = Files.size(path);
+  }
+
+  /**
+   * Copies the upload to disk in chunks, it is never read into memory as a whole.
+   */
+  static SourceFile of(UploadedFile uploadedFile) throws IOException {
+    try (InputStream input = uploadedFile.getInputStream()) {
+      return of(input);
+    }
+  }
+
+  /**
+   * Copies the stream to disk in chunks, the stream is left open.
+   */
+  static SourceFile of(InputStream input) throws IOException {
+    return write(input::transferTo);
+  }
+
+  /**
+   * Saves the document to disk, it stays open and remains owned by the caller.
+   */
+  static SourceFile of(Document document) throws IOException {
+    return write(document::save);
+  }
+
+  private static SourceFile write(OutputWriter writer) throws IOException {
+    Path path = Files.createTempFile(SOURCE_FILE_PREFIX, FileExtension.PDF.getExtension());
+    try {
+      try (OutputStream output = new BufferedOutputStream(Files.newOutputStream(path))) {
+        writer.writeTo(output);
+      }
+      return new SourceFile(path);
+    } catch (IOException | RuntimeException e) {
+      Files.deleteIfExists(path);
+      throw e;
+    }
+  }
+
+  Path getPath() {
+    return path;
+  }
+
+  long getSize() {
+    return size;
+  }
+
+  /**
+   * Opens a new document reading the file lazily, to be closed by the caller.
+   */
+  Document open() {
+    return new Document(path.toString());
+  }
+
+  @Override
+  public void close() throws IOException {
+    Files.deleteIfExists(path);
+  }
+}
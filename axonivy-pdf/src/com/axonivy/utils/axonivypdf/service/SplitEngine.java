@@ -0,0 +1,184 @@
+package com.axonivy.utils.axonivypdf.service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.TreeSet;
+
+import com.aspose.pdf.Document;
+import com.aspose.pdf.facades.Bookmark;
+import com.aspose.pdf.facades.PdfBookmarkEditor;
+import com.axonivy.utils.axonivypdf.dto.SplitOptions;
+import com.axonivy.utils.axonivypdf.enums.SplitOption;
+import com.axonivy.utils.axonivypdf.exception.AxonivyPdfException;
+
+/**
+ * Splits one source into parts according to {@link SplitOptions}.
+ * <p>
+ * The part boundaries are planned on a single parse of the source file. The parts are then written on a
+ * {@link ParallelPageProcessor} with one task per part, so up to {@code parallelism} parts are copied concurrently,
+ * each worker from its own lazily read parse of the file, and handed to the consumer in page order. Parts of
+ * {@link SplitOption#MAX_SIZE} are planned from the average page size and halved until they fit, as the size of a part
+ * is only known once it is saved.
+ * </p>
+ */
+class SplitEngine {
+  private static final double SIZE_ESTIMATE_HEADROOM = 0.8;
+
+  private final Path source;
+  private final long sourceBytes;
+  private final SplitOptions options;
+  private final PageSplitter splitter;
+  private final int parallelism;
+
+  record PageRange(int fromPage, int toPage) {}
+
+  record Part(PageRange range, byte[] content) {}
+
+  @FunctionalInterface
+  interface PartConsumer {
+    void accept(Part part) throws IOException;
+  }
+
+  /**
+   * @param source the source PDF on disk, see {@link SourceFile}
+   * @param fileName the name of the source file, for diagnostics only
+   * @param options where to split
+   * @param parallelism the number of parts written concurrently, values below 1 mean one per available processor
+   */
+  SplitEngine(Path source, String fileName, SplitOptions options, int parallelism) throws IOException {
+    this.source = source;
+    this.sourceBytes = Files.size(source);
+    this.options = options;
+    this.splitter = new PageSplitter(fileName);
+    this.parallelism = parallelism;
+  }
+
+  /**
+   * Writes all parts in page order.
+   *
+   * @return the number of pages of the source
+   * @throws AxonivyPdfException if the options do not fit the source
+   */
+  int split(PartConsumer consumer) throws IOException {
+    ParallelPageProcessor processor = new ParallelPageProcessor(source, parallelism);
+    Document document = processor.openSource();
+    int pageCount;
+    List<PageRange> ranges;
+    try {
+      pageCount = document.getPages().size();
+      ranges = plan(document, pageCount);
+    } catch (RuntimeException e) {
+      document.close();
+      throw e;
+    }
+    processor.process(document, 1, ranges.size(), (partDocument, index) -> write(partDocument, ranges.get(index - 1)),
+        (index, parts) -> {
+          for (Part part : parts) {
+            consumer.accept(part);
+          }
+        });
+    return pageCount;
+  }
+
+  private List<PageRange> plan(Document document, int pageCount) {
+    SplitOption mode = options.getMode();
+    if (SplitOption.RANGE == mode) {
+      return List.of(validRange(pageCount));
+    }
+    if (SplitOption.CHUNK == mode) {
+      if (options.getChunkSize() < 1) {
+        throw new AxonivyPdfException("Please enter a chunk size of at least one page");
+      }
+      return chunks(pageCount, options.getChunkSize());
+    }
+    if (SplitOption.MAX_SIZE == mode) {
+      if (options.getMaxPartBytes() < 1) {
+        throw new AxonivyPdfException("Please enter a maximum part size of at least one byte");
+      }
+      return chunks(pageCount, estimatePagesPerPart(pageCount));
+    }
+    if (SplitOption.BOOKMARKS == mode) {
+      return bookmarkRanges(document, pageCount);
+    }
+    return chunks(pageCount, 1);
+  }
+
+  private PageRange validRange(int pageCount) {
+    int fromPage = options.getStartPage() != null ? options.getStartPage() : 1;
+    int toPage = options.getEndPage() != null ? options.getEndPage() : pageCount;
+    if (fromPage <= 0 || toPage > pageCount || fromPage > toPage) {
+      throw new AxonivyPdfException("Please enter a valid start page and end page");
+    }
+    return new PageRange(fromPage, toPage);
+  }
+
+  private static List<PageRange> chunks(int pageCount, int pagesPerPart) {
+    List<PageRange> ranges = new ArrayList<>();
+    for (int fromPage = 1; fromPage <= pageCount; fromPage += pagesPerPart) {
+      ranges.add(new PageRange(fromPage, Math.min(pageCount, fromPage + pagesPerPart - 1)));
+    }
+    return ranges;
+  }
+
+  private int estimatePagesPerPart(int pageCount) {
+    if (pageCount == 0) {
+      return 1;
+    }
+    double averagePageBytes = (double) sourceBytes / pageCount;
+    long pagesPerPart = (long) (options.getMaxPartBytes() * SIZE_ESTIMATE_HEADROOM / averagePageBytes);
+    return (int) Math.max(1, Math.min(pageCount, pagesPerPart));
+  }
+
+  /**
+   * Starts a part at the first page and at every page a top-level bookmark points to.
+   */
+  private static List<PageRange> bookmarkRanges(Document document, int pageCount) {
+    TreeSet<Integer> startPages = new TreeSet<>();
+    if (pageCount > 0) {
+      startPages.add(1);
+    }
+    for (Bookmark bookmark : new PdfBookmarkEditor(document).extractBookmarks(true)) {
+      int pageNumber = bookmark.getPageNumber();
+      if (pageNumber >= 1 && pageNumber <= pageCount) {
+        startPages.add(pageNumber);
+      }
+    }
+
+    List<PageRange> ranges = new ArrayList<>();
+    Iterator<Integer> iterator = startPages.iterator();
+    Integer fromPage = iterator.hasNext() ? iterator.next() : null;
+    while (fromPage != null) {
+      Integer nextPage = iterator.hasNext() ? iterator.next() : null;
+      ranges.add(new PageRange(fromPage, nextPage != null ? nextPage - 1 : pageCount));
+      fromPage = nextPage;
+    }
+    return ranges;
+  }
+
+  private List<Part> write(Document document, PageRange range) {
+    if (SplitOption.MAX_SIZE == options.getMode()) {
+      return writeWithinLimit(document, range);
+    }
+    return List.of(new Part(range, splitter.extractRange(document, range.fromPage(), range.toPage())));
+  }
+
+  /**
+   * Halves the range until every part fits, a single page is written even if it exceeds the limit on its own.
+   */
+  private List<Part> writeWithinLimit(Document document, PageRange range) {
+    byte[] content = splitter.extractRange(document, range.fromPage(), range.toPage());
+    List<Part> parts = new ArrayList<>();
+    if (content.length <= options.getMaxPartBytes() || range.fromPage() == range.toPage()) {
+      parts.add(new Part(range, content));
+      return parts;
+    }
+    int middlePage = (range.fromPage() + range.toPage()) / 2;
+    parts.addAll(writeWithinLimit(document, new PageRange(range.fromPage(), middlePage)));
+    parts.addAll(writeWithinLimit(document, new PageRange(middlePage + 1, range.toPage())));
+    return parts;
+  }
+}
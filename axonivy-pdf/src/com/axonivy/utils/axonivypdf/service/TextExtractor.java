@@ -0,0 +1,86 @@
+package com.axonivy.utils.axonivypdf.service;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Path;
+
+import org.apache.commons.lang3.StringUtils;
+
+import com.aspose.pdf.Document;
+import com.aspose.pdf.TextAbsorber;
+import com.axonivy.utils.axonivypdf.dto.TextExtractOptions;
+import com.axonivy.utils.axonivypdf.exception.AxonivyPdfException;
+import com.axonivy.utils.axonivypdf.jfr.PdfPageEvent;
+import com.axonivy.utils.axonivypdf.service.ParallelPageProcessor.PageConsumer;
+
+/**
+ * Extracts the text of a page range page by page and writes it while it is produced.
+ * <p>
+ * Every page is visited by its own {@link TextAbsorber}. The text of a page is written and flushed before the next page
+ * is consumed, so only the text of the pages in flight is held in memory and the first page reaches the output right
+ * away. Pages are extracted concurrently by a {@link ParallelPageProcessor}, the output stays in page order.
+ * </p>
+ */
+class TextExtractor {
+  private final String fileName;
+  private final TextExtractOptions options;
+  private final int parallelism;
+
+  TextExtractor(String fileName, TextExtractOptions options, int parallelism) {
+    this.fileName = fileName;
+    this.options = options;
+    this.parallelism = parallelism;
+  }
+
+  /**
+   * Extracts the text of the selected pages of the document into the writer. The document is closed afterwards.
+   *
+   * @param document the parsed source, used by the first worker
+   * @param source the source file, parsed once more by every further worker, see {@link SourceFile}
+   * @return the number of extracted pages
+   * @throws AxonivyPdfException if the page range is outside of the document
+   */
+  int extract(Document document, Path source, Writer writer) throws IOException {
+    boolean[] firstPage = {true};
+    return extractPages(document, source, (pageNumber, text) -> {
+      if (!firstPage[0]) {
+        writer.write(separatorBefore(pageNumber));
+      }
+      firstPage[0] = false;
+      writer.write(text);
+      writer.flush();
+    });
+  }
+
+  /**
+   * Extracts the text of the selected pages of the document and hands it to the consumer page by page, in page order.
+   * The document is closed afterwards.
+   *
+   * @param document the parsed source, used by the first worker
+   * @param source the source file, parsed once more by every further worker, see {@link SourceFile}
+   * @return the number of extracted pages
+   * @throws AxonivyPdfException if the page range is outside of the document
+   */
+  int extractPages(Document document, Path source, PageConsumer<String> consumer) throws IOException {
+    return new ParallelPageProcessor(source, parallelism).processRange(document, options.getStartPage(),
+        options.getEndPage(), this::extractPage, consumer);
+  }
+
+  private String extractPage(Document document, int pageNumber) {
+    PdfPageEvent event = new PdfPageEvent();
+    event.begin();
+    TextAbsorber absorber = new TextAbsorber();
+    document.getPages().get_Item(pageNumber).accept(absorber);
+    if (event.shouldCommit()) {
+      event.setFileName(fileName);
+      event.setPageIndex(pageNumber);
+      event.commit();
+    }
+    return absorber.getText();
+  }
+
+  private String separatorBefore(int pageNumber) {
+    String separator = StringUtils.defaultString(options.getPageSeparator());
+    return separator.contains("%d") ? String.format(separator, pageNumber) : separator;
+  }
+}
@@ -0,0 +1,645 @@
+package com.axonivy.utils.axonivypdf.service;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+import org.apache.commons.lang3.StringUtils;
+
+import com.axonivy.utils.axonivypdf.dto.TextIndexHit;
+import com.axonivy.utils.axonivypdf.enums.PdfVariable;
+import com.axonivy.utils.axonivypdf.exception.AxonivyPdfException;
+import com.axonivy.utils.axonivypdf.service.PostingCodec.Posting;
+
+/**
+ * Persistent full-text index over the page text of PDF documents.
+ * <p>
+ * Documents are identified by the SHA-256 hash of their content, so a document is extracted and indexed only once no
+ * matter how often it is added. Every term maps to the pages it occurs on together with its word positions on the
+ * page, which answers term and phrase queries without touching the documents again. Terms are the runs of letters and
+ * digits of the text, compared case insensitively after Unicode compatibility normalization.
+ * </p>
+ * <p>
+ * The index lives in one directory: a catalog of the documents and segments, and the immutable segment files written
+ * by {@link IndexSegment}. Added and removed documents are collected in memory and become visible to searches with
+ * {@link #commit()}, which writes the added documents as a new segment and then replaces the catalog atomically, so an
+ * interrupted commit leaves the previous state intact. Large batches are committed automatically. Removed documents
+ * are left out of the results until the segments holding them are merged: whenever a commit leaves more than
+ * {@value #MERGE_FACTOR} segments, the smallest are merged into one, which keeps the number of reads per query low.
+ * Searches run concurrently, commits and merges block them for their duration. A directory can only be opened by one
+ * index at a time, which holds a lock on it until it is closed. The index is therefore owned by its caller and not
+ * kept in a static field, where it would outlive a redeployment of the project and lock out the new one.
+ * </p>
+ *
+ * <pre>
+ * try (TextIndex index = TextIndex.open()) {
+ *   PdfService.getInstance().indexText(uploadedFile, index);
+ *   index.commit();
+ *   List&lt;TextIndexHit&gt; hits = index.search("purchase order");
+ * }
+ * </pre>
+ */
+public class TextIndex implements Closeable {
+  static final int MERGE_FACTOR = 10;
+  /** Longer terms are skipped, they are mostly encoded data extracted as text. */
+  static final int MAX_TERM_LENGTH = 128;
+  private static final long MAX_PENDING_POSITIONS = 8L * 1024 * 1024;
+  private static final String CATALOG_FILE = "catalog";
+  private static final String CATALOG_TEMP_FILE = "catalog.tmp";
+  private static final String LOCK_FILE = "write.lock";
+  private static final String SEGMENT_FILE_PATTERN = "segment_%d" + IndexSegment.FILE_EXTENSION;
+  private static final int CATALOG_MAGIC = 0x50444943;
+  private static final int CATALOG_VERSION = 1;
+  private static final Comparator<PageHit> HIT_ORDER =
+      Comparator.comparingInt(PageHit::docId).thenComparingInt(PageHit::pageNumber);
+
+  private final Path directory;
+  private final FileChannel lockChannel;
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+  private List<IndexSegment> segments = new ArrayList<>();
+  private Map<String, IndexedDocument> documents = new HashMap<>();
+  private Map<Integer, IndexedDocument> documentsById = new HashMap<>();
+  /** Removed documents still contained in a segment. */
+  private Set<Integer> removedDocIds = new HashSet<>();
+  private int nextDocId;
+  private int nextSegmentNumber;
+
+  private final TreeMap<String, List<Posting>> pendingPostings = new TreeMap<>();
+  private final Map<String, IndexedDocument> pendingDocuments = new LinkedHashMap<>();
+  private final Set<String> pendingRemovals = new HashSet<>();
+  private long pendingPositions;
+  private boolean closed;
+
+  /**
+   * Opens the index in the directory, creating it if it does not exist yet.
+   *
+   * @throws AxonivyPdfException if the directory is already used by another index
+   */
+  public TextIndex(Path directory) throws IOException {
+    this.directory = directory;
+    Files.createDirectories(directory);
+    lockChannel = FileChannel.open(directory.resolve(LOCK_FILE), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+    try {
+      FileLock fileLock = lockChannel.tryLock();
+      if (fileLock == null) {
+        throw new AxonivyPdfException("The text index in " + directory + " is already in use");
+      }
+      readCatalog();
+      deleteUnreferencedFiles();
+    } catch (OverlappingFileLockException e) {
+      lockChannel.close();
+      throw new AxonivyPdfException("The text index in " + directory + " is already in use");
+    } catch (IOException | RuntimeException e) {
+      closeSegments(segments);
+      lockChannel.close();
+      throw e;
+    }
+    documentsById = indexById(documents.values());
+  }
+
+  /**
+   * Opens the index in the directory of the {@code AxonivyPdf.TextIndex.Directory} variable. The caller has to close
+   * it, until then no other index can open the directory.
+   *
+   * @throws AxonivyPdfException if the variable is not set or the index cannot be opened
+   */
+  public static TextIndex open() {
+    String directory = PdfVariable.TEXT_INDEX_DIRECTORY.getValue();
+    if (StringUtils.isBlank(directory)) {
+      throw new AxonivyPdfException(
+          "Please set the variable " + PdfVariable.TEXT_INDEX_DIRECTORY.getKey() + " to use the text index");
+    }
+    try {
+      return new TextIndex(Path.of(directory));
+    } catch (IOException e) {
+      throw new AxonivyPdfException(e.getMessage());
+    }
+  }
+
+  record IndexedDocument(int docId, String contentHash, String fileName, int pageCount) {}
+
+  private record PageHit(int docId, int pageNumber, int matchCount) {}
+
+  /**
+   * The terms of a document collected page by page before the document is added to the index.
+   */
+  static final class DocumentTerms {
+    private final String contentHash;
+    private final String fileName;
+    private final Map<String, List<Posting>> postings = new HashMap<>();
+    private int pageCount;
+    private long positionCount;
+
+    DocumentTerms(String contentHash, String fileName) {
+      this.contentHash = contentHash;
+      this.fileName = fileName;
+    }
+
+    /**
+     * Adds the text of the next page.
+     */
+    void addPage(int pageNumber, String text) {
+      List<String> terms = tokenize(text);
+      Map<String, List<Integer>> pagePositions = new HashMap<>();
+      for (int position = 0; position < terms.size(); position++) {
+        String term = terms.get(position);
+        if (term.length() <= MAX_TERM_LENGTH) {
+          pagePositions.computeIfAbsent(term, key -> new ArrayList<>()).add(position);
+        }
+      }
+      pagePositions.forEach((term, positions) -> postings.computeIfAbsent(term, key -> new ArrayList<>())
+          .add(new Posting(0, pageNumber, positions.stream().mapToInt(Integer::intValue).toArray())));
+      pageCount++;
+      positionCount += terms.size();
+    }
+  }
+
+  /**
+   * Whether the document with the given content is indexed, including added documents not committed yet.
+   */
+  public boolean contains(String contentHash) {
+    lock.readLock().lock();
+    try {
+      return containsPending(contentHash);
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Adds the collected terms of a document, unless a document with the same content is already indexed. Commits the
+   * pending changes once they hold more than {@value #MAX_PENDING_POSITIONS} words.
+   */
+  void add(DocumentTerms terms) throws IOException {
+    lock.writeLock().lock();
+    try {
+      ensureOpen();
+      if (pendingRemovals.remove(terms.contentHash) || containsPending(terms.contentHash)) {
+        return;
+      }
+      IndexedDocument document =
+          new IndexedDocument(nextDocId++, terms.contentHash, terms.fileName, terms.pageCount);
+      pendingDocuments.put(document.contentHash(), document);
+      terms.postings.forEach((term, postings) -> {
+        List<Posting> target = pendingPostings.computeIfAbsent(term, key -> new ArrayList<>());
+        for (Posting posting : postings) {
+          target.add(new Posting(document.docId(), posting.pageNumber(), posting.positions()));
+        }
+      });
+      pendingPositions += terms.positionCount;
+      if (pendingPositions > MAX_PENDING_POSITIONS) {
+        commitPending();
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Removes the document with the given content, effective with the next commit.
+   *
+   * @return whether the document was indexed
+   */
+  public boolean remove(String contentHash) {
+    lock.writeLock().lock();
+    try {
+      ensureOpen();
+      if (pendingDocuments.remove(contentHash) != null) {
+        return true;
+      }
+      return documents.containsKey(contentHash) && pendingRemovals.add(contentHash);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Makes the added and removed documents visible to searches and durable.
+   */
+  public void commit() throws IOException {
+    lock.writeLock().lock();
+    try {
+      ensureOpen();
+      commitPending();
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Commits the pending changes and merges all segments into one, which drops the removed documents from disk and
+   * makes the following searches read a single segment.
+   */
+  public void optimize() throws IOException {
+    lock.writeLock().lock();
+    try {
+      ensureOpen();
+      commitPending();
+      if (segments.isEmpty() || segments.size() == 1 && removedDocIds.isEmpty()) {
+        return;
+      }
+      Path file = directory.resolve(String.format(SEGMENT_FILE_PATTERN, nextSegmentNumber));
+      IndexSegment merged = null;
+      try {
+        IndexSegment.merge(segments, removedDocIds, file);
+        merged = IndexSegment.open(file);
+        writeCatalog(nextSegmentNumber + 1, List.of(merged), documents.values(), Set.of());
+      } catch (IOException | RuntimeException e) {
+        if (merged != null) {
+          merged.close();
+        }
+        Files.deleteIfExists(file);
+        throw e;
+      }
+      List<IndexSegment> obsolete = segments;
+      segments = new ArrayList<>(List.of(merged));
+      removedDocIds = new HashSet<>();
+      nextSegmentNumber++;
+      deleteSegments(obsolete);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Searches all pages containing the words of the query in this order, see {@link #search(String, int)}.
+   */
+  public List<TextIndexHit> search(String query) throws IOException {
+    return search(query, Integer.MAX_VALUE);
+  }
+
+  /**
+   * Searches the committed documents for pages containing the words of the query in this order. A query of a single
+   * word is a term query, punctuation and case are ignored like in the indexed text.
+   *
+   * @param query the term or phrase to search
+   * @param maxHits the maximum number of pages to return
+   * @return the matching pages ordered by the time their document was added and by page number
+   */
+  public List<TextIndexHit> search(String query, int maxHits) throws IOException {
+    List<String> terms = tokenize(StringUtils.defaultString(query));
+    if (terms.isEmpty() || maxHits <= 0) {
+      return List.of();
+    }
+    lock.readLock().lock();
+    try {
+      ensureOpen();
+      List<PageHit> pageHits = new ArrayList<>();
+      for (IndexSegment segment : segments) {
+        collectHits(segment, terms, pageHits);
+      }
+      pageHits.sort(HIT_ORDER);
+      List<TextIndexHit> hits = new ArrayList<>();
+      for (PageHit pageHit : pageHits.subList(0, Math.min(maxHits, pageHits.size()))) {
+        IndexedDocument document = documentsById.get(pageHit.docId());
+        hits.add(new TextIndexHit(document.contentHash(), document.fileName(), pageHit.pageNumber(),
+            pageHit.matchCount()));
+      }
+      return hits;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Number of committed documents.
+   */
+  public int getDocumentCount() {
+    lock.readLock().lock();
+    try {
+      return documents.size();
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  public int getSegmentCount() {
+    lock.readLock().lock();
+    try {
+      return segments.size();
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  public Path getDirectory() {
+    return directory;
+  }
+
+  /**
+   * Commits the pending changes and releases the directory.
+   */
+  @Override
+  public void close() throws IOException {
+    lock.writeLock().lock();
+    try {
+      if (closed) {
+        return;
+      }
+      try {
+        commitPending();
+      } finally {
+        closed = true;
+        closeSegments(segments);
+        lockChannel.close();
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Splits the text into lower case terms of letters and digits.
+   */
+  static List<String> tokenize(String text) {
+    String normalized = Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+    List<String> terms = new ArrayList<>();
+    int start = -1;
+    for (int i = 0; i < normalized.length();) {
+      int codePoint = normalized.codePointAt(i);
+      if (Character.isLetterOrDigit(codePoint)) {
+        start = start < 0 ? i : start;
+      } else if (start >= 0) {
+        terms.add(normalized.substring(start, i));
+        start = -1;
+      }
+      i += Character.charCount(codePoint);
+    }
+    if (start >= 0) {
+      terms.add(normalized.substring(start));
+    }
+    return terms;
+  }
+
+  private boolean containsPending(String contentHash) {
+    return pendingDocuments.containsKey(contentHash)
+        || documents.containsKey(contentHash) && !pendingRemovals.contains(contentHash);
+  }
+
+  /**
+   * Finds the pages of the segment containing all terms at consecutive positions. The posting lists are sorted the
+   * same way, so they are intersected in a single pass.
+   */
+  private void collectHits(IndexSegment segment, List<String> terms, List<PageHit> hits) throws IOException {
+    List<List<Posting>> postingLists = new ArrayList<>();
+    for (String term : terms) {
+      List<Posting> postings = segment.postings(term);
+      if (postings.isEmpty()) {
+        return;
+      }
+      postingLists.add(postings);
+    }
+
+    int[] cursors = new int[terms.size()];
+    Posting[] page = new Posting[terms.size()];
+    for (Posting first : postingLists.get(0)) {
+      if (!documentsById.containsKey(first.docId())) {
+        continue;
+      }
+      page[0] = first;
+      boolean onPage = true;
+      for (int i = 1; i < terms.size() && onPage; i++) {
+        List<Posting> postings = postingLists.get(i);
+        while (cursors[i] < postings.size() && compare(postings.get(cursors[i]), first) < 0) {
+          cursors[i]++;
+        }
+        onPage = cursors[i] < postings.size() && compare(postings.get(cursors[i]), first) == 0;
+        page[i] = onPage ? postings.get(cursors[i]) : null;
+      }
+      int matchCount = onPage ? countPhrases(page) : 0;
+      if (matchCount > 0) {
+        hits.add(new PageHit(first.docId(), first.pageNumber(), matchCount));
+      }
+    }
+  }
+
+  private static int compare(Posting posting, Posting other) {
+    return IndexSegment.POSTING_ORDER.compare(posting, other);
+  }
+
+  private static int countPhrases(Posting[] page) {
+    int count = 0;
+    for (int position : page[0].positions()) {
+      boolean phrase = true;
+      for (int i = 1; i < page.length && phrase; i++) {
+        phrase = Arrays.binarySearch(page[i].positions(), position + i) >= 0;
+      }
+      if (phrase) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Writes the pending documents as new segment, merges segments if there are too many and replaces the catalog. The
+   * state in memory is only changed once the catalog is written.
+   */
+  private void commitPending() throws IOException {
+    if (pendingDocuments.isEmpty() && pendingRemovals.isEmpty()) {
+      clearPending();
+      return;
+    }
+
+    List<IndexSegment> newSegments = new ArrayList<>(segments);
+    Map<String, IndexedDocument> newDocuments = new HashMap<>(documents);
+    Set<Integer> newRemovedDocIds = new HashSet<>(removedDocIds);
+    List<IndexSegment> opened = new ArrayList<>();
+    List<IndexSegment> obsolete = new ArrayList<>();
+    List<Path> created = new ArrayList<>();
+    int segmentNumber = nextSegmentNumber;
+    try {
+      if (!pendingDocuments.isEmpty()) {
+        Path file = directory.resolve(String.format(SEGMENT_FILE_PATTERN, segmentNumber++));
+        created.add(file);
+        IndexSegment segment = writePendingSegment(file);
+        opened.add(segment);
+        newSegments.add(segment);
+        pendingDocuments.values().forEach(document -> newDocuments.put(document.contentHash(), document));
+      }
+      for (String contentHash : pendingRemovals) {
+        newRemovedDocIds.add(newDocuments.remove(contentHash).docId());
+      }
+      while (newSegments.size() > MERGE_FACTOR) {
+        List<IndexSegment> smallest = newSegments.stream().sorted(Comparator.comparingLong(IndexSegment::getSize))
+            .limit(MERGE_FACTOR).toList();
+        Path file = directory.resolve(String.format(SEGMENT_FILE_PATTERN, segmentNumber++));
+        created.add(file);
+        IndexSegment.merge(smallest, newRemovedDocIds, file);
+        IndexSegment merged = IndexSegment.open(file);
+        opened.add(merged);
+        newSegments.removeAll(smallest);
+        newSegments.add(merged);
+        obsolete.addAll(smallest);
+      }
+      Set<Integer> segmentDocIds = newSegments.stream().flatMapToInt(segment -> Arrays.stream(segment.getDocIds()))
+          .boxed().collect(Collectors.toSet());
+      newRemovedDocIds.retainAll(segmentDocIds);
+      writeCatalog(segmentNumber, newSegments, newDocuments.values(), newRemovedDocIds);
+    } catch (IOException | RuntimeException e) {
+      closeSegments(opened);
+      for (Path file : created) {
+        Files.deleteIfExists(file);
+      }
+      throw e;
+    }
+
+    segments = newSegments;
+    documents = newDocuments;
+    documentsById = indexById(newDocuments.values());
+    removedDocIds = newRemovedDocIds;
+    nextSegmentNumber = segmentNumber;
+    clearPending();
+    deleteSegments(obsolete);
+  }
+
+  private IndexSegment writePendingSegment(Path file) throws IOException {
+    Set<Integer> docIds =
+        pendingDocuments.values().stream().map(IndexedDocument::docId).collect(Collectors.toSet());
+    try (IndexSegment.Writer writer = new IndexSegment.Writer(file)) {
+      for (Map.Entry<String, List<Posting>> entry : pendingPostings.entrySet()) {
+        writer.add(entry.getKey(),
+            entry.getValue().stream().filter(posting -> docIds.contains(posting.docId())).toList());
+      }
+      writer.finish(docIds.stream().mapToInt(Integer::intValue).sorted().toArray());
+    }
+    return IndexSegment.open(file);
+  }
+
+  private void clearPending() {
+    pendingPostings.clear();
+    pendingDocuments.clear();
+    pendingRemovals.clear();
+    pendingPositions = 0;
+  }
+
+  private void readCatalog() throws IOException {
+    Path catalog = directory.resolve(CATALOG_FILE);
+    if (!Files.exists(catalog)) {
+      return;
+    }
+    try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(catalog)))) {
+      if (in.readInt() != CATALOG_MAGIC || in.readInt() != CATALOG_VERSION) {
+        throw new AxonivyPdfException("The text index catalog in " + directory + " is damaged");
+      }
+      nextDocId = in.readInt();
+      nextSegmentNumber = in.readInt();
+      int segmentCount = in.readInt();
+      for (int i = 0; i < segmentCount; i++) {
+        segments.add(IndexSegment.open(directory.resolve(in.readUTF())));
+      }
+      int documentCount = in.readInt();
+      for (int i = 0; i < documentCount; i++) {
+        IndexedDocument document = new IndexedDocument(in.readInt(), in.readUTF(), in.readUTF(), in.readInt());
+        documents.put(document.contentHash(), document);
+      }
+      int removedCount = in.readInt();
+      for (int i = 0; i < removedCount; i++) {
+        removedDocIds.add(in.readInt());
+      }
+    }
+  }
+
+  /**
+   * Writes the catalog to a temporary file and moves it over the current catalog, so the catalog on disk is always
+   * complete.
+   */
+  private void writeCatalog(int segmentNumber, List<IndexSegment> catalogSegments,
+      Collection<IndexedDocument> catalogDocuments, Set<Integer> catalogRemovedDocIds) throws IOException {
+    Path temp = directory.resolve(CATALOG_TEMP_FILE);
+    try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+        StandardOpenOption.TRUNCATE_EXISTING)) {
+      DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel)));
+      out.writeInt(CATALOG_MAGIC);
+      out.writeInt(CATALOG_VERSION);
+      out.writeInt(nextDocId);
+      out.writeInt(segmentNumber);
+      out.writeInt(catalogSegments.size());
+      for (IndexSegment segment : catalogSegments) {
+        out.writeUTF(segment.getFile().getFileName().toString());
+      }
+      out.writeInt(catalogDocuments.size());
+      for (IndexedDocument document : catalogDocuments) {
+        out.writeInt(document.docId());
+        out.writeUTF(document.contentHash());
+        out.writeUTF(StringUtils.defaultString(document.fileName()));
+        out.writeInt(document.pageCount());
+      }
+      out.writeInt(catalogRemovedDocIds.size());
+      for (int docId : catalogRemovedDocIds) {
+        out.writeInt(docId);
+      }
+      out.flush();
+      channel.force(true);
+    }
+    Files.move(temp, directory.resolve(CATALOG_FILE), StandardCopyOption.ATOMIC_MOVE,
+        StandardCopyOption.REPLACE_EXISTING);
+  }
+
+  /**
+   * Deletes segments left behind by an interrupted commit.
+   */
+  private void deleteUnreferencedFiles() throws IOException {
+    Set<Path> referenced = segments.stream().map(IndexSegment::getFile).collect(Collectors.toSet());
+    try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + IndexSegment.FILE_EXTENSION)) {
+      for (Path file : files) {
+        if (!referenced.contains(file)) {
+          Files.deleteIfExists(file);
+        }
+      }
+    }
+    Files.deleteIfExists(directory.resolve(CATALOG_TEMP_FILE));
+  }
+
+  private static void deleteSegments(List<IndexSegment> obsolete) throws IOException {
+    closeSegments(obsolete);
+    for (IndexSegment segment : obsolete) {
+      Files.deleteIfExists(segment.getFile());
+    }
+  }
+
+  private static void closeSegments(List<IndexSegment> toClose) throws IOException {
+    for (IndexSegment segment : toClose) {
+      segment.close();
+    }
+  }
+
+  private static Map<Integer, IndexedDocument> indexById(Collection<IndexedDocument> indexed) {
+    return indexed.stream().collect(Collectors.toMap(IndexedDocument::docId, document -> document));
+  }
+
+  private void ensureOpen() {
+    if (closed) {
+      throw new AxonivyPdfException("The text index in " + directory + " is closed");
+    }
+  }
+}
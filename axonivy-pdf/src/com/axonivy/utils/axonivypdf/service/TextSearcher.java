@@ -0,0 +1,128 @@
+package com.axonivy.utils.axonivypdf.service;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import com.aspose.pdf.Document;
+import com.aspose.pdf.Rectangle;
+import com.aspose.pdf.TextFragment;
+import com.aspose.pdf.TextFragmentAbsorber;
+import com.axonivy.utils.axonivypdf.dto.TextSearchMatch;
+import com.axonivy.utils.axonivypdf.dto.TextSearchOptions;
+import com.axonivy.utils.axonivypdf.exception.AxonivyPdfException;
+import com.axonivy.utils.axonivypdf.jfr.PdfPageEvent;
+
+/**
+ * Searches the text of a page range page by page and stops once enough matches are found.
+ * <p>
+ * Every page is visited by its own {@link TextFragmentAbsorber} in regular expression mode, which yields the matched
+ * fragments together with their rectangles. Pages are searched by a {@link ParallelPageProcessor} and consumed in page
+ * order, so the matches are the first ones of the document no matter how many pages run concurrently. Pages after the
+ * last needed one are not searched, only pages already running are cancelled.
+ * </p>
+ */
+class TextSearcher {
+  private static final String REGEX_METACHARACTERS = "\\^$.|?*+()[]{}";
+
+  private final String fileName;
+  private final TextSearchOptions options;
+  private final int parallelism;
+  private final String regex;
+  private final int maxMatches;
+
+  /**
+   * @throws AxonivyPdfException if the options have no pattern
+   */
+  TextSearcher(String fileName, TextSearchOptions options, int parallelism) {
+    if (options.getPattern() == null || options.getPattern().pattern().isEmpty()) {
+      throw new AxonivyPdfException("Please enter a text or pattern to search for");
+    }
+    this.fileName = fileName;
+    this.options = options;
+    this.parallelism = parallelism;
+    this.regex = toSearchRegex(options.getPattern());
+    this.maxMatches = options.getMaxMatches() > 0 ? options.getMaxMatches() : Integer.MAX_VALUE;
+  }
+
+  /**
+   * Searches the selected pages of the document until enough matches are found. The document is closed afterwards.
+   *
+   * @param document the parsed source, used by the first worker
+   * @param source the source file, parsed once more by every further worker, see {@link SourceFile}
+   * @param matches receives the matches in page order
+   * @return the number of searched pages
+   * @throws AxonivyPdfException if the page range is outside of the document
+   */
+  int search(Document document, Path source, List<TextSearchMatch> matches) throws IOException {
+    return new ParallelPageProcessor(source, parallelism).visitRange(document, options.getStartPage(),
+        options.getEndPage(), this::searchPage, (pageNumber, pageMatches) -> {
+          for (TextSearchMatch match : pageMatches) {
+            if (matches.size() >= maxMatches) {
+              break;
+            }
+            matches.add(match);
+          }
+          return matches.size() < maxMatches;
+        });
+  }
+
+  private List<TextSearchMatch> searchPage(Document document, int pageNumber) {
+    PdfPageEvent event = new PdfPageEvent();
+    event.begin();
+    TextFragmentAbsorber absorber = new TextFragmentAbsorber(regex, new com.aspose.pdf.TextSearchOptions(true));
+    document.getPages().get_Item(pageNumber).accept(absorber);
+    List<TextSearchMatch> matches = new ArrayList<>();
+    for (TextFragment fragment : absorber.getTextFragments()) {
+      if (matches.size() >= maxMatches) {
+        break;
+      }
+      Rectangle rect = fragment.getRectangle();
+      matches.add(new TextSearchMatch(pageNumber, fragment.getText(), rect.getLLX(), rect.getLLY(), rect.getURX(),
+          rect.getURY()));
+    }
+    if (event.shouldCommit()) {
+      event.setFileName(fileName);
+      event.setPageIndex(pageNumber);
+      event.commit();
+    }
+    return matches;
+  }
+
+  /**
+   * Translates the pattern into the expression handed to Aspose: literal patterns are escaped and the supported flags
+   * are prepended as inline flags.
+   */
+  static String toSearchRegex(Pattern pattern) {
+    int flags = pattern.flags();
+    String expression = (flags & Pattern.LITERAL) != 0 ? escape(pattern.pattern()) : pattern.pattern();
+    StringBuilder inlineFlags = new StringBuilder();
+    if ((flags & Pattern.CASE_INSENSITIVE) != 0) {
+      inlineFlags.append('i');
+    }
+    if ((flags & Pattern.MULTILINE) != 0) {
+      inlineFlags.append('m');
+    }
+    if ((flags & Pattern.DOTALL) != 0) {
+      inlineFlags.append('s');
+    }
+    if ((flags & Pattern.COMMENTS) != 0) {
+      inlineFlags.append('x');
+    }
+    return inlineFlags.isEmpty() ? expression : "(?" + inlineFlags + ")" + expression;
+  }
+
+  private static String escape(String text) {
+    StringBuilder escaped = new StringBuilder(text.length() * 2);
+    for (int i = 0; i < text.length(); i++) {
+      char c = text.charAt(i);
+      if (REGEX_METACHARACTERS.indexOf(c) >= 0) {
+        escaped.append('\\');
+      }
+      escaped.append(c);
+    }
+    return escaped.toString();
+  }
+}
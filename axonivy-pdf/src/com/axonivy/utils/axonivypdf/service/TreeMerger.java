@@ -0,0 +1,177 @@
+package com.axonivy.utils.axonivypdf.service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import com.axonivy.utils.axonivypdf.dto.MergeFailure;
+import com.axonivy.utils.axonivypdf.dto.MergeOptions;
+import com.axonivy.utils.axonivypdf.dto.MergeResult;
+import com.axonivy.utils.axonivypdf.enums.FileExtension;
+import com.axonivy.utils.axonivypdf.exception.AxonivyPdfException;
+import com.axonivy.utils.axonivypdf.metrics.PdfMetrics;
+
+/**
+ * Merges large batches hierarchically on a bounded worker pool.
+ * <p>
+ * The inputs are cut into groups of {@code fanIn} consecutive files, which are merged concurrently by an
+ * {@link IncrementalMerger} each into an intermediate file. The intermediate files are merged in groups of
+ * {@code fanIn} again, level by level, until at most {@code fanIn} are left for the final merge into the target.
+ * Groups are always consecutive and collected in order, so the page order and the bookmarks of the inputs are kept.
+ * Intermediate files are deleted once the next level has read them.
+ * </p>
+ */
+class TreeMerger {
+  private static final String INTERMEDIATE_FILE_PREFIX = "axonivy_pdf_merge_group";
+  private static final int MIN_FAN_IN = 2;
+
+  private final MergeOptions options;
+  private final int fanIn;
+  private final int parallelism;
+
+  TreeMerger(MergeOptions options, int parallelism) {
+    this.options = options;
+    this.fanIn = Math.max(MIN_FAN_IN, options.getFanIn());
+    this.parallelism = ParallelPageProcessor.resolveParallelism(parallelism);
+  }
+
+  private record Group(Path file, MergeResult result) {}
+
+  /**
+   * Merges the inputs, in order, into the target file. Nothing is written if no input could be merged.
+   *
+   * @return the result, without content
+   * @throws AxonivyPdfException at the first unreadable input unless failed inputs are skipped
+   */
+  MergeResult merge(List<MergeInput> inputs, Path target) throws IOException {
+    if (inputs.size() <= fanIn) {
+      return new IncrementalMerger(options).merge(inputs, target);
+    }
+
+    ExecutorService executor = Executors.newFixedThreadPool(Math.min(parallelism, groupCount(inputs.size())));
+    List<Path> intermediates = new ArrayList<>();
+    try {
+      List<MergeFailure> failures = new ArrayList<>();
+      int mergedFileCount = 0;
+      List<MergeInput> level = new ArrayList<>();
+      List<Group> leaves = mergeGroups(executor, inputs, leafOptions(), intermediates);
+      for (Group leaf : leaves) {
+        failures.addAll(leaf.result().getFailures());
+        mergedFileCount += leaf.result().getMergedFileCount();
+        if (leaf.result().getMergedFileCount() > 0) {
+          level.add(MergeInput.of(level.size(), leaf.file()));
+        }
+      }
+      if (mergedFileCount == 0) {
+        return new MergeResult(null, 0, 0, failures);
+      }
+
+      while (level.size() > fanIn) {
+        List<Group> groups = mergeGroups(executor, level, nodeOptions(false), intermediates);
+        deleteFiles(leaves);
+        leaves = groups;
+        level = new ArrayList<>();
+        for (Group group : groups) {
+          level.add(MergeInput.of(level.size(), group.file()));
+        }
+      }
+      MergeResult root = new IncrementalMerger(nodeOptions(options.isDeduplicateResources())).merge(level, target);
+      return new MergeResult(null, mergedFileCount, root.getPageCount(), failures);
+    } finally {
+      executor.shutdownNow();
+      awaitTermination(executor);
+      for (Path intermediate : intermediates) {
+        Files.deleteIfExists(intermediate);
+      }
+    }
+  }
+
+  /**
+   * Merges every group of consecutive inputs concurrently into its own intermediate file.
+   *
+   * @return the merged groups in input order
+   */
+  private List<Group> mergeGroups(ExecutorService executor, List<MergeInput> inputs, MergeOptions groupOptions,
+      List<Path> intermediates) throws IOException {
+    List<Future<Group>> futures = new ArrayList<>();
+    try {
+      for (int from = 0; from < inputs.size(); from += fanIn) {
+        List<MergeInput> group = inputs.subList(from, Math.min(from + fanIn, inputs.size()));
+        Path file = Files.createTempFile(INTERMEDIATE_FILE_PREFIX, FileExtension.PDF.getExtension());
+        intermediates.add(file);
+        futures.add(executor.submit(
+            PdfMetrics.onWorker(() -> new Group(file, new IncrementalMerger(groupOptions).merge(group, file)))));
+      }
+      List<Group> groups = new ArrayList<>();
+      for (Future<Group> future : futures) {
+        groups.add(await(future));
+      }
+      return groups;
+    } finally {
+      futures.forEach(future -> future.cancel(true));
+    }
+  }
+
+  private int groupCount(int inputCount) {
+    return (inputCount + fanIn - 1) / fanIn;
+  }
+
+  /**
+   * The first level reads the inputs as configured but leaves deduplication to the final merge.
+   */
+  private MergeOptions leafOptions() {
+    MergeOptions leafOptions = new MergeOptions();
+    leafOptions.setSkipFailedInputs(options.isSkipFailedInputs());
+    leafOptions.setPacketSize(options.getPacketSize());
+    return leafOptions;
+  }
+
+  /**
+   * Intermediate files are already file-backed and can be large, so every one of them is written to disk on its own.
+   */
+  private static MergeOptions nodeOptions(boolean deduplicateResources) {
+    MergeOptions nodeOptions = new MergeOptions();
+    nodeOptions.setPacketSize(1);
+    nodeOptions.setDeduplicateResources(deduplicateResources);
+    return nodeOptions;
+  }
+
+  private static void deleteFiles(List<Group> groups) throws IOException {
+    for (Group group : groups) {
+      Files.deleteIfExists(group.file());
+    }
+  }
+
+  private static Group await(Future<Group> future) throws IOException {
+    try {
+      return future.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new AxonivyPdfException("Merging was interrupted");
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof IOException ioException) {
+        throw ioException;
+      }
+      if (cause instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      }
+      throw new AxonivyPdfException(cause.getMessage());
+    }
+  }
+
+  private static void awaitTermination(ExecutorService executor) {
+    try {
+      executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,122 @@
+package com.axonivy.utils.axonivypdf.service;
+
+import java.io.Closeable;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import com.axonivy.utils.axonivypdf.jfr.PdfZipEntryEvent;
+
+/**
+ * Streaming zip archive written straight into a target stream.
+ * <p>
+ * Every entry is compressed and forwarded as soon as it is produced, there is no temporary directory and no second
+ * read pass. {@link #finish()} completes the archive, closing the sink releases the native memory of the compressor but
+ * leaves the target stream open, ownership stays with the caller.
+ * Every entry is reported as {@link PdfZipEntryEvent} to Java Flight Recorder.
+ * </p>
+ */
+class ZipSink implements Closeable {
+  private final ArchiveOutputStream zip;
+  private final OutputStream entryStream;
+  private final String fileName;
+  private boolean finished;
+
+  /**
+   * @param output the target stream
+   * @param fileName the name of the source file, for diagnostics only
+   */
+  ZipSink(OutputStream output, String fileName) {
+    this.zip = new ArchiveOutputStream(new NonClosingOutputStream(output));
+    this.fileName = fileName;
+    this.entryStream = new NonClosingOutputStream(zip);
+  }
+
+  /**
+   * Adds an entry whose content is produced by the writer. The writer may close the stream it receives, this does not
+   * affect the archive.
+   */
+  void putEntry(String name, OutputWriter writer) throws IOException {
+    PdfZipEntryEvent event = new PdfZipEntryEvent();
+    event.begin();
+    ZipEntry entry = new ZipEntry(name);
+    zip.putNextEntry(entry);
+    writer.writeTo(entryStream);
+    zip.closeEntry();
+    commit(event, entry.getSize());
+  }
+
+  void putEntry(String name, byte[] content) throws IOException {
+    PdfZipEntryEvent event = new PdfZipEntryEvent();
+    event.begin();
+    zip.putNextEntry(new ZipEntry(name));
+    zip.write(content);
+    zip.closeEntry();
+    commit(event, content.length);
+  }
+
+  private void commit(PdfZipEntryEvent event, long bytes) {
+    if (event.shouldCommit()) {
+      event.setFileName(fileName);
+      event.setBytes(bytes);
+      event.commit();
+    }
+  }
+
+  /**
+   * Writes the central directory, to be called once all entries are added.
+   */
+  void finish() throws IOException {
+    zip.finish();
+    zip.flush();
+    finished = true;
+  }
+
+  /**
+   * Releases the compressor. Unless the archive was finished, e.g. because an entry failed, no central directory is
+   * written so that the partial output is rejected by readers instead of passing as a well-formed but truncated
+   * archive.
+   */
+  @Override
+  public void close() throws IOException {
+    if (finished) {
+      zip.close();
+    } else {
+      zip.endDeflater();
+    }
+  }
+
+  private static class ArchiveOutputStream extends ZipOutputStream {
+    ArchiveOutputStream(OutputStream out) {
+      super(out);
+    }
+
+    /**
+     * Frees the native memory of the deflater without writing the central directory that {@link #close()} would add.
+     */
+    void endDeflater() {
+      def.end();
+    }
+  }
+
+  /**
+   * Forwards writes without the byte-by-byte detour of {@link FilterOutputStream}, closing it only flushes.
+   */
+  private static class NonClosingOutputStream extends FilterOutputStream {
+    NonClosingOutputStream(OutputStream out) {
+      super(out);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+      out.write(b, off, len);
+    }
+
+    @Override
+    public void close() throws IOException {
+      flush();
+    }
+  }
+}